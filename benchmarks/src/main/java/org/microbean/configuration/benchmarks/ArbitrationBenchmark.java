@@ -0,0 +1,146 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import java.util.concurrent.TimeUnit;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import org.microbean.configuration.spi.Configuration;
+import org.microbean.configuration.spi.ConfigurationValueSourceComparingArbiter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link
+ * ConfigurationValueSourceComparingArbiter#arbitrate(Map, String,
+ * Collection)} as the number of ambiguous {@link
+ * ConfigurationValue}s grows.
+ *
+ * <p>Each ambiguous {@link ConfigurationValue} comes from a
+ * different {@link Configuration}, and they are supplied in an order
+ * unrelated to the ranking of those {@link Configuration}s.</p>
+ *
+ * <pre>java -jar target/benchmarks.jar ArbitrationBenchmark</pre>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see BenchmarkRunner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class ArbitrationBenchmark {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The number of ambiguous {@link ConfigurationValue}s to arbitrate.
+   */
+  @Param({ "2", "10", "100", "1000" })
+  public int valueCount;
+
+  /**
+   * The {@link ConfigurationValueSourceComparingArbiter} under test.
+   *
+   * @see #setUp()
+   */
+  private ConfigurationValueSourceComparingArbiter arbiter;
+
+  /**
+   * The ambiguous {@link ConfigurationValue}s to arbitrate.
+   *
+   * @see #setUp()
+   */
+  private Collection<ConfigurationValue> ambiguousValues;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link ArbitrationBenchmark}.
+   */
+  public ArbitrationBenchmark() {
+    super();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Creates the {@link ConfigurationValueSourceComparingArbiter} under
+   * test and the ambiguous {@link ConfigurationValue}s it will
+   * arbitrate.
+   */
+  @Setup
+  public void setUp() {
+    final List<Configuration> configurations = new ArrayList<>(this.valueCount);
+    final List<ConfigurationValue> ambiguousValues = new ArrayList<>(this.valueCount);
+    for (int i = 0; i < this.valueCount; i++) {
+      final MapConfiguration configuration = new MapConfiguration(null, Collections.singletonMap("name", "value" + i));
+      configurations.add(configuration);
+      ambiguousValues.add(new ConfigurationValue(configuration, Collections.emptyMap(), "name", "value" + i, false));
+    }
+    // Use a fixed seed so that every run arbitrates the same order.
+    Collections.shuffle(ambiguousValues, new Random(0L));
+    this.arbiter = new ConfigurationValueSourceComparingArbiter(configurations);
+    this.ambiguousValues = Collections.unmodifiableCollection(ambiguousValues);
+  }
+
+  /**
+   * Arbitrates the ambiguous {@link ConfigurationValue}s.
+   *
+   * @return the winning {@link ConfigurationValue}, never {@code
+   * null}
+   */
+  @Benchmark
+  public ConfigurationValue arbitrate() {
+    return this.arbiter.arbitrate(Collections.emptyMap(), "name", this.ambiguousValues);
+  }
+
+}
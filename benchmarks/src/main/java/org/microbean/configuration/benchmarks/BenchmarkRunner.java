@@ -0,0 +1,127 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import org.openjdk.jmh.profile.GCProfiler;
+
+import org.openjdk.jmh.runner.Runner;
+
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The entry point of the benchmarks jar, which runs the selected
+ * benchmarks once single-threaded and then once for each of several
+ * contended thread counts, always with the {@linkplain GCProfiler GC
+ * profiler} enabled.
+ *
+ * <p>All of JMH's usual command line options are accepted.  If a
+ * thread count is given explicitly with {@code -t}, only that thread
+ * count is run.  Informational options such as {@code -h} and {@code
+ * -l} are handed off to JMH's own {@link Main} class.</p>
+ *
+ * <pre>java -jar target/benchmarks.jar GetValueBenchmark</pre>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ */
+public final class BenchmarkRunner {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The thread counts with which every benchmark is run when no
+   * thread count is given explicitly.
+   */
+  private static final int[] THREAD_COUNTS = { 1, 8, 32, 128 };
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link BenchmarkRunner}.
+   */
+  private BenchmarkRunner() {
+    super();
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Runs the benchmarks selected by the supplied command line
+   * arguments.
+   *
+   * @param args JMH command line arguments; may be {@code null}
+   *
+   * @exception Exception if an error occurs
+   */
+  public static final void main(String[] args) throws Exception {
+    if (args == null) {
+      args = new String[0];
+    }
+    final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    if (commandLineOptions.shouldHelp() ||
+        commandLineOptions.shouldList() ||
+        commandLineOptions.shouldListWithParams() ||
+        commandLineOptions.shouldListProfilers() ||
+        commandLineOptions.shouldListResultFormats()) {
+      Main.main(args);
+    } else if (commandLineOptions.getThreads().hasValue()) {
+      run(commandLineOptions, commandLineOptions.getThreads().get().intValue());
+    } else {
+      for (final int threads : THREAD_COUNTS) {
+        run(commandLineOptions, threads);
+      }
+    }
+  }
+
+  /**
+   * Runs the benchmarks selected by the supplied {@link Options} with
+   * the supplied number of threads and the {@linkplain GCProfiler GC
+   * profiler} enabled.
+   *
+   * @param parent the {@link Options} selecting the benchmarks; must
+   * not be {@code null}
+   *
+   * @param threads the number of threads to run each benchmark with
+   *
+   * @exception Exception if an error occurs
+   */
+  private static final void run(final Options parent, final int threads) throws Exception {
+    final Options options = new OptionsBuilder()
+      .parent(parent)
+      .threads(threads)
+      .addProfiler(GCProfiler.class)
+      .build();
+    new Runner(options).run();
+  }
+
+}
@@ -0,0 +1,203 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.benchmarks;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import java.util.concurrent.TimeUnit;
+
+import org.microbean.configuration.spi.Converter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link Converter#convert(String)} method of every
+ * {@link Converter} in the {@code
+ * org.microbean.configuration.spi.converter} package.
+ *
+ * <pre>java -jar target/benchmarks.jar ConverterBenchmark -p converter=StringToIntegerConverter</pre>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see BenchmarkRunner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class ConverterBenchmark {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * A {@link Map} of representative inputs indexed by the simple
+   * name of the {@link Converter} class that converts them.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private static final Map<String, String> inputs;
+
+  static {
+    final Map<String, String> map = new HashMap<>();
+    map.put("StringToBigDecimalConverter", "12345.6789");
+    map.put("StringToBigIntegerConverter", "123456789012345678901234567890");
+    map.put("StringToBooleanConverter", "true");
+    map.put("StringToCalendarConverter", "2019-01-01T00:00:00Z");
+    map.put("StringToCharArrayConverter", "characters");
+    map.put("StringToCharacterArrayConverter", "characters");
+    map.put("StringToDateConverter", "2019-01-01T00:00:00Z");
+    map.put("StringToDoubleConverter", "12345.6789");
+    map.put("StringToDurationConverter", "PT1H30M");
+    map.put("StringToFileConverter", "/tmp/benchmark.properties");
+    map.put("StringToFloatConverter", "12345.6789");
+    map.put("StringToInstantConverter", "2019-01-01T00:00:00Z");
+    map.put("StringToIntArrayConverter", "1, 2, 3, 4, 5, 6, 7, 8");
+    map.put("StringToIntegerArrayConverter", "1, 2, 3, 4, 5, 6, 7, 8");
+    map.put("StringToIntegerConverter", "12345");
+    map.put("StringToLocalDateConverter", "2019-01-01");
+    map.put("StringToLongConverter", "1234567890123");
+    map.put("StringToMapStringStringConverter", "{ environment=test, region=west, dataCenter=Nevada }");
+    map.put("StringToPathConverter", "/tmp/benchmark.properties");
+    map.put("StringToShortConverter", "12345");
+    map.put("StringToStringCollectionConverter", "a, b, c, d, e, f, g, h");
+    map.put("StringToStringConverter", "value");
+    map.put("StringToStringListConverter", "a, b, c, d, e, f, g, h");
+    map.put("StringToStringSetConverter", "a, b, c, d, e, f, g, h");
+    map.put("StringToURIConverter", "https://microbean.github.io/microbean-configuration/");
+    map.put("StringToURLConverter", "https://microbean.github.io/microbean-configuration/");
+    inputs = Collections.unmodifiableMap(map);
+  }
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The simple name of the {@link Converter} class under test.
+   */
+  @Param({
+      "StringToBigDecimalConverter",
+      "StringToBigIntegerConverter",
+      "StringToBooleanConverter",
+      "StringToCalendarConverter",
+      "StringToCharArrayConverter",
+      "StringToCharacterArrayConverter",
+      "StringToDateConverter",
+      "StringToDoubleConverter",
+      "StringToDurationConverter",
+      "StringToFileConverter",
+      "StringToFloatConverter",
+      "StringToInstantConverter",
+      "StringToIntArrayConverter",
+      "StringToIntegerArrayConverter",
+      "StringToIntegerConverter",
+      "StringToLocalDateConverter",
+      "StringToLongConverter",
+      "StringToMapStringStringConverter",
+      "StringToPathConverter",
+      "StringToShortConverter",
+      "StringToStringCollectionConverter",
+      "StringToStringConverter",
+      "StringToStringListConverter",
+      "StringToStringSetConverter",
+      "StringToURIConverter",
+      "StringToURLConverter"
+    })
+  public String converter;
+
+  /**
+   * The {@link Converter} under test.
+   *
+   * @see #setUp()
+   */
+  private Converter<?> converterInstance;
+
+  /**
+   * The input to the {@link Converter} under test.
+   *
+   * @see #setUp()
+   */
+  private String input;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link ConverterBenchmark}.
+   */
+  public ConverterBenchmark() {
+    super();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Instantiates the {@link Converter} under test and selects its
+   * input.
+   *
+   * @exception ReflectiveOperationException if the {@link Converter}
+   * could not be instantiated
+   */
+  @Setup
+  public void setUp() throws ReflectiveOperationException {
+    this.input = inputs.get(this.converter);
+    if (this.input == null) {
+      throw new IllegalStateException("No input for " + this.converter);
+    }
+    this.converterInstance =
+      (Converter<?>)Class.forName("org.microbean.configuration.spi.converter." + this.converter).getDeclaredConstructor().newInstance();
+  }
+
+  /**
+   * Converts the input.
+   *
+   * @return the result of conversion
+   */
+  @Benchmark
+  public Object convert() {
+    return this.converterInstance.convert(this.input);
+  }
+
+}
@@ -0,0 +1,196 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.TimeUnit;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.spi.Configuration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Configurations#getValue(Map, String)} as the
+ * number of {@link Configuration}s and the size of the supplied
+ * configuration coordinates grow.
+ *
+ * <p>Exactly one {@link Configuration} has a value for the
+ * configuration property being looked up, and that value is suitable
+ * for exactly the configuration coordinates being supplied.  Every
+ * other {@link Configuration} has values only for other
+ * configuration properties, each suitable for a differently-sized
+ * subset of the supplied configuration coordinates, so every lookup
+ * consults every {@link Configuration} and performs one exact
+ * match.</p>
+ *
+ * <p>The {@linkplain Configurations#VALUE_CACHE_MAXIMUM_SIZE value
+ * cache} is benchmarked disabled and enabled.</p>
+ *
+ * <pre>java -jar target/benchmarks.jar GetValueBenchmark</pre>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see BenchmarkRunner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class GetValueBenchmark {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The name of the configuration property that is looked up.
+   */
+  private static final String NAME = "name";
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The number of {@link Configuration}s to consult per lookup.
+   */
+  @Param({ "1", "10", "100", "1000" })
+  public int configurationCount;
+
+  /**
+   * The number of entries in the configuration coordinates supplied
+   * to each lookup.
+   */
+  @Param({ "0", "1", "4", "16" })
+  public int coordinateCount;
+
+  /**
+   * The {@linkplain Configurations#VALUE_CACHE_MAXIMUM_SIZE maximum
+   * size of the value cache}; {@code 0} disables it.
+   */
+  @Param({ "0", "1024" })
+  public int valueCacheMaximumSize;
+
+  /**
+   * The configuration coordinates supplied to each lookup.
+   *
+   * @see #setUp()
+   */
+  private Map<String, String> coordinates;
+
+  /**
+   * The {@link Configurations} under test.
+   *
+   * @see #setUp()
+   */
+  private Configurations configurations;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link GetValueBenchmark}.
+   */
+  public GetValueBenchmark() {
+    super();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Creates the configuration coordinates and the {@link
+   * Configurations} under test.
+   */
+  @Setup
+  public void setUp() {
+    final Map<String, String> coordinates = new HashMap<>();
+    for (int i = 0; i < this.coordinateCount; i++) {
+      coordinates.put("dimension" + i, "value" + i);
+    }
+    this.coordinates = Collections.unmodifiableMap(coordinates);
+
+    final List<Configuration> configurations = new ArrayList<>(this.configurationCount);
+    final Map<String, String> values = new HashMap<>();
+    values.put(NAME, "value");
+    values.put(Configurations.VALUE_CACHE_MAXIMUM_SIZE, String.valueOf(this.valueCacheMaximumSize));
+    configurations.add(new MapConfiguration(this.coordinates, values));
+    for (int i = 1; i < this.configurationCount; i++) {
+      final Map<String, String> subset = new HashMap<>();
+      final int subsetSize = i % (this.coordinateCount + 1);
+      for (int j = 0; j < subsetSize; j++) {
+        subset.put("dimension" + j, "value" + j);
+      }
+      configurations.add(new MapConfiguration(subset, Collections.singletonMap(NAME + i, "value" + i)));
+    }
+    this.configurations = new Configurations(configurations);
+  }
+
+  /**
+   * Looks up a configuration property that exactly one {@link
+   * Configuration} has a value for.
+   *
+   * @return the value, never {@code null}
+   */
+  @Benchmark
+  public String getValue() {
+    return this.configurations.getValue(this.coordinates, NAME);
+  }
+
+  /**
+   * Looks up a configuration property that no {@link Configuration}
+   * has a value for, which always falls back to the supplied default
+   * value.
+   *
+   * @return the default value, never {@code null}
+   */
+  @Benchmark
+  public String getAbsentValue() {
+    return this.configurations.getValue(this.coordinates, "absent", "default");
+  }
+
+}
@@ -0,0 +1,134 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.benchmarks;
+
+import java.util.Collections;
+
+import java.util.concurrent.TimeUnit;
+
+import org.microbean.configuration.Configurations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Configurations#interpolate(String)} for values
+ * that do and do not contain expression language expressions.
+ *
+ * <pre>java -jar target/benchmarks.jar InterpolateBenchmark</pre>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see BenchmarkRunner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class InterpolateBenchmark {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * A value containing no expressions.
+   */
+  private static final String PLAIN_VALUE = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1";
+
+  /**
+   * A value containing one expression that refers to another
+   * configuration property.
+   */
+  private static final String EXPRESSION_VALUE = "jdbc:h2:mem:${configurations[\"databaseName\"]};DB_CLOSE_DELAY=-1";
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The {@link Configurations} under test.
+   *
+   * @see #setUp()
+   */
+  private Configurations configurations;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link InterpolateBenchmark}.
+   */
+  public InterpolateBenchmark() {
+    super();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Creates the {@link Configurations} under test.
+   */
+  @Setup
+  public void setUp() {
+    this.configurations =
+      new Configurations(Collections.singleton(new MapConfiguration(null, Collections.singletonMap("databaseName", "benchmark"))));
+  }
+
+  /**
+   * Interpolates a value that contains no expressions.
+   *
+   * @return the interpolated value, never {@code null}
+   */
+  @Benchmark
+  public String interpolatePlainValue() {
+    return this.configurations.interpolate(PLAIN_VALUE);
+  }
+
+  /**
+   * Interpolates a value that contains an expression referring to
+   * another configuration property.
+   *
+   * @return the interpolated value, never {@code null}
+   */
+  @Benchmark
+  public String interpolateExpressionValue() {
+    return this.configurations.interpolate(EXPRESSION_VALUE);
+  }
+
+}
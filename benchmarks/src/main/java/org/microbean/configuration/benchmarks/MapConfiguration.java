@@ -0,0 +1,183 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.benchmarks;
+
+import java.io.Serializable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import org.microbean.configuration.spi.AbstractConfiguration;
+
+/**
+ * An {@link AbstractConfiguration} backed by a fixed {@link Map} of
+ * configuration property names and values, all of which are suitable
+ * for a fixed set of configuration coordinates.
+ *
+ * <p>A {@link MapConfiguration} has a value for a given
+ * configuration property only when its configuration coordinates are
+ * a subset of the configuration coordinates supplied to the {@link
+ * #getValue(Map, String)} method, which makes it a convenient way to
+ * set up exact and suitable matches in a benchmark.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ */
+final class MapConfiguration extends AbstractConfiguration implements Serializable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The configuration coordinates for which every value in this
+   * {@link MapConfiguration} is suitable.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Map<String, String> coordinates;
+
+  /**
+   * The configuration property names and values housed by this
+   * {@link MapConfiguration}.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Map<String, String> values;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link MapConfiguration}.
+   *
+   * @param coordinates the configuration coordinates for which every
+   * value is suitable; may be {@code null}
+   *
+   * @param values the configuration property names and values; may
+   * be {@code null}
+   */
+  MapConfiguration(final Map<? extends String, ? extends String> coordinates,
+                   final Map<? extends String, ? extends String> values) {
+    super();
+    if (coordinates == null || coordinates.isEmpty()) {
+      this.coordinates = Collections.emptyMap();
+    } else {
+      this.coordinates = Collections.unmodifiableMap(new HashMap<>(coordinates));
+    }
+    if (values == null || values.isEmpty()) {
+      this.values = Collections.emptyMap();
+    } else {
+      this.values = Collections.unmodifiableMap(new HashMap<>(values));
+    }
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns a {@link ConfigurationValue} for the supplied {@code
+   * name} if this {@link MapConfiguration} has a value for it and
+   * its configuration coordinates are a subset of the supplied {@code
+   * coordinates}, or {@code null} otherwise.
+   *
+   * @param coordinates the configuration coordinates in effect for
+   * the request; may be {@code null}
+   *
+   * @param name the name of the configuration property; may be
+   * {@code null}
+   *
+   * @return a {@link ConfigurationValue}, or {@code null}
+   */
+  @Override
+  public final ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+    ConfigurationValue returnValue = null;
+    final String value = this.values.get(name);
+    if (value != null && this.isSuitableFor(coordinates)) {
+      returnValue = new ConfigurationValue(this, this.coordinates, name, value, false);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns {@code true} if the configuration coordinates of this
+   * {@link MapConfiguration} are a subset of the supplied {@code
+   * coordinates}.
+   *
+   * @param coordinates the configuration coordinates in effect for
+   * a request; may be {@code null}
+   *
+   * @return {@code true} if this {@link MapConfiguration} is
+   * suitable for the supplied {@code coordinates}; {@code false}
+   * otherwise
+   */
+  private final boolean isSuitableFor(final Map<String, String> coordinates) {
+    boolean returnValue = true;
+    if (!this.coordinates.isEmpty()) {
+      if (coordinates == null || coordinates.size() < this.coordinates.size()) {
+        returnValue = false;
+      } else {
+        for (final Map.Entry<String, String> entry : this.coordinates.entrySet()) {
+          if (!Objects.equals(entry.getValue(), coordinates.get(entry.getKey()))) {
+            returnValue = false;
+            break;
+          }
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the names of the configuration properties housed by this
+   * {@link MapConfiguration}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return an immutable {@link Set} of names; never {@code null}
+   */
+  @Override
+  public final Set<String> getNames() {
+    return this.values.keySet();
+  }
+
+}
@@ -0,0 +1,241 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration;
+
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An {@link EventObject} describing a batch of changes to the values
+ * of configuration properties, delivered to a {@link
+ * ConfigurationListener}.
+ *
+ * <p>Configuration values in a {@link ConfigurationChangeEvent} have
+ * already been selected, arbitrated and {@linkplain
+ * Configurations#interpolate(String) interpolated}.  A {@code null}
+ * value indicates that there was no value.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see ConfigurationListener
+ */
+public final class ConfigurationChangeEvent extends EventObject {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain java.io.Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The configuration coordinates for which the changed values were
+   * selected.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Map<String, String> configurationCoordinates;
+
+  /**
+   * The values the changed configuration properties had before the
+   * change, indexed by name.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Map<String, String> oldValues;
+
+  /**
+   * The values the changed configuration properties have now, indexed
+   * by name.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Map<String, String> newValues;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link ConfigurationChangeEvent}.
+   *
+   * @param source the {@link Configurations} that detected the
+   * changes; must not be {@code null}
+   *
+   * @param configurationCoordinates the configuration coordinates
+   * for which the changed values were selected; may be {@code null}
+   *
+   * @param oldValues the values the changed configuration properties
+   * had before the change, indexed by name; must not be {@code null};
+   * must have the same keys as {@code newValues}
+   *
+   * @param newValues the values the changed configuration properties
+   * have now, indexed by name; must not be {@code null}
+   *
+   * @exception IllegalArgumentException if {@code source} is {@code
+   * null}
+   *
+   * @exception NullPointerException if {@code oldValues} or {@code
+   * newValues} is {@code null}
+   */
+  ConfigurationChangeEvent(final Configurations source,
+                           final Map<? extends String, ? extends String> configurationCoordinates,
+                           final Map<? extends String, ? extends String> oldValues,
+                           final Map<? extends String, ? extends String> newValues) {
+    super(source);
+    if (configurationCoordinates == null || configurationCoordinates.isEmpty()) {
+      this.configurationCoordinates = Collections.emptyMap();
+    } else {
+      this.configurationCoordinates = Collections.unmodifiableMap(new HashMap<>(configurationCoordinates));
+    }
+    this.oldValues = Collections.unmodifiableMap(new HashMap<>(oldValues));
+    this.newValues = Collections.unmodifiableMap(new HashMap<>(newValues));
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the {@link Configurations} that detected the changes.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return the {@link Configurations} that detected the changes;
+   * never {@code null}
+   */
+  @Override
+  public final Configurations getSource() {
+    return (Configurations)super.getSource();
+  }
+
+  /**
+   * Returns the configuration coordinates for which the changed
+   * values were selected.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return an immutable {@link Map} of configuration coordinates;
+   * never {@code null}
+   */
+  public final Map<String, String> getConfigurationCoordinates() {
+    return this.configurationCoordinates;
+  }
+
+  /**
+   * Returns an immutable {@link Set} of the names of the
+   * configuration properties whose values changed.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return an immutable, non-empty {@link Set} of names; never
+   * {@code null}
+   */
+  public final Set<String> getNames() {
+    return this.newValues.keySet();
+  }
+
+  /**
+   * Returns the value the configuration property identified by the
+   * supplied {@code name} had before the change.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * @param name the name of a configuration property; may be {@code
+   * null}
+   *
+   * @return the old value, or {@code null} if there was no value or
+   * if the named configuration property did not change
+   */
+  public final String getOldValue(final String name) {
+    return this.oldValues.get(name);
+  }
+
+  /**
+   * Returns the value the configuration property identified by the
+   * supplied {@code name} has now.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * @param name the name of a configuration property; may be {@code
+   * null}
+   *
+   * @return the new value, or {@code null} if there is no value or if
+   * the named configuration property did not change
+   */
+  public final String getNewValue(final String name) {
+    return this.newValues.get(name);
+  }
+
+  /**
+   * Returns an immutable {@link Map} of the values the changed
+   * configuration properties had before the change, indexed by name.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return an immutable {@link Map}; never {@code null}
+   */
+  public final Map<String, String> getOldValues() {
+    return this.oldValues;
+  }
+
+  /**
+   * Returns an immutable {@link Map} of the values the changed
+   * configuration properties have now, indexed by name.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return an immutable {@link Map}; never {@code null}
+   */
+  public final Map<String, String> getNewValues() {
+    return this.newValues;
+  }
+
+  /**
+   * Returns a {@link String} representation of this {@link
+   * ConfigurationChangeEvent}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link String} representation of this
+   * {@link ConfigurationChangeEvent}
+   */
+  @Override
+  public final String toString() {
+    return "ConfigurationChangeEvent " + this.configurationCoordinates + ": " + this.oldValues + " -> " + this.newValues;
+  }
+
+}
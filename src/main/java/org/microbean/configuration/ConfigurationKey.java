@@ -0,0 +1,396 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration;
+
+import java.lang.reflect.Type;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.microbean.configuration.api.AmbiguousConfigurationValuesException;
+import org.microbean.configuration.api.ConfigurationException;
+import org.microbean.configuration.api.ConversionException;
+
+import org.microbean.configuration.spi.Converter;
+
+/**
+ * A handle to a configuration property, bound to a particular {@link
+ * Configurations} instance, that resolves the property's value
+ * without repeating the work of locating a {@link Converter} on every
+ * request.
+ *
+ * <p>Instances of this class are obtained from the {@link
+ * Configurations#key(String, Class, String)} method and its
+ * overloads, typically once, and are then {@linkplain #get(Map)
+ * used} many times:</p>
+ *
+ * <pre>private static final ConfigurationKey&lt;Integer&gt; TIMEOUT = configurations.key("timeoutInSeconds", Integer.class, "30");
+ *
+ *int timeout = TIMEOUT.get();</pre>
+ *
+ * <p>If the {@link Configurations} that created a {@link
+ * ConfigurationKey} {@linkplain Configurations#VALUE_CACHE_MAXIMUM_SIZE
+ * caches configuration values}, then the {@link ConfigurationKey}
+ * additionally remembers the value it most recently returned, along
+ * with the configuration coordinates it was returned for, so that
+ * repeated requests for the same configuration coordinates do not
+ * consult the {@link Configurations} at all until its value cache is
+ * {@linkplain Configurations#invalidateValueCache() invalidated}.</p>
+ *
+ * <p>This class is safe for concurrent use by multiple threads.</p>
+ *
+ * @param <T> the type to which configuration values will be
+ * converted
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see Configurations#key(String, Class, String)
+ */
+public final class ConfigurationKey<T> {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The {@link Configurations} that created this {@link
+   * ConfigurationKey}.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Configurations configurations;
+
+  /**
+   * The name of the configuration property this {@link
+   * ConfigurationKey} represents.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final String name;
+
+  /**
+   * The {@link Converter} used to convert configuration values.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Converter<T> converter;
+
+  /**
+   * The default value to convert when no configuration value is
+   * suitable.
+   *
+   * <p>This field may be {@code null}.</p>
+   */
+  private final String defaultValue;
+
+  /**
+   * The value most recently returned by the {@link #get(Map)} method,
+   * or {@code null}.
+   *
+   * @see #get(Map)
+   */
+  private volatile Memo<T> memo;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link ConfigurationKey}.
+   *
+   * @param configurations the {@link Configurations} that will
+   * resolve values; must not be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param converter the {@link Converter} that will convert values;
+   * must not be {@code null}
+   *
+   * @param defaultValue the default value to convert when no
+   * configuration value is suitable; may be {@code null}
+   *
+   * @exception NullPointerException if {@code configurations},
+   * {@code name} or {@code converter} is {@code null}
+   */
+  ConfigurationKey(final Configurations configurations,
+                   final String name,
+                   final Converter<T> converter,
+                   final String defaultValue) {
+    super();
+    this.configurations = Objects.requireNonNull(configurations);
+    this.name = Objects.requireNonNull(name);
+    this.converter = Objects.requireNonNull(converter);
+    this.defaultValue = defaultValue;
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the name of the configuration property this {@link
+   * ConfigurationKey} represents.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return the name of the configuration property; never {@code
+   * null}
+   */
+  public final String getName() {
+    return this.name;
+  }
+
+  /**
+   * Returns the {@link Type} to which this {@link ConfigurationKey}
+   * converts configuration values.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a {@link Type}; never {@code null}
+   *
+   * @see Converter#getType()
+   */
+  public final Type getType() {
+    return this.converter.getType();
+  }
+
+  /**
+   * Returns the default value this {@link ConfigurationKey} converts
+   * when no configuration value is suitable.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * @return the default value, or {@code null}
+   */
+  public final String getDefaultValue() {
+    return this.defaultValue;
+  }
+
+  /**
+   * Returns the value of the configuration property this {@link
+   * ConfigurationKey} represents that is suitable for the {@linkplain
+   * Configurations#getConfigurationCoordinates() configuration
+   * coordinates of the <code>Configurations</code>} that created it.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * @return the configuration value, or {@code null}
+   *
+   * @exception ConversionException if type conversion could not occur
+   * for any reason
+   *
+   * @exception AmbiguousConfigurationValuesException if two or more
+   * values were found that could be suitable and arbitration could
+   * not resolve the dispute
+   *
+   * @exception ConfigurationException if any other
+   * configuration-related error occurs
+   *
+   * @see #get(Map)
+   */
+  public final T get() {
+    return this.get(this.configurations.getConfigurationCoordinates(), false);
+  }
+
+  /**
+   * Returns the value of the configuration property this {@link
+   * ConfigurationKey} represents that is suitable for the supplied
+   * {@code configurationCoordinates}.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * <p>The result of this method is exactly that of {@link
+   * Configurations#getValue(Map, String, Converter, String)} invoked
+   * with this {@link ConfigurationKey}'s {@linkplain #getName() name},
+   * {@link Converter} and {@linkplain #getDefaultValue() default
+   * value}.</p>
+   *
+   * @param configurationCoordinates the configuration coordinates in
+   * effect for this request; may be {@code null}
+   *
+   * @return the configuration value, or {@code null}
+   *
+   * @exception ConversionException if type conversion could not occur
+   * for any reason
+   *
+   * @exception AmbiguousConfigurationValuesException if two or more
+   * values were found that could be suitable and arbitration could
+   * not resolve the dispute
+   *
+   * @exception ConfigurationException if any other
+   * configuration-related error occurs
+   *
+   * @see Configurations#getValue(Map, String, Converter, String)
+   */
+  public final T get(final Map<String, String> configurationCoordinates) {
+    return this.get(configurationCoordinates, true);
+  }
+
+  /**
+   * Returns the value of the configuration property this {@link
+   * ConfigurationKey} represents that is suitable for the supplied
+   * {@code configurationCoordinates}.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * @param configurationCoordinates the configuration coordinates in
+   * effect for this request; may be {@code null}
+   *
+   * @param copy whether the supplied {@code configurationCoordinates}
+   * might be modified later and so must be copied if they are
+   * remembered
+   *
+   * @return the configuration value, or {@code null}
+   *
+   * @see #get(Map)
+   */
+  private final T get(Map<String, String> configurationCoordinates, final boolean copy) {
+    if (configurationCoordinates == null) {
+      configurationCoordinates = Collections.emptyMap();
+    }
+    final T returnValue;
+    final int generation = this.configurations.getValueCacheGeneration();
+    if (generation < 0) {
+      // The Configurations doesn't cache, so neither do we.
+      returnValue = this.configurations.getValue(configurationCoordinates, this.name, this.converter, this.defaultValue);
+    } else {
+      final Memo<T> memo = this.memo;
+      if (memo != null && memo.generation == generation && memo.matches(configurationCoordinates)) {
+        returnValue = memo.value;
+      } else {
+        returnValue = this.configurations.getValue(configurationCoordinates, this.name, this.converter, this.defaultValue);
+        // If the cache was invalidated while we were working, the
+        // generation we read above is now stale and this memo will
+        // simply never match.
+        this.memo = new Memo<>(configurationCoordinates, copy, generation, returnValue);
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link String} representation of this {@link
+   * ConfigurationKey}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link String} representation of this
+   * {@link ConfigurationKey}
+   */
+  @Override
+  public final String toString() {
+    return this.name + " (" + this.getType().getTypeName() + ")";
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * An immutable record of the value a {@link ConfigurationKey}
+   * returned for a particular set of configuration coordinates.
+   *
+   * @param <T> the type of the value
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see ConfigurationKey#get(Map)
+   */
+  private static final class Memo<T> {
+
+    /**
+     * The configuration coordinates the {@link #value} was returned
+     * for.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Map<String, String> configurationCoordinates;
+
+    /**
+     * The {@linkplain Configurations#getValueCacheGeneration() value
+     * cache generation} that was current before the {@link #value}
+     * was computed.
+     */
+    private final int generation;
+
+    /**
+     * The value.
+     *
+     * <p>This field may be {@code null}.</p>
+     */
+    private final T value;
+
+    /**
+     * Creates a new {@link Memo}.
+     *
+     * @param configurationCoordinates the configuration coordinates
+     * the supplied {@code value} was returned for; must not be {@code
+     * null}
+     *
+     * @param copy whether the supplied {@code
+     * configurationCoordinates} must be copied
+     *
+     * @param generation the value cache generation that was current
+     * before the supplied {@code value} was computed
+     *
+     * @param value the value; may be {@code null}
+     */
+    private Memo(final Map<String, String> configurationCoordinates, final boolean copy, final int generation, final T value) {
+      super();
+      if (configurationCoordinates.isEmpty()) {
+        this.configurationCoordinates = Collections.emptyMap();
+      } else if (!copy) {
+        this.configurationCoordinates = configurationCoordinates;
+      } else {
+        this.configurationCoordinates = Collections.unmodifiableMap(new HashMap<>(configurationCoordinates));
+      }
+      this.generation = generation;
+      this.value = value;
+    }
+
+    /**
+     * Returns {@code true} if this {@link Memo} was created for
+     * configuration coordinates equal to the supplied ones.
+     *
+     * @param configurationCoordinates the configuration coordinates
+     * to test; must not be {@code null}
+     *
+     * @return {@code true} if this {@link Memo} applies to the
+     * supplied {@code configurationCoordinates}
+     */
+    private final boolean matches(final Map<String, String> configurationCoordinates) {
+      return
+        this.configurationCoordinates == configurationCoordinates ||
+        (configurationCoordinates.isEmpty() ? this.configurationCoordinates.isEmpty() : this.configurationCoordinates.equals(configurationCoordinates));
+    }
+
+  }
+
+}
@@ -0,0 +1,56 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration;
+
+import java.util.EventListener;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.concurrent.Executor;
+
+/**
+ * An {@link EventListener} notified when the values of configuration
+ * properties it is interested in change.
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see Configurations#addListener(Set, Map, ConfigurationListener,
+ * Executor)
+ *
+ * @see ConfigurationChangeEvent
+ */
+@FunctionalInterface
+public interface ConfigurationListener extends EventListener {
+
+  /**
+   * Called when the values of one or more of the configuration
+   * properties this {@link ConfigurationListener} was {@linkplain
+   * Configurations#addListener(Set, Map, ConfigurationListener,
+   * Executor) registered} for have changed.
+   *
+   * <p>All of the changes discovered while processing a single
+   * notification from an underlying {@link
+   * org.microbean.configuration.spi.Configuration} are delivered
+   * together in one {@link ConfigurationChangeEvent}.</p>
+   *
+   * @param event the {@link ConfigurationChangeEvent} describing the
+   * changes; must not be {@code null}
+   */
+  public void configurationValuesChanged(final ConfigurationChangeEvent event);
+
+}
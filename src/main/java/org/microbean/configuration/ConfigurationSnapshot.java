@@ -0,0 +1,317 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable, point-in-time record of the configuration values
+ * that a {@link Configurations} selected for every configuration
+ * property it knew about, for a particular set of configuration
+ * coordinates.
+ *
+ * <p>Configuration values in a {@link ConfigurationSnapshot} have
+ * already been selected, arbitrated and {@linkplain
+ * Configurations#interpolate(String) interpolated}, so {@linkplain
+ * #getValue(String) reading} one is a probe into an array and
+ * allocates nothing.  Changes to the underlying configuration
+ * systems are, of course, not reflected in a {@link
+ * ConfigurationSnapshot} once it has been created.</p>
+ *
+ * <p>This class is safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see Configurations#snapshot(Map)
+ *
+ * @see Configurations#getSnapshot()
+ */
+public final class ConfigurationSnapshot {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The configuration coordinates for which this {@link
+   * ConfigurationSnapshot} was created.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Map<String, String> configurationCoordinates;
+
+  /**
+   * An open-addressed hash table of configuration property names,
+   * whose length is a power of two; empty slots are {@code null}.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #values
+   */
+  private final String[] names;
+
+  /**
+   * The configuration values of the configuration properties whose
+   * names are stored at the corresponding positions in the {@link
+   * #names} array.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final String[] values;
+
+  /**
+   * The number of configuration properties stored in this {@link
+   * ConfigurationSnapshot}.
+   */
+  private final int size;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link ConfigurationSnapshot}.
+   *
+   * @param configurationCoordinates the configuration coordinates
+   * for which the supplied {@code values} were selected; may be
+   * {@code null}
+   *
+   * @param values a {@link Map} of configuration values indexed by
+   * the names of their configuration properties; must not be {@code
+   * null}; must not contain {@code null} keys or values
+   *
+   * @exception NullPointerException if {@code values} is {@code
+   * null} or contains {@code null} keys or values
+   */
+  ConfigurationSnapshot(final Map<? extends String, ? extends String> configurationCoordinates,
+                        final Map<? extends String, ? extends String> values) {
+    super();
+    if (configurationCoordinates == null || configurationCoordinates.isEmpty()) {
+      this.configurationCoordinates = Collections.emptyMap();
+    } else {
+      this.configurationCoordinates = Collections.unmodifiableMap(new HashMap<>(configurationCoordinates));
+    }
+    final int size = values.size();
+    // Keep the load factor at or below one half so probe sequences
+    // stay short.
+    int capacity = 2;
+    while (capacity < size * 2) {
+      capacity <<= 1;
+    }
+    final int mask = capacity - 1;
+    this.names = new String[capacity];
+    this.values = new String[capacity];
+    for (final Map.Entry<? extends String, ? extends String> entry : values.entrySet()) {
+      final String name = Objects.requireNonNull(entry.getKey());
+      int index = indexFor(name, mask);
+      while (this.names[index] != null) {
+        index = (index + 1) & mask;
+      }
+      this.names[index] = name;
+      this.values[index] = Objects.requireNonNull(entry.getValue());
+    }
+    this.size = size;
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the configuration coordinates for which this {@link
+   * ConfigurationSnapshot} was created.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return an immutable {@link Map} of configuration coordinates;
+   * never {@code null}
+   */
+  public final Map<String, String> getConfigurationCoordinates() {
+    return this.configurationCoordinates;
+  }
+
+  /**
+   * Returns the number of configuration properties that have values
+   * in this {@link ConfigurationSnapshot}.
+   *
+   * @return the number of configuration properties that have values
+   * in this {@link ConfigurationSnapshot}
+   */
+  public final int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the configuration value of the configuration property
+   * identified by the supplied {@code name}, or {@code null} if there
+   * is no such value.
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @return the configuration value, or {@code null}
+   *
+   * @exception NullPointerException if {@code name} is {@code null}
+   *
+   * @see #getValue(String, String)
+   */
+  public final String getValue(final String name) {
+    return this.getValue(name, null);
+  }
+
+  /**
+   * Returns the configuration value of the configuration property
+   * identified by the supplied {@code name}, or the supplied {@code
+   * defaultValue} if there is no such value.
+   *
+   * <p>Unlike the default value supplied to {@link
+   * Configurations#getValue(Map, String, String)}, the supplied {@code
+   * defaultValue} is not {@linkplain Configurations#interpolate(String)
+   * interpolated}.</p>
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param defaultValue the value to return if there is no
+   * configuration value; may be {@code null}
+   *
+   * @return the configuration value, or {@code defaultValue}
+   *
+   * @exception NullPointerException if {@code name} is {@code null}
+   */
+  public final String getValue(final String name, final String defaultValue) {
+    final String[] names = this.names;
+    final int mask = names.length - 1;
+    int index = indexFor(name, mask);
+    String returnValue = defaultValue;
+    String candidate;
+    while ((candidate = names[index]) != null) {
+      if (candidate == name || candidate.equals(name)) {
+        returnValue = this.values[index];
+        break;
+      }
+      index = (index + 1) & mask;
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns an immutable {@link Set} of the names of the
+   * configuration properties that have values in this {@link
+   * ConfigurationSnapshot}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return an immutable {@link Set} of names; never {@code null}
+   */
+  public final Set<String> getNames() {
+    return new AbstractSet<String>() {
+      @Override
+      public final int size() {
+        return ConfigurationSnapshot.this.size;
+      }
+
+      @Override
+      public final boolean contains(final Object name) {
+        return name instanceof String && ConfigurationSnapshot.this.getValue((String)name) != null;
+      }
+
+      @Override
+      public final Iterator<String> iterator() {
+        return new Iterator<String>() {
+          private int index = this.advance(0);
+
+          private final int advance(int index) {
+            final String[] names = ConfigurationSnapshot.this.names;
+            while (index < names.length && names[index] == null) {
+              index++;
+            }
+            return index;
+          }
+
+          @Override
+          public final boolean hasNext() {
+            return this.index < ConfigurationSnapshot.this.names.length;
+          }
+
+          @Override
+          public final String next() {
+            if (!this.hasNext()) {
+              throw new NoSuchElementException();
+            }
+            final String returnValue = ConfigurationSnapshot.this.names[this.index];
+            this.index = this.advance(this.index + 1);
+            return returnValue;
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Returns a {@link String} representation of this {@link
+   * ConfigurationSnapshot}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link String} representation of this
+   * {@link ConfigurationSnapshot}
+   */
+  @Override
+  public final String toString() {
+    return "ConfigurationSnapshot " + this.configurationCoordinates + " (" + this.size + " values)";
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns the index in a table whose length is one more than the
+   * supplied {@code mask} at which probing for the supplied {@code
+   * name} should begin.
+   *
+   * @param name the name; must not be {@code null}
+   *
+   * @param mask one less than a power of two
+   *
+   * @return a non-negative index no greater than {@code mask}
+   *
+   * @exception NullPointerException if {@code name} is {@code null}
+   */
+  private static final int indexFor(final String name, final int mask) {
+    final int hashCode = name.hashCode();
+    return (hashCode ^ (hashCode >>> 16)) & mask;
+  }
+
+}
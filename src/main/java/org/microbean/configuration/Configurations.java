@@ -20,20 +20,34 @@ import java.beans.FeatureDescriptor;
 
 import java.lang.reflect.Type;
 
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.ServiceLoader;
 import java.util.Set;
-import java.util.TreeSet;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import java.util.function.Function;
 
@@ -45,9 +59,11 @@ import java.util.stream.Collectors;
 import javax.el.ELContext;
 import javax.el.ELResolver;
 import javax.el.ExpressionFactory;
+import javax.el.FunctionMapper;
 import javax.el.PropertyNotFoundException;
 import javax.el.StandardELContext;
 import javax.el.ValueExpression;
+import javax.el.VariableMapper;
 
 import org.microbean.configuration.api.AmbiguousConfigurationValuesException;
 import org.microbean.configuration.api.ConfigurationException;
@@ -56,8 +72,19 @@ import org.microbean.configuration.api.ConversionException;
 import org.microbean.configuration.api.TypeLiteral;
 
 import org.microbean.configuration.spi.Arbiter;
+import org.microbean.configuration.spi.BooleanConverter;
 import org.microbean.configuration.spi.Configuration;
+import org.microbean.configuration.spi.Coordinated;
 import org.microbean.configuration.spi.Converter;
+import org.microbean.configuration.spi.DoubleConverter;
+import org.microbean.configuration.spi.IntConverter;
+import org.microbean.configuration.spi.LongConverter;
+import org.microbean.configuration.spi.Ranked;
+
+import org.microbean.configuration.spi.converter.StringToBooleanConverter;
+import org.microbean.configuration.spi.converter.StringToDoubleConverter;
+import org.microbean.configuration.spi.converter.StringToIntegerConverter;
+import org.microbean.configuration.spi.converter.StringToLongConverter;
 
 /**
  * An implementation of the {@link
@@ -88,23 +115,13 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
   private static final Comparator<ConfigurationValue> configurationValueComparator = Comparator.<ConfigurationValue>comparingInt(v -> v.specificity()).reversed();
 
   /**
-   * A {@link ThreadLocal} tracking a {@link Set} of {@link
-   * Configuration}s that are currently in the process of executing
-   * their {@link Configuration#getValue(Map, String)} methods.
-   *
-   * <p>This field is never {@code null} but its contents might be
-   * {@code null}.</p>
-   *
-   * @see #getValue(Map, String, Converter, String)
-   *
-   * @see #activate(Configuration)
-   *
-   * @see #deactivate(Configuration)
+   * The maximum number of parsed {@link ValueExpression}s that a
+   * {@link Configurations} object will cache.
    *
-   * @see #isActive(Configuration)
+   * @see #interpolate(String)
    */
-  private static final ThreadLocal<Map<Configurations, Set<Configuration>>> staticCurrentlyActiveConfigurations = ThreadLocal.withInitial(() -> new HashMap<>());
-  
+  private static final int MAXIMUM_CACHED_VALUE_EXPRESSIONS = 1024;
+
   /**
    * A {@link ServiceLoader} instance used by the {@link
    * #loadConfigurations()} method.
@@ -164,6 +181,51 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    */
   public static final String CONFIGURATION_COORDINATES = "configurationCoordinates";
 
+  /**
+   * The name of the configuration property whose value is the
+   * maximum number of resolved configuration values that a {@link
+   * Configurations} object will cache.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * <p>A request is made via the {@link #getValue(Map, String,
+   * Converter, String)} method with {@code null} as the value of its
+   * first parameter and the value of this field as its second
+   * parameter at construction time.  If the resulting value is
+   * {@code null} or not greater than {@code 0}, then no resolved
+   * configuration values will be cached.</p>
+   *
+   * <p>When the cache is full, room is made by evicting cached values
+   * in no particular order; the cache is not a least-recently-used
+   * cache, since tracking recency would cost every cached read a
+   * write.</p>
+   *
+   * @see #getValue(Map, String, Converter, String)
+   *
+   * @see #invalidateValueCache()
+   */
+  public static final String VALUE_CACHE_MAXIMUM_SIZE = "org.microbean.configuration.valueCacheMaximumSize";
+
+  /**
+   * The name of the configuration property whose value is the name
+   * of the {@link ResolutionMode} a {@link Configurations} object
+   * will use.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * <p>A request is made via the {@link #getValue(Map, String,
+   * String)} method with {@code null} as the value of its first
+   * parameter and the value of this field as its second parameter at
+   * construction time.  If the resulting value is {@code null} then
+   * {@link ResolutionMode#EXHAUSTIVE} will be used.  Otherwise it is
+   * interpreted, ignoring case and treating hyphens as underscores,
+   * as the {@linkplain Enum#name() name} of a {@link
+   * ResolutionMode}.</p>
+   *
+   * @see #getResolutionMode()
+   */
+  public static final String RESOLUTION_MODE = "org.microbean.configuration.resolutionMode";
+
   /**
    * An {@linkplain Collections#unmodifiableMap(Map) immutable} {@link
    * Map} of "wrapper" {@link Class} instances indexed by their
@@ -201,15 +263,57 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
   private final boolean initialized;
 
   /**
-   * The {@link Collection} of {@link Configuration} instances that
-   * can {@linkplain Configuration#getValue(Map, String) provide}
-   * configuration values.
+   * The {@link Configuration} instances that can {@linkplain
+   * Configuration#getValue(Map, String) provide} configuration
+   * values.
    *
-   * <p>This field is never {@code null}.</p>
+   * <p>This field is never {@code null} and never contains {@code
+   * null} elements.</p>
+   *
+   * <p>The elements of this array are in the order in which they were
+   * supplied at construction time, unless the {@link
+   * ResolutionMode#EARLY_EXIT} {@link ResolutionMode} is in effect,
+   * in which case they are sorted once, at the end of construction,
+   * in descending order of their {@linkplain Ranked#getRank() ranks},
+   * with those that are not {@link Ranked} treated as having a rank of
+   * {@code 0} and ties retaining their original order.  This is the
+   * order in which they are consulted.</p>
+   *
+   * <p>The index of a {@link Configuration} within this array is used
+   * to track whether it is {@linkplain ActiveConfigurations active}.</p>
    *
    * @see #Configurations(Collection, Collection, Collection)
    */
-  private final Collection<Configuration> configurations;
+  private final Configuration[] configurations;
+
+  /**
+   * A {@link CoordinatesIndex} of the {@link #configurations} that
+   * are {@link Coordinated}, or {@code null} if none of them are.
+   *
+   * <p>This field is also {@code null} during construction, when
+   * every {@link Configuration} is consulted.</p>
+   *
+   * @see #selectValue(Map, String)
+   *
+   * @see Coordinated
+   */
+  private final CoordinatesIndex coordinatesIndex;
+
+  /**
+   * A {@link ThreadLocal} tracking, by their indices within the
+   * {@link #configurations} array, the {@link Configuration}s that are
+   * currently in the process of executing their {@link
+   * Configuration#getValue(Map, String)} methods on the current
+   * {@link Thread}.
+   *
+   * <p>This field is never {@code null} and neither are its
+   * contents.</p>
+   *
+   * @see #selectValue(Map, String)
+   *
+   * @see ActiveConfigurations
+   */
+  private final ThreadLocal<ActiveConfigurations> activeConfigurations;
 
   /**
    * The {@link Collection} of {@link Arbiter}s that can resolve
@@ -242,12 +346,54 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
   private final Map<String, String> configurationCoordinates;
 
   /**
-   * An {@link ELContext} used for Expression Language evaluation.
+   * The {@link ResolutionMode} in effect.
+   *
+   * <p>This field is {@code null} only during construction, when
+   * {@link ResolutionMode#EXHAUSTIVE} is in effect.</p>
+   *
+   * @see #RESOLUTION_MODE
+   *
+   * @see #getResolutionMode()
+   */
+  private final ResolutionMode resolutionMode;
+
+  /**
+   * An {@link ELContext} used for parsing Expression Language
+   * expressions.
    *
    * <p>This field is never {@code null}.</p>
+   *
+   * <p>This {@link ELContext} is never used for evaluation, since
+   * {@link ELContext}s hold mutable state; see {@link
+   * EvaluationELContext}.</p>
+   *
+   * @see #interpolate(String)
    */
   private final ELContext elContext;
 
+  /**
+   * The {@link ELResolver} that all {@link EvaluationELContext}s
+   * created by this {@link Configurations} share.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #interpolate(String)
+   */
+  private final ELResolver elResolver;
+
+  /**
+   * A {@link ConcurrentMap} of parsed {@link ValueExpression}s indexed
+   * by the expression {@link String}s they were parsed from.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * <p>At most {@link #MAXIMUM_CACHED_VALUE_EXPRESSIONS} {@link
+   * ValueExpression}s are stored here.</p>
+   *
+   * @see #interpolate(String)
+   */
+  private final ConcurrentMap<String, ValueExpression> valueExpressions;
+
   /**
    * An {@link ExpressionFactory} used for Expression Language
    * evaluation.
@@ -256,6 +402,140 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    */
   private final ExpressionFactory expressionFactory;
 
+  /**
+   * A {@link ValueCache} memoizing the results of configuration value
+   * resolution.
+   *
+   * <p>This field may be {@code null}, in which case resolved
+   * configuration values are not cached.</p>
+   *
+   * @see #VALUE_CACHE_MAXIMUM_SIZE
+   *
+   * @see #invalidateValueCache()
+   */
+  private final ValueCache valueCache;
+
+  /**
+   * The {@link Converter} of {@link Integer}s used by the {@link
+   * #getInt(Map, String, int)} method when configuration values are
+   * cached.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Converter<Integer> integerConverter;
+
+  /**
+   * The {@link IntConverter} used by the {@link #getInt(Map, String,
+   * int)} method when configuration values are not cached.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final IntConverter intConverter;
+
+  /**
+   * The {@link Converter} of {@link Long}s used by the {@link
+   * #getLong(Map, String, long)} method when configuration values are
+   * cached.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Converter<Long> longConverter;
+
+  /**
+   * The {@link LongConverter} used by the {@link #getLong(Map,
+   * String, long)} method when configuration values are not cached.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final LongConverter primitiveLongConverter;
+
+  /**
+   * The {@link Converter} of {@link Double}s used by the {@link
+   * #getDouble(Map, String, double)} method when configuration values
+   * are cached.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Converter<Double> doubleConverter;
+
+  /**
+   * The {@link DoubleConverter} used by the {@link #getDouble(Map,
+   * String, double)} method when configuration values are not
+   * cached.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final DoubleConverter primitiveDoubleConverter;
+
+  /**
+   * The {@link Converter} of {@link Boolean}s used by the {@link
+   * #getBoolean(Map, String, boolean)} method when configuration
+   * values are cached.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Converter<Boolean> booleanConverter;
+
+  /**
+   * The {@link BooleanConverter} used by the {@link #getBoolean(Map,
+   * String, boolean)} method when configuration values are not
+   * cached.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final BooleanConverter primitiveBooleanConverter;
+
+  /**
+   * The most recently published {@link ConfigurationSnapshot} of
+   * this {@link Configurations}' {@linkplain
+   * #getConfigurationCoordinates() configuration coordinates}.
+   *
+   * <p>This field is never {@code null}, but the {@link
+   * AtomicReference} it holds may hold {@code null}.</p>
+   *
+   * @see #getSnapshot()
+   *
+   * @see #refreshSnapshot()
+   */
+  private final AtomicReference<ConfigurationSnapshot> snapshot;
+
+  /**
+   * The current {@link NameIndex} of the names known to this {@link
+   * Configurations}' {@link Configuration}s.
+   *
+   * <p>This field is never {@code null}, but the {@link
+   * AtomicReference} it holds may hold {@code null}, in which case a
+   * new {@link NameIndex} will be built when one is next needed.</p>
+   *
+   * @see #getNames()
+   *
+   * @see #configurationChanged(Configuration, Set)
+   */
+  private final AtomicReference<NameIndex> nameIndex;
+
+  /**
+   * Whether the {@link NameIndex} held by the {@link #nameIndex}
+   * field may be reused, which is the case only when every {@link
+   * Configuration} {@linkplain Configuration#reportsNameChanges()
+   * reports changes to its names}.
+   *
+   * @see #getNameIndex()
+   */
+  private final boolean nameIndexReusable;
+
+  /**
+   * The {@link ListenerRegistration}s representing {@linkplain
+   * #addListener(Set, Map, ConfigurationListener, Executor)
+   * registered} {@link ConfigurationListener}s.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #addListener(Set, Map, ConfigurationListener, Executor)
+   *
+   * @see #configurationChanged(Configuration, Set)
+   */
+  private final Collection<ListenerRegistration> listenerRegistrations;
+
 
   /*
    * Constructors.
@@ -343,20 +623,34 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
     final StandardELContext standardElContext = new StandardELContext(this.expressionFactory);
     standardElContext.addELResolver(new ConfigurationELResolver());
     this.elContext = standardElContext;
+    this.elResolver = standardElContext.getELResolver();
+    assert this.elResolver != null;
+    this.valueExpressions = new ConcurrentHashMap<>();
+    this.snapshot = new AtomicReference<>();
+    this.nameIndex = new AtomicReference<>();
+    this.listenerRegistrations = new CopyOnWriteArrayList<>();
     
     if (configurations == null) {
       configurations = this.loadConfigurations();
     }
     if (configurations == null || configurations.isEmpty()) {
-      this.configurations = Collections.emptySet();
+      this.configurations = new Configuration[0];
     } else {
-      this.configurations = Collections.unmodifiableCollection(new LinkedList<>(configurations));
+      this.configurations = configurations.stream().filter(Objects::nonNull).toArray(Configuration[]::new);
     }
-    for (final Configuration configuration : configurations) {
-      if (configuration != null) {
-        configuration.setConfigurations(this);
+    boolean nameIndexReusable = true;
+    for (final Configuration configuration : this.configurations) {
+      if (!configuration.reportsNameChanges()) {
+        nameIndexReusable = false;
+        break;
       }
     }
+    this.nameIndexReusable = nameIndexReusable;
+    final int configurationsLength = this.configurations.length;
+    this.activeConfigurations = ThreadLocal.withInitial(() -> new ActiveConfigurations(configurationsLength));
+    for (final Configuration configuration : this.configurations) {
+      configuration.setConfigurations(this);
+    }
 
     if (converters == null) {
       converters = this.loadConverters();
@@ -378,15 +672,68 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
       this.arbiters = Collections.unmodifiableCollection(new LinkedList<>(arbiters));
     }
 
+    // Resolve the converters used by the primitive getters once, up
+    // front, preferring any that can convert without boxing.
+    final Converter<Integer> integerConverter = findConverter(this.converters, Integer.class, new StringToIntegerConverter());
+    this.integerConverter = integerConverter;
+    if (integerConverter instanceof IntConverter) {
+      this.intConverter = (IntConverter)integerConverter;
+    } else {
+      this.intConverter = v -> integerConverter.convert(v).intValue();
+    }
+    final Converter<Long> longConverter = findConverter(this.converters, Long.class, new StringToLongConverter());
+    this.longConverter = longConverter;
+    if (longConverter instanceof LongConverter) {
+      this.primitiveLongConverter = (LongConverter)longConverter;
+    } else {
+      this.primitiveLongConverter = v -> longConverter.convert(v).longValue();
+    }
+    final Converter<Double> doubleConverter = findConverter(this.converters, Double.class, new StringToDoubleConverter());
+    this.doubleConverter = doubleConverter;
+    if (doubleConverter instanceof DoubleConverter) {
+      this.primitiveDoubleConverter = (DoubleConverter)doubleConverter;
+    } else {
+      this.primitiveDoubleConverter = v -> doubleConverter.convert(v).doubleValue();
+    }
+    final Converter<Boolean> booleanConverter = findConverter(this.converters, Boolean.class, new StringToBooleanConverter());
+    this.booleanConverter = booleanConverter;
+    if (booleanConverter instanceof BooleanConverter) {
+      this.primitiveBooleanConverter = (BooleanConverter)booleanConverter;
+    } else {
+      this.primitiveBooleanConverter = v -> booleanConverter.convert(v).booleanValue();
+    }
+
     this.initialized = true;
     
     final Map<String, String> coordinates = this.getValue(null, CONFIGURATION_COORDINATES, new TypeLiteral<Map<String, String>>() {
         private static final long serialVersionUID = 1L; }.getType());
-    if (coordinates == null || coordinates.isEmpty()) {
-      this.configurationCoordinates = Collections.emptyMap();
+    this.configurationCoordinates = Coordinates.of(coordinates);
+
+    final String resolutionMode = this.getValue(null, RESOLUTION_MODE, (String)null);
+    if (resolutionMode == null) {
+      this.resolutionMode = ResolutionMode.EXHAUSTIVE;
+    } else {
+      try {
+        this.resolutionMode = ResolutionMode.valueOf(resolutionMode.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+      } catch (final IllegalArgumentException illegalArgumentException) {
+        throw new ConfigurationException("Unknown " + RESOLUTION_MODE + ": " + resolutionMode, illegalArgumentException);
+      }
+    }
+
+    final Integer valueCacheMaximumSize = this.getValue(null, VALUE_CACHE_MAXIMUM_SIZE, new StringToIntegerConverter(), null);
+    if (valueCacheMaximumSize == null || valueCacheMaximumSize.intValue() <= 0) {
+      this.valueCache = null;
     } else {
-      this.configurationCoordinates = Collections.unmodifiableMap(coordinates);
+      this.valueCache = new ValueCache(valueCacheMaximumSize.intValue());
+    }
+
+    // Only now that the ResolutionMode is known can the order in
+    // which Configurations are consulted be fixed.  No
+    // Configuration is active, so their indices may change.
+    if (this.resolutionMode == ResolutionMode.EARLY_EXIT) {
+      sortByRank(this.configurations);
     }
+    this.coordinatesIndex = CoordinatesIndex.of(this.configurations);
 
   }
 
@@ -548,6 +895,46 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
     return this.configurationCoordinates;
   }
 
+  /**
+   * Returns the {@link ResolutionMode} this {@link Configurations}
+   * uses when selecting configuration values.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return the non-{@code null} {@link ResolutionMode} in effect
+   *
+   * @see #RESOLUTION_MODE
+   */
+  public final ResolutionMode getResolutionMode() {
+    final ResolutionMode resolutionMode = this.resolutionMode;
+    return resolutionMode == null ? ResolutionMode.EXHAUSTIVE : resolutionMode;
+  }
+
+  /**
+   * Returns the number of {@link Configuration}s that were consulted
+   * by the most recent selection of a configuration value performed
+   * on the current {@link Thread}.
+   *
+   * <p>A request satisfied from the {@linkplain
+   * #VALUE_CACHE_MAXIMUM_SIZE value cache} performs no selection and
+   * so does not affect the return value of this method.  Neither do
+   * {@link Configuration}s skipped because they are {@link
+   * Coordinated} with configuration coordinates that cannot match,
+   * or because they are already active on the current {@link
+   * Thread}.</p>
+   *
+   * <p>This method is intended for diagnostics and testing.</p>
+   *
+   * @return the number of {@link Configuration}s consulted; {@code
+   * 0} if no selection has been performed on the current {@link
+   * Thread}
+   *
+   * @see ResolutionMode#EARLY_EXIT
+   */
+  public final int getConsultedConfigurationCount() {
+    return this.activeConfigurations.get().consulted;
+  }
+
   /**
    * Returns a non-{@code null}, {@linkplain
    * Collections#unmodifiableSet(Set) immutable} {@link Set} of {@link
@@ -619,26 +1006,13 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    * @see #getValue(Map, String, Converter, String)
    */
   @Override
-  public final <T> T getValue(final Map<String, String> configurationCoordinates, final String name, Type type, final String defaultValue) {
+  public final <T> T getValue(final Map<String, String> configurationCoordinates, final String name, final Type type, final String defaultValue) {
     final String cn = this.getClass().getName();
     final String mn = "getValue";
     if (this.logger.isLoggable(Level.FINER)) {
       this.logger.entering(cn, mn, new Object[] { configurationCoordinates, name, type, defaultValue });
     }
-    if (type instanceof Class) {
-      final Class<?> c = (Class<?>)type;
-      if (c.isPrimitive()) {
-        type = wrapperTypes.get(c);
-      }
-    }
-    @SuppressWarnings("unchecked")
-    final Converter<T> converter = (Converter<T>)this.converters.get(type);
-    if (converter == null) {
-      throw new NoSuchConverterException(type);
-    }
-    if (this.logger.isLoggable(Level.FINE)) {
-      this.logger.logp(Level.FINE, cn, mn, "Using {0} to convert String to {1}", new Object[] { converter, type });
-    }
+    final Converter<T> converter = this.getConverter(type);
     final T returnValue = this.getValue(configurationCoordinates, name, converter, defaultValue);
     if (this.logger.isLoggable(Level.FINER)) {
       this.logger.exiting(cn, mn, returnValue);
@@ -736,6 +1110,21 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    *
    * <p>This method may return {@code null}.</p>
    *
+   * <p>If this {@link Configurations} was created with a positive
+   * {@linkplain #VALUE_CACHE_MAXIMUM_SIZE value cache maximum size},
+   * then the {@linkplain #interpolate(String) interpolated} result of
+   * configuration value selection is cached under the supplied {@code
+   * configurationCoordinates} and {@code name}, and the result of
+   * converting it is cached under the {@linkplain Converter#getType()
+   * <code>Type</code>} of the supplied {@link Converter}, until {@link
+   * #invalidateValueCache()} or {@link
+   * #invalidateValueCache(String)} is called.  A cached conversion is
+   * reused only for the very {@link Converter} instance that produced
+   * it; a different {@link Converter} for the same {@link Type}
+   * converts the value afresh and takes its place.  Note that in
+   * such a case callers will receive the very same converted object
+   * on repeated invocations, so they must not modify it.</p>
+   *
    * @param <T> the type of the object to be returned
    *
    * @param configurationCoordinates the configuration coordinates for which
@@ -790,219 +1179,28 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
       configurationCoordinates = Collections.emptyMap();
     }
 
-    // The selected value is the best candidate at any given moment
-    // for using to compute the return value of this method.  When it
-    // is null, it means we haven't found a suitable value yet.
-    ConfigurationValue selectedValue = null;    
-
-    // We use a PriorityQueue of ConfigurationValues sorted by their
-    // specificity (most specific first) to keep track of the most
-    // specific ConfigurationValue found so far.  We create it only
-    // when necessary.
-    PriorityQueue<ConfigurationValue> values = null;
-
-    // Subclasses are given a chance to deal with bad values that
-    // might be encountered by badly-behaved Configuration instances;
-    // see #handleMalformedConfigurationValues(Collection) for
-    // details.
-    Collection<ConfigurationValue> badValues = null;
-
-    for (final Configuration configuration : this.configurations) {
-      assert configuration != null;
+    final T returnValue;
+    final ValueCache valueCache = this.getValueCache();
+    if (valueCache == null) {
+      final ConfigurationValue selectedValue = this.selectValue(configurationCoordinates, name);
 
-      final ConfigurationValue value;
-      try {
-        if (isActive(configuration)) {
-          value = null;
+      // Perform conversion, including of null values.
+      if (selectedValue == null) {
+        if (defaultValue == null) {
+          returnValue = converter.convert(null);
         } else {
-          this.activate(configuration);
-          value = configuration.getValue(configurationCoordinates, name);
+          returnValue = converter.convert(this.interpolate(defaultValue));
         }
-      } finally {
-        this.deactivate(configuration);
-      }
-      
-      if (value != null) {        
-
-        if (name.equals(value.getName())) {
-          Map<String, String> valueCoordinates = value.getCoordinates();
-          if (valueCoordinates == null) {
-            valueCoordinates = Collections.emptyMap();
-          }
-          
-          final int configurationCoordinatesSize = configurationCoordinates.size();
-          final int valueCoordinatesSize = valueCoordinates.size();
-          
-          if (configurationCoordinatesSize < valueCoordinatesSize) {
-            // Bad value!
-            if (badValues == null) {
-              badValues = new LinkedList<>();
-            }
-            badValues.add(value);
-            
-          } else if (configurationCoordinates.equals(valueCoordinates)) {
-            // We have an exact match.  We hope it's going to be the
-            // only one.
-            
-            if (selectedValue == null) {
-              
-              if (values == null || values.isEmpty()) {
-                // There aren't any conflicts yet; this is good.  This
-                // value will be our candidate.
-                selectedValue = value;
-                
-              } else {
-                // We got a match, but we already *had* a match, so we
-                // don't have a candidate--instead, add it to the
-                // bucket of values that will be arbitrated later.
-                values.add(value);
-                
-              }
-              
-            } else {
-              assert selectedValue != null;
-              // We have an exact match, but we already identified a
-              // candidate, so oops, we have to treat our prior match
-              // and this one as non-candidates.
-              
-              if (values == null) {
-                values = new PriorityQueue<>(configurationValueComparator);
-              }
-              values.add(selectedValue);
-              selectedValue = null;
-              values.add(value);
-            }
-            
-          } else if (configurationCoordinatesSize == valueCoordinatesSize) {
-            // Bad value!  The configuration subsystem handed back a
-            // value containing coordinates not drawn from the
-            // configurationCoordinatesSet.  We know this because we
-            // already tested for Set equality, which failed, so this
-            // test means disparate entries.
-            if (badValues == null) {
-              badValues = new LinkedList<>();
-            }
-            badValues.add(value);
-            
-          } else if (selectedValue != null) {
-            // Nothing to do; we've already got our candidate.  We
-            // don't break here because we're going to ensure there
-            // aren't any duplicates.
-            
-          } else if (configurationCoordinates.entrySet().containsAll(valueCoordinates.entrySet())) {
-            // We specified, e.g., {a=b, c=d, e=f} and they have, say,
-            // {c=d, e=f} or {a=b, c=d} etc. but not, say, {q=r}.
-            if (values == null) {
-              values = new PriorityQueue<>(configurationValueComparator);
-            }
-            values.add(value);
-            
-          } else {
-            // Bad value!
-            if (badValues == null) {
-              badValues = new LinkedList<>();
-            }
-            badValues.add(value);
-            
-          }
+      } else {
+        final String valueToConvert = selectedValue.getValue();
+        if (valueToConvert == null) {
+          returnValue = converter.convert(null);
         } else {
-          // We asked for "frobnicationInterval"; they responded with
-          // "hostname".  Bad value.
-          if (badValues == null) {
-            badValues = new LinkedList<>();
-          }
-          badValues.add(value);
-        }
-      }
-    }
-    assert this.allConfigurationsInactive();
-
-    // Give a subclass a chance to deal with bad values.  Dealing with
-    // them might very well involve throwing an exception which will
-    // obviously preclude arbitration and conversion.  That's fine.
-    if (badValues != null && !badValues.isEmpty()) {
-      this.handleMalformedConfigurationValues(badValues);
-    }
-
-    // Perform arbitration if necessary, or otherwise ensure that we
-    // end up with the most suitable value possible.
-    if (selectedValue == null) {
-      final Collection<ConfigurationValue> valuesToArbitrate = new LinkedList<>();
-      int highestSpecificitySoFarEncountered = -1;
-      if (values != null) {
-        VALUES_LOOP:
-        while (!values.isEmpty()) {
-          
-          final ConfigurationValue value = values.poll();
-          assert value != null;
-          
-          // The values are sorted by their specificity, most specific
-          // first.
-          final int valueSpecificity = Math.max(0, value.specificity());
-          assert highestSpecificitySoFarEncountered < 0 || valueSpecificity <= highestSpecificitySoFarEncountered;
-          
-          if (highestSpecificitySoFarEncountered < 0 || valueSpecificity < highestSpecificitySoFarEncountered) {
-            if (selectedValue == null) {
-              assert valuesToArbitrate.isEmpty();
-              selectedValue = value;
-              highestSpecificitySoFarEncountered = valueSpecificity;
-            } else if (valuesToArbitrate.isEmpty()) {
-              // We have a selected value that is non-null, and no
-              // further values to arbitrate, so we're done.  We know
-              // we picked the most specific value so we effectively
-              // discard the others.
-              break VALUES_LOOP;
-            } else {
-              valuesToArbitrate.add(value);
-            }
-          } else if (valueSpecificity == highestSpecificitySoFarEncountered) {
-            assert selectedValue != null;
-            if (value.isAuthoritative()) {
-              if (selectedValue.isAuthoritative()) {
-                // Both say they're authoritative; arbitration required
-                valuesToArbitrate.add(selectedValue);
-                selectedValue = null;
-                valuesToArbitrate.add(value);
-              } else {
-                // value is authoritative; selectedValue is not; so swap
-                // them
-                selectedValue = value;
-              }
-            } else if (selectedValue.isAuthoritative()) {
-              // value is not authoritative; selected value is; so just
-              // drop value on the floor; it's not authoritative.
-            } else {
-              // Neither is authoritative; arbitration required.
-              valuesToArbitrate.add(selectedValue);
-              selectedValue = null;
-              valuesToArbitrate.add(value);
-            }
-          } else {
-            assert false : "valueSpecificity > highestSpecificitySoFarEncountered: " + valueSpecificity + " > " + highestSpecificitySoFarEncountered;
-          }
-          
+          returnValue = converter.convert(this.interpolate(valueToConvert));
         }
       }
-      if (selectedValue == null) {
-        selectedValue = this.performArbitration(configurationCoordinates, name, Collections.unmodifiableCollection(valuesToArbitrate));
-      }
-    }
-
-    // Perform conversion, including of null values.
-    final T returnValue;
-    if (selectedValue == null) {
-      if (defaultValue == null) {
-        returnValue = converter.convert(null);
-      } else {
-        returnValue = converter.convert(this.interpolate(defaultValue));
-      }
     } else {
-      final String valueToConvert = selectedValue.getValue();
-      if (valueToConvert == null) {
-        returnValue = converter.convert(null);
-      } else {
-        returnValue = converter.convert(this.interpolate(valueToConvert));
-      }
+      returnValue = this.getCachedValue(valueCache, configurationCoordinates, name).convert(this, converter, defaultValue);
     }
 
     if (this.logger.isLoggable(Level.FINER)) {
@@ -1012,55 +1210,150 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
   }
 
   /**
-   * Interpolates any expressions occurring within the supplied {@code
-   * value} and returns the result of interpolation.
+   * Returns an {@linkplain Collections#unmodifiableMap(Map)
+   * immutable} {@link Map} of the {@linkplain #interpolate(String)
+   * interpolated} values of those of the supplied configuration
+   * properties for which a value could be selected within the world
+   * defined by the supplied {@code configurationCoordinates}, indexed
+   * by name.
    *
-   * <p>This method may return {@code null}.</p>
+   * <p>This method never returns {@code null}.</p>
    *
-   * <p>Overrides of this method may return {@code null}.</p>
+   * <p>The result for each name is the same as that which the {@link
+   * #getValue(Map, String, Converter, String)} method would produce
+   * before conversion, but all of the names are resolved together:
+   * the supplied {@code configurationCoordinates} are normalized once,
+   * each eligible {@link Configuration} is consulted at most once, by
+   * way of its {@link Configuration#getValues(Map, Set)} method, for
+   * all of the names that are still unresolved, and selection for
+   * every name happens in that same pass.  Names for which no value
+   * could be selected are absent from the returned {@link Map}; a
+   * name whose selected value is {@code null} is present and mapped
+   * to {@code null}.</p>
    *
-   * <p>The default implementation of this method performs
-   * interpolation by using a {@link ValueExpression} as {@linkplain
-   * ExpressionFactory#createValueExpression(ELContext, String, Class)
-   * produced by an <code>ExpressionFactory</code>}.</p>
+   * <p>Values already present in the {@linkplain
+   * #VALUE_CACHE_MAXIMUM_SIZE value cache} are used as-is, and values
+   * that are selected are cached.</p>
    *
-   * <p>A {@code configurations} object is made available to any
-   * Expression Language expressions, which exposes this {@link
-   * Configurations} object.  This means, among other things, that you
-   * can retrieve configuration values using the following syntax:</p>
-   * <pre>${configurations["java.home"]}</pre>
+   * @param configurationCoordinates the configuration coordinates in
+   * effect; may be {@code null}
    *
-   * @param value a configuration value {@link String}, before any
-   * type conversion has taken place, with (possibly) expression
-   * language expressions in it; may be {@code null} in which case
-   * {@code null} is returned
+   * @param names the names of the configuration properties whose
+   * values should be returned; must not be {@code null} or contain
+   * {@code null} elements
    *
-   * @return the result of interpolating the supplied {@code value},
-   * or {@code null}
+   * @return a non-{@code null}, immutable {@link Map} of values
+   * indexed by name
    *
-   * @exception PropertyNotFoundException if the supplied {@code
-   * value} contained a valid expression language expression that
-   * identifies an unknown property
+   * @exception NullPointerException if {@code names} is {@code null}
+   * or contains {@code null} elements
    *
-   * @see <a
-   * href="https://docs.oracle.com/javaee/7/tutorial/jsf-el.htm#GJDDD">the
-   * section in the Java EE Tutorial on the Unified Expression
-   * Language</a>
+   * @exception AmbiguousConfigurationValuesException if, for any
+   * name, two or more values were found that could be suitable and
+   * arbitration {@linkplain #performArbitration(Map, String,
+   * Collection) was performed} but could not resolve the dispute
+   *
+   * @exception ConfigurationException if any other
+   * configuration-related error occurs
+   *
+   * @see #getValue(Map, String, Converter, String)
+   *
+   * @see Configuration#getValues(Map, Set)
    */
-  public String interpolate(final String value) {
+  public final Map<String, String> getValues(Map<String, String> configurationCoordinates, final Set<? extends String> names) {
     final String cn = this.getClass().getName();
-    final String mn = "interpolate";
+    final String mn = "getValues";
     if (this.logger.isLoggable(Level.FINER)) {
-      this.logger.entering(cn, mn, value);
+      this.logger.entering(cn, mn, new Object[] { configurationCoordinates, names });
     }
-    final String returnValue;
-    if (value == null) {
-      returnValue = null;
-    } else {
-      final ValueExpression valueExpression = this.expressionFactory.createValueExpression(this.elContext, value, String.class);
-      assert valueExpression != null;
-      returnValue = String.class.cast(valueExpression.getValue(this.elContext));
+    Objects.requireNonNull(names);
+    this.checkState();
+    if (configurationCoordinates == null) {
+      configurationCoordinates = Collections.emptyMap();
+    }
+    final Coordinates coordinates = Coordinates.of(configurationCoordinates);
+
+    final Map<String, String> values = new HashMap<>();
+    final ValueCache valueCache = this.getValueCache();
+    final int generation = valueCache == null ? 0 : valueCache.getGeneration();
+
+    // Set up a Selection for each name that the value cache cannot
+    // answer.
+    final Map<String, Selection> selections = new HashMap<>();
+    for (final String name : names) {
+      Objects.requireNonNull(name);
+      final CachedValue cachedValue = valueCache == null ? null : valueCache.get(coordinates, name);
+      if (cachedValue == null) {
+        selections.put(name, new Selection(coordinates, name));
+      } else if (cachedValue.selected) {
+        values.put(name, cachedValue.value);
+      }
+    }
+
+    if (!selections.isEmpty()) {
+      // The names whose Selections could still change; in early-exit
+      // mode this shrinks as they finish.
+      final Set<String> pendingNames = new HashSet<>(selections.keySet());
+      final Set<String> unmodifiablePendingNames = Collections.unmodifiableSet(pendingNames);
+
+      final Configuration[] configurations = this.configurations;
+      final ActiveConfigurations activeConfigurations = this.activeConfigurations.get();
+      assert activeConfigurations != null;
+      final int[] indices = this.coordinatesIndex == null ? null : this.coordinatesIndex.get(coordinates);
+      final int length = indices == null ? configurations.length : indices.length;
+
+      int consulted = 0;
+      for (int j = 0; j < length && !pendingNames.isEmpty(); j++) {
+        final int i = indices == null ? j : indices[j];
+        if (activeConfigurations.activate(i)) {
+          consulted++;
+          final Map<String, ConfigurationValue> configurationValues;
+          try {
+            configurationValues = configurations[i].getValues(coordinates, unmodifiablePendingNames);
+          } finally {
+            activeConfigurations.deactivate(i);
+          }
+          if (configurationValues != null && !configurationValues.isEmpty()) {
+            for (final Entry<String, ConfigurationValue> entry : configurationValues.entrySet()) {
+              final String name = entry.getKey();
+              final ConfigurationValue value = entry.getValue();
+              if (value != null && pendingNames.contains(name) && selections.get(name).add(value)) {
+                pendingNames.remove(name);
+              }
+            }
+          }
+        }
+      }
+      activeConfigurations.consulted = consulted;
+
+      // Interpolate only now that none of the Configurations is
+      // being consulted on behalf of this call any longer, since
+      // interpolation may call back into this Configurations.
+      for (final Entry<String, Selection> entry : selections.entrySet()) {
+        final String name = entry.getKey();
+        final ConfigurationValue selectedValue = entry.getValue().select();
+        if (valueCache == null) {
+          if (selectedValue != null) {
+            final String value = selectedValue.getValue();
+            values.put(name, value == null ? null : this.interpolate(value));
+          }
+        } else {
+          CachedValue cachedValue;
+          if (selectedValue == null) {
+            cachedValue = new CachedValue(false, null);
+          } else {
+            final String value = selectedValue.getValue();
+            cachedValue = new CachedValue(true, value == null ? null : this.interpolate(value));
+          }
+          cachedValue = valueCache.put(coordinates, name, cachedValue, generation);
+          if (cachedValue.selected) {
+            values.put(name, cachedValue.value);
+          }
+        }
+      }
     }
+
+    final Map<String, String> returnValue = Collections.unmodifiableMap(values);
     if (this.logger.isLoggable(Level.FINER)) {
       this.logger.exiting(cn, mn, returnValue);
     }
@@ -1068,272 +1361,3261 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
   }
 
   /**
-   * Returns a {@link Set} of names of {@link ConfigurationValue}s
-   * that might be returned by this {@link Configurations} instance.
+   * Returns the {@code int} value of the configuration property
+   * identified by the supplied {@code name} that is suitable for the
+   * {@linkplain #getConfigurationCoordinates() configuration
+   * coordinates of this <code>Configurations</code>}, or the supplied
+   * {@code defaultValue} if there is no such value.
    *
-   * <p>This method does not return {@code null}.</p>
+   * @param name the name of the configuration property; must not be
+   * {@code null}
    *
-   * <p>Overrides of this method must not return {@code null}.</p>
+   * @param defaultValue the value to return if there is no suitable
+   * configuration value
    *
-   * <p>This implementation does not cache results.</p>
+   * @return the configuration value, or {@code defaultValue}
    *
-   * <p>Just because a name appears in the returned {@link Set} does
-   * <em>not</em> mean that a {@link ConfigurationValue} <em>will</em>
-   * be returned for it in a location in configuration space
-   * identified by any arbitrary set of configuration coordinates.</p>
+   * @exception NullPointerException if {@code name} is {@code null}
    *
-   * @return a non-{@code null} {@link Set} of names of {@link
-   * ConfigurationValue}s
+   * @exception IllegalArgumentException if the configuration value
+   * could not be converted
+   *
+   * @see #getInt(Map, String, int)
    */
-  @Override
-  public Set<String> getNames() {
-    final String cn = this.getClass().getName();
-    final String mn = "getNames";
-    if (this.logger.isLoggable(Level.FINER)) {
-      this.logger.entering(cn, mn);
-    }
-    
-    final Set<String> returnValue;
-    if (this.configurations == null || this.configurations.isEmpty()) {
-      returnValue = Collections.emptySet();
-    } else {
-      final Set<String> names = new TreeSet<>();
-      for (final Configuration configuration : this.configurations) {
-        if (configuration != null) {
-          final Set<String> configurationNames = configuration.getNames();
-          if (configurationNames != null && !configurationNames.isEmpty()) {
-            names.addAll(configurationNames);
-          }
-        }
-      }
-      if (names.isEmpty()) {
-        returnValue = Collections.emptySet();
-      } else {
-        returnValue = Collections.unmodifiableSet(names);
-      }
-    }
-    
-    if (this.logger.isLoggable(Level.FINER)) {
-      this.logger.exiting(cn, mn, returnValue);
-    }
-    return returnValue;
+  public final int getInt(final String name, final int defaultValue) {
+    return this.getInt(this.getConfigurationCoordinates(), name, defaultValue);
   }
-  
+
   /**
-   * Handles any badly formed {@link ConfigurationValue} instances
-   * received from {@link Configuration} instances during the
-   * execution of a configuration value request.
+   * Returns the {@code int} value of the configuration property
+   * identified by the supplied {@code name} that is suitable for the
+   * supplied {@code configurationCoordinates}, or the supplied {@code
+   * defaultValue} if there is no such value.
+   *
+   * <p>Unlike {@link #getValue(Map, String, Class, String)}, this
+   * method converts configuration values with an {@link
+   * IntConverter}, so no {@link Integer} is created.  If this {@link
+   * Configurations} {@linkplain #VALUE_CACHE_MAXIMUM_SIZE caches
+   * configuration values}, then the conversion is cached too, and
+   * repeated invocations do not allocate at all.</p>
+   *
+   * @param configurationCoordinates the configuration coordinates in
+   * effect for this request; may be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
    *
-   * <p>The default implementation of this method does nothing.
-   * Malformed values are thus effectively discarded.</p>
+   * @param defaultValue the value to return if there is no suitable
+   * configuration value
    *
-   * <p>This method is called from the {@link #getValue(Map, String,
-   * Converter, String)} method.</p>
+   * @return the configuration value, or {@code defaultValue}
    *
-   * @param badValues a {@link Collection} of {@link
-   * ConfigurationValue} instances that were deemed to be malformed in
-   * some way; may be {@code null}
+   * @exception NullPointerException if {@code name} is {@code null}
    *
-   * @exception ConfigurationException if the {@link #getValue(Map,
-   * String, Converter, String)} method should abort processing
+   * @exception IllegalArgumentException if the configuration value
+   * could not be converted
    *
-   * @see #getValue(Map, String, Converter, String)
+   * @exception AmbiguousConfigurationValuesException if two or more
+   * values were found that could be suitable and arbitration
+   * {@linkplain #performArbitration(Map, String, Collection) was
+   * performed} but could not resolve the dispute
+   *
+   * @see IntConverter
    */
-  protected void handleMalformedConfigurationValues(final Collection<ConfigurationValue> badValues) {
-    if (this.logger.isLoggable(Level.FINER)) {
-      final String cn = this.getClass().getName();
-      final String mn = "handleMalformedConfigurationValues";
-      this.logger.entering(cn, mn, badValues);
-      this.logger.logp(Level.FINER, cn, mn, "Discarding {0}", badValues);
-      this.logger.exiting(cn, mn);
+  public final int getInt(Map<String, String> configurationCoordinates, final String name, final int defaultValue) {
+    Objects.requireNonNull(name);
+    this.checkState();
+    if (configurationCoordinates == null) {
+      configurationCoordinates = Collections.emptyMap();
+    }
+    final int returnValue;
+    final ValueCache valueCache = this.getValueCache();
+    if (valueCache == null) {
+      final String value = this.getInterpolatedValue(configurationCoordinates, name);
+      returnValue = value == null ? defaultValue : this.intConverter.convertToInt(value);
+    } else {
+      final Integer value = this.getCachedConversion(valueCache, configurationCoordinates, name, this.integerConverter);
+      returnValue = value == null ? defaultValue : value.intValue();
     }
+    return returnValue;
   }
 
   /**
-   * Given a logical request for a configuration value, represented by
-   * the {@code configurationCoordinates} and {@code name} parameter
-   * values, and a {@link Collection} of {@link ConfigurationValue}
-   * instances that represents the ambiguous response from several
-   * {@link Configuration} instances, attempts to resolve the
-   * ambiguity by returning a single {@link ConfigurationValue}
-   * instead.
+   * Returns the {@code long} value of the configuration property
+   * identified by the supplied {@code name} that is suitable for the
+   * {@linkplain #getConfigurationCoordinates() configuration
+   * coordinates of this <code>Configurations</code>}, or the supplied
+   * {@code defaultValue} if there is no such value.
    *
-   * <p>This method may return {@code null}.</p>
+   * @param name the name of the configuration property; must not be
+   * {@code null}
    *
-   * <p>Overrides of this method may return {@code null}.</p>
+   * @param defaultValue the value to return if there is no suitable
+   * configuration value
    *
-   * <p>The default implementation of this method asks all registered
-   * {@link Arbiter}s in turn to perform the arbitration and returns
-   * the first non-{@code null} response received.</p>
+   * @return the configuration value, or {@code defaultValue}
    *
-   * @param configurationCoordinates the ({@linkplain
-   * Collections#unmodifiableMap(Map) immutable}) configuration
-   * coordinates in effect for the request; may be {@code null}
+   * @exception NullPointerException if {@code name} is {@code null}
    *
-   * @param name the name of the configuration value; may be {@code
-   * null}
+   * @exception IllegalArgumentException if the configuration value
+   * could not be converted
    *
-   * @param values an {@linkplain
-   * Collections#unmodifiableCollection(Collection) immutable} {@link
-   * Collection} of definitionally ambiguous {@link
-   * ConfigurationValue}s that resulted from the request; may be
+   * @see #getLong(Map, String, long)
+   */
+  public final long getLong(final String name, final long defaultValue) {
+    return this.getLong(this.getConfigurationCoordinates(), name, defaultValue);
+  }
+
+  /**
+   * Returns the {@code long} value of the configuration property
+   * identified by the supplied {@code name} that is suitable for the
+   * supplied {@code configurationCoordinates}, or the supplied {@code
+   * defaultValue} if there is no such value.
+   *
+   * <p>Unlike {@link #getValue(Map, String, Class, String)}, this
+   * method converts configuration values with a {@link
+   * LongConverter}, so no {@link Long} is created.  If this {@link
+   * Configurations} {@linkplain #VALUE_CACHE_MAXIMUM_SIZE caches
+   * configuration values}, then the conversion is cached too, and
+   * repeated invocations do not allocate at all.</p>
+   *
+   * @param configurationCoordinates the configuration coordinates in
+   * effect for this request; may be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
    * {@code null}
    *
-   * @return the result of arbitration, or {@code null}
+   * @param defaultValue the value to return if there is no suitable
+   * configuration value
    *
-   * @exception AmbiguousConfigurationValuesException if successful
-   * arbitration did not happen for any reason
+   * @return the configuration value, or {@code defaultValue}
    *
-   * @see Arbiter
+   * @exception NullPointerException if {@code name} is {@code null}
+   *
+   * @exception IllegalArgumentException if the configuration value
+   * could not be converted
+   *
+   * @exception AmbiguousConfigurationValuesException if two or more
+   * values were found that could be suitable and arbitration
+   * {@linkplain #performArbitration(Map, String, Collection) was
+   * performed} but could not resolve the dispute
+   *
+   * @see LongConverter
    */
-  protected ConfigurationValue performArbitration(final Map<? extends String, ? extends String> configurationCoordinates,
-                                                  final String name,
-                                                  final Collection<? extends ConfigurationValue> values) {
-    final String cn = this.getClass().getName();
-    final String mn = "performArbitration";
-    if (this.logger.isLoggable(Level.FINER)) {
-      this.logger.entering(cn, mn, new Object[] { configurationCoordinates, name, values });
-    }
-
-    ConfigurationValue returnValue = null;
-    if (this.arbiters != null && !this.arbiters.isEmpty()) {
-      for (final Arbiter arbiter : arbiters) {
-        if (arbiter != null) {
-          final ConfigurationValue arbitrationResult = arbiter.arbitrate(configurationCoordinates, name, values);
-          if (arbitrationResult != null) {
-            returnValue = arbitrationResult;
-            break;
-          }
-        }
-      }
-    }
-    if (returnValue == null && values != null && !values.isEmpty()) {
-      throw new AmbiguousConfigurationValuesException(null, null, configurationCoordinates, name, values);
+  public final long getLong(Map<String, String> configurationCoordinates, final String name, final long defaultValue) {
+    Objects.requireNonNull(name);
+    this.checkState();
+    if (configurationCoordinates == null) {
+      configurationCoordinates = Collections.emptyMap();
     }
-    
-    if (this.logger.isLoggable(Level.FINER)) {
-      this.logger.exiting(cn, mn, returnValue);
+    final long returnValue;
+    final ValueCache valueCache = this.getValueCache();
+    if (valueCache == null) {
+      final String value = this.getInterpolatedValue(configurationCoordinates, name);
+      returnValue = value == null ? defaultValue : this.primitiveLongConverter.convertToLong(value);
+    } else {
+      final Long value = this.getCachedConversion(valueCache, configurationCoordinates, name, this.longConverter);
+      returnValue = value == null ? defaultValue : value.longValue();
     }
     return returnValue;
   }
 
   /**
-   * If this {@link Configurations} has not yet finished {@linkplain
-   * #Configurations() constructing}, then this method will throw an
-   * {@link IllegalStateException}.
+   * Returns the {@code double} value of the configuration property
+   * identified by the supplied {@code name} that is suitable for the
+   * {@linkplain #getConfigurationCoordinates() configuration
+   * coordinates of this <code>Configurations</code>}, or the supplied
+   * {@code defaultValue} if there is no such value.
    *
-   * @exception IllegalStateException if this {@link Configurations}
-   * has not yet finished {@linkplain #Configurations() constructing}
+   * @param name the name of the configuration property; must not be
+   * {@code null}
    *
-   * @see #Configurations()
+   * @param defaultValue the value to return if there is no suitable
+   * configuration value
+   *
+   * @return the configuration value, or {@code defaultValue}
+   *
+   * @exception NullPointerException if {@code name} is {@code null}
+   *
+   * @exception IllegalArgumentException if the configuration value
+   * could not be converted
+   *
+   * @see #getDouble(Map, String, double)
    */
-  private final void checkState() {
-    if (!this.initialized) {
-      throw new IllegalStateException();
-    }
+  public final double getDouble(final String name, final double defaultValue) {
+    return this.getDouble(this.getConfigurationCoordinates(), name, defaultValue);
   }
 
   /**
-   * Returns {@code true} if the supplied {@link Configuration} is
-   * currently in the middle of executing its {@link
-   * Configuration#getValue(Map, String)} method on the current {@link
-   * Thread}.
+   * Returns the {@code double} value of the configuration property
+   * identified by the supplied {@code name} that is suitable for the
+   * supplied {@code configurationCoordinates}, or the supplied {@code
+   * defaultValue} if there is no such value.
+   *
+   * <p>Unlike {@link #getValue(Map, String, Class, String)}, this
+   * method converts configuration values with a {@link
+   * DoubleConverter}, so no {@link Double} is created.  If this {@link
+   * Configurations} {@linkplain #VALUE_CACHE_MAXIMUM_SIZE caches
+   * configuration values}, then the conversion is cached too, and
+   * repeated invocations do not allocate at all.</p>
+   *
+   * @param configurationCoordinates the configuration coordinates in
+   * effect for this request; may be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param defaultValue the value to return if there is no suitable
+   * configuration value
    *
-   * @param configuration the {@link Configuration} to test; may be
-   * {@code null} in which case {@code false} will be returned
+   * @return the configuration value, or {@code defaultValue}
    *
-   * @return {@code true} if the supplied {@link Configuration} is
-   * active; {@code false} otherwise
+   * @exception NullPointerException if {@code name} is {@code null}
    *
-   * @see #activate(Configuration)
+   * @exception IllegalArgumentException if the configuration value
+   * could not be converted
+   *
+   * @exception AmbiguousConfigurationValuesException if two or more
+   * values were found that could be suitable and arbitration
+   * {@linkplain #performArbitration(Map, String, Collection) was
+   * performed} but could not resolve the dispute
    *
-   * @see #deactivate(Configuration)
+   * @see DoubleConverter
    */
-  private final boolean isActive(final Configuration configuration) {
-    final boolean returnValue;
-    if (configuration == null) {
-      returnValue = false;
+  public final double getDouble(Map<String, String> configurationCoordinates, final String name, final double defaultValue) {
+    Objects.requireNonNull(name);
+    this.checkState();
+    if (configurationCoordinates == null) {
+      configurationCoordinates = Collections.emptyMap();
+    }
+    final double returnValue;
+    final ValueCache valueCache = this.getValueCache();
+    if (valueCache == null) {
+      final String value = this.getInterpolatedValue(configurationCoordinates, name);
+      returnValue = value == null ? defaultValue : this.primitiveDoubleConverter.convertToDouble(value);
     } else {
-      final Set<Configuration> configurations = staticCurrentlyActiveConfigurations.get().get(this);
-      returnValue = configurations != null && configurations.contains(configuration);
+      final Double value = this.getCachedConversion(valueCache, configurationCoordinates, name, this.doubleConverter);
+      returnValue = value == null ? defaultValue : value.doubleValue();
     }
     return returnValue;
   }
 
   /**
-   * Records that the supplied {@link Configuration} is in the middle
-   * of executing its {@link Configuration#getValue(Map, String)}
-   * method on the current {@link Thread}.
+   * Returns the {@code boolean} value of the configuration property
+   * identified by the supplied {@code name} that is suitable for the
+   * {@linkplain #getConfigurationCoordinates() configuration
+   * coordinates of this <code>Configurations</code>}, or the supplied
+   * {@code defaultValue} if there is no such value.
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param defaultValue the value to return if there is no suitable
+   * configuration value
    *
-   * <p>This method is idempotent.</p>
+   * @return the configuration value, or {@code defaultValue}
    *
-   * @param configuration the {@link Configuration} in question; may
-   * be {@code null} in which case no action is taken
+   * @exception NullPointerException if {@code name} is {@code null}
    *
-   * @see #isActive(Configuration)
+   * @exception IllegalArgumentException if the configuration value
+   * could not be converted
    *
-   * @see #deactivate(Configuration)
+   * @see #getBoolean(Map, String, boolean)
    */
-  private final void activate(final Configuration configuration) {
-    if (configuration != null) {
-      final Map<Configurations, Set<Configuration>> map = staticCurrentlyActiveConfigurations.get();
-      assert map != null;
-      Set<Configuration> configurations = map.get(this);
-      if (configurations == null) {
-        configurations = new HashSet<>();
-        map.put(this, configurations);
-      }
-      configurations.add(configuration);
-      assert this.isActive(configuration);
-    }
+  public final boolean getBoolean(final String name, final boolean defaultValue) {
+    return this.getBoolean(this.getConfigurationCoordinates(), name, defaultValue);
   }
 
   /**
-   * Records that the supplied {@link Configuration} is no longer in
-   * the middle of executing its {@link Configuration#getValue(Map,
-   * String)} method on the current {@link Thread}.
+   * Returns the {@code boolean} value of the configuration property
+   * identified by the supplied {@code name} that is suitable for the
+   * supplied {@code configurationCoordinates}, or the supplied {@code
+   * defaultValue} if there is no such value.
+   *
+   * <p>Unlike {@link #getValue(Map, String, Class, String)}, this
+   * method converts configuration values with a {@link
+   * BooleanConverter}, so no {@link Boolean} is created.  If this {@link
+   * Configurations} {@linkplain #VALUE_CACHE_MAXIMUM_SIZE caches
+   * configuration values}, then the conversion is cached too, and
+   * repeated invocations do not allocate at all.</p>
+   *
+   * @param configurationCoordinates the configuration coordinates in
+   * effect for this request; may be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param defaultValue the value to return if there is no suitable
+   * configuration value
    *
-   * <p>This method is idempotent.</p>
+   * @return the configuration value, or {@code defaultValue}
    *
-   * @param configuration the {@link Configuration} in question; may
-   * be {@code null} in which case no action is taken
+   * @exception NullPointerException if {@code name} is {@code null}
    *
-   * @see #isActive(Configuration)
+   * @exception IllegalArgumentException if the configuration value
+   * could not be converted
    *
-   * @see #activate(Configuration)
+   * @exception AmbiguousConfigurationValuesException if two or more
+   * values were found that could be suitable and arbitration
+   * {@linkplain #performArbitration(Map, String, Collection) was
+   * performed} but could not resolve the dispute
+   *
+   * @see BooleanConverter
    */
-  private final void deactivate(final Configuration configuration) {
-    if (configuration != null) {
-      final Set<Configuration> configurations = staticCurrentlyActiveConfigurations.get().get(this);
-      if (configurations != null) {
-        configurations.remove(configuration);
-      }
+  public final boolean getBoolean(Map<String, String> configurationCoordinates, final String name, final boolean defaultValue) {
+    Objects.requireNonNull(name);
+    this.checkState();
+    if (configurationCoordinates == null) {
+      configurationCoordinates = Collections.emptyMap();
+    }
+    final boolean returnValue;
+    final ValueCache valueCache = this.getValueCache();
+    if (valueCache == null) {
+      final String value = this.getInterpolatedValue(configurationCoordinates, name);
+      returnValue = value == null ? defaultValue : this.primitiveBooleanConverter.convertToBoolean(value);
+    } else {
+      final Boolean value = this.getCachedConversion(valueCache, configurationCoordinates, name, this.booleanConverter);
+      returnValue = value == null ? defaultValue : value.booleanValue();
     }
-    assert !this.isActive(configuration);
+    return returnValue;
   }
 
   /**
-   * Returns {@code true} if all {@link Configuration} instances have
-   * been {@linkplain #deactivate(Configuration) deactivated}.
+   * {@linkplain #selectValue(Map, String) Selects} the configuration
+   * value suitable for the supplied {@code configurationCoordinates}
+   * and {@code name} and returns it {@linkplain #interpolate(String)
+   * interpolated}, without consulting any cache.
    *
-   * @return {@code true} if all {@link Configuration} instances have
-   * been {@linkplain #deactivate(Configuration) deactivated}; {@code
-   * false} otherwise
+   * <p>This method may return {@code null}, including when the
+   * selected {@link ConfigurationValue}'s {@linkplain
+   * ConfigurationValue#getValue() value} is {@code null}.</p>
    *
-   * @see #isActive(Configuration)
+   * @param configurationCoordinates the configuration coordinates for
+   * which a value should be selected; must not be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
    *
-   * @see #deactivate(Configuration)
+   * @return the interpolated value, or {@code null}
    */
-  private final boolean allConfigurationsInactive() {
-    final Set<Configuration> configurations = staticCurrentlyActiveConfigurations.get().get(this);
-    return configurations == null || configurations.isEmpty();
+  private final String getInterpolatedValue(final Map<String, String> configurationCoordinates, final String name) {
+    final ConfigurationValue selectedValue = this.selectValue(configurationCoordinates, name);
+    return selectedValue == null ? null : this.interpolate(selectedValue.getValue());
   }
 
-
-  /*
-   * Inner and nested classes.
-   */
-
+  /**
+   * Returns the result of converting the {@linkplain
+   * #getCachedValue(ValueCache, Map, String) cached} configuration
+   * value suitable for the supplied {@code configurationCoordinates}
+   * and {@code name} with the supplied {@link Converter}, or {@code
+   * null} if there is no such value.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * @param <T> the type of the object to be returned
+   *
+   * @param valueCache the {@link ValueCache} to use; must not be
+   * {@code null}
+   *
+   * @param configurationCoordinates the configuration coordinates for
+   * which a value should be selected; must not be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param converter the {@link Converter} to use; must not be {@code
+   * null}
+   *
+   * @return the cached conversion, or {@code null}
+   */
+  private final <T> T getCachedConversion(final ValueCache valueCache,
+                                          final Map<String, String> configurationCoordinates,
+                                          final String name,
+                                          final Converter<T> converter) {
+    final CachedValue cachedValue = this.getCachedValue(valueCache, configurationCoordinates, name);
+    return cachedValue.value == null ? null : cachedValue.convert(this, converter, null);
+  }
+
+  /**
+   * Returns a {@link ConfigurationKey} representing the configuration
+   * property identified by the supplied {@code name}, whose values
+   * will be converted to the supplied {@code type}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param <T> the type to which configuration values will be
+   * converted
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param type a {@link Class} representing the type to which
+   * configuration values will be converted; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link ConfigurationKey}
+   *
+   * @exception NullPointerException if {@code name} or {@code type}
+   * is {@code null}
+   *
+   * @exception NoSuchConverterException if there is no {@link
+   * Converter} available that {@linkplain Converter#getType()
+   * handles} the supplied {@code type}
+   *
+   * @see #key(String, Class, String)
+   */
+  public final <T> ConfigurationKey<T> key(final String name, final Class<T> type) {
+    return this.key(name, type, null);
+  }
+
+  /**
+   * Returns a {@link ConfigurationKey} representing the configuration
+   * property identified by the supplied {@code name}, whose values
+   * will be converted to the supplied {@code type}, and which will
+   * convert the supplied {@code defaultValue} if no configuration
+   * value is suitable.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>The {@link Converter} that will be used is located once, by
+   * this method, so {@linkplain ConfigurationKey#get(Map) using} the
+   * returned {@link ConfigurationKey} is cheaper than calling {@link
+   * #getValue(Map, String, Type, String)} repeatedly.</p>
+   *
+   * @param <T> the type to which configuration values will be
+   * converted
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param type a {@link Class} representing the type to which
+   * configuration values will be converted; must not be {@code null};
+   * if it {@linkplain Class#isPrimitive() is primitive} then its
+   * wrapper type is used instead
+   *
+   * @param defaultValue the value that will be converted if no
+   * configuration value is suitable; may be {@code null}
+   *
+   * @return a non-{@code null} {@link ConfigurationKey}
+   *
+   * @exception NullPointerException if {@code name} or {@code type}
+   * is {@code null}
+   *
+   * @exception NoSuchConverterException if there is no {@link
+   * Converter} available that {@linkplain Converter#getType()
+   * handles} the supplied {@code type}
+   *
+   * @see ConfigurationKey
+   */
+  public final <T> ConfigurationKey<T> key(final String name, final Class<T> type, final String defaultValue) {
+    Objects.requireNonNull(type);
+    return this.key(name, this.<T>getConverter(type), defaultValue);
+  }
+
+  /**
+   * Returns a {@link ConfigurationKey} representing the configuration
+   * property identified by the supplied {@code name}, whose values
+   * will be converted to the type represented by the supplied {@link
+   * TypeLiteral}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param <T> the type to which configuration values will be
+   * converted
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param typeLiteral a {@link TypeLiteral} representing the type
+   * to which configuration values will be converted; must not be
+   * {@code null}
+   *
+   * @return a non-{@code null} {@link ConfigurationKey}
+   *
+   * @exception NullPointerException if {@code name} or {@code
+   * typeLiteral} is {@code null}
+   *
+   * @exception NoSuchConverterException if there is no {@link
+   * Converter} available that {@linkplain Converter#getType()
+   * handles} the type represented by the supplied {@code
+   * typeLiteral}
+   *
+   * @see #key(String, TypeLiteral, String)
+   */
+  public final <T> ConfigurationKey<T> key(final String name, final TypeLiteral<T> typeLiteral) {
+    return this.key(name, typeLiteral, null);
+  }
+
+  /**
+   * Returns a {@link ConfigurationKey} representing the configuration
+   * property identified by the supplied {@code name}, whose values
+   * will be converted to the type represented by the supplied {@link
+   * TypeLiteral}, and which will convert the supplied {@code
+   * defaultValue} if no configuration value is suitable.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param <T> the type to which configuration values will be
+   * converted
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param typeLiteral a {@link TypeLiteral} representing the type
+   * to which configuration values will be converted; must not be
+   * {@code null}
+   *
+   * @param defaultValue the value that will be converted if no
+   * configuration value is suitable; may be {@code null}
+   *
+   * @return a non-{@code null} {@link ConfigurationKey}
+   *
+   * @exception NullPointerException if {@code name} or {@code
+   * typeLiteral} is {@code null}
+   *
+   * @exception NoSuchConverterException if there is no {@link
+   * Converter} available that {@linkplain Converter#getType()
+   * handles} the type represented by the supplied {@code
+   * typeLiteral}
+   *
+   * @see ConfigurationKey
+   */
+  public final <T> ConfigurationKey<T> key(final String name, final TypeLiteral<T> typeLiteral, final String defaultValue) {
+    return this.key(name, this.<T>getConverter(typeLiteral.getType()), defaultValue);
+  }
+
+  /**
+   * Returns a {@link ConfigurationKey} representing the configuration
+   * property identified by the supplied {@code name}, whose values
+   * will be converted by the supplied {@link Converter}, and which
+   * will convert the supplied {@code defaultValue} if no
+   * configuration value is suitable.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param <T> the type to which configuration values will be
+   * converted
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param converter the {@link Converter} that will convert
+   * configuration values; must not be {@code null}
+   *
+   * @param defaultValue the value that will be converted if no
+   * configuration value is suitable; may be {@code null}
+   *
+   * @return a non-{@code null} {@link ConfigurationKey}
+   *
+   * @exception NullPointerException if {@code name} or {@code
+   * converter} is {@code null}
+   *
+   * @see ConfigurationKey
+   */
+  public final <T> ConfigurationKey<T> key(final String name, final Converter<T> converter, final String defaultValue) {
+    this.checkState();
+    return new ConfigurationKey<>(this, name, converter, defaultValue);
+  }
+
+  /**
+   * Returns the {@linkplain Ranked#getRank() rank} of the supplied
+   * {@link Configuration} if it is {@link Ranked}, or {@code 0} if it
+   * is not.
+   *
+   * @param configuration the {@link Configuration}; must not be
+   * {@code null}
+   *
+   * @return the rank of the supplied {@link Configuration}
+   *
+   * @exception NullPointerException if {@code configuration} is
+   * {@code null}
+   */
+  private static final int getRank(final Configuration configuration) {
+    Objects.requireNonNull(configuration);
+    return configuration instanceof Ranked ? ((Ranked)configuration).getRank() : 0;
+  }
+
+  /**
+   * Sorts the supplied array of {@link Configuration}s in place in
+   * descending order of their {@linkplain #getRank(Configuration)
+   * ranks}, preserving the relative order of those with equal ranks,
+   * and returns it.
+   *
+   * <p>Each {@link Configuration}'s rank is computed exactly once,
+   * since computing it may be expensive.</p>
+   *
+   * @param configurations the array to sort; must not be {@code
+   * null} or contain {@code null} elements
+   *
+   * @return the supplied array
+   *
+   * @exception NullPointerException if {@code configurations} is
+   * {@code null} or contains {@code null} elements
+   */
+  private static final Configuration[] sortByRank(final Configuration[] configurations) {
+    final int length = configurations.length;
+    if (length > 1) {
+      final int[] ranks = new int[length];
+      final Integer[] order = new Integer[length];
+      for (int i = 0; i < length; i++) {
+        ranks[i] = getRank(configurations[i]);
+        order[i] = Integer.valueOf(i);
+      }
+      // Arrays.sort(Object[], Comparator) is stable.
+      Arrays.sort(order, (a, b) -> Integer.compare(ranks[b.intValue()], ranks[a.intValue()]));
+      final Configuration[] original = configurations.clone();
+      for (int i = 0; i < length; i++) {
+        configurations[i] = original[order[i].intValue()];
+      }
+    }
+    return configurations;
+  }
+
+  /**
+   * Returns the {@link Converter} in the supplied {@link Map} that
+   * {@linkplain Converter#getType() handles} the supplied {@code
+   * type}, or the supplied {@code defaultConverter} if there is no
+   * such {@link Converter}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param <T> the type to which the returned {@link Converter}
+   * converts
+   *
+   * @param converters a {@link Map} of {@link Converter}s indexed by
+   * the {@link Type}s they handle; must not be {@code null}
+   *
+   * @param type the {@link Class} in question; must not be {@code
+   * null}
+   *
+   * @param defaultConverter the {@link Converter} to return if none
+   * is found; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link Converter}
+   */
+  @SuppressWarnings("unchecked")
+  private static final <T> Converter<T> findConverter(final Map<? extends Type, ? extends Converter<?>> converters,
+                                                      final Class<T> type,
+                                                      final Converter<T> defaultConverter) {
+    final Converter<T> returnValue = (Converter<T>)converters.get(type);
+    return returnValue == null ? defaultConverter : returnValue;
+  }
+
+  /**
+   * Returns the {@link Converter} that {@linkplain
+   * Converter#getType() handles} the supplied {@link Type}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param <T> the type to which the returned {@link Converter}
+   * converts
+   *
+   * @param type the {@link Type} in question; must not be {@code
+   * null}; if it is a {@linkplain Class#isPrimitive() primitive}
+   * {@link Class} then its wrapper type is used instead
+   *
+   * @return a non-{@code null} {@link Converter}
+   *
+   * @exception NoSuchConverterException if there is no {@link
+   * Converter} available that handles the supplied {@code type}
+   */
+  private final <T> Converter<T> getConverter(Type type) {
+    final String cn = this.getClass().getName();
+    final String mn = "getConverter";
+    if (type instanceof Class) {
+      final Class<?> c = (Class<?>)type;
+      if (c.isPrimitive()) {
+        type = wrapperTypes.get(c);
+      }
+    }
+    @SuppressWarnings("unchecked")
+    final Converter<T> returnValue = (Converter<T>)this.converters.get(type);
+    if (returnValue == null) {
+      throw new NoSuchConverterException(type);
+    }
+    if (this.logger.isLoggable(Level.FINE)) {
+      this.logger.logp(Level.FINE, cn, mn, "Using {0} to convert String to {1}", new Object[] { returnValue, type });
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns this {@link Configurations}' {@link ValueCache} if it has
+   * one and it may be used for a lookup on the current {@link
+   * Thread}, or {@code null}.
+   *
+   * <p>A lookup made while any {@link Configuration} is {@linkplain
+   * ActiveConfigurations active} on the current {@link Thread}, i.e. by
+   * a {@link Configuration} calling back into this {@link
+   * Configurations} from within its own {@link
+   * Configuration#getValue(Map, String)} method, does not consult the
+   * active {@link Configuration}s and so may produce a partial
+   * result.  Such a result must not be cached, and a cached result
+   * must not be substituted for it, so this method returns {@code
+   * null} in that case.</p>
+   *
+   * @return the {@link ValueCache} to use, or {@code null}
+   */
+  private final ValueCache getValueCache() {
+    final ValueCache valueCache = this.valueCache;
+    return valueCache == null || this.activeConfigurations.get().isAnyActive() ? null : valueCache;
+  }
+
+  /**
+   * Returns the {@link CachedValue} stored in the supplied {@link
+   * ValueCache} under the supplied {@code configurationCoordinates}
+   * and {@code name}, {@linkplain #selectValue(Map, String)
+   * resolving} and {@linkplain #interpolate(String) interpolating} it
+   * first if necessary.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param valueCache the {@link ValueCache} to use; must not be
+   * {@code null}
+   *
+   * @param configurationCoordinates the configuration coordinates for
+   * which a value should be selected; must not be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @return a non-{@code null} {@link CachedValue}
+   *
+   * @exception NullPointerException if any parameter is {@code null}
+   *
+   * @exception AmbiguousConfigurationValuesException if two or more
+   * values were found that could be suitable and arbitration
+   * {@linkplain #performArbitration(Map, String, Collection) was
+   * performed} but could not resolve the dispute
+   *
+   * @see #selectValue(Map, String)
+   */
+  private final CachedValue getCachedValue(final ValueCache valueCache, final Map<String, String> configurationCoordinates, final String name) {
+    CachedValue returnValue = valueCache.get(configurationCoordinates, name);
+    if (returnValue == null) {
+      final int generation = valueCache.getGeneration();
+      final ConfigurationValue selectedValue = this.selectValue(configurationCoordinates, name);
+      if (selectedValue == null) {
+        returnValue = new CachedValue(false, null);
+      } else {
+        final String value = selectedValue.getValue();
+        returnValue = new CachedValue(true, value == null ? null : this.interpolate(value));
+      }
+      returnValue = valueCache.put(configurationCoordinates, name, returnValue, generation);
+    }
+    assert returnValue != null;
+    return returnValue;
+  }
+
+  /**
+   * Selects and returns the {@link ConfigurationValue} most suitable
+   * for the supplied {@code configurationCoordinates} and {@code
+   * name} from among those supplied by this {@link Configurations}'
+   * {@link Configuration} instances, {@linkplain
+   * #performArbitration(Map, String, Collection) performing
+   * arbitration} if necessary.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * <p>No {@linkplain #interpolate(String) interpolation} or
+   * {@linkplain Converter#convert(String) conversion} is performed by
+   * this method.</p>
+   *
+   * @param configurationCoordinates the configuration coordinates for
+   * which a value should be selected; must not be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @return the selected {@link ConfigurationValue}, or {@code null}
+   *
+   * @exception AmbiguousConfigurationValuesException if two or more
+   * values were found that could be suitable and arbitration
+   * {@linkplain #performArbitration(Map, String, Collection) was
+   * performed} but could not resolve the dispute
+   *
+   * @see #getValue(Map, String, Converter, String)
+   *
+   * @see #handleMalformedConfigurationValues(Collection)
+   *
+   * @see #performArbitration(Map, String, Collection)
+   */
+  private final ConfigurationValue selectValue(final Map<String, String> requestedCoordinates, final String name) {
+    assert requestedCoordinates != null;
+    assert name != null;
+
+    // Canonicalize the requested coordinates once so that each
+    // value's coordinates can be compared to them by identity and
+    // bitset rather than entry by entry.
+    final Coordinates configurationCoordinates = Coordinates.of(requestedCoordinates);
+
+    final Selection selection = new Selection(configurationCoordinates, name);
+
+    // Fetch the current Thread's record of which Configurations are
+    // active exactly once per selection, not once per Configuration.
+    final Configuration[] configurations = this.configurations;
+    final ActiveConfigurations activeConfigurations = this.activeConfigurations.get();
+    assert activeConfigurations != null;
+
+    // If some Configurations have fixed coordinates, consult only
+    // those that could possibly match, plus all the others.
+    final int[] indices = this.coordinatesIndex == null ? null : this.coordinatesIndex.get(configurationCoordinates);
+    final int length = indices == null ? configurations.length : indices.length;
+
+    int consulted = 0;
+    for (int j = 0; j < length; j++) {
+      final int i = indices == null ? j : indices[j];
+      final Configuration configuration = configurations[i];
+      assert configuration != null;
+
+      final ConfigurationValue value;
+      if (activeConfigurations.activate(i)) {
+        consulted++;
+        try {
+          value = configuration.getValue(configurationCoordinates, name);
+        } finally {
+          activeConfigurations.deactivate(i);
+        }
+      } else {
+        // The configuration is already in the middle of executing its
+        // getValue() method on this thread, i.e. it has called back
+        // into us; don't let it recurse.
+        value = null;
+      }
+
+      if (value != null && selection.add(value)) {
+        break;
+      }
+    }
+
+    // Record how many Configurations were actually consulted.  Any
+    // selections performed reentrantly above have already recorded
+    // theirs, so this one's count is the one that remains.
+    activeConfigurations.consulted = consulted;
+
+    return selection.select();
+  }
+
+  /**
+   * Interpolates any expressions occurring within the supplied {@code
+   * value} and returns the result of interpolation.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * <p>Overrides of this method may return {@code null}.</p>
+   *
+   * <p>The default implementation of this method performs
+   * interpolation by using a {@link ValueExpression} as {@linkplain
+   * ExpressionFactory#createValueExpression(ELContext, String, Class)
+   * produced by an <code>ExpressionFactory</code>}.  Values that
+   * contain neither {@code ${} nor {@code #{} cannot contain
+   * expressions and are returned as-is without involving the
+   * Expression Language at all.  Parsed {@link ValueExpression}s are
+   * cached per distinct {@code value}, and each evaluation takes
+   * place within its own {@link ELContext}, so this method may be
+   * called concurrently by multiple threads.</p>
+   *
+   * <p>A {@code configurations} object is made available to any
+   * Expression Language expressions, which exposes this {@link
+   * Configurations} object.  This means, among other things, that you
+   * can retrieve configuration values using the following syntax:</p>
+   * <pre>${configurations["java.home"]}</pre>
+   *
+   * @param value a configuration value {@link String}, before any
+   * type conversion has taken place, with (possibly) expression
+   * language expressions in it; may be {@code null} in which case
+   * {@code null} is returned
+   *
+   * @return the result of interpolating the supplied {@code value},
+   * or {@code null}
+   *
+   * @exception PropertyNotFoundException if the supplied {@code
+   * value} contained a valid expression language expression that
+   * identifies an unknown property
+   *
+   * @see <a
+   * href="https://docs.oracle.com/javaee/7/tutorial/jsf-el.htm#GJDDD">the
+   * section in the Java EE Tutorial on the Unified Expression
+   * Language</a>
+   */
+  public String interpolate(final String value) {
+    final String cn = this.getClass().getName();
+    final String mn = "interpolate";
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.entering(cn, mn, value);
+    }
+    final String returnValue;
+    if (value == null) {
+      returnValue = null;
+    } else if (value.indexOf("${") < 0 && value.indexOf("#{") < 0) {
+      // There can't be any expressions in the value, so there's
+      // nothing to interpolate.
+      returnValue = value;
+    } else {
+      ValueExpression valueExpression = this.valueExpressions.get(value);
+      if (valueExpression == null) {
+        valueExpression = this.expressionFactory.createValueExpression(this.elContext, value, String.class);
+        assert valueExpression != null;
+        if (this.valueExpressions.size() < MAXIMUM_CACHED_VALUE_EXPRESSIONS) {
+          final ValueExpression existingValueExpression = this.valueExpressions.putIfAbsent(value, valueExpression);
+          if (existingValueExpression != null) {
+            valueExpression = existingValueExpression;
+          }
+        }
+      }
+      returnValue = String.class.cast(valueExpression.getValue(new EvaluationELContext(this.elResolver, this.elContext)));
+    }
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.exiting(cn, mn, returnValue);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link Set} of names of {@link ConfigurationValue}s
+   * that might be returned by this {@link Configurations} instance.
+   *
+   * <p>This method does not return {@code null}.</p>
+   *
+   * <p>Overrides of this method must not return {@code null}.</p>
+   *
+   * <p>This implementation returns an immutable {@link Set} that
+   * iterates in {@linkplain String#compareTo(String) natural order}
+   * and is backed by a sorted index of the names known to this {@link
+   * Configurations}' {@link Configuration}s.  If every one of them
+   * {@linkplain Configuration#reportsNameChanges() reports changes to
+   * its names}, the index is built when first needed and then reused
+   * until {@link #configurationChanged(Configuration, Set)} is
+   * called.  Otherwise, since the names of, for example, a {@link
+   * org.microbean.configuration.spi.SystemPropertiesConfiguration}
+   * that does not work from a snapshot may change at any time, the
+   * index is rebuilt on every call.</p>
+   *
+   * <p>Just because a name appears in the returned {@link Set} does
+   * <em>not</em> mean that a {@link ConfigurationValue} <em>will</em>
+   * be returned for it in a location in configuration space
+   * identified by any arbitrary set of configuration coordinates.</p>
+   *
+   * @return a non-{@code null} {@link Set} of names of {@link
+   * ConfigurationValue}s
+   *
+   * @see #getNames(String)
+   */
+  @Override
+  public Set<String> getNames() {
+    final String cn = this.getClass().getName();
+    final String mn = "getNames";
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.entering(cn, mn);
+    }
+    
+    final Set<String> returnValue = this.getNameIndex().getNames("");
+    
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.exiting(cn, mn, returnValue);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns an immutable {@link Set} of those names of {@link
+   * ConfigurationValue}s that might be returned by this {@link
+   * Configurations} instance that start with the supplied {@code
+   * prefix}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>The returned {@link Set} iterates in {@linkplain
+   * String#compareTo(String) natural order}.  It is found with two
+   * binary searches of the sorted index described in the
+   * documentation of the {@link #getNames()} method, so its cost does
+   * not depend on the total number of names.</p>
+   *
+   * @param prefix the prefix; must not be {@code null}; if empty, all
+   * names will be returned
+   *
+   * @return a non-{@code null}, immutable {@link Set} of names
+   *
+   * @exception NullPointerException if {@code prefix} is {@code null}
+   *
+   * @see #getNames()
+   *
+   * @see #getSubtree(Map, String)
+   */
+  public final Set<String> getNames(final String prefix) {
+    return this.getNameIndex().getNames(Objects.requireNonNull(prefix));
+  }
+
+  /**
+   * Returns an immutable {@link Map} of the {@linkplain
+   * #interpolate(String) interpolated} values, for this {@link
+   * Configurations}' {@linkplain #getConfigurationCoordinates()
+   * configuration coordinates}, of the configuration properties whose
+   * names start with the supplied {@code prefix}, indexed by the rest
+   * of their names.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param prefix the prefix, such as {@code db.}; must not be {@code
+   * null}
+   *
+   * @return a non-{@code null}, immutable {@link Map} of values
+   *
+   * @exception NullPointerException if {@code prefix} is {@code null}
+   *
+   * @exception AmbiguousConfigurationValuesException if, for any
+   * name, arbitration could not resolve a dispute
+   *
+   * @exception ConfigurationException if any other
+   * configuration-related error occurs
+   *
+   * @see #getSubtree(Map, String)
+   */
+  public final Map<String, String> getSubtree(final String prefix) {
+    return this.getSubtree(this.getConfigurationCoordinates(), prefix);
+  }
+
+  /**
+   * Returns an immutable {@link Map} of the {@linkplain
+   * #interpolate(String) interpolated} values, for the supplied
+   * {@code configurationCoordinates}, of the configuration properties
+   * whose names start with the supplied {@code prefix}, indexed by
+   * the rest of their names.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>For example, given configuration properties named {@code
+   * db.url} and {@code db.user}, a call to this method with {@code
+   * db.} as the value of the {@code prefix} parameter will return a
+   * {@link Map} with the keys {@code url} and {@code user}.  The
+   * returned {@link Map} iterates in {@linkplain
+   * String#compareTo(String) natural order} of its keys.  Names for
+   * which no value could be selected are absent.</p>
+   *
+   * <p>The names are found by way of the {@link #getNames(String)}
+   * method, and their values are selected together by way of the
+   * {@link #getValues(Map, Set)} method.</p>
+   *
+   * @param configurationCoordinates the configuration coordinates in
+   * effect; may be {@code null}
+   *
+   * @param prefix the prefix, such as {@code db.}; must not be {@code
+   * null}
+   *
+   * @return a non-{@code null}, immutable {@link Map} of values
+   *
+   * @exception NullPointerException if {@code prefix} is {@code null}
+   *
+   * @exception AmbiguousConfigurationValuesException if, for any
+   * name, arbitration could not resolve a dispute
+   *
+   * @exception ConfigurationException if any other
+   * configuration-related error occurs
+   *
+   * @see #getNames(String)
+   *
+   * @see #getValues(Map, Set)
+   */
+  public final Map<String, String> getSubtree(final Map<String, String> configurationCoordinates, final String prefix) {
+    final Set<String> names = this.getNames(prefix);
+    final Map<String, String> returnValue;
+    if (names.isEmpty()) {
+      returnValue = Collections.emptyMap();
+    } else {
+      final Map<String, String> values = this.getValues(configurationCoordinates, names);
+      final int prefixLength = prefix.length();
+      final Map<String, String> subtree = new LinkedHashMap<>();
+      for (final String name : names) {
+        if (values.containsKey(name)) {
+          subtree.put(name.substring(prefixLength), values.get(name));
+        }
+      }
+      returnValue = Collections.unmodifiableMap(subtree);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the current {@link NameIndex}, building and, if it {@link
+   * #nameIndexReusable may be reused}, publishing a new one if
+   * necessary.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link NameIndex}
+   *
+   * @see #getNames()
+   */
+  private final NameIndex getNameIndex() {
+    NameIndex returnValue;
+    if (this.nameIndexReusable) {
+      returnValue = this.nameIndex.get();
+      if (returnValue == null) {
+        final NameIndex newNameIndex = NameIndex.of(this.configurations);
+        if (this.nameIndex.compareAndSet(null, newNameIndex)) {
+          returnValue = newNameIndex;
+        } else {
+          returnValue = this.nameIndex.get();
+          if (returnValue == null) {
+            // A change was recorded while we were building; ours is as
+            // good as any.
+            returnValue = newNameIndex;
+          }
+        }
+      }
+    } else {
+      returnValue = NameIndex.of(this.configurations);
+    }
+    return returnValue;
+  }
+  
+  /**
+   * Returns a new {@link ConfigurationSnapshot} housing the
+   * configuration value, if any, suitable for the supplied {@code
+   * configurationCoordinates} of every configuration property
+   * {@linkplain #getNames() known to this
+   * <code>Configurations</code>}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>Every configuration value is selected, arbitrated and
+   * {@linkplain #interpolate(String) interpolated} exactly as it
+   * would be by {@link #getValue(Map, String)}, once, by this
+   * method.  This makes this method expensive, and reads from the
+   * returned {@link ConfigurationSnapshot} correspondingly
+   * cheap.</p>
+   *
+   * @param configurationCoordinates the configuration coordinates
+   * for which configuration values should be selected; may be {@code
+   * null}
+   *
+   * @return a new, non-{@code null} {@link ConfigurationSnapshot}
+   *
+   * @exception AmbiguousConfigurationValuesException if, for any
+   * configuration property, two or more values were found that could
+   * be suitable and arbitration {@linkplain #performArbitration(Map,
+   * String, Collection) was performed} but could not resolve the
+   * dispute
+   *
+   * @exception ConfigurationException if any other
+   * configuration-related error occurs
+   *
+   * @see #getSnapshot()
+   */
+  public final ConfigurationSnapshot snapshot(Map<String, String> configurationCoordinates) {
+    final String cn = this.getClass().getName();
+    final String mn = "snapshot";
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.entering(cn, mn, configurationCoordinates);
+    }
+    this.checkState();
+    if (configurationCoordinates == null) {
+      configurationCoordinates = Collections.emptyMap();
+    }
+    final Map<String, String> values = new HashMap<>();
+    for (final String name : this.getNames()) {
+      if (name != null) {
+        final String value = this.getInterpolatedValue(configurationCoordinates, name);
+        if (value != null) {
+          values.put(name, value);
+        }
+      }
+    }
+    final ConfigurationSnapshot returnValue = new ConfigurationSnapshot(configurationCoordinates, values);
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.exiting(cn, mn, returnValue);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the most recently published {@link ConfigurationSnapshot}
+   * of this {@link Configurations}' {@linkplain
+   * #getConfigurationCoordinates() configuration coordinates},
+   * {@linkplain #snapshot(Map) creating} and publishing one first if
+   * none has yet been published.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>Once a {@link ConfigurationSnapshot} has been published, this
+   * method does nothing more than read a reference, so callers that
+   * do not expect configuration to change after startup may call it
+   * freely.  Callers that do should call {@link #refreshSnapshot()}
+   * when it changes.  The published {@link ConfigurationSnapshot} is
+   * also discarded, to be recreated by the next call to this method,
+   * whenever a {@link Configuration} {@linkplain
+   * #configurationChanged(Configuration, Set) reports a change}.</p>
+   *
+   * @return a non-{@code null} {@link ConfigurationSnapshot}
+   *
+   * @exception AmbiguousConfigurationValuesException if a {@link
+   * ConfigurationSnapshot} had to be created and, for any
+   * configuration property, arbitration could not resolve a dispute
+   *
+   * @exception ConfigurationException if any other
+   * configuration-related error occurs
+   *
+   * @see #refreshSnapshot()
+   */
+  public final ConfigurationSnapshot getSnapshot() {
+    ConfigurationSnapshot returnValue = this.snapshot.get();
+    if (returnValue == null) {
+      final ConfigurationSnapshot newSnapshot = this.snapshot(this.getConfigurationCoordinates());
+      if (this.snapshot.compareAndSet(null, newSnapshot)) {
+        returnValue = newSnapshot;
+      } else {
+        returnValue = this.snapshot.get();
+        if (returnValue == null) {
+          // A change cleared the published snapshot after another
+          // thread published one; ours is as fresh as any.
+          returnValue = newSnapshot;
+        }
+      }
+    }
+    assert returnValue != null;
+    return returnValue;
+  }
+
+  /**
+   * {@linkplain #snapshot(Map) Creates} a new {@link
+   * ConfigurationSnapshot} of this {@link Configurations}'
+   * {@linkplain #getConfigurationCoordinates() configuration
+   * coordinates}, atomically publishes it so that subsequent calls to
+   * {@link #getSnapshot()} will return it, and returns it.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>Callers already holding a previously published {@link
+   * ConfigurationSnapshot} are unaffected.</p>
+   *
+   * @return the new, non-{@code null} {@link ConfigurationSnapshot}
+   *
+   * @exception AmbiguousConfigurationValuesException if, for any
+   * configuration property, arbitration could not resolve a dispute;
+   * in this case the previously published {@link
+   * ConfigurationSnapshot}, if any, remains published
+   *
+   * @exception ConfigurationException if any other
+   * configuration-related error occurs
+   *
+   * @see #getSnapshot()
+   */
+  public final ConfigurationSnapshot refreshSnapshot() {
+    final ConfigurationSnapshot returnValue = this.snapshot(this.getConfigurationCoordinates());
+    this.snapshot.set(returnValue);
+    return returnValue;
+  }
+
+  /**
+   * Discards all configuration values that may have been cached by
+   * this {@link Configurations}.
+   *
+   * <p>If this {@link Configurations} does not {@linkplain
+   * #VALUE_CACHE_MAXIMUM_SIZE cache configuration values}, then this
+   * method does nothing.</p>
+   *
+   * @see #invalidateValueCache(String)
+   *
+   * @see #VALUE_CACHE_MAXIMUM_SIZE
+   */
+  public final void invalidateValueCache() {
+    final ValueCache valueCache = this.valueCache;
+    if (valueCache != null) {
+      valueCache.clear();
+    }
+  }
+
+  /**
+   * Discards any configuration values that may have been cached by
+   * this {@link Configurations} for the configuration property
+   * identified by the supplied {@code name}, regardless of the
+   * configuration coordinates they were cached under.
+   *
+   * <p>Note that values of other configuration properties that
+   * {@linkplain #interpolate(String) refer} to the configuration
+   * property identified by the supplied {@code name} are
+   * <em>not</em> discarded; use {@link #invalidateValueCache()} in
+   * such cases.</p>
+   *
+   * <p>If this {@link Configurations} does not {@linkplain
+   * #VALUE_CACHE_MAXIMUM_SIZE cache configuration values}, then this
+   * method does nothing.</p>
+   *
+   * @param name the name of the configuration property whose cached
+   * values should be discarded; must not be {@code null}
+   *
+   * @exception NullPointerException if {@code name} is {@code null}
+   *
+   * @see #invalidateValueCache()
+   *
+   * @see #VALUE_CACHE_MAXIMUM_SIZE
+   */
+  public final void invalidateValueCache(final String name) {
+    Objects.requireNonNull(name);
+    final ValueCache valueCache = this.valueCache;
+    if (valueCache != null) {
+      valueCache.remove(name);
+    }
+  }
+
+  /**
+   * Returns the current generation of this {@link Configurations}'
+   * {@linkplain #VALUE_CACHE_MAXIMUM_SIZE value cache}, which changes
+   * every time it is {@linkplain #invalidateValueCache() invalidated}
+   * in whole or in part, or {@code -1} if this {@link Configurations}
+   * does not cache configuration values.
+   *
+   * @return the current value cache generation, or {@code -1}
+   *
+   * @see ConfigurationKey#get(Map)
+   */
+  final int getValueCacheGeneration() {
+    final ValueCache valueCache = this.valueCache;
+    return valueCache == null ? -1 : valueCache.getGeneration() & Integer.MAX_VALUE;
+  }
+
+  /**
+   * Registers the supplied {@link ConfigurationListener} to be
+   * notified, on the thread that reported the change, when the values
+   * of any of the configuration properties identified by the supplied
+   * {@code names} change for the supplied {@code
+   * configurationCoordinates}.
+   *
+   * @param names the names of the configuration properties of
+   * interest; must not be {@code null}
+   *
+   * @param configurationCoordinates the configuration coordinates for
+   * which values should be selected; may be {@code null}
+   *
+   * @param listener the {@link ConfigurationListener} to notify; must
+   * not be {@code null}
+   *
+   * @exception NullPointerException if {@code names} or {@code
+   * listener} is {@code null}
+   *
+   * @exception AmbiguousConfigurationValuesException if, for any
+   * configuration property of interest, arbitration could not resolve
+   * a dispute while its current value was being recorded
+   *
+   * @exception ConfigurationException if any other
+   * configuration-related error occurs
+   *
+   * @see #addListener(Set, Map, ConfigurationListener, Executor)
+   */
+  public final void addListener(final Set<? extends String> names,
+                                final Map<String, String> configurationCoordinates,
+                                final ConfigurationListener listener) {
+    this.addListener(names, configurationCoordinates, listener, null);
+  }
+
+  /**
+   * Registers the supplied {@link ConfigurationListener} to be
+   * notified, using the supplied {@link Executor}, when the values of
+   * any of the configuration properties identified by the supplied
+   * {@code names} change for the supplied {@code
+   * configurationCoordinates}.
+   *
+   * <p>The current values of the configuration properties of interest
+   * are recorded when this method is called.  Thereafter, whenever a
+   * {@link Configuration} {@linkplain #configurationChanged(Configuration,
+   * Set) reports a change} affecting any of them, only those affected
+   * are selected again and compared with the values last delivered to
+   * the supplied {@link ConfigurationListener}.  If any differ, all of
+   * the differences are delivered to it together in one {@link
+   * ConfigurationChangeEvent}.</p>
+   *
+   * <p>If more than one batch of changes is pending at once, a
+   * multithreaded {@link Executor} may deliver them out of
+   * order.</p>
+   *
+   * @param names the names of the configuration properties of
+   * interest; must not be {@code null}
+   *
+   * @param configurationCoordinates the configuration coordinates for
+   * which values should be selected; may be {@code null}
+   *
+   * @param listener the {@link ConfigurationListener} to notify; must
+   * not be {@code null}
+   *
+   * @param executor the {@link Executor} that will notify the
+   * supplied {@link ConfigurationListener}; if {@code null}, the
+   * thread reporting the change will notify it directly
+   *
+   * @exception NullPointerException if {@code names} or {@code
+   * listener} is {@code null}
+   *
+   * @exception AmbiguousConfigurationValuesException if, for any
+   * configuration property of interest, arbitration could not resolve
+   * a dispute while its current value was being recorded
+   *
+   * @exception ConfigurationException if any other
+   * configuration-related error occurs
+   *
+   * @see #removeListener(ConfigurationListener)
+   *
+   * @see #configurationChanged(Configuration, Set)
+   */
+  public final void addListener(final Set<? extends String> names,
+                                Map<String, String> configurationCoordinates,
+                                final ConfigurationListener listener,
+                                final Executor executor) {
+    final String cn = this.getClass().getName();
+    final String mn = "addListener";
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.entering(cn, mn, new Object[] { names, configurationCoordinates, listener, executor });
+    }
+    Objects.requireNonNull(names);
+    Objects.requireNonNull(listener);
+    this.checkState();
+    if (configurationCoordinates == null) {
+      configurationCoordinates = Collections.emptyMap();
+    }
+    final ListenerRegistration registration =
+      new ListenerRegistration(names, configurationCoordinates, listener, executor == null ? Runnable::run : executor);
+    synchronized (registration) {
+      for (final String name : registration.names) {
+        registration.values.put(name, this.getInterpolatedValue(registration.configurationCoordinates, name));
+      }
+    }
+    this.listenerRegistrations.add(registration);
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.exiting(cn, mn);
+    }
+  }
+
+  /**
+   * Unregisters every registration of the supplied {@link
+   * ConfigurationListener}.
+   *
+   * <p>Notifications already handed to an {@link Executor} may still
+   * be delivered after this method returns.</p>
+   *
+   * @param listener the {@link ConfigurationListener} to unregister;
+   * may be {@code null} in which case {@code false} will be returned
+   *
+   * @return {@code true} if the supplied {@link ConfigurationListener}
+   * was registered
+   *
+   * @see #addListener(Set, Map, ConfigurationListener, Executor)
+   */
+  public final boolean removeListener(final ConfigurationListener listener) {
+    return listener != null && this.listenerRegistrations.removeIf(r -> r.listener == listener);
+  }
+
+  /**
+   * Informs this {@link Configurations} that the values of the
+   * configuration properties identified by the supplied {@code names}
+   * may have changed in the supplied {@link Configuration}.
+   *
+   * <p>{@link Configuration} implementations call this method, on the
+   * {@link Configurations} {@linkplain
+   * Configuration#setConfigurations(Configurations) installed} on
+   * them, when they detect that their underlying configuration system
+   * has changed; {@link
+   * org.microbean.configuration.spi.AbstractConfiguration} subclasses
+   * may call its {@link
+   * org.microbean.configuration.spi.AbstractConfiguration#fireConfigurationChanged(Set)}
+   * method instead.</p>
+   *
+   * <p>This implementation {@linkplain #invalidateValueCache()
+   * invalidates the value cache}, discards any published {@link
+   * ConfigurationSnapshot} so that the next call to {@link
+   * #getSnapshot()} will create a new one, discards the sorted index
+   * of names so that the next call to {@link #getNames()} will build
+   * a new one, and then, for each
+   * {@linkplain #addListener(Set, Map, ConfigurationListener, Executor)
+   * registered} {@link ConfigurationListener} interested in any of the
+   * supplied {@code names}, selects those configuration properties'
+   * values again and delivers any that differ from the ones it last
+   * received.</p>
+   *
+   * <p>Only the configuration properties identified by the supplied
+   * {@code names} are selected again.  A {@link Configuration} that
+   * cannot tell which of its configuration properties changed, or
+   * whose configuration coordinates changed, should supply {@code
+   * null}.</p>
+   *
+   * @param configuration the {@link Configuration} that changed; may
+   * be {@code null}
+   *
+   * @param names the names of the configuration properties whose
+   * values may have changed; may be {@code null} in which case any
+   * configuration property may have changed
+   *
+   * @see #addListener(Set, Map, ConfigurationListener, Executor)
+   */
+  public void configurationChanged(final Configuration configuration, final Set<? extends String> names) {
+    final String cn = this.getClass().getName();
+    final String mn = "configurationChanged";
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.entering(cn, mn, new Object[] { configuration, names });
+    }
+    this.checkState();
+    this.invalidateValueCache();
+    this.snapshot.set(null);
+    this.nameIndex.set(null);
+    if (names == null || !names.isEmpty()) {
+      for (final ListenerRegistration registration : this.listenerRegistrations) {
+        try {
+          this.notifyListener(registration, names);
+        } catch (final RuntimeException exception) {
+          // One listener's failure must not prevent others from
+          // hearing about the change.
+          if (this.logger.isLoggable(Level.WARNING)) {
+            this.logger.logp(Level.WARNING, cn, mn, "Unable to notify " + registration.listener, exception);
+          }
+        }
+      }
+    }
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.exiting(cn, mn);
+    }
+  }
+
+  /**
+   * Selects again the values of the configuration properties that the
+   * supplied {@link ListenerRegistration} is interested in and that
+   * are identified by the supplied {@code names}, and, if any differ
+   * from those last delivered, delivers them all in one {@link
+   * ConfigurationChangeEvent}.
+   *
+   * @param registration the {@link ListenerRegistration}; must not be
+   * {@code null}
+   *
+   * @param names the names of the configuration properties whose
+   * values may have changed; may be {@code null} in which case any
+   * configuration property may have changed
+   *
+   * @see #configurationChanged(Configuration, Set)
+   */
+  private final void notifyListener(final ListenerRegistration registration, final Set<? extends String> names) {
+    final Set<? extends String> candidates;
+    final Set<? extends String> filter;
+    if (names == null) {
+      candidates = registration.names;
+      filter = null;
+    } else if (names.size() < registration.names.size()) {
+      candidates = names;
+      filter = registration.names;
+    } else {
+      candidates = registration.names;
+      filter = names;
+    }
+    final Map<String, String> oldValues = new HashMap<>();
+    final Map<String, String> newValues = new HashMap<>();
+    // Diff under the registration's lock so that concurrent change
+    // reports cannot deliver the same difference twice.
+    synchronized (registration) {
+      for (final String name : candidates) {
+        if (name != null && (filter == null || filter.contains(name))) {
+          final String newValue = this.getInterpolatedValue(registration.configurationCoordinates, name);
+          final String oldValue = registration.values.get(name);
+          if (!Objects.equals(oldValue, newValue)) {
+            oldValues.put(name, oldValue);
+            newValues.put(name, newValue);
+            registration.values.put(name, newValue);
+          }
+        }
+      }
+    }
+    if (!newValues.isEmpty()) {
+      final ConfigurationChangeEvent event = new ConfigurationChangeEvent(this, registration.configurationCoordinates, oldValues, newValues);
+      registration.executor.execute(() -> {
+          try {
+            registration.listener.configurationValuesChanged(event);
+          } catch (final RuntimeException exception) {
+            if (this.logger.isLoggable(Level.WARNING)) {
+              this.logger.logp(Level.WARNING, this.getClass().getName(), "notifyListener", "Listener " + registration.listener + " failed", exception);
+            }
+          }
+        });
+    }
+  }
+
+  /**
+   * Handles any badly formed {@link ConfigurationValue} instances
+   * received from {@link Configuration} instances during the
+   * execution of a configuration value request.
+   *
+   * <p>The default implementation of this method does nothing.
+   * Malformed values are thus effectively discarded.</p>
+   *
+   * <p>This method is called from the {@link #getValue(Map, String,
+   * Converter, String)} method.</p>
+   *
+   * @param badValues a {@link Collection} of {@link
+   * ConfigurationValue} instances that were deemed to be malformed in
+   * some way; may be {@code null}
+   *
+   * @exception ConfigurationException if the {@link #getValue(Map,
+   * String, Converter, String)} method should abort processing
+   *
+   * @see #getValue(Map, String, Converter, String)
+   */
+  protected void handleMalformedConfigurationValues(final Collection<ConfigurationValue> badValues) {
+    if (this.logger.isLoggable(Level.FINER)) {
+      final String cn = this.getClass().getName();
+      final String mn = "handleMalformedConfigurationValues";
+      this.logger.entering(cn, mn, badValues);
+      this.logger.logp(Level.FINER, cn, mn, "Discarding {0}", badValues);
+      this.logger.exiting(cn, mn);
+    }
+  }
+
+  /**
+   * Given a logical request for a configuration value, represented by
+   * the {@code configurationCoordinates} and {@code name} parameter
+   * values, and a {@link Collection} of {@link ConfigurationValue}
+   * instances that represents the ambiguous response from several
+   * {@link Configuration} instances, attempts to resolve the
+   * ambiguity by returning a single {@link ConfigurationValue}
+   * instead.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * <p>Overrides of this method may return {@code null}.</p>
+   *
+   * <p>The default implementation of this method asks all registered
+   * {@link Arbiter}s in turn to perform the arbitration and returns
+   * the first non-{@code null} response received.</p>
+   *
+   * @param configurationCoordinates the ({@linkplain
+   * Collections#unmodifiableMap(Map) immutable}) configuration
+   * coordinates in effect for the request; may be {@code null}
+   *
+   * @param name the name of the configuration value; may be {@code
+   * null}
+   *
+   * @param values an {@linkplain
+   * Collections#unmodifiableCollection(Collection) immutable} {@link
+   * Collection} of definitionally ambiguous {@link
+   * ConfigurationValue}s that resulted from the request; may be
+   * {@code null}
+   *
+   * @return the result of arbitration, or {@code null}
+   *
+   * @exception AmbiguousConfigurationValuesException if successful
+   * arbitration did not happen for any reason
+   *
+   * @see Arbiter
+   */
+  protected ConfigurationValue performArbitration(final Map<? extends String, ? extends String> configurationCoordinates,
+                                                  final String name,
+                                                  final Collection<? extends ConfigurationValue> values) {
+    final String cn = this.getClass().getName();
+    final String mn = "performArbitration";
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.entering(cn, mn, new Object[] { configurationCoordinates, name, values });
+    }
+
+    ConfigurationValue returnValue = null;
+    if (this.arbiters != null && !this.arbiters.isEmpty()) {
+      for (final Arbiter arbiter : arbiters) {
+        if (arbiter != null) {
+          final ConfigurationValue arbitrationResult = arbiter.arbitrate(configurationCoordinates, name, values);
+          if (arbitrationResult != null) {
+            returnValue = arbitrationResult;
+            break;
+          }
+        }
+      }
+    }
+    if (returnValue == null && values != null && !values.isEmpty()) {
+      throw new AmbiguousConfigurationValuesException(null, null, configurationCoordinates, name, values);
+    }
+    
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.exiting(cn, mn, returnValue);
+    }
+    return returnValue;
+  }
+
+  /**
+   * If this {@link Configurations} has not yet finished {@linkplain
+   * #Configurations() constructing}, then this method will throw an
+   * {@link IllegalStateException}.
+   *
+   * @exception IllegalStateException if this {@link Configurations}
+   * has not yet finished {@linkplain #Configurations() constructing}
+   *
+   * @see #Configurations()
+   */
+  private final void checkState() {
+    if (!this.initialized) {
+      throw new IllegalStateException();
+    }
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * The ways in which a {@link Configurations} may go about
+   * selecting a configuration value from among those supplied by its
+   * {@link Configuration}s.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#RESOLUTION_MODE
+   *
+   * @see Configurations#getResolutionMode()
+   */
+  public static enum ResolutionMode {
+
+    /**
+     * Every eligible {@link Configuration} is consulted, in the order
+     * in which they were supplied, and any values whose configuration
+     * coordinates match equally well are {@linkplain
+     * Configurations#performArbitration(Map, String, Collection)
+     * arbitrated}.
+     *
+     * <p>This is the default.</p>
+     */
+    EXHAUSTIVE,
+
+    /**
+     * {@link Configuration}s are consulted in descending order of
+     * {@linkplain Ranked#getRank() rank} only until one of them
+     * supplies an {@linkplain ConfigurationValue#isAuthoritative()
+     * authoritative} value whose configuration coordinates match the
+     * requested configuration coordinates exactly, which is then
+     * selected without arbitration.
+     *
+     * <p>Since no other value can be more specific, this differs from
+     * {@link #EXHAUSTIVE} only in that a lower-ranked {@link
+     * Configuration} can no longer contest such a value.</p>
+     */
+    EARLY_EXIT;
+
+  }
+
+  /**
+   * A per-{@link Thread} record of which of a {@link Configurations}'
+   * {@link Configuration}s are currently executing their {@link
+   * Configuration#getValue(Map, String)} methods, represented as a bit
+   * set indexed by each {@link Configuration}'s position within the
+   * {@link Configurations#configurations} array.
+   *
+   * <p>Once created, an {@link ActiveConfigurations} never allocates,
+   * so tracking activity costs one {@link ThreadLocal#get()} per
+   * configuration value selection plus a few bitwise operations per
+   * {@link Configuration}.</p>
+   *
+   * <p>This class is not safe for concurrent use by multiple threads,
+   * and need not be, since each instance is confined to a single
+   * {@link Thread}.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#selectValue(Map, String)
+   */
+  private static final class ActiveConfigurations {
+
+
+    /*
+     * Instance fields.
+     */
+
+
+    /**
+     * The bits representing active {@link Configuration}s.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final long[] bits;
+
+    /**
+     * The number of {@link Configuration}s consulted by the most
+     * recent selection on this {@link ActiveConfigurations}' {@link
+     * Thread}.
+     *
+     * @see Configurations#getConsultedConfigurationCount()
+     */
+    private int consulted;
+
+    /**
+     * The number of {@link Configuration}s currently active.
+     *
+     * @see #isAnyActive()
+     */
+    private int activeCount;
+
+
+    /*
+     * Constructors.
+     */
+
+
+    /**
+     * Creates a new {@link ActiveConfigurations}.
+     *
+     * @param size the number of {@link Configuration}s to track; must
+     * not be negative
+     */
+    private ActiveConfigurations(final int size) {
+      super();
+      this.bits = new long[(size + 63) >>> 6];
+    }
+
+
+    /*
+     * Instance methods.
+     */
+
+
+    /**
+     * Returns {@code true} if the {@link Configuration} at the
+     * supplied {@code index} is active.
+     *
+     * @param index the index of the {@link Configuration}; must not
+     * be negative
+     *
+     * @return {@code true} if the {@link Configuration} at the
+     * supplied {@code index} is active; {@code false} otherwise
+     */
+    private final boolean isActive(final int index) {
+      return (this.bits[index >>> 6] & (1L << index)) != 0L;
+    }
+
+    /**
+     * Records that the {@link Configuration} at the supplied {@code
+     * index} is active, returning {@code true} if it was not already
+     * active.
+     *
+     * @param index the index of the {@link Configuration}; must not
+     * be negative
+     *
+     * @return {@code true} if the {@link Configuration} at the
+     * supplied {@code index} was not already active and now is;
+     * {@code false} if it was already active
+     *
+     * @see #deactivate(int)
+     */
+    private final boolean activate(final int index) {
+      final int word = index >>> 6;
+      final long mask = 1L << index;
+      final long bits = this.bits[word];
+      if ((bits & mask) == 0L) {
+        this.bits[word] = bits | mask;
+        this.activeCount++;
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Returns {@code true} if any {@link Configuration} is active.
+     *
+     * @return {@code true} if any {@link Configuration} is active;
+     * {@code false} otherwise
+     */
+    private final boolean isAnyActive() {
+      return this.activeCount > 0;
+    }
+
+    /**
+     * Records that the {@link Configuration} at the supplied {@code
+     * index} is no longer active.
+     *
+     * @param index the index of the {@link Configuration}; must not
+     * be negative
+     *
+     * @see #activate(int)
+     */
+    private final void deactivate(final int index) {
+      assert this.isActive(index);
+      this.bits[index >>> 6] &= ~(1L << index);
+      this.activeCount--;
+    }
+
+  }
+
+  /**
+   * The state of the selection of a single configuration value from
+   * among the {@link ConfigurationValue}s supplied by a {@link
+   * Configurations}' {@link Configuration}s.
+   *
+   * <p>{@link ConfigurationValue}s are {@linkplain
+   * #add(ConfigurationValue) added} as they are retrieved, and then
+   * the most suitable of them is {@linkplain #select() selected},
+   * {@linkplain Configurations#performArbitration(Map, String,
+   * Collection) performing arbitration} if necessary.</p>
+   *
+   * <p>This class is not safe for concurrent use by multiple
+   * threads.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#selectValue(Map, String)
+   *
+   * @see Configurations#getValues(Map, Set)
+   */
+  private final class Selection {
+
+
+    /*
+     * Instance fields.
+     */
+
+
+    /**
+     * The canonical configuration coordinates for which a value is
+     * being selected.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Coordinates configurationCoordinates;
+
+    /**
+     * The name of the configuration property for which a value is
+     * being selected.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final String name;
+
+    /**
+     * Whether the {@link ResolutionMode#EARLY_EXIT} {@link
+     * ResolutionMode} is in effect.
+     */
+    private final boolean earlyExit;
+
+    /**
+     * The best candidate at any given moment for the selected value.
+     * When it is {@code null}, no suitable value has been found yet.
+     */
+    private ConfigurationValue selectedValue;
+
+    /**
+     * A {@link PriorityQueue} of {@link ConfigurationValue}s sorted
+     * by their specificity (most specific first), used to keep track
+     * of the most specific {@link ConfigurationValue} found so far;
+     * created only when necessary.
+     */
+    private PriorityQueue<ConfigurationValue> values;
+
+    /**
+     * Values supplied by badly-behaved {@link Configuration}s; see
+     * {@link Configurations#handleMalformedConfigurationValues(Collection)}
+     * for details; created only when necessary.
+     */
+    private Collection<ConfigurationValue> badValues;
+
+    /**
+     * Whether no further {@link ConfigurationValue} could change the
+     * outcome of this {@link Selection}.
+     */
+    private boolean done;
+
+
+    /*
+     * Constructors.
+     */
+
+
+    /**
+     * Creates a new {@link Selection}.
+     *
+     * @param configurationCoordinates the canonical configuration
+     * coordinates for which a value is being selected; must not be
+     * {@code null}
+     *
+     * @param name the name of the configuration property for which a
+     * value is being selected; must not be {@code null}
+     */
+    private Selection(final Coordinates configurationCoordinates, final String name) {
+      super();
+      this.configurationCoordinates = configurationCoordinates;
+      this.name = name;
+      this.earlyExit = Configurations.this.resolutionMode == ResolutionMode.EARLY_EXIT;
+    }
+
+
+    /*
+     * Instance methods.
+     */
+
+
+    /**
+     * Takes the supplied {@link ConfigurationValue} into account and
+     * returns {@code true} if no further {@link ConfigurationValue}s
+     * could change the outcome of this {@link Selection}.
+     *
+     * <p>This method will only return {@code true} when the {@link
+     * ResolutionMode#EARLY_EXIT} {@link ResolutionMode} is in
+     * effect.</p>
+     *
+     * @param value the {@link ConfigurationValue}; must not be {@code
+     * null}
+     *
+     * @return {@code true} if {@link ConfigurationValue}s need no
+     * longer be supplied
+     */
+    private final boolean add(final ConfigurationValue value) {
+      assert value != null;
+      assert !this.done;
+      if (this.name.equals(value.getName())) {
+        final Map<String, String> rawValueCoordinates = value.getCoordinates();
+        
+        final int configurationCoordinatesSize = this.configurationCoordinates.size();
+        final int valueCoordinatesSize = rawValueCoordinates == null ? 0 : rawValueCoordinates.size();
+
+        // ConfigurationValue copies whatever coordinates it is
+        // given, so look up their canonical form; this is skipped
+        // for values that are too specific to be any good.
+        final Coordinates valueCoordinates =
+          configurationCoordinatesSize < valueCoordinatesSize ? null : Coordinates.of(rawValueCoordinates);
+        
+        if (valueCoordinates == null) {
+          // Bad value!
+          if (this.badValues == null) {
+            this.badValues = new LinkedList<>();
+          }
+          this.badValues.add(value);
+          
+        } else if (this.configurationCoordinates == valueCoordinates) {
+          // We have an exact match.  We hope it's going to be the
+          // only one.
+          
+          if (this.earlyExit && value.isAuthoritative()) {
+            // Nothing later can be more specific, and in early-exit
+            // mode the first authoritative exact match wins ties,
+            // so we're done.  Any earlier, non-authoritative exact
+            // match would have lost to this one anyway.
+            this.selectedValue = value;
+            this.values = null;
+            this.done = true;
+            
+          } else if (this.selectedValue == null) {
+            
+            if (this.values == null || this.values.isEmpty()) {
+              // There aren't any conflicts yet; this is good.  This
+              // value will be our candidate.
+              this.selectedValue = value;
+              
+            } else {
+              // We got a match, but we already *had* a match, so we
+              // don't have a candidate--instead, add it to the
+              // bucket of values that will be arbitrated later.
+              this.values.add(value);
+              
+            }
+            
+          } else {
+            assert this.selectedValue != null;
+            // We have an exact match, but we already identified a
+            // candidate, so oops, we have to treat our prior match
+            // and this one as non-candidates.
+            
+            if (this.values == null) {
+              this.values = new PriorityQueue<>(configurationValueComparator);
+            }
+            this.values.add(this.selectedValue);
+            this.selectedValue = null;
+            this.values.add(value);
+          }
+          
+        } else if (configurationCoordinatesSize == valueCoordinatesSize) {
+          // Bad value!  The configuration subsystem handed back a
+          // value containing coordinates not drawn from the
+          // configurationCoordinatesSet.  We know this because we
+          // already tested for Set equality, which failed, so this
+          // test means disparate entries.
+          if (this.badValues == null) {
+            this.badValues = new LinkedList<>();
+          }
+          this.badValues.add(value);
+          
+        } else if (this.selectedValue != null) {
+          // Nothing to do; we've already got our candidate.  We
+          // don't break here because we're going to ensure there
+          // aren't any duplicates.
+          
+        } else if (valueCoordinates.isSubsetOf(this.configurationCoordinates)) {
+          // We specified, e.g., {a=b, c=d, e=f} and they have, say,
+          // {c=d, e=f} or {a=b, c=d} etc. but not, say, {q=r}.
+          if (this.values == null) {
+            this.values = new PriorityQueue<>(configurationValueComparator);
+          }
+          this.values.add(value);
+          
+        } else {
+          // Bad value!
+          if (this.badValues == null) {
+            this.badValues = new LinkedList<>();
+          }
+          this.badValues.add(value);
+          
+        }
+      } else {
+        // We asked for "frobnicationInterval"; they responded with
+        // "hostname".  Bad value.
+        if (this.badValues == null) {
+          this.badValues = new LinkedList<>();
+        }
+        this.badValues.add(value);
+      }
+      return this.done;
+    }
+
+    /**
+     * Selects and returns the most suitable {@link
+     * ConfigurationValue} from among those {@linkplain
+     * #add(ConfigurationValue) added}, or {@code null} if there is
+     * none.
+     *
+     * <p>This method must be called at most once.</p>
+     *
+     * @return the selected {@link ConfigurationValue}, or {@code null}
+     *
+     * @exception AmbiguousConfigurationValuesException if two or more
+     * values were found that could be suitable and arbitration
+     * {@linkplain Configurations#performArbitration(Map, String,
+     * Collection) was performed} but could not resolve the dispute
+     */
+    private final ConfigurationValue select() {
+      ConfigurationValue selectedValue = this.selectedValue;
+      final PriorityQueue<ConfigurationValue> values = this.values;
+      final Collection<ConfigurationValue> badValues = this.badValues;
+
+      // Give a subclass a chance to deal with bad values.  Dealing with
+      // them might very well involve throwing an exception which will
+      // obviously preclude arbitration and conversion.  That's fine.
+      if (badValues != null && !badValues.isEmpty()) {
+        Configurations.this.handleMalformedConfigurationValues(badValues);
+      }
+
+      // Perform arbitration if necessary, or otherwise ensure that we
+      // end up with the most suitable value possible.
+      if (selectedValue == null) {
+        final Collection<ConfigurationValue> valuesToArbitrate = new LinkedList<>();
+        int highestSpecificitySoFarEncountered = -1;
+        if (values != null) {
+          VALUES_LOOP:
+          while (!values.isEmpty()) {
+          
+            final ConfigurationValue value = values.poll();
+            assert value != null;
+          
+            // The values are sorted by their specificity, most specific
+            // first.
+            final int valueSpecificity = Math.max(0, value.specificity());
+            assert highestSpecificitySoFarEncountered < 0 || valueSpecificity <= highestSpecificitySoFarEncountered;
+          
+            if (highestSpecificitySoFarEncountered < 0 || valueSpecificity < highestSpecificitySoFarEncountered) {
+              if (selectedValue == null) {
+                assert valuesToArbitrate.isEmpty();
+                selectedValue = value;
+                highestSpecificitySoFarEncountered = valueSpecificity;
+              } else if (valuesToArbitrate.isEmpty()) {
+                // We have a selected value that is non-null, and no
+                // further values to arbitrate, so we're done.  We know
+                // we picked the most specific value so we effectively
+                // discard the others.
+                break VALUES_LOOP;
+              } else {
+                valuesToArbitrate.add(value);
+              }
+            } else if (valueSpecificity == highestSpecificitySoFarEncountered) {
+              assert selectedValue != null;
+              if (value.isAuthoritative()) {
+                if (selectedValue.isAuthoritative()) {
+                  // Both say they're authoritative; arbitration required
+                  valuesToArbitrate.add(selectedValue);
+                  selectedValue = null;
+                  valuesToArbitrate.add(value);
+                } else {
+                  // value is authoritative; selectedValue is not; so swap
+                  // them
+                  selectedValue = value;
+                }
+              } else if (selectedValue.isAuthoritative()) {
+                // value is not authoritative; selected value is; so just
+                // drop value on the floor; it's not authoritative.
+              } else {
+                // Neither is authoritative; arbitration required.
+                valuesToArbitrate.add(selectedValue);
+                selectedValue = null;
+                valuesToArbitrate.add(value);
+              }
+            } else {
+              assert false : "valueSpecificity > highestSpecificitySoFarEncountered: " + valueSpecificity + " > " + highestSpecificitySoFarEncountered;
+            }
+          
+          }
+        }
+        if (selectedValue == null) {
+          selectedValue = Configurations.this.performArbitration(this.configurationCoordinates, this.name, Collections.unmodifiableCollection(valuesToArbitrate));
+        }
+      }
+
+      return selectedValue;
+    }
+
+  }
+
+  /**
+   * An immutable, sorted index of the names known to a {@link
+   * Configurations}' {@link Configuration}s, held in a single array
+   * without duplicates.
+   *
+   * <p>Because names that share a prefix are contiguous in such an
+   * array, the names starting with any given prefix form a range that
+   * can be found with two binary searches.</p>
+   *
+   * <p>This class is safe for concurrent use by multiple
+   * threads.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#getNames()
+   *
+   * @see Configurations#getNames(String)
+   */
+  private static final class NameIndex {
+
+
+    /*
+     * Static fields.
+     */
+
+
+    /**
+     * A {@link NameIndex} with no names.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private static final NameIndex EMPTY = new NameIndex(new String[0]);
+
+
+    /*
+     * Instance fields.
+     */
+
+
+    /**
+     * The names, in {@linkplain String#compareTo(String) natural
+     * order}, without duplicates.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final String[] names;
+
+
+    /*
+     * Constructors.
+     */
+
+
+    /**
+     * Creates a new {@link NameIndex}.
+     *
+     * @param names the names, sorted and without duplicates; must not
+     * be {@code null}; will not be copied
+     */
+    private NameIndex(final String[] names) {
+      super();
+      this.names = names;
+    }
+
+
+    /*
+     * Instance methods.
+     */
+
+
+    /**
+     * Returns an immutable {@link Set} view of the names in this
+     * {@link NameIndex} that start with the supplied {@code prefix},
+     * iterating in {@linkplain String#compareTo(String) natural
+     * order}.
+     *
+     * <p>This method never returns {@code null}.</p>
+     *
+     * @param prefix the prefix; must not be {@code null}
+     *
+     * @return a non-{@code null}, immutable {@link Set} of names
+     */
+    private final Set<String> getNames(final String prefix) {
+      final String[] names = this.names;
+      final int from;
+      final int to;
+      if (prefix.isEmpty()) {
+        from = 0;
+        to = names.length;
+      } else {
+        final int index = Arrays.binarySearch(names, prefix);
+        from = index < 0 ? -(index + 1) : index;
+        // The names starting with prefix are contiguous and begin at
+        // from, so find where they end.
+        int low = from;
+        int high = names.length;
+        while (low < high) {
+          final int middle = (low + high) >>> 1;
+          if (names[middle].startsWith(prefix)) {
+            low = middle + 1;
+          } else {
+            high = middle;
+          }
+        }
+        to = low;
+      }
+      final Set<String> returnValue;
+      if (from >= to) {
+        returnValue = Collections.emptySet();
+      } else {
+        returnValue = new AbstractSet<String>() {
+            @Override
+            public final int size() {
+              return to - from;
+            }
+
+            @Override
+            public final boolean contains(final Object name) {
+              return name instanceof String && ((String)name).startsWith(prefix) && Arrays.binarySearch(names, from, to, (String)name) >= 0;
+            }
+
+            @Override
+            public final Iterator<String> iterator() {
+              return Collections.unmodifiableList(Arrays.asList(names).subList(from, to)).iterator();
+            }
+          };
+      }
+      return returnValue;
+    }
+
+
+    /*
+     * Static methods.
+     */
+
+
+    /**
+     * Returns a new {@link NameIndex} of the names known to the
+     * supplied {@link Configuration}s.
+     *
+     * <p>This method never returns {@code null}.</p>
+     *
+     * @param configurations the {@link Configuration}s; must not be
+     * {@code null} or contain {@code null} elements
+     *
+     * @return a non-{@code null} {@link NameIndex}
+     *
+     * @see Configuration#getNames()
+     */
+    private static final NameIndex of(final Configuration[] configurations) {
+      final Set<String> names = new HashSet<>();
+      for (final Configuration configuration : configurations) {
+        assert configuration != null;
+        final Set<String> configurationNames = configuration.getNames();
+        if (configurationNames != null && !configurationNames.isEmpty()) {
+          names.addAll(configurationNames);
+        }
+      }
+      names.remove(null);
+      final NameIndex returnValue;
+      if (names.isEmpty()) {
+        returnValue = EMPTY;
+      } else {
+        final String[] sortedNames = names.toArray(new String[names.size()]);
+        Arrays.sort(sortedNames);
+        returnValue = new NameIndex(sortedNames);
+      }
+      return returnValue;
+    }
+
+  }
+
+  /**
+   * An immutable index of the {@link Coordinated} {@link
+   * Configuration}s among a {@link Configurations}' {@link
+   * Configuration}s, organized by their fixed configuration
+   * coordinates, that can efficiently determine which {@link
+   * Configuration}s could supply a value for a given set of
+   * configuration coordinates.
+   *
+   * <p>A {@link Configuration} whose fixed configuration coordinates
+   * are not a subset of the requested configuration coordinates could
+   * only supply values that would be discarded, so it need not be
+   * consulted.  For a given set of requested configuration
+   * coordinates, the index looks up each subset of them, or, if there
+   * are fewer distinct fixed configuration coordinates than subsets,
+   * checks each of those instead.  Either way the resulting plan,
+   * which lists the indices of the {@link Configuration}s to consult
+   * in ascending order, is cached.  Since a full scan also proceeds in
+   * ascending order, a plan never changes the order in which {@link
+   * Configuration}s are consulted; it only omits some.</p>
+   *
+   * <p>This class is safe for concurrent use by multiple
+   * threads.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Coordinated
+   *
+   * @see Configurations#selectValue(Map, String)
+   */
+  private static final class CoordinatesIndex {
+
+
+    /*
+     * Static fields.
+     */
+
+
+    /**
+     * The maximum number of distinct sets of requested configuration
+     * coordinates for which plans are cached.
+     */
+    private static final int MAXIMUM_CACHED_PLANS = 1024;
+
+
+    /*
+     * Instance fields.
+     */
+
+
+    /**
+     * The indices of the {@link Coordinated} {@link Configuration}s,
+     * grouped by their fixed configuration coordinates.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Map<Map<String, String>, int[]> coordinatedIndices;
+
+    /**
+     * The indices of the {@link Configuration}s that do not have fixed
+     * configuration coordinates and so must always be consulted.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final int[] uncoordinatedIndices;
+
+    /**
+     * Plans already computed, indexed by the requested configuration
+     * coordinates they were computed for.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final ConcurrentMap<Map<String, String>, int[]> plans;
+
+
+    /*
+     * Constructors.
+     */
+
+
+    /**
+     * Creates a new {@link CoordinatesIndex}.
+     *
+     * @param coordinatedIndices the indices of the {@link Coordinated}
+     * {@link Configuration}s, grouped by their fixed configuration
+     * coordinates; must not be {@code null}
+     *
+     * @param uncoordinatedIndices the indices of the other {@link
+     * Configuration}s; must not be {@code null}
+     */
+    private CoordinatesIndex(final Map<Map<String, String>, int[]> coordinatedIndices, final int[] uncoordinatedIndices) {
+      super();
+      this.coordinatedIndices = coordinatedIndices;
+      this.uncoordinatedIndices = uncoordinatedIndices;
+      this.plans = new ConcurrentHashMap<>();
+    }
+
+
+    /*
+     * Instance methods.
+     */
+
+
+    /**
+     * Returns the indices of the {@link Configuration}s that should be
+     * consulted for a value for the supplied configuration
+     * coordinates.
+     *
+     * <p>This method never returns {@code null}.</p>
+     *
+     * @param configurationCoordinates the requested configuration
+     * coordinates; must not be {@code null}
+     *
+     * @return a non-{@code null} array of indices that must not be
+     * modified
+     */
+    private final int[] get(final Map<String, String> configurationCoordinates) {
+      int[] returnValue = this.plans.get(configurationCoordinates);
+      if (returnValue == null) {
+        returnValue = this.computePlan(configurationCoordinates);
+        if (this.plans.size() < MAXIMUM_CACHED_PLANS) {
+          this.plans.putIfAbsent(Collections.unmodifiableMap(new HashMap<>(configurationCoordinates)), returnValue);
+        }
+      }
+      return returnValue;
+    }
+
+    /**
+     * Computes and returns the indices of the {@link Configuration}s
+     * that should be consulted for a value for the supplied
+     * configuration coordinates.
+     *
+     * <p>This method never returns {@code null}.</p>
+     *
+     * @param configurationCoordinates the requested configuration
+     * coordinates; must not be {@code null}
+     *
+     * @return a new, non-{@code null} array of indices
+     */
+    private final int[] computePlan(final Map<String, String> configurationCoordinates) {
+      final List<int[]> groups = new ArrayList<>();
+      final int size = configurationCoordinates.size();
+      if (size < 31 && this.coordinatedIndices.size() > (1 << size)) {
+        // Look up each subset of the requested coordinates.
+        final String[] keys = configurationCoordinates.keySet().toArray(new String[size]);
+        for (int mask = 0; mask < (1 << size); mask++) {
+          final Map<String, String> subset = new HashMap<>();
+          for (int i = 0; i < size; i++) {
+            if ((mask & (1 << i)) != 0) {
+              subset.put(keys[i], configurationCoordinates.get(keys[i]));
+            }
+          }
+          final int[] group = this.coordinatedIndices.get(subset);
+          if (group != null) {
+            groups.add(group);
+          }
+        }
+      } else {
+        // There are fewer distinct coordinates than subsets, so check
+        // each of them instead.
+        for (final Map.Entry<Map<String, String>, int[]> entry : this.coordinatedIndices.entrySet()) {
+          if (configurationCoordinates.entrySet().containsAll(entry.getKey().entrySet())) {
+            groups.add(entry.getValue());
+          }
+        }
+      }
+      groups.add(this.uncoordinatedIndices);
+      int length = 0;
+      for (final int[] group : groups) {
+        length += group.length;
+      }
+      final int[] returnValue = new int[length];
+      int position = 0;
+      for (final int[] group : groups) {
+        System.arraycopy(group, 0, returnValue, position, group.length);
+        position += group.length;
+      }
+      // This is the only place the order of a plan is decided: the
+      // same order as a full scan.
+      Arrays.sort(returnValue);
+      return returnValue;
+    }
+
+
+    /*
+     * Static methods.
+     */
+
+
+    /**
+     * Returns a new {@link CoordinatesIndex} of the supplied {@link
+     * Configuration}s, or {@code null} if none of them is {@link
+     * Coordinated} with fixed configuration coordinates.
+     *
+     * @param configurations the {@link Configuration}s; must not be
+     * {@code null} or contain {@code null} elements
+     *
+     * @return a new {@link CoordinatesIndex}, or {@code null}
+     */
+    private static final CoordinatesIndex of(final Configuration[] configurations) {
+      final Map<Map<String, String>, List<Integer>> coordinatedIndices = new HashMap<>();
+      final List<Integer> uncoordinatedIndices = new ArrayList<>();
+      for (int i = 0; i < configurations.length; i++) {
+        final Configuration configuration = configurations[i];
+        Map<String, String> coordinates = null;
+        if (configuration instanceof Coordinated) {
+          coordinates = ((Coordinated)configuration).getCoordinates();
+        }
+        if (coordinates == null) {
+          uncoordinatedIndices.add(Integer.valueOf(i));
+        } else {
+          coordinatedIndices.computeIfAbsent(Collections.unmodifiableMap(new HashMap<>(coordinates)), k -> new ArrayList<>()).add(Integer.valueOf(i));
+        }
+      }
+      final CoordinatesIndex returnValue;
+      if (coordinatedIndices.isEmpty()) {
+        returnValue = null;
+      } else {
+        final Map<Map<String, String>, int[]> groups = new HashMap<>();
+        for (final Map.Entry<Map<String, String>, List<Integer>> entry : coordinatedIndices.entrySet()) {
+          groups.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        returnValue = new CoordinatesIndex(groups, uncoordinatedIndices.stream().mapToInt(Integer::intValue).toArray());
+      }
+      return returnValue;
+    }
+
+  }
+
+  /**
+   * A bounded cache of {@link CachedValue}s indexed by the
+   * configuration coordinates and configuration property names they
+   * were resolved for.
+   *
+   * <p>Lookups are structured as nested {@link ConcurrentMap}s so that
+   * a lookup does not need to allocate a composite key.</p>
+   *
+   * <p>When this {@link ValueCache} is full, {@link CachedValue}s are
+   * evicted in no particular order.  It is deliberately not a
+   * least-recently-used cache: that would require every {@linkplain
+   * #get(Map, String) read} to record its recency.</p>
+   *
+   * <p>This class is safe for concurrent use by multiple
+   * threads.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#VALUE_CACHE_MAXIMUM_SIZE
+   */
+  private static final class ValueCache {
+
+
+    /*
+     * Instance fields.
+     */
+
+
+    /**
+     * The maximum number of {@link CachedValue}s this {@link
+     * ValueCache} will hold.
+     */
+    private final int maximumSize;
+
+    /**
+     * The approximate number of {@link CachedValue}s this {@link
+     * ValueCache} currently holds.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final AtomicInteger size;
+
+    /**
+     * A counter that is incremented every time this {@link
+     * ValueCache} is invalidated in whole or in part.
+     *
+     * <p>This field is never {@code null}.</p>
+     *
+     * @see #put(Map, String, CachedValue, int)
+     */
+    private final AtomicInteger generation;
+
+    /**
+     * The {@link CachedValue}s held by this {@link ValueCache},
+     * indexed first by configuration coordinates and then by
+     * configuration property name.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final ConcurrentMap<Map<String, String>, ConcurrentMap<String, CachedValue>> values;
+
+
+    /*
+     * Constructors.
+     */
+
+
+    /**
+     * Creates a new {@link ValueCache}.
+     *
+     * @param maximumSize the maximum number of {@link CachedValue}s
+     * to hold; must be greater than {@code 0}
+     *
+     * @exception IllegalArgumentException if {@code maximumSize} is
+     * less than or equal to {@code 0}
+     */
+    private ValueCache(final int maximumSize) {
+      super();
+      if (maximumSize <= 0) {
+        throw new IllegalArgumentException("maximumSize <= 0: " + maximumSize);
+      }
+      this.maximumSize = maximumSize;
+      this.size = new AtomicInteger();
+      this.generation = new AtomicInteger();
+      this.values = new ConcurrentHashMap<>();
+    }
+
+
+    /*
+     * Instance methods.
+     */
+
+
+    /**
+     * Returns the current generation of this {@link ValueCache}.
+     *
+     * @return the current generation of this {@link ValueCache}
+     *
+     * @see #put(Map, String, CachedValue, int)
+     */
+    private final int getGeneration() {
+      return this.generation.get();
+    }
+
+    /**
+     * Returns the {@link CachedValue} stored under the supplied
+     * {@code configurationCoordinates} and {@code name}, or {@code
+     * null} if there is no such {@link CachedValue}.
+     *
+     * @param configurationCoordinates the configuration coordinates;
+     * must not be {@code null}
+     *
+     * @param name the configuration property name; must not be {@code
+     * null}
+     *
+     * @return a {@link CachedValue}, or {@code null}
+     */
+    private final CachedValue get(final Map<String, String> configurationCoordinates, final String name) {
+      final Map<String, CachedValue> valuesByName = this.values.get(configurationCoordinates);
+      return valuesByName == null ? null : valuesByName.get(name);
+    }
+
+    /**
+     * Stores the supplied {@link CachedValue} under the supplied
+     * {@code configurationCoordinates} and {@code name} unless
+     * another {@link CachedValue} is already stored there, and
+     * returns whichever {@link CachedValue} is the result.
+     *
+     * <p>If this {@link ValueCache} has been invalidated since the
+     * supplied {@code generation} was {@linkplain #getGeneration()
+     * acquired}, then the supplied {@link CachedValue} is returned
+     * but is not retained.</p>
+     *
+     * <p>This method never returns {@code null}.</p>
+     *
+     * @param configurationCoordinates the configuration coordinates;
+     * must not be {@code null}; copied if stored
+     *
+     * @param name the configuration property name; must not be {@code
+     * null}
+     *
+     * @param value the {@link CachedValue} to store; must not be
+     * {@code null}
+     *
+     * @param generation the {@linkplain #getGeneration() generation}
+     * that was current when the supplied {@link CachedValue} began to
+     * be computed
+     *
+     * @return the {@link CachedValue} that callers should use; never
+     * {@code null}
+     */
+    private final CachedValue put(final Map<String, String> configurationCoordinates,
+                                  final String name,
+                                  final CachedValue value,
+                                  final int generation) {
+      if (generation != this.generation.get()) {
+        return value;
+      }
+      ConcurrentMap<String, CachedValue> valuesByName = this.values.get(configurationCoordinates);
+      if (valuesByName == null) {
+        final Map<String, String> key;
+        if (configurationCoordinates.isEmpty()) {
+          key = Collections.emptyMap();
+        } else {
+          key = Collections.unmodifiableMap(new HashMap<>(configurationCoordinates));
+        }
+        valuesByName = this.values.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+      }
+      final CachedValue existingValue = valuesByName.putIfAbsent(name, value);
+      if (existingValue != null) {
+        return existingValue;
+      }
+      if (this.size.incrementAndGet() > this.maximumSize) {
+        this.evict(valuesByName, name);
+      }
+      if (generation != this.generation.get() && valuesByName.remove(name, value)) {
+        // We raced with an invalidation; don't let a possibly stale
+        // value survive it.
+        this.size.decrementAndGet();
+      }
+      return value;
+    }
+
+    /**
+     * Removes {@link CachedValue}s other than the one just stored
+     * until this {@link ValueCache} is no larger than its maximum
+     * size.
+     *
+     * <p>{@link CachedValue}s are removed in the iteration order of
+     * the underlying {@link ConcurrentMap}s, which is arbitrary.</p>
+     *
+     * @param keptValuesByName the {@link Map} housing the {@link
+     * CachedValue} that was just stored; must not be {@code null}
+     *
+     * @param keptName the name under which the {@link CachedValue}
+     * that was just stored is indexed; must not be {@code null}
+     */
+    private final void evict(final Map<String, CachedValue> keptValuesByName, final String keptName) {
+      final Iterator<Entry<Map<String, String>, ConcurrentMap<String, CachedValue>>> outerIterator = this.values.entrySet().iterator();
+      while (this.size.get() > this.maximumSize && outerIterator.hasNext()) {
+        final Entry<Map<String, String>, ConcurrentMap<String, CachedValue>> outerEntry = outerIterator.next();
+        final ConcurrentMap<String, CachedValue> valuesByName = outerEntry.getValue();
+        final Iterator<Entry<String, CachedValue>> innerIterator = valuesByName.entrySet().iterator();
+        while (this.size.get() > this.maximumSize && innerIterator.hasNext()) {
+          final Entry<String, CachedValue> innerEntry = innerIterator.next();
+          if ((valuesByName != keptValuesByName || !keptName.equals(innerEntry.getKey())) &&
+              valuesByName.remove(innerEntry.getKey(), innerEntry.getValue())) {
+            this.size.decrementAndGet();
+          }
+        }
+        if (valuesByName != keptValuesByName && valuesByName.isEmpty()) {
+          this.values.remove(outerEntry.getKey(), valuesByName);
+        }
+      }
+    }
+
+    /**
+     * Removes all {@link CachedValue}s stored under the supplied
+     * {@code name}, regardless of configuration coordinates.
+     *
+     * @param name the configuration property name; must not be {@code
+     * null}
+     */
+    private final void remove(final String name) {
+      this.generation.incrementAndGet();
+      for (final Map<String, CachedValue> valuesByName : this.values.values()) {
+        if (valuesByName.remove(name) != null) {
+          this.size.decrementAndGet();
+        }
+      }
+    }
+
+    /**
+     * Removes all {@link CachedValue}s from this {@link ValueCache}.
+     */
+    private final void clear() {
+      this.generation.incrementAndGet();
+      this.values.clear();
+      this.size.set(0);
+    }
+
+  }
+
+  /**
+   * The memoized, {@linkplain Configurations#interpolate(String)
+   * interpolated} result of {@linkplain Configurations#selectValue(Map,
+   * String) selecting} a configuration value, along with the results
+   * of {@linkplain Converter#convert(String) converting} it.
+   *
+   * <p>This class is safe for concurrent use by multiple
+   * threads.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see ValueCache
+   */
+  private static final class CachedValue {
+
+
+    /*
+     * Static fields.
+     */
+
+
+    /**
+     * An {@link Object} standing in for {@code null} conversion
+     * results, since a {@link ConcurrentMap} cannot store {@code
+     * null} values.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private static final Object NULL = new Object();
+
+
+    /*
+     * Instance fields.
+     */
+
+
+    /**
+     * Whether a {@link ConfigurationValue} was selected at all.
+     */
+    private final boolean selected;
+
+    /**
+     * The interpolated value of the selected {@link
+     * ConfigurationValue}.
+     *
+     * <p>This field may be {@code null}.</p>
+     */
+    private final String value;
+
+    /**
+     * {@link Conversion}s indexed by the {@linkplain
+     * Converter#getType() <code>Type</code>} of the {@link Converter}
+     * that produced them.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final ConcurrentMap<Type, Conversion> conversions;
+
+    /**
+     * {@link Conversion}s of default values indexed by the
+     * {@linkplain Converter#getType() <code>Type</code>} of the {@link
+     * Converter} that produced them.
+     *
+     * <p>This field is {@code null} if and only if {@link #selected}
+     * is {@code true}.</p>
+     */
+    private final ConcurrentMap<Type, Conversion> defaultConversions;
+
+
+    /*
+     * Constructors.
+     */
+
+
+    /**
+     * Creates a new {@link CachedValue}.
+     *
+     * @param selected whether a {@link ConfigurationValue} was
+     * selected at all
+     *
+     * @param value the interpolated value of the selected {@link
+     * ConfigurationValue}; may be {@code null}
+     */
+    private CachedValue(final boolean selected, final String value) {
+      super();
+      this.selected = selected;
+      this.value = value;
+      this.conversions = new ConcurrentHashMap<>(4);
+      this.defaultConversions = selected ? null : new ConcurrentHashMap<>(4);
+    }
+
+
+    /*
+     * Instance methods.
+     */
+
+
+    /**
+     * Returns the result of converting this {@link CachedValue} with
+     * the supplied {@link Converter}, or, if no {@link
+     * ConfigurationValue} was selected, of converting the
+     * interpolated {@code defaultValue}.
+     *
+     * <p>A cached result is used only if it was produced by the
+     * supplied {@link Converter} itself, not merely by one for the same
+     * {@link Type}; otherwise the conversion is performed and its
+     * result replaces the cached one.</p>
+     *
+     * <p>This method may return {@code null}.</p>
+     *
+     * @param <T> the type of the object to be returned
+     *
+     * @param configurations the {@link Configurations} to use for
+     * {@linkplain Configurations#interpolate(String) interpolating}
+     * the supplied {@code defaultValue}; must not be {@code null}
+     *
+     * @param converter the {@link Converter} to use; must not be
+     * {@code null}
+     *
+     * @param defaultValue the fallback default value; may be {@code
+     * null}
+     *
+     * @return the converted value, or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    private final <T> T convert(final Configurations configurations, final Converter<T> converter, final String defaultValue) {
+      final Type type = converter.getType();
+      final Object returnValue;
+      if (this.selected || defaultValue == null) {
+        Conversion conversion = this.conversions.get(type);
+        if (conversion == null || conversion.converter != converter) {
+          // Only the most recently used Converter is remembered per
+          // Type; call sites overwhelmingly use the same one.
+          final Object result = converter.convert(this.value);
+          final Conversion newConversion = new Conversion(converter, null, result == null ? NULL : result);
+          if (conversion == null) {
+            conversion = this.conversions.putIfAbsent(type, newConversion);
+            if (conversion == null || conversion.converter != converter) {
+              conversion = newConversion;
+            }
+          } else {
+            this.conversions.put(type, newConversion);
+            conversion = newConversion;
+          }
+        }
+        returnValue = conversion.conversion;
+      } else {
+        Conversion defaultConversion = this.defaultConversions.get(type);
+        if (defaultConversion == null ||
+            defaultConversion.converter != converter ||
+            !defaultValue.equals(defaultConversion.defaultValue)) {
+          // Likewise only the most recently used default value is
+          // remembered per Type.
+          final Object result = converter.convert(configurations.interpolate(defaultValue));
+          defaultConversion = new Conversion(converter, defaultValue, result == null ? NULL : result);
+          this.defaultConversions.put(type, defaultConversion);
+        }
+        returnValue = defaultConversion.conversion;
+      }
+      return returnValue == NULL ? null : (T)returnValue;
+    }
+
+  }
+
+  /**
+   * The result of converting a {@link CachedValue}, or a particular
+   * default value, with a particular {@link Converter}.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see CachedValue#convert(Configurations, Converter, String)
+   */
+  private static final class Conversion {
+
+    /**
+     * The {@link Converter} that performed the conversion.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Converter<?> converter;
+
+    /**
+     * The default value that was converted.
+     *
+     * <p>This field is {@code null} if the value of the {@link
+     * CachedValue} itself was converted.</p>
+     */
+    private final String defaultValue;
+
+    /**
+     * The result of the conversion.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Object conversion;
+
+    /**
+     * Creates a new {@link Conversion}.
+     *
+     * @param converter the {@link Converter} that performed the
+     * conversion; must not be {@code null}
+     *
+     * @param defaultValue the default value that was converted; may be
+     * {@code null} if the value of the {@link CachedValue} itself was
+     * converted
+     *
+     * @param conversion the result of the conversion; must not be
+     * {@code null}
+     */
+    private Conversion(final Converter<?> converter, final String defaultValue, final Object conversion) {
+      super();
+      this.converter = Objects.requireNonNull(converter);
+      this.defaultValue = defaultValue;
+      this.conversion = Objects.requireNonNull(conversion);
+    }
+
+  }
+
+  /**
+   * A record of a {@linkplain Configurations#addListener(Set, Map,
+   * ConfigurationListener, Executor) registered} {@link
+   * ConfigurationListener} and the configuration values last
+   * delivered to it.
+   *
+   * <p>The {@link #values} field must be accessed only while
+   * synchronized on the {@link ListenerRegistration} itself.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#notifyListener(ListenerRegistration, Set)
+   */
+  private static final class ListenerRegistration {
+
+    /**
+     * The names of the configuration properties of interest.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Set<String> names;
+
+    /**
+     * The configuration coordinates for which values are selected.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Map<String, String> configurationCoordinates;
+
+    /**
+     * The {@link ConfigurationListener} to notify.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final ConfigurationListener listener;
+
+    /**
+     * The {@link Executor} that notifies the {@link #listener}.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Executor executor;
+
+    /**
+     * The configuration values last delivered to the {@link
+     * #listener}, indexed by name; values may be {@code null}.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Map<String, String> values;
+
+    /**
+     * Creates a new {@link ListenerRegistration}.
+     *
+     * @param names the names of the configuration properties of
+     * interest; must not be {@code null}
+     *
+     * @param configurationCoordinates the configuration coordinates
+     * for which values are selected; must not be {@code null}
+     *
+     * @param listener the {@link ConfigurationListener} to notify;
+     * must not be {@code null}
+     *
+     * @param executor the {@link Executor} that notifies the {@code
+     * listener}; must not be {@code null}
+     */
+    private ListenerRegistration(final Set<? extends String> names,
+                                 final Map<String, String> configurationCoordinates,
+                                 final ConfigurationListener listener,
+                                 final Executor executor) {
+      super();
+      this.names = Collections.unmodifiableSet(new HashSet<>(names));
+      if (configurationCoordinates.isEmpty()) {
+        this.configurationCoordinates = Collections.emptyMap();
+      } else {
+        this.configurationCoordinates = Collections.unmodifiableMap(new HashMap<>(configurationCoordinates));
+      }
+      this.listener = Objects.requireNonNull(listener);
+      this.executor = Objects.requireNonNull(executor);
+      this.values = new HashMap<>();
+    }
+
+  }
+
+  /**
+   * A lightweight {@link ELContext} used for exactly one evaluation of
+   * a {@link ValueExpression}.
+   *
+   * <p>{@link ELContext}s carry mutable per-evaluation state, such as
+   * whether a property has been {@linkplain
+   * ELContext#setPropertyResolved(boolean) resolved}, so sharing one
+   * among concurrent (or nested) evaluations is unsafe.  Instances of
+   * this class are cheap to create: they share the (stateless) {@link
+   * ELResolver}, {@link FunctionMapper} and {@link VariableMapper} of
+   * the {@link ELContext} used for parsing.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#interpolate(String)
+   */
+  private static final class EvaluationELContext extends ELContext {
+
+
+    /*
+     * Instance fields.
+     */
+
+
+    /**
+     * The {@link ELResolver} to return from the {@link
+     * #getELResolver()} method.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final ELResolver elResolver;
+
+    /**
+     * The {@link ELContext} that was used to parse the {@link
+     * ValueExpression} being evaluated.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final ELContext parsingContext;
+
+
+    /*
+     * Constructors.
+     */
+
+
+    /**
+     * Creates a new {@link EvaluationELContext}.
+     *
+     * @param elResolver the {@link ELResolver} to use; must not be
+     * {@code null}
+     *
+     * @param parsingContext the {@link ELContext} that was used to
+     * parse the {@link ValueExpression} being evaluated; must not be
+     * {@code null}
+     *
+     * @exception NullPointerException if either parameter is {@code
+     * null}
+     */
+    private EvaluationELContext(final ELResolver elResolver, final ELContext parsingContext) {
+      super();
+      this.elResolver = Objects.requireNonNull(elResolver);
+      this.parsingContext = Objects.requireNonNull(parsingContext);
+      this.setLocale(parsingContext.getLocale());
+    }
+
+
+    /*
+     * Instance methods.
+     */
+
+
+    /**
+     * Returns the {@link ELResolver} supplied at construction time.
+     *
+     * @return a non-{@code null} {@link ELResolver}
+     */
+    @Override
+    public final ELResolver getELResolver() {
+      return this.elResolver;
+    }
+
+    /**
+     * Returns the {@link FunctionMapper} of the {@link ELContext}
+     * supplied at construction time.
+     *
+     * @return a {@link FunctionMapper}, or {@code null}
+     */
+    @Override
+    public final FunctionMapper getFunctionMapper() {
+      return this.parsingContext.getFunctionMapper();
+    }
+
+    /**
+     * Returns the {@link VariableMapper} of the {@link ELContext}
+     * supplied at construction time.
+     *
+     * @return a {@link VariableMapper}, or {@code null}
+     */
+    @Override
+    public final VariableMapper getVariableMapper() {
+      return this.parsingContext.getVariableMapper();
+    }
+
+  }
 
   /**
    * An {@link ELResolver} that resolves a {@code configurations}
@@ -0,0 +1,482 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A canonical, immutable {@link Map} of configuration coordinates.
+ *
+ * <p>{@link Coordinates} are obtained only by way of the {@link
+ * #of(Map)} method, which interns them in a global pool, so two
+ * {@link Coordinates} are {@linkplain #equals(Object) equal} if and
+ * only if they are the same object.  The pool refers to its {@link
+ * Coordinates} only weakly, so those that are no longer in use, such
+ * as those derived from a single request, are discarded.</p>
+ *
+ * <p>The first {@value #MAXIMUM_BIT_COUNT} distinct pairings of a
+ * configuration coordinate's name with a value are each assigned a
+ * bit, and each {@link Coordinates} records the bits of its
+ * pairings, so that {@linkplain #isSubsetOf(Coordinates) subset
+ * tests} are a handful of bitwise operations.  Subset tests
+ * involving a {@link Coordinates} with a pairing that was not
+ * assigned a bit compare the mappings instead.  The {@linkplain
+ * #hashCode() hash code} of a {@link Coordinates} is computed
+ * once.</p>
+ *
+ * <p>This class is safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see #of(Map)
+ */
+public final class Coordinates extends AbstractMap<String, String> implements Serializable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The maximum number of distinct pairings of a configuration
+   * coordinate's name with a value that will be assigned a bit.
+   *
+   * <p>This bounds both the memory used to record assignments and
+   * the length of the {@link #bits} of every {@link Coordinates}.</p>
+   */
+  static final int MAXIMUM_BIT_COUNT = 1024;
+
+  /**
+   * The bits assigned to configuration coordinate values, indexed by
+   * configuration coordinate name and then value.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private static final ConcurrentMap<String, ConcurrentMap<String, Integer>> bitsByPairing = new ConcurrentHashMap<>();
+
+  /**
+   * The number of bits assigned so far; never more than {@link
+   * #MAXIMUM_BIT_COUNT}.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private static final AtomicInteger bitCount = new AtomicInteger();
+
+  /**
+   * The pool of interned {@link Coordinates}, indexed by their
+   * mappings.
+   *
+   * <p>Any {@link Map} may be used to look up its canonical {@link
+   * Coordinates}.</p>
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #expungeStaleEntries()
+   */
+  private static final ConcurrentMap<Map<String, String>, PoolReference> pool = new ConcurrentHashMap<>();
+
+  /**
+   * The {@link ReferenceQueue} on which the {@link PoolReference}s of
+   * discarded {@link Coordinates} are enqueued.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #expungeStaleEntries()
+   */
+  private static final ReferenceQueue<Coordinates> staleReferences = new ReferenceQueue<>();
+
+  /**
+   * The canonical empty {@link Coordinates}.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  public static final Coordinates EMPTY = of(Collections.emptyMap());
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The configuration coordinates.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Map<String, String> coordinates;
+
+  /**
+   * The bits of this {@link Coordinates}' pairings.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final transient long[] bits;
+
+  /**
+   * Whether every one of this {@link Coordinates}' pairings has a bit
+   * recorded in {@link #bits}.
+   */
+  private final transient boolean complete;
+
+  /**
+   * The hash code of this {@link Coordinates}.
+   */
+  private final transient int hashCode;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link Coordinates}.
+   *
+   * @param coordinates an immutable {@link Map} of configuration
+   * coordinates that will not be copied; must not be {@code null} or
+   * contain {@code null} keys or values
+   *
+   * @see #of(Map)
+   */
+  private Coordinates(final Map<String, String> coordinates) {
+    super();
+    this.coordinates = coordinates;
+    this.hashCode = coordinates.hashCode();
+    int maximumBit = -1;
+    boolean complete = true;
+    final int[] bits = new int[coordinates.size()];
+    int i = 0;
+    for (final Map.Entry<String, String> entry : coordinates.entrySet()) {
+      final int bit = bitFor(entry.getKey(), entry.getValue());
+      if (bit < 0) {
+        complete = false;
+      } else {
+        bits[i++] = bit;
+        maximumBit = Math.max(maximumBit, bit);
+      }
+    }
+    this.complete = complete;
+    this.bits = new long[maximumBit < 0 ? 0 : (maximumBit >>> 6) + 1];
+    while (i-- > 0) {
+      this.bits[bits[i] >>> 6] |= 1L << bits[i];
+    }
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns {@code true} if every configuration coordinate in this
+   * {@link Coordinates} is also present, with the same value, in the
+   * supplied {@link Coordinates}.
+   *
+   * @param other the other {@link Coordinates}; must not be {@code
+   * null}
+   *
+   * @return {@code true} if this {@link Coordinates} is a subset of
+   * the supplied {@link Coordinates}
+   *
+   * @exception NullPointerException if {@code other} is {@code null}
+   */
+  public final boolean isSubsetOf(final Coordinates other) {
+    if (other == this) {
+      return true;
+    }
+    if (!this.complete || !other.complete) {
+      for (final Map.Entry<String, String> entry : this.coordinates.entrySet()) {
+        if (!entry.getValue().equals(other.get(entry.getKey()))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    final long[] bits = this.bits;
+    final long[] otherBits = other.bits;
+    for (int i = 0; i < bits.length; i++) {
+      final long otherWord = i < otherBits.length ? otherBits[i] : 0L;
+      if ((bits[i] & ~otherWord) != 0L) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns {@code true} if every one of this {@link Coordinates}'
+   * pairings was assigned a bit, so that {@linkplain
+   * #isSubsetOf(Coordinates) subset tests} between it and other such
+   * {@link Coordinates} are bitwise operations.
+   *
+   * @return {@code true} if every pairing was assigned a bit
+   */
+  final boolean isComplete() {
+    return this.complete;
+  }
+
+  @Override
+  public final int size() {
+    return this.coordinates.size();
+  }
+
+  @Override
+  public final boolean isEmpty() {
+    return this.coordinates.isEmpty();
+  }
+
+  @Override
+  public final boolean containsKey(final Object name) {
+    return this.coordinates.containsKey(name);
+  }
+
+  @Override
+  public final String get(final Object name) {
+    return this.coordinates.get(name);
+  }
+
+  @Override
+  public final Set<Map.Entry<String, String>> entrySet() {
+    return this.coordinates.entrySet();
+  }
+
+  @Override
+  public final int hashCode() {
+    return this.hashCode;
+  }
+
+  /**
+   * Returns {@code true} if the supplied {@link Object} is a {@link
+   * Map} with the same mappings as this {@link Coordinates}.
+   *
+   * <p>When the supplied {@link Object} is itself a {@link
+   * Coordinates}, this is an identity comparison.</p>
+   *
+   * @param other the {@link Object} to compare; may be {@code null}
+   *
+   * @return {@code true} if the supplied {@link Object} is equal to
+   * this {@link Coordinates}
+   */
+  @Override
+  public final boolean equals(final Object other) {
+    if (other == this) {
+      return true;
+    } else if (other instanceof Coordinates) {
+      return false;
+    } else {
+      return super.equals(other);
+    }
+  }
+
+  /**
+   * Returns the canonical {@link Coordinates} equal to this one after
+   * deserialization.
+   *
+   * @return the canonical {@link Coordinates}; never {@code null}
+   *
+   * @exception ObjectStreamException never
+   */
+  private final Object readResolve() throws ObjectStreamException {
+    return of(this.coordinates);
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns the canonical {@link Coordinates} with the same mappings
+   * as the supplied {@link Map}, creating and interning it if
+   * necessary.
+   *
+   * <p>Mappings with {@code null} keys or values are ignored.</p>
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param coordinates a {@link Map} of configuration coordinates;
+   * may be {@code null} in which case {@link #EMPTY} will be returned
+   *
+   * @return the canonical, non-{@code null} {@link Coordinates}
+   */
+  public static final Coordinates of(final Map<? extends String, ? extends String> coordinates) {
+    final Coordinates returnValue;
+    if (coordinates instanceof Coordinates) {
+      returnValue = (Coordinates)coordinates;
+    } else if (coordinates == null || (coordinates.isEmpty() && EMPTY != null)) {
+      returnValue = EMPTY;
+    } else {
+      expungeStaleEntries();
+      final PoolReference reference = pool.get(coordinates);
+      final Coordinates interned = reference == null ? null : reference.get();
+      if (interned != null) {
+        returnValue = interned;
+      } else {
+        final Map<String, String> copy = new HashMap<>();
+        for (final Map.Entry<? extends String, ? extends String> entry : coordinates.entrySet()) {
+          final String name = entry.getKey();
+          final String value = entry.getValue();
+          if (name != null && value != null) {
+            copy.put(name, value);
+          }
+        }
+        final Map<String, String> immutableCopy = copy.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(copy);
+        returnValue = intern(new Coordinates(immutableCopy));
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Installs the supplied {@link Coordinates} in the pool unless an
+   * equal one is already there, and returns whichever one is.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param candidate the {@link Coordinates} to install; must not be
+   * {@code null}
+   *
+   * @return the canonical, non-{@code null} {@link Coordinates}
+   */
+  private static final Coordinates intern(final Coordinates candidate) {
+    final PoolReference candidateReference = new PoolReference(candidate, staleReferences);
+    Coordinates returnValue = null;
+    while (returnValue == null) {
+      final PoolReference reference = pool.putIfAbsent(candidate.coordinates, candidateReference);
+      if (reference == null) {
+        returnValue = candidate;
+      } else {
+        returnValue = reference.get();
+        if (returnValue == null && pool.replace(candidate.coordinates, reference, candidateReference)) {
+          // The interned one was discarded; ours takes its place.
+          returnValue = candidate;
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Removes the pool entries of any {@link Coordinates} that have
+   * been discarded.
+   */
+  private static final void expungeStaleEntries() {
+    Reference<? extends Coordinates> reference;
+    while ((reference = staleReferences.poll()) != null) {
+      final PoolReference poolReference = (PoolReference)reference;
+      pool.remove(poolReference.coordinates, poolReference);
+    }
+  }
+
+  /**
+   * Returns the bit assigned to the pairing of the supplied
+   * configuration coordinate name and value, assigning one if
+   * necessary and if fewer than {@value #MAXIMUM_BIT_COUNT} have been
+   * assigned.
+   *
+   * @param name the configuration coordinate name; must not be {@code
+   * null}
+   *
+   * @param value the configuration coordinate value; must not be
+   * {@code null}
+   *
+   * @return a bit index, or {@code -1} if none could be assigned
+   */
+  private static final int bitFor(final String name, final String value) {
+    ConcurrentMap<String, Integer> bitsByValue = bitsByPairing.get(name);
+    Integer bit = bitsByValue == null ? null : bitsByValue.get(value);
+    if (bit == null && bitCount.get() < MAXIMUM_BIT_COUNT) {
+      if (bitsByValue == null) {
+        bitsByValue = bitsByPairing.computeIfAbsent(name, n -> new ConcurrentHashMap<>());
+      }
+      bit = bitsByValue.computeIfAbsent(value, v -> {
+          final int newBit = bitCount.getAndIncrement();
+          // null means no mapping is recorded.
+          return newBit < MAXIMUM_BIT_COUNT ? Integer.valueOf(newBit) : null;
+        });
+    }
+    return bit == null ? -1 : bit.intValue();
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * A {@link WeakReference} to an interned {@link Coordinates} that
+   * remembers the key under which it is pooled.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see #expungeStaleEntries()
+   */
+  private static final class PoolReference extends WeakReference<Coordinates> {
+
+    /**
+     * The mappings of the referenced {@link Coordinates}, under which
+     * this {@link PoolReference} is pooled.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Map<String, String> coordinates;
+
+    /**
+     * Creates a new {@link PoolReference}.
+     *
+     * @param referent the {@link Coordinates} to refer to; must not
+     * be {@code null}
+     *
+     * @param queue the {@link ReferenceQueue} to register with; must
+     * not be {@code null}
+     */
+    private PoolReference(final Coordinates referent, final ReferenceQueue<? super Coordinates> queue) {
+      super(referent, queue);
+      this.coordinates = referent.coordinates;
+    }
+
+  }
+
+}
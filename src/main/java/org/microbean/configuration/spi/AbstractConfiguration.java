@@ -16,6 +16,10 @@
  */
 package org.microbean.configuration.spi;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.microbean.configuration.Configurations;
@@ -43,7 +47,7 @@ public abstract class AbstractConfiguration implements Configuration {
    *
    * @see #setConfigurations(Configurations)
    */
-  private Configurations configurations;
+  private volatile Configurations configurations;
 
 
   /*
@@ -93,4 +97,65 @@ public abstract class AbstractConfiguration implements Configuration {
     return this.configurations;
   }
 
+  /**
+   * Informs the {@linkplain #getConfigurations() installed} {@link
+   * Configurations}, if any, that the values of the configuration
+   * properties identified by the supplied {@code names} may have
+   * changed.
+   *
+   * <p>Subclasses that can detect changes in their underlying
+   * configuration system should call this method when they do.</p>
+   *
+   * @param names the names of the configuration properties whose
+   * values may have changed; may be {@code null} in which case any
+   * configuration property may have changed
+   *
+   * @see Configurations#configurationChanged(Configuration, Set)
+   */
+  protected void fireConfigurationChanged(final Set<? extends String> names) {
+    final Configurations configurations = this.getConfigurations();
+    if (configurations != null) {
+      configurations.configurationChanged(this, names);
+    }
+  }
+
+  /**
+   * Returns an immutable {@link Set} of the keys whose values differ
+   * between the supplied {@link Map}s, including keys present in only
+   * one of them.
+   *
+   * <p>Keys that are not {@link String}s, such as may be found in a
+   * {@link java.util.Properties}, are ignored.</p>
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param oldValues the values before a change; may be {@code null}
+   *
+   * @param newValues the values after a change; may be {@code null}
+   *
+   * @return an immutable, non-{@code null} {@link Set} of keys
+   *
+   * @see #fireConfigurationChanged(Set)
+   */
+  static final Set<String> getChangedNames(final Map<?, ?> oldValues, final Map<?, ?> newValues) {
+    final Set<String> returnValue = new HashSet<>();
+    if (oldValues != null) {
+      for (final Map.Entry<?, ?> entry : oldValues.entrySet()) {
+        final Object name = entry.getKey();
+        if (name instanceof String &&
+            (newValues == null || !Objects.equals(entry.getValue(), newValues.get(name)))) {
+          returnValue.add((String)name);
+        }
+      }
+    }
+    if (newValues != null) {
+      for (final Object name : newValues.keySet()) {
+        if (name instanceof String && (oldValues == null || !oldValues.containsKey(name))) {
+          returnValue.add((String)name);
+        }
+      }
+    }
+    return Collections.unmodifiableSet(returnValue);
+  }
+
 }
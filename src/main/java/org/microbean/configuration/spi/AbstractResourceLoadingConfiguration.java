@@ -18,6 +18,7 @@ package org.microbean.configuration.spi;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -25,6 +26,8 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.microbean.configuration.Coordinates;
+
 import org.microbean.configuration.api.ConfigurationValue;
 
 /**
@@ -49,6 +52,16 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
 
   private final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends T>> resourceLoader;
 
+  /**
+   * The rank most recently computed by the {@link #getRank(Resource)}
+   * method, together with the {@link Resource} it was computed for.
+   *
+   * <p>This field may be {@code null}.</p>
+   *
+   * @see #getRank()
+   */
+  private volatile RankedResource<T> rankedResource;
+
 
   /*
    * Constructors.
@@ -83,13 +96,44 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
    */
 
 
+  /**
+   * Returns the rank of this {@link
+   * AbstractResourceLoadingConfiguration}.
+   *
+   * <p>This implementation calls the {@link #getRank(Resource)}
+   * method with the {@link Resource} returned by the {@link Function}
+   * supplied {@linkplain #AbstractResourceLoadingConfiguration(Function)
+   * at construction time} and memoizes the result for as long as that
+   * {@link Function} keeps returning the very same {@link Resource}.
+   * {@link Function}s that cache their {@link Resource}s, such as
+   * {@link CachingResourceLoader}, therefore cause the rank to be
+   * computed only once per loaded {@link Resource}.</p>
+   *
+   * <p>The memo cannot spare the {@link Function} itself from being
+   * applied on every call.  One that does not cache returns a new
+   * {@link Resource} each time, typically reloading it, and so the
+   * rank is recomputed each time too.  Wrap such a {@link Function}
+   * in a {@link CachingResourceLoader} if this method is called
+   * often.</p>
+   *
+   * @return the rank of this {@link
+   * AbstractResourceLoadingConfiguration}
+   *
+   * @see #getRank(Resource)
+   */
   @Override
   public int getRank() {
     final int returnValue;
     if (this.resourceLoader == null) {
       returnValue = 100;
     } else {
-      returnValue = this.getRank(this.resourceLoader.apply(null));
+      final Resource<? extends T> resource = this.resourceLoader.apply(null);
+      RankedResource<T> rankedResource = this.rankedResource;
+      if (rankedResource == null || rankedResource.resource != resource) {
+        rankedResource = new RankedResource<>(resource, this.getRank(resource));
+        this.rankedResource = rankedResource;
+      }
+      returnValue = rankedResource.rank;
     }
     return returnValue;
   }
@@ -122,7 +166,85 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
     if (this.resourceLoader == null) {
       returnValue = null;
     } else {
-      returnValue = this.getValue(this.resourceLoader.apply(coordinates), coordinates, name);
+      returnValue = this.getChainedValue(this.resourceLoader.apply(coordinates), coordinates, name);
+    }
+    return returnValue;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation invokes the {@link Function} supplied
+   * {@linkplain #AbstractResourceLoadingConfiguration(Function) at
+   * construction time} only once, and then calls the {@link
+   * #getValue(Resource, Map, String)} method with its return value
+   * for each name.</p>
+   *
+   * @param coordinates the requested configuration coordinates; may
+   * be {@code null}
+   *
+   * @param names the names of the configuration properties for which
+   * values should be returned; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link Map} of {@link
+   * ConfigurationValue}s indexed by name
+   *
+   * @exception NullPointerException if {@code names} is {@code null}
+   * or contains {@code null} elements
+   *
+   * @see #getValue(Resource, Map, String)
+   */
+  @Override
+  public Map<String, ConfigurationValue> getValues(final Map<String, String> coordinates, final Set<? extends String> names) {
+    Objects.requireNonNull(names);
+    final Map<String, ConfigurationValue> returnValue;
+    if (this.resourceLoader == null || names.isEmpty()) {
+      returnValue = Collections.emptyMap();
+    } else {
+      final Resource<? extends T> resource = this.resourceLoader.apply(coordinates);
+      returnValue = new HashMap<>();
+      for (final String name : names) {
+        final ConfigurationValue value = this.getChainedValue(resource, coordinates, Objects.requireNonNull(name));
+        if (value != null) {
+          returnValue.put(name, value);
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link ConfigurationValue} for the supplied {@code
+   * name} from the supplied {@link Resource} or, if it has none, from
+   * the first of its {@linkplain Resource#getNext() less specific
+   * successors} that does, or {@code null}.
+   *
+   * @param resource the first {@link Resource} to consult; may be
+   * {@code null}
+   *
+   * @param coordinates the requested configuration coordinates; may
+   * be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @return a {@link ConfigurationValue}, or {@code null}
+   *
+   * @see #getValue(Resource, Map, String)
+   */
+  private final ConfigurationValue getChainedValue(final Resource<? extends T> resource, final Map<String, String> coordinates, final String name) {
+    ConfigurationValue returnValue = this.getValue(resource, coordinates, name);
+    if (resource != null) {
+      // Consult less specific resources, if any, until one has a
+      // value.
+      Resource<? extends T> next = resource.getNext();
+      while (next != null && (returnValue == null || returnValue.getValue() == null)) {
+        final ConfigurationValue candidate = this.getValue(next, coordinates, name);
+        if (candidate != null && (returnValue == null || candidate.getValue() != null)) {
+          returnValue = candidate;
+        }
+        next = next.getNext();
+      }
     }
     return returnValue;
   }
@@ -133,7 +255,19 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
     if (this.resourceLoader == null) {
       returnValue = Collections.emptySet();
     } else {
-      returnValue = this.getNames(this.resourceLoader.apply(null));
+      final Resource<? extends T> resource = this.resourceLoader.apply(null);
+      if (resource == null || resource.getNext() == null) {
+        returnValue = this.getNames(resource);
+      } else {
+        final Set<String> names = new HashSet<>();
+        for (Resource<? extends T> r = resource; r != null; r = r.getNext()) {
+          final Set<String> resourceNames = this.getNames(r);
+          if (resourceNames != null) {
+            names.addAll(resourceNames);
+          }
+        }
+        returnValue = Collections.unmodifiableSet(names);
+      }
     }
     return returnValue;
   }
@@ -184,6 +318,29 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
    */
 
 
+  /**
+   * An immutable pairing of a {@link Resource} with the rank computed
+   * for it.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see AbstractResourceLoadingConfiguration#getRank()
+   */
+  private static final class RankedResource<T> {
+
+    private final Resource<? extends T> resource;
+
+    private final int rank;
+
+    private RankedResource(final Resource<? extends T> resource, final int rank) {
+      super();
+      this.resource = resource;
+      this.rank = rank;
+    }
+
+  }
+
   /**
    * A {@link Supplier} of a particular kind of resource from which
    * configuration property values may be retrieved.
@@ -203,6 +360,14 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
 
     private final Map<String, String> coordinates;
 
+    /**
+     * The next, less specific, {@link Resource} to consult, or {@code
+     * null}.
+     *
+     * @see #getNext()
+     */
+    private final Resource<? extends T> next;
+
 
     /*
      * Constructors.
@@ -219,15 +384,34 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
      * Resource} provides values for; may be {@code null}
      */
     public Resource(final T resource, final Map<String, String> coordinates) {
+      this(resource, coordinates, null);
+    }
+
+    /**
+     * Creates a new {@link Resource} that is followed by a less
+     * specific one.
+     *
+     * <p>When an {@link AbstractResourceLoadingConfiguration} receives
+     * such a {@link Resource}, it consults the {@linkplain #getNext()
+     * next} one for any configuration property this one has no value
+     * for, and so on down the chain.</p>
+     *
+     * @param resource the actual underlying source of configuration
+     * property values; may be {@code null}
+     *
+     * @param coordinates the configuration coordinates this {@link
+     * Resource} provides values for; may be {@code null}
+     *
+     * @param next the next, less specific, {@link Resource} to
+     * consult; may be {@code null}
+     *
+     * @see #getNext()
+     */
+    public Resource(final T resource, final Map<String, String> coordinates, final Resource<? extends T> next) {
       super();
       this.resource = resource;
-      if (coordinates == null) {
-        this.coordinates = null;
-      } else if (coordinates.isEmpty()) {
-        this.coordinates = Collections.emptyMap();
-      } else {
-        this.coordinates = Collections.unmodifiableMap(new HashMap<>(coordinates));
-      }
+      this.coordinates = coordinates == null ? null : Coordinates.of(coordinates);
+      this.next = next;
     }
 
 
@@ -252,10 +436,9 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
     }
 
     /**
-     * Returns an {@linkplain Collections#unmodifiableMap(Map)
-     * immutable} {@link Map} representing the configuration
-     * coordinates for which this {@link Resource} can assist in
-     * providing values.
+     * Returns the canonical, immutable {@link Coordinates}
+     * representing the configuration coordinates for which this
+     * {@link Resource} can assist in providing values.
      *
      * <p>This method may return {@code null}.</p>
      *
@@ -265,6 +448,53 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
       return this.coordinates;
     }
 
+    /**
+     * Returns {@code true} if each of this {@link Resource}'s
+     * {@linkplain #getCoordinates() configuration coordinates} is
+     * present, with the same value, in the supplied configuration
+     * coordinates, and so this {@link Resource} may contribute values
+     * to a request for them.
+     *
+     * <p>A {@link Resource} with {@code null} or empty configuration
+     * coordinates is applicable to every request.</p>
+     *
+     * @param requestedCoordinates the requested configuration
+     * coordinates; may be {@code null} in which case they will be
+     * treated as empty
+     *
+     * @return {@code true} if this {@link Resource} is applicable to
+     * the supplied configuration coordinates
+     */
+    public final boolean isApplicableTo(final Map<? extends String, ? extends String> requestedCoordinates) {
+      final Map<String, String> coordinates = this.getCoordinates();
+      if (coordinates != null && !coordinates.isEmpty()) {
+        if (requestedCoordinates == null) {
+          return false;
+        }
+        for (final Map.Entry<String, String> entry : coordinates.entrySet()) {
+          if (!entry.getValue().equals(requestedCoordinates.get(entry.getKey()))) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Returns the next, less specific, {@link Resource} to consult
+     * for configuration properties this {@link Resource} has no value
+     * for, or {@code null} if there is none.
+     *
+     * <p>This method may return {@code null}.</p>
+     *
+     * @return the next {@link Resource}, or {@code null}
+     *
+     * @see #Resource(Object, Map, Resource)
+     */
+    public final Resource<? extends T> getNext() {
+      return this.next;
+    }
+
     /**
      * Returns a hashcode for this {@link Resource}.
      *
@@ -283,6 +513,10 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
       Object coordinates = this.getCoordinates();
       c = coordinates == null ? 0 : coordinates.hashCode();
       hashCode = 37 * hashCode + c;
+
+      Object next = this.getNext();
+      c = next == null ? 0 : next.hashCode();
+      hashCode = 37 * hashCode + c;
       
       return hashCode;
     }
@@ -322,6 +556,15 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
           return false;
         }
 
+        final Object next = this.getNext();
+        if (next == null) {
+          if (her.getNext() != null) {
+            return false;
+          }
+        } else if (!next.equals(her.getNext())) {
+          return false;
+        }
+
         return true;
       } else {
         return false;
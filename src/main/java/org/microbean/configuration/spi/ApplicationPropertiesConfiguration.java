@@ -18,7 +18,9 @@ package org.microbean.configuration.spi;
 
 import java.io.Serializable;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -51,6 +53,24 @@ public class ApplicationPropertiesConfiguration extends PropertiesConfiguration
    */
   private static final long serialVersionUID = 1L;
 
+  /**
+   * The maximum number of distinct sets of configuration coordinates
+   * for which loaded resources are cached.
+   *
+   * @see CachingResourceLoader#CachingResourceLoader(Function, int)
+   */
+  private static final int MAXIMUM_CACHED_RESOURCES = 128;
+
+  /**
+   * The name of the System property whose value, if set, is a
+   * comma-separated list of the names of the configuration
+   * coordinates that participate in resource naming, most
+   * significant first.
+   *
+   * @see PropertiesLoader#PropertiesLoader(ClassLoader, String, List)
+   */
+  public static final String COORDINATE_NAMES = "org.microbean.configuration.spi.ApplicationPropertiesConfiguration.coordinateNames";
+
 
   /*
    * Constructors.
@@ -59,9 +79,48 @@ public class ApplicationPropertiesConfiguration extends PropertiesConfiguration
 
   /**
    * Creates a new {@link ApplicationPropertiesConfiguration}.
+   *
+   * <p>Loaded resources are cached for at most {@value
+   * #MAXIMUM_CACHED_RESOURCES} distinct sets of configuration
+   * coordinates.</p>
+   *
+   * <p>If the {@value #COORDINATE_NAMES} System property is set, then
+   * resources named for the requested configuration coordinates,
+   * such as {@code application-west-test.properties}, are consulted
+   * before {@code application.properties}.</p>
+   *
+   * @see PropertiesLoader#computeResourceNames(Map)
    */
   public ApplicationPropertiesConfiguration() {
-    super(new CachingResourceLoader<>(new PropertiesLoader("application.properties")));
+    super(new CachingResourceLoader<>(new PropertiesLoader(Thread.currentThread().getContextClassLoader(),
+                                                           "application.properties",
+                                                           getCoordinateNames()),
+                                      MAXIMUM_CACHED_RESOURCES));
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns the names of the configuration coordinates listed by the
+   * {@value #COORDINATE_NAMES} System property.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link List} of coordinate names
+   */
+  private static final List<String> getCoordinateNames() {
+    final List<String> returnValue;
+    final String coordinateNames = System.getProperty(COORDINATE_NAMES);
+    if (coordinateNames == null || coordinateNames.trim().isEmpty()) {
+      returnValue = Collections.emptyList();
+    } else {
+      returnValue = Arrays.asList(coordinateNames.trim().split("\\s*,\\s*"));
+    }
+    return returnValue;
   }
   
 }
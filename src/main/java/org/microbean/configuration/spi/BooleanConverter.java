@@ -0,0 +1,50 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+/**
+ * An object that can convert {@link String} values into {@code boolean}
+ * values without {@linkplain Boolean boxing} them.
+ *
+ * <p>{@link Converter}s of {@link Boolean} values may implement this
+ * interface so that {@code org.microbean.configuration.Configurations}
+ * can return {@code boolean} configuration values without allocating.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see Converter
+ */
+@FunctionalInterface
+public interface BooleanConverter {
+
+  /**
+   * Converts the supplied {@code value} into a {@code boolean}.
+   *
+   * @param value the value to convert; must not be {@code null}
+   *
+   * @return the converted value
+   *
+   * @exception NullPointerException if {@code value} is {@code null}
+   * and this {@link BooleanConverter} does not accept {@code null} values
+   *
+   * @exception IllegalArgumentException if {@code value} could not be
+   * converted
+   */
+  public boolean convertToBoolean(final String value);
+
+}
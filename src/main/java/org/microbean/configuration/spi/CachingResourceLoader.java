@@ -16,28 +16,272 @@
  */
 package org.microbean.configuration.spi;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.concurrent.atomic.LongAdder;
 
 import java.util.function.Function;
 
 import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
 
+/**
+ * A {@link Function} that caches the {@link Resource}s returned by
+ * another {@link Function}, indexed by the configuration coordinates
+ * they were loaded for.
+ *
+ * <p>Absent {@link Resource}s (that is, {@code null} results) are
+ * cached too, so a delegate that cannot find a resource for a given
+ * set of configuration coordinates is asked only once.  A {@code
+ * null} set of configuration coordinates is treated as an empty
+ * one.</p>
+ *
+ * <p>A {@link CachingResourceLoader} may be {@linkplain
+ * #CachingResourceLoader(Function, int) bounded}, in which case,
+ * once it holds more than its maximum size, it evicts the entries
+ * that were used least recently.  Recency is tracked approximately,
+ * without locking on reads.</p>
+ *
+ * <p>This class is safe for concurrent use by multiple threads.</p>
+ *
+ * @param <T> the type of resource
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ */
 public class CachingResourceLoader<T> implements Function<Map<? extends String, ? extends String>, Resource<? extends T>> {
 
+
+  /*
+   * Instance fields.
+   */
+
+
   private final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends T>> delegate;
 
-  private final Map<Map<? extends String, ? extends String>, Resource<? extends T>> cache;
-  
+  private final ConcurrentMap<Map<? extends String, ? extends String>, Entry<T>> cache;
+
+  private final int maximumSize;
+
+  private final Object evictionLock;
+
+  private final LongAdder hitCount;
+
+  private final LongAdder missCount;
+
+  private final LongAdder evictionCount;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new, unbounded {@link CachingResourceLoader}.
+   *
+   * @param delegate the {@link Function} whose results will be
+   * cached; may be {@code null} in which case {@link #apply(Map)}
+   * will always return {@code null}
+   *
+   * @see #CachingResourceLoader(Function, int)
+   */
   public CachingResourceLoader(final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends T>> delegate) {
+    this(delegate, 0);
+  }
+
+  /**
+   * Creates a new {@link CachingResourceLoader}.
+   *
+   * @param delegate the {@link Function} whose results will be
+   * cached; may be {@code null} in which case {@link #apply(Map)}
+   * will always return {@code null}
+   *
+   * @param maximumSize the maximum number of entries to cache; if
+   * less than or equal to {@code 0} then the cache is unbounded
+   */
+  public CachingResourceLoader(final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends T>> delegate,
+                               final int maximumSize) {
     super();
     this.delegate = delegate;
     this.cache = delegate == null ? null : new ConcurrentHashMap<>();
+    this.maximumSize = maximumSize <= 0 ? Integer.MAX_VALUE : maximumSize;
+    this.evictionLock = new Object();
+    this.hitCount = new LongAdder();
+    this.missCount = new LongAdder();
+    this.evictionCount = new LongAdder();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the {@link Resource} for the supplied configuration
+   * coordinates, loading it with the delegate {@link Function} and
+   * caching the result, whether {@code null} or not, if necessary.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * @param requestedConfigurationCoordinates the configuration
+   * coordinates; may be {@code null} in which case an empty {@link
+   * Map} is used instead
+   *
+   * @return a {@link Resource}, or {@code null}
+   */
+  @Override
+  public Resource<? extends T> apply(Map<? extends String, ? extends String> requestedConfigurationCoordinates) {
+    final Resource<? extends T> returnValue;
+    if (this.cache == null) {
+      returnValue = null;
+    } else {
+      if (requestedConfigurationCoordinates == null) {
+        requestedConfigurationCoordinates = Collections.emptyMap();
+      }
+      Entry<T> entry = this.cache.get(requestedConfigurationCoordinates);
+      if (entry == null) {
+        this.missCount.increment();
+        // Copy the key so that a caller modifying its Map later can't
+        // corrupt the cache.
+        final Map<? extends String, ? extends String> key;
+        if (requestedConfigurationCoordinates.isEmpty()) {
+          key = Collections.emptyMap();
+        } else {
+          key = Collections.unmodifiableMap(new HashMap<>(requestedConfigurationCoordinates));
+        }
+        entry = this.cache.computeIfAbsent(key, k -> new Entry<T>(this.delegate.apply(k)));
+        if (this.cache.size() > this.maximumSize) {
+          this.evict(entry);
+        }
+      } else {
+        this.hitCount.increment();
+        entry.touch();
+      }
+      returnValue = entry.resource;
+    }
+    return returnValue;
+  }
+
+  /**
+   * Removes the least recently used entries, other than the supplied
+   * one, until this {@link CachingResourceLoader} is no larger than
+   * its maximum size.
+   *
+   * @param keptEntry the entry that was just added; must not be
+   * {@code null}
+   */
+  private final void evict(final Entry<T> keptEntry) {
+    synchronized (this.evictionLock) {
+      while (this.cache.size() > this.maximumSize) {
+        Map.Entry<Map<? extends String, ? extends String>, Entry<T>> eldest = null;
+        for (final Map.Entry<Map<? extends String, ? extends String>, Entry<T>> candidate : this.cache.entrySet()) {
+          final Entry<T> entry = candidate.getValue();
+          if (entry != keptEntry && (eldest == null || entry.lastAccessTime - eldest.getValue().lastAccessTime < 0L)) {
+            eldest = candidate;
+          }
+        }
+        if (eldest == null) {
+          break;
+        }
+        if (this.cache.remove(eldest.getKey(), eldest.getValue())) {
+          this.evictionCount.increment();
+        }
+      }
+    }
+  }
+
+  /**
+   * Discards all cached entries.
+   *
+   * <p>The counters reported by {@link #getHitCount()}, {@link
+   * #getMissCount()} and {@link #getEvictionCount()} are not
+   * reset.</p>
+   */
+  public void clear() {
+    if (this.cache != null) {
+      this.cache.clear();
+    }
+  }
+
+  /**
+   * Returns the number of entries currently cached by this {@link
+   * CachingResourceLoader}, including those recording the absence of
+   * a {@link Resource}.
+   *
+   * @return the number of cached entries
+   */
+  public final int size() {
+    return this.cache == null ? 0 : this.cache.size();
   }
 
-  public Resource<? extends T> apply(final Map<? extends String, ? extends String> requestedConfigurationCoordinates) {
-    return this.cache == null ? null : this.cache.computeIfAbsent(requestedConfigurationCoordinates, k -> this.delegate.apply(k));
+  /**
+   * Returns the number of times {@link #apply(Map)} found a cached
+   * entry.
+   *
+   * @return the number of cache hits
+   */
+  public final long getHitCount() {
+    return this.hitCount.sum();
+  }
+
+  /**
+   * Returns the number of times {@link #apply(Map)} did not find a
+   * cached entry.
+   *
+   * @return the number of cache misses
+   */
+  public final long getMissCount() {
+    return this.missCount.sum();
+  }
+
+  /**
+   * Returns the number of entries that have been evicted because
+   * this {@link CachingResourceLoader} exceeded its {@linkplain
+   * #CachingResourceLoader(Function, int) maximum size}.
+   *
+   * @return the number of evictions
+   */
+  public final long getEvictionCount() {
+    return this.evictionCount.sum();
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * A cached, possibly {@code null}, {@link Resource} together with
+   * the approximate time it was last used.
+   *
+   * @param <T> the type of resource
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   */
+  private static final class Entry<T> {
+
+    private final Resource<? extends T> resource;
+
+    private volatile long lastAccessTime;
+
+    private Entry(final Resource<? extends T> resource) {
+      super();
+      this.resource = resource;
+      this.lastAccessTime = System.nanoTime();
+    }
+
+    private final void touch() {
+      this.lastAccessTime = System.nanoTime();
+    }
+
   }
 
 }
@@ -0,0 +1,989 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import java.nio.file.attribute.BasicFileAttributes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.api.ConfigurationException;
+import org.microbean.configuration.api.ConfigurationValue;
+
+/**
+ * An {@link AbstractConfiguration} that serves the configuration
+ * values another {@link Configuration} supplied for one particular
+ * set of configuration coordinates from a compact binary file
+ * written ahead of time, and that delegates to that other {@link
+ * Configuration} whenever the file is absent, unreadable or stale.
+ *
+ * <p>A {@link CompiledConfiguration} is typically used in place of
+ * a {@link Configuration} that is expensive to consult, such as an
+ * {@link ApplicationPropertiesConfiguration}, by an application that
+ * starts many times with the same configuration coordinates.  The
+ * file is written either at build time, with the {@link
+ * #compile(Configuration, Map, long, Path)} method, or on first run,
+ * with the {@link #compile()} method.  Thereafter it is loaded with a
+ * single {@linkplain FileChannel#map(FileChannel.MapMode, long,
+ * long) memory mapping} and looking up a configuration value is a
+ * binary search over it.</p>
+ *
+ * <p>The file records, for every configuration property the other
+ * {@link Configuration} {@linkplain Configuration#getNames() knew
+ * about}, the {@link ConfigurationValue} it returned for the
+ * compiled configuration coordinates, along with its rank and a
+ * caller-supplied fingerprint of its inputs.  The file is used only
+ * while the fingerprint supplied at construction time matches the
+ * one it was compiled with, and only for requests whose
+ * configuration coordinates equal the compiled ones; a convenient
+ * fingerprint of files on disk may be computed with the {@link
+ * #fingerprint(Collection)} method.</p>
+ *
+ * <p>This class is safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see #compile(Configuration, Map, long, Path)
+ */
+public class CompiledConfiguration extends AbstractConfiguration implements Ranked, Serializable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The first four bytes of every compiled file.
+   */
+  private static final int MAGIC = 0x4D42434F;
+
+  /**
+   * The version of the compiled file format.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * The flag recording that the compiled {@link Configuration} was
+   * {@link Ranked}.
+   */
+  private static final int RANKED = 0x1;
+
+  /**
+   * The flag recording that a {@link ConfigurationValue} was
+   * {@linkplain ConfigurationValue#isAuthoritative() authoritative}.
+   */
+  private static final int AUTHORITATIVE = 0x1;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The {@linkplain Path#toString() string form} of the {@link Path}
+   * of the compiled file.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final String path;
+
+  /**
+   * The configuration coordinates the file is compiled for.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Map<String, String> coordinates;
+
+  /**
+   * The fingerprint the file must have been compiled with to be used.
+   */
+  private final long fingerprint;
+
+  /**
+   * The {@link Configuration} whose values are compiled, and which is
+   * consulted whenever the file cannot be used.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Configuration fallback;
+
+  /**
+   * The loaded file, or {@code null} if the file could not be used.
+   *
+   * @see #load()
+   */
+  private transient volatile Table table;
+
+  /**
+   * Whether an attempt has been made to {@linkplain #load() load}
+   * the file; {@code false} only after deserialization.
+   *
+   * @see #getTable()
+   */
+  private transient volatile boolean loaded;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link CompiledConfiguration}.
+   *
+   * <p>The file is mapped, if it can be used, before this constructor
+   * returns.  No attempt is made to compile it if it cannot be.</p>
+   *
+   * @param path the {@link Path} of the compiled file; must not be
+   * {@code null}; need not exist
+   *
+   * @param coordinates the configuration coordinates the file is
+   * compiled for; may be {@code null}
+   *
+   * @param fingerprint the fingerprint of the current inputs to the
+   * supplied {@code fallback}; the file is used only if it was
+   * compiled with the same fingerprint
+   *
+   * @param fallback the {@link Configuration} whose values are
+   * compiled and which is consulted whenever the file cannot be used;
+   * must not be {@code null}
+   *
+   * @exception NullPointerException if {@code path} or {@code
+   * fallback} is {@code null}
+   *
+   * @see #isCurrent()
+   *
+   * @see #compile()
+   */
+  public CompiledConfiguration(final Path path,
+                               final Map<String, String> coordinates,
+                               final long fingerprint,
+                               final Configuration fallback) {
+    super();
+    this.path = Objects.requireNonNull(path).toAbsolutePath().toString();
+    if (coordinates == null || coordinates.isEmpty()) {
+      this.coordinates = Collections.emptyMap();
+    } else {
+      this.coordinates = Collections.unmodifiableMap(new HashMap<>(coordinates));
+    }
+    this.fingerprint = fingerprint;
+    this.fallback = Objects.requireNonNull(fallback);
+    this.table = this.load();
+    this.loaded = true;
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Installs the supplied {@link Configurations} on this {@link
+   * CompiledConfiguration} and on the {@link Configuration} it falls
+   * back to.
+   *
+   * @param configurations the {@link Configurations} to install; may
+   * be {@code null}
+   */
+  @Override
+  public void setConfigurations(final Configurations configurations) {
+    super.setConfigurations(configurations);
+    this.fallback.setConfigurations(configurations);
+  }
+
+  /**
+   * Returns {@code true} if the compiled file exists, is readable and
+   * was compiled with the fingerprint supplied at construction time.
+   *
+   * @return {@code true} if the compiled file is in use
+   *
+   * @see #compile()
+   */
+  public final boolean isCurrent() {
+    return this.getTable() != null;
+  }
+
+  /**
+   * {@linkplain #compile(Configuration, Map, long, Path) Compiles}
+   * the values of the {@link Configuration} this {@link
+   * CompiledConfiguration} falls back to into its file, and starts
+   * using it.
+   *
+   * <p>Applications typically call this method on first run, when
+   * {@link #isCurrent()} returns {@code false}.</p>
+   *
+   * @exception ConfigurationException if the file could not be written
+   */
+  public final void compile() {
+    compile(this.fallback, this.coordinates, this.fingerprint, Paths.get(this.path));
+    this.table = this.load();
+  }
+
+  /**
+   * Returns the loaded file, mapping it again first if this {@link
+   * CompiledConfiguration} was deserialized, or {@code null} if it
+   * cannot be used.
+   *
+   * <p>A file that cannot be used is not examined again until {@link
+   * #compile()} is called.</p>
+   *
+   * @return a {@link Table}, or {@code null}
+   */
+  private final Table getTable() {
+    if (!this.loaded) {
+      this.table = this.load();
+      this.loaded = true;
+    }
+    return this.table;
+  }
+
+  /**
+   * Maps and validates the compiled file, returning {@code null} if
+   * it does not exist, is malformed, or was compiled with a different
+   * fingerprint.
+   *
+   * @return a new {@link Table}, or {@code null}
+   */
+  private final Table load() {
+    Table returnValue;
+    final Path path = Paths.get(this.path);
+    try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        returnValue = null;
+      } else {
+        returnValue = new Table(channel.map(FileChannel.MapMode.READ_ONLY, 0L, size));
+        if (returnValue.fingerprint != this.fingerprint || !returnValue.compiledCoordinates.equals(this.coordinates)) {
+          returnValue = null;
+        }
+      }
+    } catch (final NoSuchFileException noSuchFileException) {
+      returnValue = null;
+    } catch (final IOException | BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException exception) {
+      // Unreadable or malformed; fall back.
+      returnValue = null;
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the rank recorded in the compiled file if it is
+   * {@linkplain #isCurrent() in use}, or else the rank of the {@link
+   * Configuration} this {@link CompiledConfiguration} falls back to if
+   * it is {@link Ranked}, or else {@code 0}.
+   *
+   * @return the rank of this {@link CompiledConfiguration}
+   */
+  @Override
+  public int getRank() {
+    final Table table = this.getTable();
+    final int returnValue;
+    if (table != null && table.ranked) {
+      returnValue = table.rank;
+    } else if (this.fallback instanceof Ranked) {
+      returnValue = ((Ranked)this.fallback).getRank();
+    } else {
+      returnValue = 0;
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link ConfigurationValue} suitable for the supplied
+   * {@code coordinates} and {@code name}, or {@code null}.
+   *
+   * <p>If the compiled file is {@linkplain #isCurrent() in use} and
+   * the supplied {@code coordinates} equal those it was compiled for,
+   * the {@link ConfigurationValue} is read from it.  Otherwise the
+   * {@link Configuration} this {@link CompiledConfiguration} falls
+   * back to is consulted.</p>
+   *
+   * @param coordinates the configuration coordinates in effect for
+   * the current request; may be {@code null}
+   *
+   * @param name the name of the configuration property for which to
+   * return a {@link ConfigurationValue}; may be {@code null}
+   *
+   * @return a {@link ConfigurationValue}, or {@code null}
+   */
+  @Override
+  public ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+    ConfigurationValue returnValue = null;
+    if (name != null) {
+      final Table table = this.getTable();
+      if (table != null && (coordinates == null ? this.coordinates.isEmpty() : this.coordinates.equals(coordinates))) {
+        final int entry = table.find(name);
+        if (entry >= 0) {
+          returnValue = new ConfigurationValue(this,
+                                               table.getCoordinates(entry),
+                                               name,
+                                               table.getValue(entry),
+                                               table.isAuthoritative(entry));
+        }
+      } else {
+        final ConfigurationValue value = this.fallback.getValue(coordinates, name);
+        if (value != null) {
+          // Configuration values must name their actual source.
+          returnValue = new ConfigurationValue(this, value.getCoordinates(), value.getName(), value.getValue(), value.isAuthoritative());
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the names of the configuration properties recorded in the
+   * compiled file if it is {@linkplain #isCurrent() in use}, or else
+   * those known to the {@link Configuration} this {@link
+   * CompiledConfiguration} falls back to.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * @return a {@link Set} of names, or {@code null}
+   */
+  @Override
+  public Set<String> getNames() {
+    final Table table = this.getTable();
+    return table == null ? this.fallback.getNames() : table.getNames();
+  }
+
+  /**
+   * Returns a {@link String} representation of this {@link
+   * CompiledConfiguration}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link String} representation of this
+   * {@link CompiledConfiguration}
+   */
+  @Override
+  public String toString() {
+    return this.path + " " + this.coordinates + " (" + this.fallback + ")";
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Writes the {@link ConfigurationValue}s the supplied {@link
+   * Configuration} returns for the supplied {@code coordinates} into
+   * a compiled file at the supplied {@link Path}, replacing it
+   * atomically if the file system permits.
+   *
+   * <p>The file contains a pool of distinct UTF-8 strings, the
+   * distinct configuration coordinates of the values, each already
+   * split into pairs of pooled strings, the rank of the supplied
+   * {@link Configuration} if it is {@link Ranked}, and one fixed-size
+   * record per configuration property, sorted by name.</p>
+   *
+   * @param configuration the {@link Configuration} to compile; must
+   * not be {@code null}
+   *
+   * @param coordinates the configuration coordinates to compile
+   * values for; may be {@code null}
+   *
+   * @param fingerprint a fingerprint of the current inputs to the
+   * supplied {@link Configuration}
+   *
+   * @param path the {@link Path} of the file to write; must not be
+   * {@code null}
+   *
+   * @exception NullPointerException if {@code configuration} or
+   * {@code path} is {@code null}
+   *
+   * @exception ConfigurationException if the file could not be
+   * written
+   *
+   * @see #CompiledConfiguration(Path, Map, long, Configuration)
+   */
+  public static final void compile(final Configuration configuration,
+                                   Map<String, String> coordinates,
+                                   final long fingerprint,
+                                   Path path) {
+    Objects.requireNonNull(configuration);
+    path = Objects.requireNonNull(path).toAbsolutePath();
+    if (coordinates == null) {
+      coordinates = Collections.emptyMap();
+    }
+
+    // Gather values, sorted the way Table#find(String) searches them.
+    final Map<byte[], ConfigurationValue> values = new TreeMap<>(CompiledConfiguration::compare);
+    final Set<String> names = configuration.getNames();
+    if (names != null) {
+      for (final String name : names) {
+        if (name != null) {
+          final ConfigurationValue value = configuration.getValue(coordinates, name);
+          if (value != null) {
+            values.put(name.getBytes(StandardCharsets.UTF_8), value);
+          }
+        }
+      }
+    }
+
+    // Pool strings and coordinate sets.
+    final Map<String, Integer> strings = new LinkedHashMap<>();
+    final Map<Map<String, String>, Integer> coordinateSets = new LinkedHashMap<>();
+    final int compiledCoordinatesIndex = intern(coordinateSets, strings, coordinates);
+    final int[] records = new int[values.size() * Table.STRIDE];
+    int i = 0;
+    for (final ConfigurationValue value : values.values()) {
+      records[i++] = intern(strings, value.getName());
+      records[i++] = value.getValue() == null ? -1 : intern(strings, value.getValue());
+      records[i++] = intern(coordinateSets, strings, value.getCoordinates());
+      records[i++] = value.isAuthoritative() ? AUTHORITATIVE : 0;
+    }
+
+    final Path directory = path.getParent();
+    try {
+      final Path temporaryFile = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+      try {
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+          out.writeInt(MAGIC);
+          out.writeInt(VERSION);
+          out.writeLong(fingerprint);
+          final boolean ranked = configuration instanceof Ranked;
+          out.writeInt(ranked ? RANKED : 0);
+          out.writeInt(ranked ? ((Ranked)configuration).getRank() : 0);
+          out.writeInt(compiledCoordinatesIndex);
+
+          // String pool: count, offsets, then the bytes themselves.
+          final List<byte[]> encodedStrings = new ArrayList<>(strings.size());
+          for (final String string : strings.keySet()) {
+            encodedStrings.add(string.getBytes(StandardCharsets.UTF_8));
+          }
+          out.writeInt(encodedStrings.size());
+          int offset = 0;
+          out.writeInt(offset);
+          for (final byte[] bytes : encodedStrings) {
+            offset += bytes.length;
+            out.writeInt(offset);
+          }
+          for (final byte[] bytes : encodedStrings) {
+            out.write(bytes);
+          }
+
+          // Coordinate sets: count, then for each a pair count and
+          // that many pooled key and value indices.
+          out.writeInt(coordinateSets.size());
+          for (final Map<String, String> coordinateSet : coordinateSets.keySet()) {
+            out.writeInt(coordinateSet.size());
+            for (final Map.Entry<String, String> entry : coordinateSet.entrySet()) {
+              out.writeInt(strings.get(entry.getKey()).intValue());
+              out.writeInt(strings.get(entry.getValue()).intValue());
+            }
+          }
+
+          // Records, sorted by name.
+          out.writeInt(values.size());
+          for (final int record : records) {
+            out.writeInt(record);
+          }
+        }
+        try {
+          Files.move(temporaryFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException atomicMoveNotSupportedException) {
+          Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temporaryFile);
+      }
+    } catch (final IOException ioException) {
+      throw new ConfigurationException(ioException.getMessage(), ioException);
+    }
+  }
+
+  /**
+   * Returns a fingerprint of the files identified by the supplied
+   * {@link Path}s, computed from their locations, sizes and last
+   * modification times, without reading them.
+   *
+   * <p>Files that do not exist contribute to the fingerprint too, so
+   * that their appearance changes it.</p>
+   *
+   * @param paths the {@link Path}s of the files; must not be {@code
+   * null}
+   *
+   * @return a fingerprint
+   *
+   * @exception NullPointerException if {@code paths} is {@code null}
+   *
+   * @exception ConfigurationException if a file's attributes could
+   * not be read
+   */
+  public static final long fingerprint(final Collection<? extends Path> paths) {
+    long returnValue = 1125899906842597L;
+    for (final Path path : paths) {
+      returnValue = 31L * returnValue + Objects.hashCode(path);
+      if (path != null) {
+        try {
+          final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+          returnValue = 31L * returnValue + attributes.size();
+          returnValue = 31L * returnValue + attributes.lastModifiedTime().toMillis();
+        } catch (final NoSuchFileException noSuchFileException) {
+          returnValue = 31L * returnValue - 1L;
+        } catch (final IOException ioException) {
+          throw new ConfigurationException(ioException.getMessage(), ioException);
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the index of the supplied {@link String} in the supplied
+   * pool, adding it first if necessary.
+   *
+   * @param strings the pool; must not be {@code null}
+   *
+   * @param string the {@link String}; must not be {@code null}
+   *
+   * @return the index of {@code string} in the pool
+   */
+  private static final int intern(final Map<String, Integer> strings, final String string) {
+    return strings.computeIfAbsent(Objects.requireNonNull(string), s -> Integer.valueOf(strings.size())).intValue();
+  }
+
+  /**
+   * Returns the index of the supplied configuration coordinates in the
+   * supplied pool, adding them, and their keys and values to the
+   * supplied string pool, first if necessary.
+   *
+   * @param coordinateSets the pool of coordinate sets; must not be
+   * {@code null}
+   *
+   * @param strings the string pool; must not be {@code null}
+   *
+   * @param coordinates the configuration coordinates; may be {@code
+   * null}
+   *
+   * @return the index of {@code coordinates} in the pool
+   */
+  private static final int intern(final Map<Map<String, String>, Integer> coordinateSets,
+                                  final Map<String, Integer> strings,
+                                  final Map<String, String> coordinates) {
+    final Map<String, String> key = coordinates == null ? Collections.emptyMap() : new TreeMap<>(coordinates);
+    Integer returnValue = coordinateSets.get(key);
+    if (returnValue == null) {
+      for (final Map.Entry<String, String> entry : key.entrySet()) {
+        intern(strings, entry.getKey());
+        intern(strings, entry.getValue());
+      }
+      returnValue = Integer.valueOf(coordinateSets.size());
+      coordinateSets.put(key, returnValue);
+    }
+    return returnValue.intValue();
+  }
+
+  /**
+   * Compares the supplied byte arrays lexicographically, treating
+   * bytes as unsigned.
+   *
+   * @param a the first byte array; must not be {@code null}
+   *
+   * @param b the second byte array; must not be {@code null}
+   *
+   * @return a negative number, zero or a positive number if {@code
+   * a} sorts before, with or after {@code b}
+   */
+  private static final int compare(final byte[] a, final byte[] b) {
+    final int length = Math.min(a.length, b.length);
+    for (int i = 0; i < length; i++) {
+      final int difference = (a[i] & 0xFF) - (b[i] & 0xFF);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return a.length - b.length;
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * An immutable view of a mapped compiled file.
+   *
+   * <p>The mapped {@link ByteBuffer} is only ever read with absolute
+   * {@linkplain ByteBuffer#getInt(int) gets} and hence may be shared
+   * by multiple threads.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see CompiledConfiguration#compile(Configuration, Map, long, Path)
+   */
+  private static final class Table {
+
+    /**
+     * The number of {@code int}s in each record.
+     */
+    private static final int STRIDE = 4;
+
+    /**
+     * The mapped file.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The fingerprint the file was compiled with.
+     */
+    private final long fingerprint;
+
+    /**
+     * Whether the compiled {@link Configuration} was {@link Ranked}.
+     */
+    private final boolean ranked;
+
+    /**
+     * The rank of the compiled {@link Configuration}.
+     */
+    private final int rank;
+
+    /**
+     * The number of strings in the pool.
+     */
+    private final int stringCount;
+
+    /**
+     * The offset of the string pool's offsets.
+     */
+    private final int stringOffsetsPosition;
+
+    /**
+     * The offset of the string pool's bytes.
+     */
+    private final int stringsPosition;
+
+    /**
+     * The decoded coordinate sets.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Map<String, String>[] coordinateSets;
+
+    /**
+     * The configuration coordinates the file was compiled for.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Map<String, String> compiledCoordinates;
+
+    /**
+     * The number of records.
+     */
+    private final int recordCount;
+
+    /**
+     * The offset of the first record.
+     */
+    private final int recordsPosition;
+
+    /**
+     * Creates a new {@link Table}.
+     *
+     * <p>Every count, offset and index in the file is checked here,
+     * before anything is allocated on its behalf, so that a {@link
+     * Table} that is successfully created can be read without
+     * error.</p>
+     *
+     * @param buffer the mapped file; must not be {@code null}
+     *
+     * @exception IllegalArgumentException if the file is not a
+     * compiled file of a supported version
+     *
+     * @exception BufferUnderflowException if the file is truncated
+     *
+     * @exception IndexOutOfBoundsException if the file is malformed
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Table(final ByteBuffer buffer) {
+      super();
+      this.buffer = buffer;
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+        throw new IllegalArgumentException();
+      }
+      this.fingerprint = buffer.getLong();
+      this.ranked = (buffer.getInt() & RANKED) != 0;
+      this.rank = buffer.getInt();
+      final int compiledCoordinatesIndex = buffer.getInt();
+      this.stringCount = checkCount(buffer, buffer.getInt(), Integer.BYTES);
+      this.stringOffsetsPosition = buffer.position();
+      this.stringsPosition = this.stringOffsetsPosition + (this.stringCount + 1) * Integer.BYTES;
+      int previousOffset = 0;
+      for (int i = 0; i <= this.stringCount; i++) {
+        final int offset = buffer.getInt(this.stringOffsetsPosition + i * Integer.BYTES);
+        if (offset < previousOffset || (long)this.stringsPosition + offset > buffer.limit()) {
+          throw new IndexOutOfBoundsException();
+        }
+        previousOffset = offset;
+      }
+      buffer.position(this.stringsPosition + previousOffset);
+      final int coordinateSetCount = checkCount(buffer, buffer.getInt(), Integer.BYTES);
+      this.coordinateSets = new Map[coordinateSetCount];
+      for (int i = 0; i < coordinateSetCount; i++) {
+        final int pairCount = checkCount(buffer, buffer.getInt(), 2 * Integer.BYTES);
+        if (pairCount == 0) {
+          this.coordinateSets[i] = Collections.emptyMap();
+        } else {
+          final Map<String, String> coordinateSet = new HashMap<>();
+          for (int j = 0; j < pairCount; j++) {
+            final String key = this.getString(checkIndex(buffer.getInt(), this.stringCount));
+            coordinateSet.put(key, this.getString(checkIndex(buffer.getInt(), this.stringCount)));
+          }
+          this.coordinateSets[i] = Collections.unmodifiableMap(coordinateSet);
+        }
+      }
+      this.compiledCoordinates = this.coordinateSets[checkIndex(compiledCoordinatesIndex, coordinateSetCount)];
+      this.recordCount = checkCount(buffer, buffer.getInt(), STRIDE * Integer.BYTES);
+      this.recordsPosition = buffer.position();
+      for (int record = 0; record < this.recordCount; record++) {
+        checkIndex(this.getField(record, 0), this.stringCount);
+        final int valueIndex = this.getField(record, 1);
+        if (valueIndex >= 0) {
+          checkIndex(valueIndex, this.stringCount);
+        }
+        checkIndex(this.getField(record, 2), coordinateSetCount);
+      }
+    }
+
+    /**
+     * Returns the number of the record for the configuration property
+     * identified by the supplied {@code name}, or {@code -1} if there
+     * is no such record.
+     *
+     * @param name the name; must not be {@code null}
+     *
+     * @return a record number, or {@code -1}
+     */
+    private final int find(final String name) {
+      final byte[] key = name.getBytes(StandardCharsets.UTF_8);
+      int low = 0;
+      int high = this.recordCount - 1;
+      while (low <= high) {
+        final int middle = (low + high) >>> 1;
+        final int comparison = this.compareTo(this.getField(middle, 0), key);
+        if (comparison < 0) {
+          low = middle + 1;
+        } else if (comparison > 0) {
+          high = middle - 1;
+        } else {
+          return middle;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Returns the value recorded by the supplied record, which may be
+     * {@code null}.
+     *
+     * @param record the record number
+     *
+     * @return the value, or {@code null}
+     */
+    private final String getValue(final int record) {
+      final int index = this.getField(record, 1);
+      return index < 0 ? null : this.getString(index);
+    }
+
+    /**
+     * Returns the configuration coordinates recorded by the supplied
+     * record.
+     *
+     * @param record the record number
+     *
+     * @return an immutable {@link Map}; never {@code null}
+     */
+    private final Map<String, String> getCoordinates(final int record) {
+      return this.coordinateSets[this.getField(record, 2)];
+    }
+
+    /**
+     * Returns whether the value recorded by the supplied record was
+     * authoritative.
+     *
+     * @param record the record number
+     *
+     * @return {@code true} if the value was authoritative
+     */
+    private final boolean isAuthoritative(final int record) {
+      return (this.getField(record, 3) & AUTHORITATIVE) != 0;
+    }
+
+    /**
+     * Returns a new immutable {@link Set} of the names of all
+     * records.
+     *
+     * @return a new immutable {@link Set}; never {@code null}
+     */
+    private final Set<String> getNames() {
+      final Set<String> returnValue = new HashSet<>(this.recordCount * 2);
+      for (int record = 0; record < this.recordCount; record++) {
+        returnValue.add(this.getString(this.getField(record, 0)));
+      }
+      return Collections.unmodifiableSet(returnValue);
+    }
+
+    /**
+     * Returns the supplied field of the supplied record.
+     *
+     * @param record the record number
+     *
+     * @param field the field number
+     *
+     * @return the field's value
+     */
+    private final int getField(final int record, final int field) {
+      return this.buffer.getInt(this.recordsPosition + (record * STRIDE + field) * Integer.BYTES);
+    }
+
+    /**
+     * Returns the pooled string at the supplied index.
+     *
+     * @param index the index of the string in the pool
+     *
+     * @return the decoded string; never {@code null}
+     */
+    private final String getString(final int index) {
+      final int start = this.stringsPosition + this.buffer.getInt(this.stringOffsetsPosition + index * Integer.BYTES);
+      final int end = this.stringsPosition + this.buffer.getInt(this.stringOffsetsPosition + (index + 1) * Integer.BYTES);
+      final byte[] bytes = new byte[end - start];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = this.buffer.get(start + i);
+      }
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the supplied {@code count} if it is not negative and
+     * the remainder of the supplied {@link ByteBuffer} could hold that
+     * many items of the supplied size.
+     *
+     * @param buffer the {@link ByteBuffer} positioned at the first
+     * item; must not be {@code null}
+     *
+     * @param count the count read from the file
+     *
+     * @param itemSize the minimum size, in bytes, of each item
+     *
+     * @return the supplied {@code count}
+     *
+     * @exception BufferUnderflowException if {@code count} is
+     * negative or too large
+     */
+    private static final int checkCount(final ByteBuffer buffer, final int count, final int itemSize) {
+      if (count < 0 || (long)count * itemSize > buffer.remaining()) {
+        throw new BufferUnderflowException();
+      }
+      return count;
+    }
+
+    /**
+     * Returns the supplied {@code index} if it is not negative and is
+     * less than the supplied {@code length}.
+     *
+     * @param index the index read from the file
+     *
+     * @param length the number of things the index may refer to
+     *
+     * @return the supplied {@code index}
+     *
+     * @exception IndexOutOfBoundsException if {@code index} is out of
+     * range
+     */
+    private static final int checkIndex(final int index, final int length) {
+      if (index < 0 || index >= length) {
+        throw new IndexOutOfBoundsException(String.valueOf(index));
+      }
+      return index;
+    }
+
+    /**
+     * Compares the UTF-8 bytes of the pooled string at the supplied
+     * index with the supplied bytes, treating bytes as unsigned.
+     *
+     * @param index the index of the string in the pool
+     *
+     * @param key the bytes to compare with; must not be {@code null}
+     *
+     * @return a negative number, zero or a positive number if the
+     * pooled string sorts before, with or after {@code key}
+     */
+    private final int compareTo(final int index, final byte[] key) {
+      final int start = this.stringsPosition + this.buffer.getInt(this.stringOffsetsPosition + index * Integer.BYTES);
+      final int length = this.stringsPosition + this.buffer.getInt(this.stringOffsetsPosition + (index + 1) * Integer.BYTES) - start;
+      final int commonLength = Math.min(length, key.length);
+      for (int i = 0; i < commonLength; i++) {
+        final int difference = (this.buffer.get(start + i) & 0xFF) - (key[i] & 0xFF);
+        if (difference != 0) {
+          return difference;
+        }
+      }
+      return length - key.length;
+    }
+
+  }
+
+}
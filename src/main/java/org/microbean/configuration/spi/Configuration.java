@@ -18,7 +18,9 @@ package org.microbean.configuration.spi;
 
 import java.io.Serializable;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.microbean.configuration.Configurations;
@@ -98,6 +100,59 @@ public interface Configuration {
    */
   public ConfigurationValue getValue(final Map<String, String> configurationCoordinates, final String name);
 
+  /**
+   * Returns a {@link Map} of {@link ConfigurationValue}s suitable for
+   * the supplied {@code configurationCoordinates}, indexed by those
+   * of the supplied {@code names} for which there is a suitable
+   * value.
+   *
+   * <p>Implementations of this method must not return {@code
+   * null}.</p>
+   *
+   * <p>Each {@link ConfigurationValue} in the returned {@link Map}
+   * must satisfy the same requirements as one returned by the {@link
+   * #getValue(Map, String)} method for its name.</p>
+   *
+   * <p>Implementations of this method must not retain the supplied
+   * {@link Set} of names, which may change after this method
+   * returns.</p>
+   *
+   * <p>The default implementation of this method calls the {@link
+   * #getValue(Map, String)} method once for each name.
+   * Implementations that can look up several values more cheaply
+   * than one at a time, for example because they must load a
+   * resource or query a database first, are encouraged to override
+   * it.</p>
+   *
+   * @param configurationCoordinates the configuration coordinates for
+   * which values should be returned; may be {@code null}
+   *
+   * @param names the names of the configuration properties for which
+   * {@link ConfigurationValue}s should be returned; must not be
+   * {@code null} or contain {@code null} elements
+   *
+   * @return a non-{@code null} {@link Map} of {@link
+   * ConfigurationValue}s indexed by name
+   *
+   * @exception NullPointerException if {@code names} is {@code null}
+   * or contains {@code null} elements
+   *
+   * @see #getValue(Map, String)
+   *
+   * @see Configurations#getValues(Map, Set)
+   */
+  public default Map<String, ConfigurationValue> getValues(final Map<String, String> configurationCoordinates, final Set<? extends String> names) {
+    Objects.requireNonNull(names);
+    final Map<String, ConfigurationValue> returnValue = new HashMap<>();
+    for (final String name : names) {
+      final ConfigurationValue value = this.getValue(configurationCoordinates, Objects.requireNonNull(name));
+      if (value != null) {
+        returnValue.put(name, value);
+      }
+    }
+    return returnValue;
+  }
+
   /**
    * Returns a {@link Set} of the names of all {@link
    * ConfigurationValue}s that might be returned by this {@link
@@ -112,7 +167,32 @@ public interface Configuration {
    * by any arbitrary set of configuration coordinates.</p>
    *
    * @return a non-{@code null} {@link Set} of names
+   *
+   * @see #reportsNameChanges()
    */
   public Set<String> getNames();
+
+  /**
+   * Returns {@code true} if the {@link Set} of names returned by the
+   * {@link #getNames()} method changes only when this {@link
+   * Configuration} says so by calling the {@link
+   * Configurations#configurationChanged(Configuration, Set)} method
+   * of its installed {@link Configurations}.
+   *
+   * <p>A {@link Configurations} whose {@link Configuration}s all
+   * return {@code true} from this method may reuse the names they
+   * report until it is told of a change.</p>
+   *
+   * <p>The default implementation of this method returns {@code
+   * false}.</p>
+   *
+   * @return {@code true} if every change to the names this {@link
+   * Configuration} knows about is reported
+   *
+   * @see Configurations#getNames()
+   */
+  public default boolean reportsNameChanges() {
+    return false;
+  }
   
 }
@@ -16,7 +16,6 @@
  */
 package org.microbean.configuration.spi;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections; // for javadoc only
 import java.util.List;
@@ -126,9 +125,18 @@ public class ConfigurationValueSourceComparingArbiter extends ComparatorBasedArb
         returnValue = ambiguousValues.iterator().next();
         break;
       default:
-        final List<? extends ConfigurationValue> list = new ArrayList<>(ambiguousValues);
-        list.sort(this.getComparator());
-        returnValue = list.get(0);
+        // A single pass selecting the first of the highest-ranked
+        // values picks exactly what a stable sort would have put
+        // first, without copying or sorting.
+        final RankedComparator<ConfigurationValue> comparator = this.getComparator();
+        assert comparator != null;
+        ConfigurationValue winner = null;
+        for (final ConfigurationValue value : ambiguousValues) {
+          if (winner == null || comparator.compare(value, winner) < 0) {
+            winner = value;
+          }
+        }
+        returnValue = winner;
         break;
       }
     }
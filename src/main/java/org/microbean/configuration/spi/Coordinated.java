@@ -0,0 +1,67 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.util.Map;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+/**
+ * An optional capability of a {@link Configuration} whose
+ * configuration values all have the same, fixed, configuration
+ * coordinates.
+ *
+ * <p>A {@link Configurations} asks each of its {@link
+ * Configuration}s that implements this interface for its
+ * configuration coordinates once, when it is created, and thereafter
+ * does not ask it for configuration values when the configuration
+ * coordinates of a request do not include them, since such values
+ * could never be selected.</p>
+ *
+ * <p>One consequence is that such values, which would otherwise have
+ * been reported as malformed, are never passed to the {@link
+ * Configurations#handleMalformedConfigurationValues(java.util.Collection)}
+ * method.  Subclasses of {@link Configurations} that override that
+ * method to observe them should not be given {@link Configuration}s
+ * that implement this interface.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ */
+public interface Coordinated {
+
+  /**
+   * Returns the configuration coordinates of every {@link
+   * ConfigurationValue} that this object's {@link
+   * Configuration#getValue(Map, String)} method will ever return, or
+   * {@code null} if they are not fixed.
+   *
+   * <p>Implementations of this method may return {@code null}.</p>
+   *
+   * <p>Implementations of this method must return the same value each
+   * time they are invoked.</p>
+   *
+   * <p>An empty {@link Map} means that every configuration value has
+   * no configuration coordinates.</p>
+   *
+   * @return the fixed configuration coordinates, or {@code null}
+   */
+  public Map<String, String> getCoordinates();
+
+}
@@ -0,0 +1,503 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.microbean.configuration.api.ConfigurationException;
+import org.microbean.configuration.api.ConfigurationValue;
+
+/**
+ * An {@link AbstractConfiguration} that reads configuration values
+ * from a directory tree containing one file per configuration
+ * property, such as a Kubernetes {@code ConfigMap} or {@code Secret}
+ * mounted as a volume.
+ *
+ * <p>The name of a configuration property is the path of its file
+ * relative to the directory, with name elements separated by {@code
+ * .} characters; its value is the file's contents, decoded as UTF-8.
+ * Files and directories whose names begin with {@code ..}, which
+ * Kubernetes uses for its own bookkeeping, are ignored.</p>
+ *
+ * <p><strong>A single trailing line terminator ({@code \n} or {@code
+ * \r\n}) is stripped from every value</strong>, since most tools
+ * that write such files add one.  Only one is stripped: a value that
+ * really ends with a line terminator must be stored in a file that
+ * ends with two of them.  A file containing {@code value\n\n}, for
+ * example, yields the value {@code value\n}.</p>
+ *
+ * <p>The directory tree is listed once, when {@linkplain #getNames()
+ * names} or {@linkplain #getValue(Map, String) values} are first
+ * requested.  A file is read only when the value of its configuration
+ * property is first requested, and its contents are cached.  Each
+ * subsequent request compares the file's {@linkplain
+ * BasicFileAttributes#fileKey() file key}, {@linkplain
+ * BasicFileAttributes#lastModifiedTime() last modified time} and
+ * {@linkplain BasicFileAttributes#size() size} with those recorded
+ * when it was read, and reads it again only if they differ.  Symbolic
+ * links are followed, so the atomic replacement of a Kubernetes
+ * volume's contents is noticed.  Files added to the tree after it has
+ * been listed are not.</p>
+ *
+ * <p>This class is safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ */
+public class DirectoryConfiguration extends AbstractConfiguration implements Coordinated, Serializable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The {@linkplain Path#toString() string form} of the {@link Path}
+   * of the directory being read.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final String directory;
+
+  /**
+   * The configuration coordinates of every value.
+   *
+   * <p>This field may be {@code null}.</p>
+   */
+  private final Map<String, String> coordinates;
+
+  /**
+   * An immutable {@link Map} of the {@link Path}s of files indexed by
+   * the names of the configuration properties they hold.
+   *
+   * <p>This field is {@code null} until the directory tree has been
+   * listed.</p>
+   *
+   * @see #getFiles()
+   */
+  private transient volatile Map<String, Path> files;
+
+  /**
+   * A {@link ConcurrentMap} of {@link Entry} instances recording the
+   * contents of files that have been read, indexed by the names of
+   * the configuration properties they hold.
+   *
+   * <p>This field is {@code null} only after deserialization, until
+   * a value is next requested.</p>
+   */
+  private transient volatile ConcurrentMap<String, Entry> entries;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link DirectoryConfiguration} that reads the
+   * directory tree rooted at the supplied {@link Path} and whose
+   * values have no configuration coordinates.
+   *
+   * @param directory the {@link Path} of the directory; must not be
+   * {@code null}
+   *
+   * @exception NullPointerException if {@code directory} is {@code
+   * null}
+   *
+   * @see #DirectoryConfiguration(Path, Map)
+   */
+  public DirectoryConfiguration(final Path directory) {
+    this(directory, null);
+  }
+
+  /**
+   * Creates a new {@link DirectoryConfiguration} that reads the
+   * directory tree rooted at the supplied {@link Path}.
+   *
+   * <p>The directory is not read by this constructor.  If it does not
+   * exist when it is first read, this {@link DirectoryConfiguration}
+   * will never supply any configuration values.</p>
+   *
+   * @param directory the {@link Path} of the directory; must not be
+   * {@code null}
+   *
+   * @param coordinates the configuration coordinates of every value;
+   * may be {@code null}
+   *
+   * @exception NullPointerException if {@code directory} is {@code
+   * null}
+   */
+  public DirectoryConfiguration(final Path directory, final Map<? extends String, ? extends String> coordinates) {
+    super();
+    this.directory = Objects.requireNonNull(directory).toAbsolutePath().toString();
+    if (coordinates == null) {
+      this.coordinates = null;
+    } else if (coordinates.isEmpty()) {
+      this.coordinates = Collections.emptyMap();
+    } else {
+      this.coordinates = Collections.unmodifiableMap(new HashMap<>(coordinates));
+    }
+    this.entries = new ConcurrentHashMap<>();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the configuration coordinates of every value supplied by
+   * this {@link DirectoryConfiguration}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return an immutable, non-{@code null} {@link Map} of
+   * configuration coordinates
+   *
+   * @see #DirectoryConfiguration(Path, Map)
+   */
+  @Override
+  public Map<String, String> getCoordinates() {
+    return this.coordinates == null ? Collections.emptyMap() : this.coordinates;
+  }
+
+  /**
+   * Returns a {@link ConfigurationValue} representing the contents of
+   * the file holding the configuration property identified by the
+   * supplied {@code name}, or {@code null} if there is no such file.
+   *
+   * <p>The file is read only if it has not been read before or if it
+   * has changed since it was last read.</p>
+   *
+   * @param coordinates the configuration coordinates in effect for
+   * the current request; ignored
+   *
+   * @param name the name of the configuration property for which to
+   * return a {@link ConfigurationValue}; may be {@code null} in which
+   * case {@code null} will be returned
+   *
+   * @return a {@link ConfigurationValue}, or {@code null}
+   *
+   * @exception ConfigurationException if the file could not be read
+   */
+  @Override
+  public ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+    ConfigurationValue returnValue = null;
+    if (name != null) {
+      final Path file = this.getFiles().get(name);
+      if (file != null) {
+        final String value = this.read(name, file);
+        if (value != null) {
+          returnValue = new ConfigurationValue(this, this.coordinates, name, value, false);
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns an immutable {@link Set} of the names of the
+   * configuration properties in the directory tree.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>No file is read by this method.</p>
+   *
+   * @return an immutable, non-{@code null} {@link Set} of names
+   *
+   * @exception ConfigurationException if the directory tree could not
+   * be listed
+   */
+  @Override
+  public Set<String> getNames() {
+    return this.getFiles().keySet();
+  }
+
+  /**
+   * Returns the contents of the supplied {@code file}, reading it
+   * only if the cached {@link Entry} for the supplied {@code name} is
+   * missing or stale, or {@code null} if the file no longer exists.
+   *
+   * @param name the name of the configuration property held by the
+   * file; must not be {@code null}
+   *
+   * @param file the file; must not be {@code null}
+   *
+   * @return the file's contents, or {@code null}
+   *
+   * @exception ConfigurationException if the file could not be read
+   */
+  private final String read(final String name, final Path file) {
+    ConcurrentMap<String, Entry> entries = this.entries;
+    if (entries == null) {
+      entries = new ConcurrentHashMap<>();
+      this.entries = entries;
+    }
+    String returnValue = null;
+    try {
+      final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      final Entry entry = entries.get(name);
+      if (entry != null && entry.isCurrent(attributes)) {
+        returnValue = entry.value;
+      } else if (attributes.isRegularFile()) {
+        returnValue = decode(Files.readAllBytes(file));
+        entries.put(name, new Entry(attributes, returnValue));
+      } else {
+        entries.remove(name);
+      }
+    } catch (final NoSuchFileException noSuchFileException) {
+      entries.remove(name);
+    } catch (final IOException ioException) {
+      throw new ConfigurationException(ioException.getMessage(), ioException);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns an immutable {@link Map} of the {@link Path}s of files
+   * indexed by the names of the configuration properties they hold,
+   * listing the directory tree first if it has not yet been listed.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return an immutable, non-{@code null} {@link Map}
+   *
+   * @exception ConfigurationException if the directory tree could not
+   * be listed
+   */
+  private final Map<String, Path> getFiles() {
+    Map<String, Path> returnValue = this.files;
+    if (returnValue == null) {
+      synchronized (this) {
+        returnValue = this.files;
+        if (returnValue == null) {
+          final Path directory = Paths.get(this.directory);
+          if (Files.isDirectory(directory)) {
+            final Map<String, Path> files = new HashMap<>();
+            try {
+              final Set<Path> visited = new HashSet<>();
+              visited.add(directory.toRealPath());
+              list(directory, null, files, visited);
+            } catch (final IOException ioException) {
+              throw new ConfigurationException(ioException.getMessage(), ioException);
+            }
+            returnValue = Collections.unmodifiableMap(files);
+          } else {
+            returnValue = Collections.emptyMap();
+          }
+          this.files = returnValue;
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link String} representation of this {@link
+   * DirectoryConfiguration}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link String} representation of this
+   * {@link DirectoryConfiguration}
+   */
+  @Override
+  public String toString() {
+    return this.directory;
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Adds the {@link Path}s of the files in the supplied {@code
+   * directory} and, recursively, its subdirectories, to the supplied
+   * {@link Map}, indexed by configuration property name.
+   *
+   * @param directory the directory to list; must not be {@code null}
+   *
+   * @param prefix the configuration property name prefix
+   * corresponding to {@code directory}; may be {@code null}
+   *
+   * @param files the {@link Map} to add to; must not be {@code null}
+   *
+   * @param visited the {@linkplain Path#toRealPath(java.nio.file.LinkOption...)
+   * real paths} of the directories already listed; must not be {@code
+   * null}
+   *
+   * @exception IOException if {@code directory} could not be listed
+   */
+  private static final void list(final Path directory,
+                                 final String prefix,
+                                 final Map<String, Path> files,
+                                 final Set<Path> visited)
+    throws IOException {
+    try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+      for (final Path path : stream) {
+        final String fileName = path.getFileName().toString();
+        if (!fileName.startsWith("..")) {
+          final String name = prefix == null ? fileName : prefix + "." + fileName;
+          if (Files.isDirectory(path)) {
+            // Follow symbolically linked directories, but not in
+            // circles.
+            if (visited.add(path.toRealPath())) {
+              list(path, name, files, visited);
+            }
+          } else if (Files.isRegularFile(path)) {
+            files.put(name, path);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Decodes the supplied file contents as UTF-8 and removes one
+   * trailing line terminator, if present.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param bytes the file contents; must not be {@code null}
+   *
+   * @return the decoded contents; never {@code null}
+   *
+   * @exception NullPointerException if {@code bytes} is {@code null}
+   */
+  private static final String decode(final byte[] bytes) {
+    int length = bytes.length;
+    if (length > 0 && bytes[length - 1] == '\n') {
+      length--;
+      if (length > 0 && bytes[length - 1] == '\r') {
+        length--;
+      }
+    }
+    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * The contents of a file as of a particular moment, together with
+   * the attributes needed to tell whether it has since changed.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   */
+  private static final class Entry {
+
+    /**
+     * The file's {@linkplain BasicFileAttributes#fileKey() file key};
+     * may be {@code null}.
+     */
+    private final Object fileKey;
+
+    /**
+     * The file's {@linkplain BasicFileAttributes#lastModifiedTime()
+     * last modified time}; never {@code null}.
+     */
+    private final FileTime lastModifiedTime;
+
+    /**
+     * The file's {@linkplain BasicFileAttributes#size() size}.
+     */
+    private final long size;
+
+    /**
+     * The file's decoded contents; never {@code null}.
+     */
+    private final String value;
+
+    /**
+     * Creates a new {@link Entry}.
+     *
+     * @param attributes the file's attributes when it was read; must
+     * not be {@code null}
+     *
+     * @param value the file's decoded contents; must not be {@code
+     * null}
+     */
+    private Entry(final BasicFileAttributes attributes, final String value) {
+      super();
+      this.fileKey = attributes.fileKey();
+      this.lastModifiedTime = attributes.lastModifiedTime();
+      this.size = attributes.size();
+      this.value = value;
+    }
+
+    /**
+     * Returns {@code true} if the supplied {@link BasicFileAttributes}
+     * indicate that the file has not changed since this {@link Entry}
+     * was created.
+     *
+     * @param attributes the file's current attributes; must not be
+     * {@code null}
+     *
+     * @return {@code true} if this {@link Entry} is current
+     */
+    private final boolean isCurrent(final BasicFileAttributes attributes) {
+      return
+        this.size == attributes.size() &&
+        Objects.equals(this.fileKey, attributes.fileKey()) &&
+        this.lastModifiedTime.equals(attributes.lastModifiedTime());
+    }
+
+  }
+
+}
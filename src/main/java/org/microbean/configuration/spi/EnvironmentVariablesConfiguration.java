@@ -19,6 +19,7 @@ package org.microbean.configuration.spi;
 import java.io.Serializable;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -47,6 +48,33 @@ public final class EnvironmentVariablesConfiguration extends AbstractConfigurati
    */
   private static final long serialVersionUID = 1L;
 
+  /**
+   * The name of the {@linkplain System#getProperty(String) System
+   * property} that, if {@code true}, causes {@link
+   * EnvironmentVariablesConfiguration}s created with the {@linkplain
+   * #EnvironmentVariablesConfiguration() zero-argument constructor} to
+   * work from a snapshot of the environment.
+   *
+   * @see #EnvironmentVariablesConfiguration(boolean)
+   */
+  public static final String SNAPSHOT = "org.microbean.configuration.spi.EnvironmentVariablesConfiguration.snapshot";
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * An immutable copy of the environment, or {@code null} if this
+   * {@link EnvironmentVariablesConfiguration} reads it directly.
+   *
+   * @see #EnvironmentVariablesConfiguration(boolean)
+   *
+   * @see #refresh()
+   */
+  private volatile Map<String, String> snapshot;
+
 
   /*
    * Constructors.
@@ -54,10 +82,34 @@ public final class EnvironmentVariablesConfiguration extends AbstractConfigurati
 
 
   /**
-   * Creates a new {@link EnvironmentVariablesConfiguration}.
+   * Creates a new {@link EnvironmentVariablesConfiguration} that works
+   * from a snapshot of the environment if the {@value #SNAPSHOT}
+   * System property is {@code true}, and reads it directly otherwise.
+   *
+   * @see #EnvironmentVariablesConfiguration(boolean)
    */
   public EnvironmentVariablesConfiguration() {
+    this(Boolean.getBoolean(SNAPSHOT));
+  }
+
+  /**
+   * Creates a new {@link EnvironmentVariablesConfiguration}.
+   *
+   * <p>An {@link EnvironmentVariablesConfiguration} that works from a
+   * snapshot copies the environment once into an immutable {@link
+   * Map} and reads only that until it is {@linkplain #refresh()
+   * refreshed}.</p>
+   *
+   * @param snapshot whether to work from a snapshot of the
+   * environment
+   *
+   * @see #refresh()
+   */
+  public EnvironmentVariablesConfiguration(final boolean snapshot) {
     super();
+    if (snapshot) {
+      this.snapshot = Collections.unmodifiableMap(new HashMap<>(System.getenv()));
+    }
   }
 
 
@@ -71,6 +123,42 @@ public final class EnvironmentVariablesConfiguration extends AbstractConfigurati
     return 200;
   }
 
+  /**
+   * Returns {@code true} if this {@link
+   * EnvironmentVariablesConfiguration} works from a snapshot of the
+   * environment.
+   *
+   * @return {@code true} if this {@link
+   * EnvironmentVariablesConfiguration} works from a snapshot of the
+   * environment
+   *
+   * @see #EnvironmentVariablesConfiguration(boolean)
+   */
+  public final boolean isSnapshot() {
+    return this.snapshot != null;
+  }
+
+  /**
+   * If this {@link EnvironmentVariablesConfiguration} {@linkplain
+   * #isSnapshot() works from a snapshot} of the environment, replaces
+   * it with a new one and {@linkplain #fireConfigurationChanged(Set)
+   * reports} the names of any environment variables that changed;
+   * otherwise does nothing.
+   *
+   * @see #EnvironmentVariablesConfiguration(boolean)
+   */
+  public final void refresh() {
+    final Map<String, String> oldSnapshot = this.snapshot;
+    if (oldSnapshot != null) {
+      final Map<String, String> newSnapshot = Collections.unmodifiableMap(new HashMap<>(System.getenv()));
+      this.snapshot = newSnapshot;
+      final Set<String> changedNames = getChangedNames(oldSnapshot, newSnapshot);
+      if (!changedNames.isEmpty()) {
+        this.fireConfigurationChanged(changedNames);
+      }
+    }
+  }
+
   
   /**
    * Returns a {@link ConfigurationValue} representing the {@linkplain
@@ -89,7 +177,8 @@ public final class EnvironmentVariablesConfiguration extends AbstractConfigurati
   public final ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
     ConfigurationValue returnValue = null;
     if (name != null) {
-      final String propertyValue = System.getenv(name);
+      final Map<String, String> snapshot = this.snapshot;
+      final String propertyValue = snapshot == null ? System.getenv(name) : snapshot.get(name);
       if (propertyValue != null) {
         returnValue = new ConfigurationValue(this, null /* deliberately null coordinates */, name, propertyValue, false);
       }
@@ -105,18 +194,45 @@ public final class EnvironmentVariablesConfiguration extends AbstractConfigurati
    * <p>This implementation does not return {@code null}.</p>
    *
    * <p>This implementation returns the equivalent of {@link
-   * System#getenv() System.getenv().keySet()}.</p>
+   * System#getenv() System.getenv().keySet()}, taken from the
+   * snapshot if this {@link EnvironmentVariablesConfiguration}
+   * {@linkplain #isSnapshot() works from one}.</p>
    *
    * @return a non-{@code null} {@link Set} of names
    */
   @Override
   public final Set<String> getNames() {
-    return System.getenv().keySet();
+    final Map<String, String> snapshot = this.snapshot;
+    return snapshot == null ? System.getenv().keySet() : snapshot.keySet();
+  }
+
+  /**
+   * Returns {@code true} if this {@link EnvironmentVariablesConfiguration}
+   * {@linkplain #isSnapshot() works from a snapshot} of the environment,
+   * since its names then change only when it is {@linkplain
+   * #refresh() refreshed}, which reports the change.
+   *
+   * @return {@code true} if this {@link EnvironmentVariablesConfiguration}
+   * works from a snapshot
+   */
+  @Override
+  public final boolean reportsNameChanges() {
+    return this.isSnapshot();
   }
 
+  /**
+   * Returns a hash code for this {@link
+   * EnvironmentVariablesConfiguration}.
+   *
+   * <p>All {@link EnvironmentVariablesConfiguration}s are {@linkplain
+   * #equals(Object) equal}, so this implementation returns a constant
+   * rather than hashing the environment.</p>
+   *
+   * @return a hash code
+   */
   @Override
   public final int hashCode() {
-    return System.getenv().hashCode();
+    return EnvironmentVariablesConfiguration.class.getName().hashCode();
   }
 
   @Override
@@ -126,7 +242,8 @@ public final class EnvironmentVariablesConfiguration extends AbstractConfigurati
 
   @Override
   public final String toString() {
-    return System.getenv().toString();
+    final Map<String, String> snapshot = this.snapshot;
+    return snapshot == null ? System.getenv().toString() : snapshot.toString();
   }
 
 }
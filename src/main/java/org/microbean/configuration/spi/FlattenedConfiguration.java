@@ -0,0 +1,204 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.Serializable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.function.Function;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+/**
+ * An {@link AbstractResourceLoadingConfiguration} that {@linkplain
+ * #getValue(Resource, Map, String) gets configuration property
+ * values} from {@link FlattenedIndex} resources, such as those
+ * produced by a {@link JacksonLoader}.
+ *
+ * <p>As with {@link PropertiesConfiguration}, a resource may specify
+ * its {@linkplain #getRank() rank} with an {@code
+ * org.microbean.configuration.rank} property.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see #getValue(Resource, Map, String)
+ *
+ * @see JsonConfiguration
+ *
+ * @see YamlConfiguration
+ */
+public class FlattenedConfiguration extends AbstractResourceLoadingConfiguration<FlattenedIndex> implements Ranked, Serializable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The maximum number of distinct sets of configuration coordinates
+   * for which loaded resources are cached by {@linkplain
+   * #createResourceLoader(JacksonLoader) resource loaders created by
+   * this class}.
+   *
+   * @see CachingResourceLoader#CachingResourceLoader(Function, int)
+   */
+  private static final int MAXIMUM_CACHED_RESOURCES = 128;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link FlattenedConfiguration}.
+   *
+   * @param resourceLoader a {@link Function} that accepts a {@link
+   * Map} of requested configuration coordinates and returns a {@link
+   * Resource} that can {@linkplain Resource#get() supply} a {@link
+   * FlattenedIndex} to serve as a source of configuration values for
+   * use by the {@link #getValue(Resource, Map, String)} method; may
+   * be {@code null} in which case all invocations of the {@link
+   * #getValue(Map, String)} method will return {@code null}
+   *
+   * @see JacksonLoader
+   */
+  public FlattenedConfiguration(final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends FlattenedIndex>> resourceLoader) {
+    super(resourceLoader);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation gets a {@link FlattenedIndex} {@linkplain
+   * Resource#get() from the supplied <code>Resource</code>} and, if it
+   * contains a value for the supplied {@code name}, returns a {@link
+   * ConfigurationValue} representing it with the {@linkplain
+   * Resource#getCoordinates() configuration coordinates supplied by
+   * the supplied <code>Resource</code>}.</p>
+   *
+   * @param resource a {@link Resource} that can {@linkplain
+   * Resource#get() supply} a {@link FlattenedIndex}; may be {@code
+   * null}
+   *
+   * @param requestedCoordinates the configuration coordinates for
+   * which a value is requested; ignored
+   *
+   * @param name the name of the configuration property for which a
+   * value is to be sought; may be {@code null}
+   *
+   * @return a {@link ConfigurationValue}, or {@code null}
+   */
+  @Override
+  protected ConfigurationValue getValue(final Resource<? extends FlattenedIndex> resource, final Map<String, String> requestedCoordinates, final String name) {
+    ConfigurationValue returnValue = null;
+    if (resource != null) {
+      final FlattenedIndex index = resource.get();
+      if (index != null) {
+        final String value = index.get(name);
+        if (value != null) {
+          returnValue = new ConfigurationValue(this, resource.getCoordinates(), name, value, false);
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  @Override
+  protected Set<String> getNames(final Resource<? extends FlattenedIndex> resource) {
+    final Set<String> returnValue;
+    if (resource == null) {
+      returnValue = Collections.emptySet();
+    } else {
+      final FlattenedIndex index = resource.get();
+      if (index == null) {
+        returnValue = Collections.emptySet();
+      } else {
+        returnValue = index.getNames();
+      }
+    }
+    return returnValue;
+  }
+
+  @Override
+  protected int getRank(final Resource<? extends FlattenedIndex> resource) {
+    final int returnValue;
+    if (resource == null) {
+      returnValue = super.getRank(resource);
+    } else {
+      final FlattenedIndex index = resource.get();
+      if (index == null) {
+        returnValue = super.getRank(resource);
+      } else {
+        final String rankString = index.get("org.microbean.configuration.rank");
+        int temp = 100;
+        try {
+          if (rankString != null) {
+            temp = Integer.parseInt(rankString);
+          }
+        } catch (final NumberFormatException ignoreMe) {
+
+        } finally {
+          returnValue = temp;
+        }
+      }
+    }
+    return returnValue;
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns a {@link Function} suitable for supplying to the {@link
+   * #FlattenedConfiguration(Function)} constructor that caches the
+   * {@link Resource}s returned by the supplied {@link JacksonLoader}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param loader the {@link JacksonLoader} to wrap; must not be
+   * {@code null}
+   *
+   * @return a non-{@code null} {@link Function}
+   *
+   * @exception NullPointerException if {@code loader} is {@code null}
+   */
+  static final Function<Map<? extends String, ? extends String>, Resource<? extends FlattenedIndex>> createResourceLoader(final JacksonLoader loader) {
+    return new CachingResourceLoader<>(loader, MAXIMUM_CACHED_RESOURCES);
+  }
+
+}
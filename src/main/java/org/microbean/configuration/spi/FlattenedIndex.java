@@ -0,0 +1,187 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable index of configuration property values, indexed by
+ * the flattened, dotted names of their configuration properties and
+ * held in name order in a pair of parallel arrays.
+ *
+ * <p>Looking up a value is a binary search over the names and
+ * allocates nothing.</p>
+ *
+ * <p>This class is safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see JacksonLoader
+ *
+ * @see FlattenedConfiguration
+ */
+public final class FlattenedIndex {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The names of the configuration properties in this {@link
+   * FlattenedIndex}, in {@linkplain String#compareTo(String) natural
+   * order}.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final String[] names;
+
+  /**
+   * The values of the configuration properties whose names are
+   * stored at the corresponding positions in the {@link #names}
+   * array.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final String[] values;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link FlattenedIndex}.
+   *
+   * @param values a {@link Map} of configuration property values
+   * indexed by name; must not be {@code null}; must not contain
+   * {@code null} keys or values
+   *
+   * @exception NullPointerException if {@code values} is {@code
+   * null} or contains {@code null} keys or values
+   */
+  public FlattenedIndex(final Map<? extends String, ? extends String> values) {
+    super();
+    final String[] names = values.keySet().toArray(new String[values.size()]);
+    Arrays.sort(names);
+    this.names = names;
+    this.values = new String[names.length];
+    for (int i = 0; i < names.length; i++) {
+      this.values[i] = Objects.requireNonNull(values.get(names[i]));
+    }
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the number of configuration properties in this {@link
+   * FlattenedIndex}.
+   *
+   * @return the number of configuration properties in this {@link
+   * FlattenedIndex}
+   */
+  public final int size() {
+    return this.names.length;
+  }
+
+  /**
+   * Returns the value of the configuration property identified by
+   * the supplied {@code name}, or {@code null} if there is no such
+   * configuration property.
+   *
+   * @param name the name of the configuration property; may be
+   * {@code null} in which case {@code null} will be returned
+   *
+   * @return the value, or {@code null}
+   */
+  public final String get(final String name) {
+    String returnValue = null;
+    if (name != null) {
+      final int index = Arrays.binarySearch(this.names, name);
+      if (index >= 0) {
+        returnValue = this.values[index];
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns an immutable {@link Set} of the names of the
+   * configuration properties in this {@link FlattenedIndex}, which
+   * iterates in {@linkplain String#compareTo(String) natural order}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return an immutable, non-{@code null} {@link Set} of names
+   */
+  public final Set<String> getNames() {
+    return new AbstractSet<String>() {
+      @Override
+      public final int size() {
+        return FlattenedIndex.this.names.length;
+      }
+
+      @Override
+      public final boolean contains(final Object name) {
+        return name instanceof String && Arrays.binarySearch(FlattenedIndex.this.names, (String)name) >= 0;
+      }
+
+      @Override
+      public final Iterator<String> iterator() {
+        return new AbstractList<String>() {
+          @Override
+          public final int size() {
+            return FlattenedIndex.this.names.length;
+          }
+
+          @Override
+          public final String get(final int index) {
+            return FlattenedIndex.this.names[index];
+          }
+        }.iterator();
+      }
+    };
+  }
+
+  /**
+   * Returns a {@link String} representation of this {@link
+   * FlattenedIndex}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link String} representation of this
+   * {@link FlattenedIndex}
+   */
+  @Override
+  public final String toString() {
+    return "FlattenedIndex (" + this.names.length + " values)";
+  }
+
+}
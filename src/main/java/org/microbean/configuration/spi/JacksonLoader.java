@@ -0,0 +1,412 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.io.IOException;
+
+import java.net.URL;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.api.ConfigurationException;
+
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
+
+import org.microbean.configuration.spi.converter.StringToMapStringStringConverter;
+
+/**
+ * A {@link Function} that loads a classpath resource in any format
+ * that a Jackson {@link JsonFactory} can parse, such as JSON or YAML,
+ * and returns its documents as a chain of {@link Resource}s that
+ * {@linkplain Resource#get() supply} {@link FlattenedIndex}
+ * instances.
+ *
+ * <p>The resource is parsed once, the first time it is needed, in a
+ * single pass over the parser's token stream; no intermediate tree is
+ * built.  Nested keys are flattened into dotted names, so that {@code
+ * {"a": {"b": "c"}}} yields a configuration property named {@code
+ * a.b} whose value is {@code c}.  Array elements are named with their
+ * index in square brackets, as in {@code a.b[0]}.  {@code null}
+ * values, empty objects and empty arrays yield no configuration
+ * properties.</p>
+ *
+ * <p>Each document in the resource (YAML streams may contain
+ * several) may declare the configuration coordinates of its values
+ * in a top-level {@value Configurations#CONFIGURATION_COORDINATES}
+ * field, either as an object whose fields are the coordinates or as a
+ * string in the format understood by {@link
+ * StringToMapStringStringConverter}.  That field does not itself
+ * yield any configuration properties.</p>
+ *
+ * <p>This class is safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see #apply(Map)
+ *
+ * @see FlattenedConfiguration
+ */
+public class JacksonLoader implements Function<Map<? extends String, ? extends String>, Resource<? extends FlattenedIndex>> {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The {@link JsonFactory} used to create parsers.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final JsonFactory jsonFactory;
+
+  /**
+   * The {@link ClassLoader} used to find the resource; may be {@code
+   * null}.
+   */
+  private final ClassLoader resourceLoader;
+
+  /**
+   * The name of the resource to load.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  protected final String name;
+
+  /**
+   * The documents in the resource, each one represented as a {@link
+   * Resource} with no {@linkplain Resource#getNext() successor}, in
+   * the order in which they appear.
+   *
+   * <p>This field is {@code null} until the resource has been
+   * loaded.</p>
+   *
+   * @see #getDocuments()
+   */
+  private volatile List<Resource<FlattenedIndex>> documents;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link JacksonLoader} that uses the {@linkplain
+   * Thread#getContextClassLoader() context classloader} to find the
+   * resource.
+   *
+   * @param jsonFactory the {@link JsonFactory} to create parsers
+   * with; must not be {@code null}
+   *
+   * @param name the name of the resource to load; must not be {@code
+   * null}
+   *
+   * @exception NullPointerException if {@code jsonFactory} or {@code
+   * name} is {@code null}
+   *
+   * @see #JacksonLoader(JsonFactory, ClassLoader, String)
+   */
+  public JacksonLoader(final JsonFactory jsonFactory, final String name) {
+    this(jsonFactory, Thread.currentThread().getContextClassLoader(), name);
+  }
+
+  /**
+   * Creates a new {@link JacksonLoader}.
+   *
+   * @param jsonFactory the {@link JsonFactory} to create parsers
+   * with; must not be {@code null}
+   *
+   * @param resourceLoader the {@link ClassLoader} to find the resource
+   * with; may be {@code null} in which case the {@linkplain
+   * Thread#getContextClassLoader() context classloader} will be used
+   *
+   * @param name the name of the resource to load; must not be {@code
+   * null}
+   *
+   * @exception NullPointerException if {@code jsonFactory} or {@code
+   * name} is {@code null}
+   */
+  public JacksonLoader(final JsonFactory jsonFactory, final ClassLoader resourceLoader, final String name) {
+    super();
+    this.jsonFactory = Objects.requireNonNull(jsonFactory);
+    this.resourceLoader = resourceLoader;
+    this.name = Objects.requireNonNull(name);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns a chain of {@link Resource}s, one for each document in
+   * the resource whose configuration coordinates are compatible with
+   * the supplied configuration coordinates, most specific first, or
+   * {@code null} if there are no such documents.
+   *
+   * <p>A document's configuration coordinates are compatible if each
+   * of them is also present, with the same value, in the supplied
+   * configuration coordinates.  Documents with equally many
+   * configuration coordinates are ordered so that later documents
+   * come first.</p>
+   *
+   * <p>If the supplied configuration coordinates are {@code null},
+   * then every document is returned, least specific first.  Note
+   * that a {@link CachingResourceLoader} wrapping this {@link
+   * JacksonLoader} never supplies {@code null}, but an empty {@link
+   * Map} instead, so that only documents with no configuration
+   * coordinates are returned through it.</p>
+   *
+   * @param requestedConfigurationCoordinates the configuration
+   * coordinates in effect; may be {@code null}
+   *
+   * @return a {@link Resource}, or {@code null}
+   *
+   * @exception ConfigurationException if the resource could not be
+   * read or parsed
+   *
+   * @see Resource#getNext()
+   */
+  @Override
+  public Resource<? extends FlattenedIndex> apply(final Map<? extends String, ? extends String> requestedConfigurationCoordinates) {
+    final List<Resource<FlattenedIndex>> documents = this.getDocuments();
+    final List<Resource<FlattenedIndex>> selectedDocuments = new ArrayList<>(documents.size());
+    for (final Resource<FlattenedIndex> document : documents) {
+      if (requestedConfigurationCoordinates == null || document.isApplicableTo(requestedConfigurationCoordinates)) {
+        selectedDocuments.add(document);
+      }
+    }
+    // Most specific, then latest, first; or, if no coordinates were
+    // requested, least specific, then latest, first.
+    Collections.reverse(selectedDocuments);
+    final int sign = requestedConfigurationCoordinates == null ? 1 : -1;
+    selectedDocuments.sort((a, b) -> sign * Integer.compare(size(a.getCoordinates()), size(b.getCoordinates())));
+
+    Resource<FlattenedIndex> returnValue = null;
+    for (int i = selectedDocuments.size() - 1; i >= 0; i--) {
+      final Resource<FlattenedIndex> document = selectedDocuments.get(i);
+      returnValue = new Resource<>(document.get(), document.getCoordinates(), returnValue);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the documents in the resource, loading and parsing it
+   * first if necessary.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return an immutable, non-{@code null} {@link List} of documents
+   *
+   * @exception ConfigurationException if the resource could not be
+   * read or parsed
+   */
+  private final List<Resource<FlattenedIndex>> getDocuments() {
+    List<Resource<FlattenedIndex>> returnValue = this.documents;
+    if (returnValue == null) {
+      synchronized (this) {
+        returnValue = this.documents;
+        if (returnValue == null) {
+          ClassLoader resourceLoader = this.resourceLoader;
+          if (resourceLoader == null) {
+            resourceLoader = Thread.currentThread().getContextClassLoader();
+            if (resourceLoader == null) {
+              resourceLoader = this.getClass().getClassLoader();
+            }
+          }
+          assert resourceLoader != null;
+          final URL resource = resourceLoader.getResource(this.name);
+          if (resource == null) {
+            returnValue = Collections.emptyList();
+          } else {
+            try (final InputStream inputStream = new BufferedInputStream(resource.openStream());
+                 final JsonParser parser = this.jsonFactory.createParser(inputStream)) {
+              returnValue = Collections.unmodifiableList(parse(parser));
+            } catch (final IOException ioException) {
+              throw new ConfigurationException(ioException.getMessage(), ioException);
+            }
+          }
+          this.documents = returnValue;
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link String} representation of this {@link
+   * JacksonLoader}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link String} representation of this
+   * {@link JacksonLoader}
+   */
+  @Override
+  public String toString() {
+    return this.name;
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Parses every document available from the supplied {@link
+   * JsonParser} in a single pass.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param parser the {@link JsonParser}; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link List} of documents
+   *
+   * @exception IOException if parsing failed
+   */
+  private static final List<Resource<FlattenedIndex>> parse(final JsonParser parser) throws IOException {
+    final List<Resource<FlattenedIndex>> returnValue = new ArrayList<>();
+    while (parser.nextToken() != null) {
+      if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+        final Map<String, String> values = new HashMap<>();
+        Map<String, String> coordinates = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          final String fieldName = parser.getCurrentName();
+          parser.nextToken();
+          if (Configurations.CONFIGURATION_COORDINATES.equals(fieldName)) {
+            coordinates = parseCoordinates(parser);
+          } else {
+            flatten(parser, fieldName, values);
+          }
+        }
+        returnValue.add(new Resource<>(new FlattenedIndex(values), coordinates));
+      } else {
+        // A document that is not an object has no named values.
+        parser.skipChildren();
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Adds the value at which the supplied {@link JsonParser} is
+   * positioned to the supplied {@link Map}, flattening it first if it
+   * is an object or an array, and leaves the parser positioned at its
+   * last token.
+   *
+   * @param parser the {@link JsonParser}; must not be {@code null}
+   *
+   * @param name the flattened name of the value; must not be {@code
+   * null}
+   *
+   * @param values the {@link Map} to add to; must not be {@code null}
+   *
+   * @exception IOException if parsing failed
+   */
+  private static final void flatten(final JsonParser parser, final String name, final Map<String, String> values) throws IOException {
+    final JsonToken token = parser.getCurrentToken();
+    switch (token) {
+    case START_OBJECT:
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String fieldName = parser.getCurrentName();
+        parser.nextToken();
+        flatten(parser, name + "." + fieldName, values);
+      }
+      break;
+    case START_ARRAY:
+      int index = 0;
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        flatten(parser, name + "[" + index++ + "]", values);
+      }
+      break;
+    case VALUE_NULL:
+      break;
+    default:
+      values.put(name, parser.getText());
+      break;
+    }
+  }
+
+  /**
+   * Returns the configuration coordinates represented by the value
+   * at which the supplied {@link JsonParser} is positioned, and
+   * leaves the parser positioned at its last token.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * @param parser the {@link JsonParser}; must not be {@code null}
+   *
+   * @return a {@link Map} of configuration coordinates, or {@code
+   * null}
+   *
+   * @exception IOException if parsing failed
+   */
+  private static final Map<String, String> parseCoordinates(final JsonParser parser) throws IOException {
+    final Map<String, String> returnValue;
+    final JsonToken token = parser.getCurrentToken();
+    if (token == JsonToken.START_OBJECT) {
+      returnValue = new HashMap<>();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String coordinateName = parser.getCurrentName();
+        if (parser.nextToken().isScalarValue() && parser.getCurrentToken() != JsonToken.VALUE_NULL) {
+          returnValue.put(coordinateName, parser.getText());
+        } else {
+          parser.skipChildren();
+        }
+      }
+    } else if (token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+      returnValue = new StringToMapStringStringConverter().convert(parser.getText());
+    } else {
+      parser.skipChildren();
+      returnValue = null;
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the size of the supplied {@link Map}, or {@code 0} if it
+   * is {@code null}.
+   *
+   * @param map the {@link Map}; may be {@code null}
+   *
+   * @return the size of the supplied {@link Map}
+   */
+  private static final int size(final Map<?, ?> map) {
+    return map == null ? 0 : map.size();
+  }
+
+}
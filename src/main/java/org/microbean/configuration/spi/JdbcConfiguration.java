@@ -0,0 +1,738 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.Serializable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.microbean.configuration.api.ConfigurationException;
+import org.microbean.configuration.api.ConfigurationValue;
+
+/**
+ * An {@link AbstractConfiguration} that reads configuration values
+ * from a relational database.
+ *
+ * <p>A {@link JdbcConfiguration} is created with a query that
+ * selects every configuration property for a set of configuration
+ * coordinates at once: the first column of each row must be the name
+ * of a configuration property and the second its value.  The query's
+ * parameters are bound, in order, to the values of the configuration
+ * coordinates named at construction time, or to {@code null} where
+ * those coordinates are absent.  For example:</p>
+ *
+ * <blockquote><pre>new JdbcConfiguration(dataSource,
+ *                       "SELECT name, value FROM overrides WHERE tenant = ?",
+ *                       Collections.singletonList("tenant"),
+ *                       60000L,
+ *                       null);</pre></blockquote>
+ *
+ * <p>The configuration values returned carry only those of the
+ * requested configuration coordinates that were bound to the
+ * query.</p>
+ *
+ * <p><strong>The names of all configuration properties can be known
+ * only if a names query is {@linkplain #JdbcConfiguration(DataSource,
+ * String, List, String, long, Executor) supplied as well}</strong>:
+ * a parameterless query whose first column is the name of a
+ * configuration property, for example {@code SELECT DISTINCT name
+ * FROM overrides}.  Without one, {@link #getNames()} returns only the
+ * names in the rows selected so far, and so returns an empty {@link
+ * Set} before the first call to {@link #getValue(Map, String)}, and
+ * {@linkplain org.microbean.configuration.Configurations#snapshot(Map)
+ * snapshots} and {@linkplain
+ * org.microbean.configuration.Configurations#getSubtree(Map, String)
+ * subtrees} will miss any names not yet selected.</p>
+ *
+ * <p>The rows selected for a set of configuration coordinates are
+ * cached for a configurable time to live.  When several threads need
+ * rows that are not yet cached, only one of them runs the query and
+ * the others wait for its result.  Once cached rows have expired, the
+ * next request for them starts a refresh on an {@link Executor} and
+ * is answered with the expired rows without waiting; readers are
+ * never blocked by a refresh.  When a refresh changes any values,
+ * this {@link JdbcConfiguration} {@linkplain
+ * #fireConfigurationChanged(Set) reports} them.</p>
+ *
+ * <p>A {@link JdbcConfiguration} is {@link Serializable} only so
+ * that the {@link ConfigurationValue}s it produces are; once
+ * deserialized, it has no {@link DataSource} and supplies no
+ * values.</p>
+ *
+ * <p>This class is safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ */
+public class JdbcConfiguration extends AbstractConfiguration implements Serializable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The {@link Logger} used by this {@link JdbcConfiguration}.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #createLogger()
+   */
+  protected final transient Logger logger;
+
+  /**
+   * The {@link DataSource} supplying {@link Connection}s.
+   *
+   * <p>This field is {@code null} only after deserialization.</p>
+   */
+  private final transient DataSource dataSource;
+
+  /**
+   * The query that selects every configuration property for a set of
+   * configuration coordinates.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final String query;
+
+  /**
+   * The parameterless query that selects the names of all
+   * configuration properties.
+   *
+   * <p>This field may be {@code null}.</p>
+   *
+   * @see #getNames()
+   */
+  private final String namesQuery;
+
+  /**
+   * The names of the configuration coordinates whose values are bound
+   * to the {@linkplain #query query}'s parameters, in order.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final List<String> coordinateNames;
+
+  /**
+   * The time to live of cached rows, in nanoseconds.
+   */
+  private final long timeToLiveNanos;
+
+  /**
+   * The {@link Executor} on which refreshes run.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final transient Executor executor;
+
+  /**
+   * The cache of {@link Rows}, indexed by the configuration
+   * coordinates they were selected for.
+   *
+   * <p>A mapping is present but incomplete while the rows are first
+   * being selected.</p>
+   *
+   * <p>This field is {@code null} only after deserialization.</p>
+   */
+  private final transient ConcurrentMap<Map<String, String>, CompletableFuture<Rows>> cache;
+
+  /**
+   * The names selected by the {@linkplain #namesQuery names query}.
+   *
+   * <p>This field is {@code null} until the names query has first
+   * been run, and whenever there is no names query.</p>
+   *
+   * @see #getAllNames()
+   */
+  private transient volatile Names allNames;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link JdbcConfiguration} with no names query.
+   *
+   * <p>A {@link JdbcConfiguration} created with this constructor
+   * cannot know the names of configuration properties it has not yet
+   * selected; see {@link #getNames()}.</p>
+   *
+   * @param dataSource the {@link DataSource} supplying {@link
+   * Connection}s; must not be {@code null}
+   *
+   * @param query the query that selects the name and value of every
+   * configuration property for a set of configuration coordinates;
+   * must not be {@code null}
+   *
+   * @param coordinateNames the names of the configuration coordinates
+   * whose values are bound to the query's parameters, in order; may
+   * be {@code null}
+   *
+   * @param timeToLiveMillis the number of milliseconds for which the
+   * rows selected for a set of configuration coordinates are used
+   * before being refreshed; must not be negative
+   *
+   * @param executor the {@link Executor} on which refreshes run; may
+   * be {@code null} in which case the {@linkplain
+   * ForkJoinPool#commonPool() common pool} will be used
+   *
+   * @exception NullPointerException if {@code dataSource} or {@code
+   * query} is {@code null}
+   *
+   * @exception IllegalArgumentException if {@code timeToLiveMillis}
+   * is negative
+   *
+   * @exception IllegalStateException if {@link #createLogger()}
+   * returns {@code null}
+   *
+   * @see #JdbcConfiguration(DataSource, String, List, String, long,
+   * Executor)
+   */
+  public JdbcConfiguration(final DataSource dataSource,
+                           final String query,
+                           final List<? extends String> coordinateNames,
+                           final long timeToLiveMillis,
+                           final Executor executor) {
+    this(dataSource, query, coordinateNames, null, timeToLiveMillis, executor);
+  }
+
+  /**
+   * Creates a new {@link JdbcConfiguration}.
+   *
+   * @param dataSource the {@link DataSource} supplying {@link
+   * Connection}s; must not be {@code null}
+   *
+   * @param query the query that selects the name and value of every
+   * configuration property for a set of configuration coordinates;
+   * must not be {@code null}
+   *
+   * @param coordinateNames the names of the configuration coordinates
+   * whose values are bound to the query's parameters, in order; may
+   * be {@code null}
+   *
+   * @param namesQuery a parameterless query whose first column is the
+   * name of a configuration property, used by {@link #getNames()}; may
+   * be {@code null}
+   *
+   * @param timeToLiveMillis the number of milliseconds for which the
+   * rows selected for a set of configuration coordinates, and the
+   * names selected by the names query, are used before being
+   * refreshed; must not be negative
+   *
+   * @param executor the {@link Executor} on which refreshes run; may
+   * be {@code null} in which case the {@linkplain
+   * ForkJoinPool#commonPool() common pool} will be used
+   *
+   * @exception NullPointerException if {@code dataSource} or {@code
+   * query} is {@code null}
+   *
+   * @exception IllegalArgumentException if {@code timeToLiveMillis}
+   * is negative
+   *
+   * @exception IllegalStateException if {@link #createLogger()}
+   * returns {@code null}
+   */
+  public JdbcConfiguration(final DataSource dataSource,
+                           final String query,
+                           final List<? extends String> coordinateNames,
+                           final String namesQuery,
+                           final long timeToLiveMillis,
+                           final Executor executor) {
+    super();
+    this.logger = this.createLogger();
+    if (this.logger == null) {
+      throw new IllegalStateException("createLogger() == null");
+    }
+    this.dataSource = Objects.requireNonNull(dataSource);
+    this.query = Objects.requireNonNull(query);
+    this.namesQuery = namesQuery;
+    if (coordinateNames == null || coordinateNames.isEmpty()) {
+      this.coordinateNames = Collections.emptyList();
+    } else {
+      this.coordinateNames = Collections.unmodifiableList(new ArrayList<>(coordinateNames));
+    }
+    if (timeToLiveMillis < 0L) {
+      throw new IllegalArgumentException("timeToLiveMillis < 0L: " + timeToLiveMillis);
+    }
+    this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+    this.executor = executor == null ? ForkJoinPool.commonPool() : executor;
+    this.cache = new ConcurrentHashMap<>();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the {@link Logger} to be used by this {@link
+   * JdbcConfiguration}.
+   *
+   * <p>This method is called from this class' constructor.</p>
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>Overrides of this method must not return {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link Logger}
+   */
+  protected Logger createLogger() {
+    return Logger.getLogger(this.getClass().getName());
+  }
+
+  /**
+   * Returns a {@link ConfigurationValue} representing the value of
+   * the configuration property identified by the supplied {@code
+   * name} in the rows selected for the supplied configuration
+   * coordinates, or {@code null} if there is no such value.
+   *
+   * @param coordinates the configuration coordinates in effect for
+   * the current request; may be {@code null}
+   *
+   * @param name the name of the configuration property for which to
+   * return a {@link ConfigurationValue}; may be {@code null} in which
+   * case {@code null} will be returned
+   *
+   * @return a {@link ConfigurationValue}, or {@code null}
+   *
+   * @exception ConfigurationException if the rows had to be selected
+   * and could not be
+   */
+  @Override
+  public ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+    ConfigurationValue returnValue = null;
+    if (name != null && this.dataSource != null) {
+      final Map<String, String> boundCoordinates = this.getBoundCoordinates(coordinates);
+      final String value = this.getRows(boundCoordinates).values.get(name);
+      if (value != null) {
+        returnValue = new ConfigurationValue(this, boundCoordinates, name, value, false);
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns an immutable {@link Set} of the names of the
+   * configuration properties selected by the names query, if there is
+   * one, together with those in every set of rows currently cached.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>If this {@link JdbcConfiguration} was created without a names
+   * query, then no query is run by this method, and names in rows
+   * that have not yet been selected are not returned.  In particular,
+   * an empty {@link Set} is returned before the first call to {@link
+   * #getValue(Map, String)}.</p>
+   *
+   * @return an immutable, non-{@code null} {@link Set} of names
+   *
+   * @exception ConfigurationException if the names query had to be
+   * run and failed
+   */
+  @Override
+  public Set<String> getNames() {
+    final Set<String> returnValue;
+    if (this.cache == null) {
+      returnValue = Collections.emptySet();
+    } else {
+      final Set<String> names = new HashSet<>();
+      if (this.namesQuery != null) {
+        names.addAll(this.getAllNames().names);
+      }
+      for (final CompletableFuture<Rows> future : this.cache.values()) {
+        final Rows rows = future.getNow(null);
+        if (rows != null) {
+          names.addAll(rows.values.keySet());
+        }
+      }
+      returnValue = Collections.unmodifiableSet(names);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Discards all cached rows, so that they will be selected again
+   * when next needed.
+   */
+  public void invalidate() {
+    if (this.cache != null) {
+      this.cache.clear();
+    }
+    this.allNames = null;
+  }
+
+  /**
+   * Returns the {@link Names} selected by the {@linkplain #namesQuery
+   * names query}, running it first if it has not yet been run or if
+   * its result has expired.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>This method must be called only when there is a names query
+   * and a {@link DataSource}.</p>
+   *
+   * @return non-{@code null} {@link Names}
+   *
+   * @exception ConfigurationException if the names query had to be
+   * run and failed
+   */
+  private final Names getAllNames() {
+    assert this.namesQuery != null;
+    Names returnValue = this.allNames;
+    if (returnValue == null || System.nanoTime() - returnValue.loadedAt >= this.timeToLiveNanos) {
+      synchronized (this) {
+        returnValue = this.allNames;
+        if (returnValue == null || System.nanoTime() - returnValue.loadedAt >= this.timeToLiveNanos) {
+          returnValue = new Names(this.selectNames());
+          this.allNames = returnValue;
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the {@link Rows} for the supplied bound configuration
+   * coordinates, selecting them if they are not cached, waiting for
+   * another thread that is already selecting them, or starting a
+   * background refresh if they have expired.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param boundCoordinates the configuration coordinates bound to the
+   * query; must not be {@code null}
+   *
+   * @return non-{@code null} {@link Rows}
+   *
+   * @exception ConfigurationException if the rows had to be selected
+   * and could not be
+   */
+  private final Rows getRows(final Map<String, String> boundCoordinates) {
+    CompletableFuture<Rows> future = this.cache.get(boundCoordinates);
+    if (future == null) {
+      final CompletableFuture<Rows> newFuture = new CompletableFuture<>();
+      future = this.cache.putIfAbsent(boundCoordinates, newFuture);
+      if (future == null) {
+        // This thread won; everyone else waits for it.
+        future = newFuture;
+        try {
+          newFuture.complete(new Rows(this.select(boundCoordinates)));
+        } catch (final RuntimeException exception) {
+          this.cache.remove(boundCoordinates, newFuture);
+          newFuture.completeExceptionally(exception);
+        }
+      }
+    }
+    final Rows returnValue;
+    try {
+      returnValue = future.join();
+    } catch (final CompletionException completionException) {
+      final Throwable cause = completionException.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException)cause;
+      }
+      throw new ConfigurationException(completionException.getMessage(), completionException);
+    }
+    if (System.nanoTime() - returnValue.loadedAt >= this.timeToLiveNanos &&
+        returnValue.refreshing.compareAndSet(false, true)) {
+      this.executor.execute(() -> this.refresh(boundCoordinates, returnValue));
+    }
+    return returnValue;
+  }
+
+  /**
+   * Selects the rows for the supplied bound configuration coordinates
+   * again, replaces the supplied stale {@link Rows} with them, and
+   * {@linkplain #fireConfigurationChanged(Set) reports} any values
+   * that changed.
+   *
+   * <p>Failures are logged; the stale {@link Rows} then remain in use
+   * and a later request will try again.</p>
+   *
+   * @param boundCoordinates the configuration coordinates bound to the
+   * query; must not be {@code null}
+   *
+   * @param staleRows the expired {@link Rows}; must not be {@code
+   * null}
+   */
+  private final void refresh(final Map<String, String> boundCoordinates, final Rows staleRows) {
+    final String cn = this.getClass().getName();
+    final String mn = "refresh";
+    try {
+      final Rows newRows = new Rows(this.select(boundCoordinates));
+      this.cache.put(boundCoordinates, CompletableFuture.completedFuture(newRows));
+      final Set<String> changedNames = getChangedNames(staleRows.values, newRows.values);
+      if (!changedNames.isEmpty()) {
+        this.fireConfigurationChanged(changedNames);
+      }
+    } catch (final RuntimeException exception) {
+      staleRows.refreshing.set(false);
+      if (this.logger.isLoggable(Level.WARNING)) {
+        this.logger.logp(Level.WARNING, cn, mn, "Unable to refresh configuration values for " + boundCoordinates, exception);
+      }
+    }
+  }
+
+  /**
+   * Runs the query for the supplied bound configuration coordinates
+   * and returns the configuration values it selects.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param boundCoordinates the configuration coordinates to bind to
+   * the query; must not be {@code null}
+   *
+   * @return an immutable, non-{@code null} {@link Map} of
+   * configuration values indexed by name
+   *
+   * @exception ConfigurationException if the query failed
+   */
+  private final Map<String, String> select(final Map<String, String> boundCoordinates) {
+    final String cn = this.getClass().getName();
+    final String mn = "select";
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.entering(cn, mn, boundCoordinates);
+    }
+    final Map<String, String> returnValue = new HashMap<>();
+    try (final Connection connection = this.dataSource.getConnection();
+         final PreparedStatement statement = connection.prepareStatement(this.query)) {
+      final int size = this.coordinateNames.size();
+      for (int i = 0; i < size; i++) {
+        statement.setString(i + 1, boundCoordinates.get(this.coordinateNames.get(i)));
+      }
+      try (final ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          final String name = resultSet.getString(1);
+          final String value = resultSet.getString(2);
+          if (name != null && value != null) {
+            returnValue.put(name, value);
+          }
+        }
+      }
+    } catch (final SQLException sqlException) {
+      throw new ConfigurationException(sqlException.getMessage(), sqlException);
+    }
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.exiting(cn, mn, returnValue);
+    }
+    return Collections.unmodifiableMap(returnValue);
+  }
+
+  /**
+   * Runs the {@linkplain #namesQuery names query} and returns the
+   * names it selects.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return an immutable, non-{@code null} {@link Set} of the names
+   * of configuration properties
+   *
+   * @exception ConfigurationException if the query failed
+   */
+  private final Set<String> selectNames() {
+    final String cn = this.getClass().getName();
+    final String mn = "selectNames";
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.entering(cn, mn);
+    }
+    final Set<String> returnValue = new HashSet<>();
+    try (final Connection connection = this.dataSource.getConnection();
+         final PreparedStatement statement = connection.prepareStatement(this.namesQuery);
+         final ResultSet resultSet = statement.executeQuery()) {
+      while (resultSet.next()) {
+        final String name = resultSet.getString(1);
+        if (name != null) {
+          returnValue.add(name);
+        }
+      }
+    } catch (final SQLException sqlException) {
+      throw new ConfigurationException(sqlException.getMessage(), sqlException);
+    }
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.exiting(cn, mn, returnValue);
+    }
+    return Collections.unmodifiableSet(returnValue);
+  }
+
+  /**
+   * Returns the subset of the supplied configuration coordinates that
+   * is bound to the query.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param coordinates the requested configuration coordinates; may
+   * be {@code null}
+   *
+   * @return an immutable, non-{@code null} {@link Map} of
+   * configuration coordinates
+   */
+  private final Map<String, String> getBoundCoordinates(final Map<? extends String, ? extends String> coordinates) {
+    final Map<String, String> returnValue;
+    if (coordinates == null || coordinates.isEmpty() || this.coordinateNames.isEmpty()) {
+      returnValue = Collections.emptyMap();
+    } else {
+      final Map<String, String> boundCoordinates = new HashMap<>();
+      for (final String coordinateName : this.coordinateNames) {
+        final String value = coordinates.get(coordinateName);
+        if (value != null) {
+          boundCoordinates.put(coordinateName, value);
+        }
+      }
+      returnValue = boundCoordinates.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(boundCoordinates);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link String} representation of this {@link
+   * JdbcConfiguration}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link String} representation of this
+   * {@link JdbcConfiguration}
+   */
+  @Override
+  public String toString() {
+    return this.query;
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * The configuration values selected for a set of configuration
+   * coordinates at a particular moment.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   */
+  private static final class Rows {
+
+    /**
+     * The configuration values, indexed by name; never {@code null}.
+     */
+    private final Map<String, String> values;
+
+    /**
+     * The {@linkplain System#nanoTime() time} at which the values were
+     * selected.
+     */
+    private final long loadedAt;
+
+    /**
+     * Whether a refresh of these {@link Rows} is in progress; never
+     * {@code null}.
+     */
+    private final AtomicBoolean refreshing;
+
+    /**
+     * Creates a new {@link Rows}.
+     *
+     * @param values the configuration values; must not be {@code
+     * null}
+     */
+    private Rows(final Map<String, String> values) {
+      super();
+      this.values = values;
+      this.loadedAt = System.nanoTime();
+      this.refreshing = new AtomicBoolean();
+    }
+
+  }
+
+  /**
+   * The names of configuration properties selected by the
+   * {@linkplain JdbcConfiguration#namesQuery names query} at a
+   * particular moment.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   */
+  private static final class Names {
+
+    /**
+     * The names; never {@code null}.
+     */
+    private final Set<String> names;
+
+    /**
+     * The {@linkplain System#nanoTime() time} at which the names were
+     * selected.
+     */
+    private final long loadedAt;
+
+    /**
+     * Creates a new {@link Names}.
+     *
+     * @param names the names; must not be {@code null}
+     */
+    private Names(final Set<String> names) {
+      super();
+      this.names = names;
+      this.loadedAt = System.nanoTime();
+    }
+
+  }
+
+}
@@ -0,0 +1,82 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * A {@link FlattenedConfiguration} that reads configuration values
+ * from a JSON classpath resource, parsed in a single streaming pass
+ * by a {@link JacksonLoader} using a {@link JsonFactory}.
+ *
+ * <p>This class requires JSON support from Jackson to be present at
+ * runtime.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see JacksonLoader
+ */
+public class JsonConfiguration extends FlattenedConfiguration {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link JsonConfiguration} that reads the {@code
+   * application.json} classpath resource.
+   *
+   * @see #JsonConfiguration(String)
+   */
+  public JsonConfiguration() {
+    this("application.json");
+  }
+
+  /**
+   * Creates a new {@link JsonConfiguration} that reads the
+   * classpath resource with the supplied name.
+   *
+   * <p>The resource is not read by this constructor.</p>
+   *
+   * @param resourceName the name of the resource; must not be {@code
+   * null}
+   *
+   * @exception NullPointerException if {@code resourceName} is {@code
+   * null}
+   */
+  public JsonConfiguration(final String resourceName) {
+    super(createResourceLoader(new JacksonLoader(new JsonFactory(), resourceName)));
+  }
+
+}
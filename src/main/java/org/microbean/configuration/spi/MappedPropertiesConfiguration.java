@@ -0,0 +1,865 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.api.ConfigurationException;
+import org.microbean.configuration.api.ConfigurationValue;
+
+import org.microbean.configuration.spi.converter.StringToMapStringStringConverter;
+
+/**
+ * An {@link AbstractConfiguration} that reads configuration values
+ * directly out of a {@linkplain FileChannel#map(FileChannel.MapMode,
+ * long, long) memory-mapped} file in {@linkplain
+ * Properties#load(java.io.InputStream) <code>.properties</code>
+ * format}, without ever loading it into a {@link Properties}
+ * object.
+ *
+ * <p>When a {@link MappedPropertiesConfiguration} is created, its
+ * file is scanned once to build a compact index recording where each
+ * key and value begin and end.  Values are decoded only when they
+ * are {@linkplain #getValue(Map, String) requested}.  For very large
+ * files this makes startup faster and uses far less heap than {@link
+ * PropertiesConfiguration}, at the cost of decoding a value each time
+ * it is requested; a {@link Configurations} that {@linkplain
+ * Configurations#VALUE_CACHE_MAXIMUM_SIZE caches values} removes most
+ * of that cost.</p>
+ *
+ * <p>As with {@link PropertiesConfiguration}, the configuration
+ * coordinates of every value are taken from the file's {@value
+ * Configurations#CONFIGURATION_COORDINATES} property, and the file
+ * may specify its {@linkplain #getRank() rank} with an {@code
+ * org.microbean.configuration.rank} property.</p>
+ *
+ * <p>Changes to the file after a {@link
+ * MappedPropertiesConfiguration} has been created are not supported.
+ * The file should be replaced, not rewritten in place.</p>
+ *
+ * <p>This class is safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see PropertiesConfiguration
+ */
+public class MappedPropertiesConfiguration extends AbstractConfiguration implements Coordinated, Ranked, Serializable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The {@linkplain Path#toString() string form} of the {@link Path}
+   * of the file being read.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final String path;
+
+  /**
+   * The {@link Index} of the file being read.
+   *
+   * <p>This field is {@code null} only after deserialization, until
+   * the file is mapped again.</p>
+   *
+   * @see #getIndex()
+   */
+  private transient volatile Index index;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link MappedPropertiesConfiguration} that reads the
+   * file identified by the supplied {@link Path}.
+   *
+   * <p>The file is mapped and indexed before this constructor
+   * returns.  If it does not exist, this {@link
+   * MappedPropertiesConfiguration} will never supply any
+   * configuration values.</p>
+   *
+   * @param path the {@link Path} of a file in {@code .properties}
+   * format; must not be {@code null}
+   *
+   * @exception NullPointerException if {@code path} is {@code null}
+   *
+   * @exception ConfigurationException if the file could not be read
+   * or is too large to be mapped
+   */
+  public MappedPropertiesConfiguration(final Path path) {
+    super();
+    this.path = Objects.requireNonNull(path).toAbsolutePath().toString();
+    this.index = Index.of(path);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the {@link Index} of the file being read, mapping and
+   * indexing it again first if this {@link
+   * MappedPropertiesConfiguration} was deserialized.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link Index}
+   *
+   * @exception ConfigurationException if the file had to be mapped
+   * again and could not be
+   */
+  private final Index getIndex() {
+    Index returnValue = this.index;
+    if (returnValue == null) {
+      returnValue = Index.of(Paths.get(this.path));
+      this.index = returnValue;
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the rank of this {@link MappedPropertiesConfiguration},
+   * which is the value of the file's {@code
+   * org.microbean.configuration.rank} property, or {@code 100} if
+   * there is no such property or it is not an integer.
+   *
+   * @return the rank of this {@link MappedPropertiesConfiguration}
+   */
+  @Override
+  public int getRank() {
+    return this.getIndex().rank;
+  }
+
+  /**
+   * Returns the configuration coordinates of every value in the file,
+   * taken from its {@value Configurations#CONFIGURATION_COORDINATES}
+   * property.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link Map} of configuration
+   * coordinates
+   */
+  @Override
+  public Map<String, String> getCoordinates() {
+    final Map<String, String> coordinates = this.getIndex().coordinates;
+    return coordinates == null ? Collections.emptyMap() : coordinates;
+  }
+
+  /**
+   * Returns a {@link ConfigurationValue} representing the value of
+   * the property in the file identified by the supplied {@code name},
+   * or {@code null} if there is no such property.
+   *
+   * <p>The value is decoded from the mapped file by this method.</p>
+   *
+   * @param coordinates the configuration coordinates in effect for
+   * the current request; ignored
+   *
+   * @param name the name of the configuration property for which to
+   * return a {@link ConfigurationValue}; may be {@code null} in which
+   * case {@code null} will be returned
+   *
+   * @return a {@link ConfigurationValue}, or {@code null}
+   */
+  @Override
+  public ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+    ConfigurationValue returnValue = null;
+    if (name != null) {
+      final Index index = this.getIndex();
+      final String value = index.get(name);
+      if (value != null) {
+        returnValue = new ConfigurationValue(this, index.coordinates, name, value, false);
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns an immutable {@link Set} of the names of the properties in
+   * the file.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>Every key in the file is decoded by this method, so it should
+   * not be called frequently.</p>
+   *
+   * @return an immutable, non-{@code null} {@link Set} of names
+   */
+  @Override
+  public Set<String> getNames() {
+    return this.getIndex().getNames();
+  }
+
+  /**
+   * Returns a {@link String} representation of this {@link
+   * MappedPropertiesConfiguration}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link String} representation of this
+   * {@link MappedPropertiesConfiguration}
+   */
+  @Override
+  public String toString() {
+    return this.path;
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * An immutable index of the keys and values stored in a mapped
+   * file in {@code .properties} format.
+   *
+   * <p>Keys and values are recorded as offsets into the mapped {@link
+   * ByteBuffer}, which is only ever read with absolute {@linkplain
+   * ByteBuffer#get(int) gets} and hence may be shared by multiple
+   * threads.  As with {@link Properties#load(java.io.InputStream)},
+   * the file is interpreted as ISO 8859-1 with {@code \}{@code uXXXX}
+   * escapes.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   */
+  private static final class Index {
+
+    /**
+     * The number of {@code int}s each entry occupies in the {@link
+     * #entries} array.
+     */
+    private static final int STRIDE = 4;
+
+    /**
+     * An empty {@link ByteBuffer} used when the file does not exist.
+     */
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    /**
+     * The mapped file.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The offsets of the start and end of each key and value, {@link
+     * #STRIDE} {@code int}s per entry.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final int[] entries;
+
+    /**
+     * The {@linkplain String#hashCode() hash code} of each decoded
+     * key, indexed by entry.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final int[] hashes;
+
+    /**
+     * Which entries' keys contain escapes or line continuations and
+     * so must be decoded before they can be compared.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final BitSet escapedKeys;
+
+    /**
+     * An open-addressed hash table of entry numbers plus one, whose
+     * length is a power of two; empty slots are {@code 0}.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final int[] table;
+
+    /**
+     * The number of distinct keys.
+     */
+    private final int size;
+
+    /**
+     * The configuration coordinates of every value.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Map<String, String> coordinates;
+
+    /**
+     * The rank of the file.
+     */
+    private final int rank;
+
+    /**
+     * Creates a new {@link Index} of the supplied {@link ByteBuffer}.
+     *
+     * @param buffer the {@link ByteBuffer} to index; must not be
+     * {@code null}
+     */
+    private Index(final ByteBuffer buffer) {
+      super();
+      this.buffer = buffer;
+      final int limit = buffer.limit();
+      int[] entries = new int[STRIDE * 64];
+      int[] hashes = new int[64];
+      final BitSet escapedKeys = new BitSet();
+      int[] table = new int[128];
+      int size = 0;
+      int p = 0;
+      while (p < limit) {
+        final int c = buffer.get(p) & 0xFF;
+        if (isWhitespace(c) || c == '\n' || c == '\r') {
+          p++;
+        } else if (c == '#' || c == '!') {
+          while (p < limit && !isLineTerminator(buffer.get(p) & 0xFF)) {
+            p++;
+          }
+        } else {
+          // Key: up to the first unescaped separator, whitespace or
+          // line terminator.
+          final int keyStart = p;
+          boolean escaped = false;
+          while (p < limit) {
+            final int k = buffer.get(p) & 0xFF;
+            if (k == '\\') {
+              escaped = true;
+              p = this.skipEscape(p + 1, limit);
+            } else if (k == '=' || k == ':' || isWhitespace(k) || isLineTerminator(k)) {
+              break;
+            } else {
+              p++;
+            }
+          }
+          final int keyEnd = p;
+          // Separator.
+          p = this.skipWhitespace(p, limit);
+          if (p < limit && (buffer.get(p) == '=' || buffer.get(p) == ':')) {
+            p = this.skipWhitespace(p + 1, limit);
+          }
+          // Value: up to the end of the logical line.
+          final int valueStart = p;
+          while (p < limit) {
+            final int v = buffer.get(p) & 0xFF;
+            if (v == '\\') {
+              p = this.skipEscape(p + 1, limit);
+            } else if (isLineTerminator(v)) {
+              break;
+            } else {
+              p++;
+            }
+          }
+          final int valueEnd = p;
+
+          final String decodedKey = escaped ? this.decode(keyStart, keyEnd) : null;
+          final int hash = escaped ? decodedKey.hashCode() : this.hash(keyStart, keyEnd);
+          final int existing = this.find(table, entries, hashes, escapedKeys, hash, decodedKey, keyStart, keyEnd);
+          if (existing >= 0) {
+            // As with Properties, later values replace earlier ones.
+            entries[existing * STRIDE + 2] = valueStart;
+            entries[existing * STRIDE + 3] = valueEnd;
+          } else {
+            if (size == hashes.length) {
+              entries = Arrays.copyOf(entries, entries.length * 2);
+              hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            }
+            final int base = size * STRIDE;
+            entries[base] = keyStart;
+            entries[base + 1] = keyEnd;
+            entries[base + 2] = valueStart;
+            entries[base + 3] = valueEnd;
+            hashes[size] = hash;
+            if (escaped) {
+              escapedKeys.set(size);
+            }
+            size++;
+            // Keep the load factor at or below one half so probe
+            // sequences stay short.
+            if (size * 2 > table.length) {
+              table = rehash(hashes, size, table.length * 2);
+            } else {
+              insert(table, hash, size);
+            }
+          }
+        }
+      }
+      this.entries = entries;
+      this.hashes = hashes;
+      this.escapedKeys = escapedKeys;
+      this.table = table;
+      this.size = size;
+
+      final String coordinates = this.get(Configurations.CONFIGURATION_COORDINATES);
+      if (coordinates == null) {
+        this.coordinates = Collections.emptyMap();
+      } else {
+        this.coordinates = new StringToMapStringStringConverter().convert(coordinates);
+      }
+      int rank = 100;
+      final String rankString = this.get("org.microbean.configuration.rank");
+      if (rankString != null) {
+        try {
+          rank = Integer.parseInt(rankString);
+        } catch (final NumberFormatException ignoreMe) {
+
+        }
+      }
+      this.rank = rank;
+    }
+
+    /**
+     * Returns the decoded value of the property identified by the
+     * supplied {@code name}, or {@code null} if there is no such
+     * property.
+     *
+     * @param name the name of the property; must not be {@code null}
+     *
+     * @return the decoded value, or {@code null}
+     */
+    private final String get(final String name) {
+      final int entry = this.find(this.table, this.entries, this.hashes, this.escapedKeys, name.hashCode(), name, -1, -1);
+      final String returnValue;
+      if (entry < 0) {
+        returnValue = null;
+      } else {
+        final int base = entry * STRIDE;
+        returnValue = this.decode(this.entries[base + 2], this.entries[base + 3]);
+      }
+      return returnValue;
+    }
+
+    /**
+     * Returns a new immutable {@link Set} of all decoded keys.
+     *
+     * <p>This method never returns {@code null}.</p>
+     *
+     * @return a new, immutable, non-{@code null} {@link Set} of keys
+     */
+    private final Set<String> getNames() {
+      final Set<String> returnValue = new HashSet<>(this.size * 2);
+      for (int entry = 0; entry < this.size; entry++) {
+        returnValue.add(this.decode(this.entries[entry * STRIDE], this.entries[entry * STRIDE + 1]));
+      }
+      return Collections.unmodifiableSet(returnValue);
+    }
+
+    /**
+     * Returns the number of the entry whose key is equal to the
+     * supplied key, or {@code -1} if there is no such entry.
+     *
+     * <p>The key sought is either the supplied {@code name}, if it is
+     * non-{@code null}, or else the unescaped bytes between {@code
+     * keyStart} and {@code keyEnd}.</p>
+     *
+     * @param table the hash table to probe; must not be {@code null}
+     *
+     * @param entries the entries; must not be {@code null}
+     *
+     * @param hashes the hash codes of the entries' keys; must not be
+     * {@code null}
+     *
+     * @param escapedKeys which entries' keys must be decoded; must not
+     * be {@code null}
+     *
+     * @param hash the hash code of the key sought
+     *
+     * @param name the key sought, or {@code null}
+     *
+     * @param keyStart the offset of the start of the key sought, if
+     * {@code name} is {@code null}
+     *
+     * @param keyEnd the offset of the end of the key sought, if
+     * {@code name} is {@code null}
+     *
+     * @return an entry number, or {@code -1}
+     */
+    private final int find(final int[] table,
+                           final int[] entries,
+                           final int[] hashes,
+                           final BitSet escapedKeys,
+                           final int hash,
+                           final String name,
+                           final int keyStart,
+                           final int keyEnd) {
+      final int mask = table.length - 1;
+      int index = spread(hash) & mask;
+      int slot;
+      while ((slot = table[index]) != 0) {
+        final int entry = slot - 1;
+        if (hashes[entry] == hash) {
+          final int start = entries[entry * STRIDE];
+          final int end = entries[entry * STRIDE + 1];
+          final boolean equal;
+          if (escapedKeys.get(entry)) {
+            equal = this.decode(start, end).equals(name == null ? this.decode(keyStart, keyEnd) : name);
+          } else if (name == null) {
+            equal = this.regionsEqual(start, end, keyStart, keyEnd);
+          } else {
+            equal = this.regionEquals(start, end, name);
+          }
+          if (equal) {
+            return entry;
+          }
+        }
+        index = (index + 1) & mask;
+      }
+      return -1;
+    }
+
+    /**
+     * Returns {@code true} if the bytes between the supplied offsets
+     * are, read as ISO 8859-1, equal to the supplied {@link String}.
+     *
+     * @param start the offset of the first byte
+     *
+     * @param end the offset after the last byte
+     *
+     * @param s the {@link String}; must not be {@code null}
+     *
+     * @return {@code true} if the region equals {@code s}
+     */
+    private final boolean regionEquals(final int start, final int end, final String s) {
+      final int length = end - start;
+      if (length != s.length()) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if ((this.buffer.get(start + i) & 0xFF) != s.charAt(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Returns {@code true} if the bytes in the two supplied regions
+     * are identical.
+     *
+     * @param start1 the offset of the first byte of the first region
+     *
+     * @param end1 the offset after the last byte of the first region
+     *
+     * @param start2 the offset of the first byte of the second region
+     *
+     * @param end2 the offset after the last byte of the second region
+     *
+     * @return {@code true} if the regions are identical
+     */
+    private final boolean regionsEqual(final int start1, final int end1, final int start2, final int end2) {
+      final int length = end1 - start1;
+      if (length != end2 - start2) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (this.buffer.get(start1 + i) != this.buffer.get(start2 + i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Returns what the {@linkplain String#hashCode() hash code} of the
+     * bytes between the supplied offsets, read as ISO 8859-1, would
+     * be, without creating a {@link String}.
+     *
+     * @param start the offset of the first byte
+     *
+     * @param end the offset after the last byte
+     *
+     * @return the hash code
+     */
+    private final int hash(final int start, final int end) {
+      int returnValue = 0;
+      for (int i = start; i < end; i++) {
+        returnValue = 31 * returnValue + (this.buffer.get(i) & 0xFF);
+      }
+      return returnValue;
+    }
+
+    /**
+     * Given the offset just after a backslash, returns the offset just
+     * after the escape sequence it begins, including any leading
+     * whitespace on the next line if it is a line continuation.
+     *
+     * @param p the offset just after a backslash
+     *
+     * @param limit the length of the buffer
+     *
+     * @return the offset after the escape sequence
+     */
+    private final int skipEscape(int p, final int limit) {
+      if (p < limit) {
+        final int c = this.buffer.get(p) & 0xFF;
+        if (c == '\r') {
+          p++;
+          if (p < limit && this.buffer.get(p) == '\n') {
+            p++;
+          }
+          p = this.skipWhitespace(p, limit);
+        } else if (c == '\n') {
+          p = this.skipWhitespace(p + 1, limit);
+        } else {
+          // The escaped character itself; any hex digits of a
+          // unicode escape are ordinary characters for scanning
+          // purposes.
+          p++;
+        }
+      }
+      return p;
+    }
+
+    /**
+     * Returns the offset of the first byte at or after the supplied
+     * offset that is not a space, tab or form feed.
+     *
+     * @param p the offset at which to start
+     *
+     * @param limit the length of the buffer
+     *
+     * @return the offset of the first non-whitespace byte, or {@code
+     * limit}
+     */
+    private final int skipWhitespace(int p, final int limit) {
+      while (p < limit && isWhitespace(this.buffer.get(p) & 0xFF)) {
+        p++;
+      }
+      return p;
+    }
+
+    /**
+     * Decodes the bytes between the supplied offsets as ISO 8859-1
+     * text, processing escapes and line continuations exactly as {@link
+     * Properties#load(java.io.InputStream)} does.
+     *
+     * <p>This method never returns {@code null}.</p>
+     *
+     * @param start the offset of the first byte
+     *
+     * @param end the offset after the last byte
+     *
+     * @return the decoded {@link String}; never {@code null}
+     *
+     * @exception ConfigurationException if a malformed unicode escape
+     * is encountered
+     */
+    private final String decode(final int start, final int end) {
+      final StringBuilder sb = new StringBuilder(end - start);
+      int p = start;
+      while (p < end) {
+        int c = this.buffer.get(p++) & 0xFF;
+        if (c == '\\' && p < end) {
+          c = this.buffer.get(p) & 0xFF;
+          if (c == '\r' || c == '\n') {
+            p = this.skipEscape(p, end);
+            continue;
+          }
+          p++;
+          switch (c) {
+          case 'u':
+            if (p + 4 > end) {
+              throw new ConfigurationException("Malformed \\uxxxx encoding at offset " + (p - 2));
+            }
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+              final int digit = Character.digit(this.buffer.get(p++) & 0xFF, 16);
+              if (digit < 0) {
+                throw new ConfigurationException("Malformed \\uxxxx encoding at offset " + (p - 2 - i));
+              }
+              value = (value << 4) | digit;
+            }
+            c = value;
+            break;
+          case 't':
+            c = '\t';
+            break;
+          case 'r':
+            c = '\r';
+            break;
+          case 'n':
+            c = '\n';
+            break;
+          case 'f':
+            c = '\f';
+            break;
+          default:
+            break;
+          }
+        }
+        sb.append((char)c);
+      }
+      return sb.toString();
+    }
+
+    /**
+     * Maps and indexes the file identified by the supplied {@link
+     * Path}.
+     *
+     * <p>This method never returns {@code null}.</p>
+     *
+     * @param path the {@link Path}; must not be {@code null}
+     *
+     * @return a new, non-{@code null} {@link Index}
+     *
+     * @exception ConfigurationException if the file could not be read
+     * or is too large to be mapped
+     */
+    private static final Index of(final Path path) {
+      ByteBuffer buffer;
+      try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        final long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+          throw new ConfigurationException(path + " is too large to be mapped: " + size + " bytes");
+        }
+        // The mapping remains valid after the channel is closed.
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+      } catch (final NoSuchFileException noSuchFileException) {
+        buffer = EMPTY;
+      } catch (final IOException ioException) {
+        throw new ConfigurationException(ioException.getMessage(), ioException);
+      }
+      return new Index(buffer);
+    }
+
+    /**
+     * Returns a new hash table of the supplied length containing the
+     * first {@code size} entries.
+     *
+     * @param hashes the hash codes of the entries' keys; must not be
+     * {@code null}
+     *
+     * @param size the number of entries
+     *
+     * @param length the length of the new table; must be a power of
+     * two
+     *
+     * @return a new hash table; never {@code null}
+     */
+    private static final int[] rehash(final int[] hashes, final int size, final int length) {
+      final int[] returnValue = new int[length];
+      for (int entry = 0; entry < size; entry++) {
+        insert(returnValue, hashes[entry], entry + 1);
+      }
+      return returnValue;
+    }
+
+    /**
+     * Stores the supplied slot value in the first free slot of the
+     * supplied hash table at or after the position the supplied hash
+     * code selects.
+     *
+     * @param table the hash table; must not be {@code null} or full
+     *
+     * @param hash the hash code of the key
+     *
+     * @param slot the entry number plus one
+     */
+    private static final void insert(final int[] table, final int hash, final int slot) {
+      final int mask = table.length - 1;
+      int index = spread(hash) & mask;
+      while (table[index] != 0) {
+        index = (index + 1) & mask;
+      }
+      table[index] = slot;
+    }
+
+    /**
+     * Spreads the higher bits of the supplied hash code into the lower
+     * ones, since only the lower ones select a slot.
+     *
+     * @param hash a hash code
+     *
+     * @return the spread hash code
+     */
+    private static final int spread(final int hash) {
+      return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns {@code true} if the supplied character is whitespace
+     * for the purposes of the {@code .properties} format.
+     *
+     * @param c the character
+     *
+     * @return {@code true} if {@code c} is a space, tab or form feed
+     */
+    private static final boolean isWhitespace(final int c) {
+      return c == ' ' || c == '\t' || c == '\f';
+    }
+
+    /**
+     * Returns {@code true} if the supplied character terminates a
+     * line.
+     *
+     * @param c the character
+     *
+     * @return {@code true} if {@code c} is a carriage return or line
+     * feed
+     */
+    private static final boolean isLineTerminator(final int c) {
+      return c == '\n' || c == '\r';
+    }
+
+  }
+
+}
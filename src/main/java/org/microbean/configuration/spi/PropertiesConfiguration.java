@@ -60,6 +60,11 @@ public class PropertiesConfiguration extends AbstractResourceLoadingConfiguratio
   /**
    * Creates a new {@link PropertiesConfiguration}.
    *
+   * <p>If the supplied {@code resourceLoader} is a {@link
+   * WatchingPropertiesLoader}, this {@link PropertiesConfiguration}
+   * will {@linkplain #fireConfigurationChanged(Set) report} the
+   * properties that change each time it reloads its file.</p>
+   *
    * @param resourceLoader a {@link Function} that accepts a {@link
    * Map} of requested configuration coordinates and returns a {@link
    * Resource} that can {@linkplain Resource#get() supply} a {@link
@@ -71,9 +76,14 @@ public class PropertiesConfiguration extends AbstractResourceLoadingConfiguratio
    * @see #getValue(Resource, Map, String)
    *
    * @see Resource
+   *
+   * @see WatchingPropertiesLoader#addReloadListener(java.util.function.Consumer)
    */
   public PropertiesConfiguration(final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends Properties>> resourceLoader) {
     super(resourceLoader);
+    if (resourceLoader instanceof WatchingPropertiesLoader) {
+      ((WatchingPropertiesLoader)resourceLoader).addReloadListener(this::fireConfigurationChanged);
+    }
   }
 
 
@@ -142,7 +152,7 @@ public class PropertiesConfiguration extends AbstractResourceLoadingConfiguratio
       returnValue = Collections.emptySet();
     } else {
       final Properties properties = propertiesResource.get();
-      if (properties != null) {
+      if (properties == null) {
         returnValue = Collections.emptySet();
       } else {
         returnValue = properties.stringPropertyNames();
@@ -22,10 +22,17 @@ import java.io.IOException;
 
 import java.net.URL;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import java.util.function.Function;
 
@@ -39,23 +46,130 @@ import org.microbean.configuration.spi.converter.StringToMapStringStringConverte
 
 public class PropertiesLoader implements Function<Map<? extends String, ? extends String>, Resource<? extends Properties>> {
 
+  /**
+   * A {@link Properties} that stands in, in the {@link #probes} map,
+   * for a resource that does not exist, since a {@link
+   * ConcurrentMap} cannot store {@code null} values.
+   *
+   * <p>This field is never {@code null}.  Its contents are never
+   * read.</p>
+   */
+  private static final Properties ABSENT = new Properties();
+
   private final ClassLoader resourceLoader;
   
   protected final String name;
 
+  /**
+   * The names of the configuration coordinates that participate in
+   * {@linkplain #computeResourceNames(Map) resource naming}, most
+   * significant first.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #PropertiesLoader(ClassLoader, String, List)
+   */
+  private final List<String> coordinateNames;
+
+  /**
+   * The {@link Properties} loaded from every resource probed so far,
+   * indexed by resource name, with {@link #ABSENT} standing in for a
+   * resource that does not exist.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #probe(ClassLoader, String)
+   */
+  private final ConcurrentMap<String, Properties> probes;
+
   public PropertiesLoader(final String name) {
     this(Thread.currentThread().getContextClassLoader(), name);
   }
   
   public PropertiesLoader(final ClassLoader resourceLoader, final String name) {
+    this(resourceLoader, name, null);
+  }
+
+  /**
+   * Creates a new {@link PropertiesLoader} that loads {@link
+   * Properties} from resources whose names are derived from the
+   * supplied {@code name} and the values of the configuration
+   * coordinates named by the supplied {@code coordinateNames}.
+   *
+   * <p>Given a {@code name} of {@code application.properties}, {@code
+   * coordinateNames} of {@code [region, environment]} and requested
+   * configuration coordinates of {@code {region=west,
+   * environment=test}}, the resources probed are, from most to least
+   * specific, {@code application-west-test.properties}, {@code
+   * application-west.properties}, {@code application-test.properties}
+   * and {@code application.properties}.  See {@link
+   * #computeResourceNames(Map)} for details.</p>
+   *
+   * @param resourceLoader the {@link ClassLoader} to load resources
+   * with; may be {@code null} in which case the {@linkplain
+   * Thread#getContextClassLoader() context classloader} will be used
+   *
+   * @param name the base name of the resources to load; may be
+   * {@code null} in which case nothing will be loaded
+   *
+   * @param coordinateNames the names of the configuration
+   * coordinates that participate in resource naming, most significant
+   * first; may be {@code null}
+   *
+   * @see #computeResourceNames(Map)
+   */
+  public PropertiesLoader(final ClassLoader resourceLoader, final String name, final List<? extends String> coordinateNames) {
     super();
     this.name = name;
     this.resourceLoader = resourceLoader;
+    if (coordinateNames == null || coordinateNames.isEmpty()) {
+      this.coordinateNames = Collections.emptyList();
+    } else {
+      this.coordinateNames = Collections.unmodifiableList(new ArrayList<>(coordinateNames));
+    }
+    this.probes = new ConcurrentHashMap<>();
   }
 
+  /**
+   * Loads the resources {@linkplain #computeResourceNames(Map) named}
+   * for the supplied configuration coordinates and returns them as a
+   * chain of {@link Resource}s, most specific first.
+   *
+   * <p>Each resource that exists is loaded into its own {@link
+   * Resource}, whose {@linkplain Resource#getCoordinates()
+   * coordinates} are those declared by its {@value
+   * Configurations#CONFIGURATION_COORDINATES} property or, if it does
+   * not declare any, those from which its name was computed.</p>
+   *
+   * <p>Each candidate resource is probed, and loaded if it exists, at
+   * most once in the lifetime of this {@link PropertiesLoader}; the
+   * outcome, including the resource's absence, is remembered and
+   * reused for every set of configuration coordinates whose
+   * candidates include it.  Because of this the candidates that have
+   * not yet been probed are probed sequentially on the calling
+   * thread: the probes are few, happen once, and would otherwise
+   * block shared threads on classpath I/O.  In particular, resources
+   * are not reloaded, and the classloader in effect when a resource
+   * is first probed is the one used for it.</p>
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * @param requestedConfigurationCoordinates the configuration
+   * coordinates in effect; may be {@code null}
+   *
+   * @return a {@link Resource}, or {@code null} if no resource could
+   * be found
+   *
+   * @exception ConfigurationException if a resource could not be
+   * read
+   *
+   * @see #computeResourceNames(Map)
+   *
+   * @see Resource#getNext()
+   */
   @Override
   public Resource<? extends Properties> apply(final Map<? extends String, ? extends String> requestedConfigurationCoordinates) {
-    Resource<? extends Properties> returnValue = null;
+    Resource<Properties> returnValue = null;
     if (this.name != null) {
       ClassLoader resourceLoader = this.resourceLoader;
       if (resourceLoader == null) {
@@ -65,25 +179,225 @@ public class PropertiesLoader implements Function<Map<? extends String, ? extend
         }
       }
       assert resourceLoader != null;
-      final URL resource = resourceLoader.getResource(this.computeResourceName(requestedConfigurationCoordinates));
+      final Map<String, Map<String, String>> resourceNames = this.computeResourceNames(requestedConfigurationCoordinates);
+      if (resourceNames != null && !resourceNames.isEmpty()) {
+        final List<Properties> loadedProperties = new ArrayList<>(resourceNames.size());
+        for (final String resourceName : resourceNames.keySet()) {
+          loadedProperties.add(this.probe(resourceLoader, resourceName));
+        }
+
+        // Build the chain from least to most specific.
+        final List<Map<String, String>> candidateCoordinates = new ArrayList<>(resourceNames.values());
+        for (int i = loadedProperties.size() - 1; i >= 0; i--) {
+          final Properties properties = loadedProperties.get(i);
+          if (properties != null) {
+            final Map<String, String> coordinates = new StringToMapStringStringConverter().convert(properties.getProperty(Configurations.CONFIGURATION_COORDINATES));
+            returnValue = new Resource<>(properties, coordinates == null ? candidateCoordinates.get(i) : coordinates, returnValue);
+          }
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  protected String computeResourceName(final Map<? extends String, ? extends String> requestedConfigurationCoordinates) {
+    return this.name;
+  }
+
+  /**
+   * Returns a {@link Map} whose keys are the names of the resources
+   * that should be probed for the supplied configuration coordinates,
+   * ordered from most to least specific, and whose values are the
+   * configuration coordinates each such resource provides values for
+   * unless it declares otherwise.
+   *
+   * <p>If this {@link PropertiesLoader} was not {@linkplain
+   * #PropertiesLoader(ClassLoader, String, List) created} with any
+   * coordinate names, or if none of them is present in the supplied
+   * configuration coordinates, the returned {@link Map} has a single
+   * entry whose key is the return value of {@link
+   * #computeResourceName(Map)} and whose value is {@code null}.</p>
+   *
+   * <p>Otherwise the lattice of subsets of the coordinate names that
+   * are present is walked from the full set down to the empty set,
+   * larger subsets first and, among subsets of equal size, those
+   * containing more significant coordinate names first.  Each subset
+   * yields a resource name formed by inserting a hyphen followed by
+   * each of its values, joined by hyphens, before the {@linkplain
+   * #computeResourceName(Map) base resource name}'s extension.  The
+   * empty subset yields the base resource name itself.</p>
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * <p>Overrides of this method may return {@code null}.</p>
+   *
+   * @param requestedConfigurationCoordinates the configuration
+   * coordinates in effect; may be {@code null}
+   *
+   * @return a {@link Map} of resource names and configuration
+   * coordinates, or {@code null}
+   *
+   * @see #PropertiesLoader(ClassLoader, String, List)
+   */
+  protected Map<String, Map<String, String>> computeResourceNames(final Map<? extends String, ? extends String> requestedConfigurationCoordinates) {
+    final Map<String, Map<String, String>> returnValue;
+    final String baseName = this.computeResourceName(requestedConfigurationCoordinates);
+    if (baseName == null) {
+      returnValue = null;
+    } else {
+      final List<String> presentNames = new ArrayList<>(this.coordinateNames.size());
+      if (requestedConfigurationCoordinates != null && !requestedConfigurationCoordinates.isEmpty()) {
+        for (final String coordinateName : this.coordinateNames) {
+          if (requestedConfigurationCoordinates.get(coordinateName) != null) {
+            presentNames.add(coordinateName);
+          }
+        }
+      }
+      final int size = presentNames.size();
+      if (size <= 0) {
+        returnValue = Collections.singletonMap(baseName, null);
+      } else {
+        if (size > 16) {
+          throw new IllegalArgumentException("Too many coordinate names: " + presentNames);
+        }
+        final int extensionIndex = baseName.lastIndexOf('.');
+        final String prefix = extensionIndex < 0 ? baseName : baseName.substring(0, extensionIndex);
+        final String suffix = extensionIndex < 0 ? "" : baseName.substring(extensionIndex);
+
+        // Bit (size - 1 - i) of a mask stands for presentNames.get(i),
+        // so, among masks with the same number of bits set, a larger
+        // mask contains more significant coordinate names.
+        final Integer[] masks = new Integer[1 << size];
+        for (int i = 0; i < masks.length; i++) {
+          masks[i] = Integer.valueOf(i);
+        }
+        Arrays.sort(masks, (a, b) -> {
+            final int bitCountComparison = Integer.compare(Integer.bitCount(b), Integer.bitCount(a));
+            return bitCountComparison != 0 ? bitCountComparison : Integer.compare(b, a);
+          });
+
+        returnValue = new LinkedHashMap<>();
+        for (final Integer mask : masks) {
+          final StringBuilder sb = new StringBuilder(prefix);
+          final Map<String, String> coordinates = new HashMap<>();
+          for (int i = 0; i < size; i++) {
+            if ((mask.intValue() & (1 << (size - 1 - i))) != 0) {
+              final String coordinateName = presentNames.get(i);
+              final String value = requestedConfigurationCoordinates.get(coordinateName);
+              sb.append('-').append(value);
+              coordinates.put(coordinateName, value);
+            }
+          }
+          sb.append(suffix);
+          returnValue.putIfAbsent(sb.toString(), coordinates);
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the {@link Properties} stored in the resource with the
+   * supplied name, or {@code null} if there is no such resource,
+   * {@linkplain #load(ClassLoader, String) loading} it only if it has
+   * not been probed before.
+   *
+   * <p>If two threads probe the same resource at the same time, both
+   * may load it, but only one result is retained, and both threads
+   * return it.  A resource that could not be read is not remembered,
+   * so it will be probed again.</p>
+   *
+   * @param resourceLoader the {@link ClassLoader} to find the
+   * resource with; must not be {@code null}
+   *
+   * @param resourceName the name of the resource; may be {@code
+   * null} in which case {@code null} will be returned
+   *
+   * @return the loaded {@link Properties}, or {@code null}
+   *
+   * @exception NullPointerException if {@code resourceLoader} is
+   * {@code null}
+   *
+   * @exception ConfigurationException if the resource could not be
+   * read
+   *
+   * @see #load(ClassLoader, String)
+   */
+  private final Properties probe(final ClassLoader resourceLoader, final String resourceName) {
+    Properties returnValue = null;
+    if (resourceName != null) {
+      returnValue = this.probes.get(resourceName);
+      if (returnValue == null) {
+        returnValue = load(resourceLoader, resourceName);
+        final Properties existingValue = this.probes.putIfAbsent(resourceName, returnValue == null ? ABSENT : returnValue);
+        if (existingValue != null) {
+          returnValue = existingValue;
+        }
+      }
+      if (returnValue == ABSENT) {
+        returnValue = null;
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Loads and returns the {@link Properties} stored in the resource
+   * with the supplied name, or {@code null} if there is no such
+   * resource.
+   *
+   * @param resourceLoader the {@link ClassLoader} to find the
+   * resource with; must not be {@code null}
+   *
+   * @param resourceName the name of the resource; may be {@code
+   * null} in which case {@code null} will be returned
+   *
+   * @return the loaded {@link Properties}, or {@code null}
+   *
+   * @exception NullPointerException if {@code resourceLoader} is
+   * {@code null}
+   *
+   * @exception ConfigurationException if the resource could not be
+   * read
+   */
+  private static final Properties load(final ClassLoader resourceLoader, final String resourceName) {
+    Properties returnValue = null;
+    if (resourceName != null) {
+      final URL resource = resourceLoader.getResource(resourceName);
       if (resource != null) {
-        Properties properties = null;
         try (final InputStream inputStream = new BufferedInputStream(resource.openStream())) {
           if (inputStream != null) {
-            properties = new Properties();
-            properties.load(inputStream);
+            returnValue = new Properties();
+            returnValue.load(inputStream);
           }
         } catch (final IOException ioException) {
           throw new ConfigurationException(ioException.getMessage(), ioException);
         }
-        returnValue = new Resource<>(properties, new StringToMapStringStringConverter().convert(properties.getProperty(Configurations.CONFIGURATION_COORDINATES)));
       }
     }
     return returnValue;
   }
 
-  protected String computeResourceName(final Map<? extends String, ? extends String> requestedConfigurationCoordinates) {
-    return this.name;
+  /**
+   * Returns a new {@link Resource} wrapping the supplied {@link
+   * Properties}, whose {@linkplain Resource#getCoordinates()
+   * configuration coordinates} are taken from the value of its
+   * {@value Configurations#CONFIGURATION_COORDINATES} property.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param properties the {@link Properties}; may be {@code null}
+   *
+   * @return a new, non-{@code null} {@link Resource}
+   */
+  static final Resource<Properties> createResource(final Properties properties) {
+    final Map<String, String> coordinates;
+    if (properties == null) {
+      coordinates = null;
+    } else {
+      coordinates = new StringToMapStringStringConverter().convert(properties.getProperty(Configurations.CONFIGURATION_COORDINATES));
+    }
+    return new Resource<>(properties, coordinates);
   }
 
 }
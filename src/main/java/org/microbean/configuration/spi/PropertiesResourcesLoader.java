@@ -0,0 +1,458 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.io.IOException;
+
+import java.net.URL;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import java.util.function.Function;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.api.ConfigurationException;
+import org.microbean.configuration.api.ConfigurationValue;
+
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
+
+/**
+ * A {@link Function} that loads <em>every</em> classpath resource
+ * with a given name, such as the {@code application.properties} in
+ * each of several jar files, in parallel on a {@link ForkJoinPool}.
+ *
+ * <p>Each resource found is loaded into its own {@link Resource},
+ * whose {@linkplain Resource#getCoordinates() configuration
+ * coordinates} are taken from its {@value
+ * Configurations#CONFIGURATION_COORDINATES} property, just as with
+ * {@link PropertiesLoader}.  The resources can either be merged into
+ * a single {@link PropertiesConfiguration} by way of the {@link
+ * #apply(Map)} method, in which case more specific resources, and
+ * then earlier resources on the classpath, win, or be turned into
+ * one {@link PropertiesConfiguration} apiece by way of the {@link
+ * #getConfigurations()} method, in which case they take part in
+ * specificity calculations and arbitration separately.</p>
+ *
+ * <p>The resources are found and loaded once, on first use by either
+ * of those methods, and are not reloaded thereafter.</p>
+ *
+ * <p>This class is safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see #load()
+ *
+ * @see ClassLoader#getResources(String)
+ */
+public class PropertiesResourcesLoader implements Function<Map<? extends String, ? extends String>, Resource<? extends Properties>> {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The {@link ClassLoader} used to find resources; may be {@code
+   * null}.
+   */
+  private final ClassLoader resourceLoader;
+
+  /**
+   * The name of the resources to load.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  protected final String name;
+
+  /**
+   * The {@link ForkJoinPool} on which resources are loaded.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final ForkJoinPool pool;
+
+  /**
+   * The {@link Resource}s {@linkplain #load() loaded} on first use by
+   * the {@link #apply(Map)} or {@link #getConfigurations()} methods.
+   *
+   * <p>This field may be {@code null}.</p>
+   *
+   * @see #getResources()
+   */
+  private volatile List<Resource<Properties>> resources;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link PropertiesResourcesLoader} that uses the
+   * {@linkplain Thread#getContextClassLoader() context classloader}
+   * to find resources and loads them on the {@linkplain
+   * ForkJoinPool#commonPool() common pool}.
+   *
+   * @param name the name of the resources to load; must not be
+   * {@code null}
+   *
+   * @exception NullPointerException if {@code name} is {@code null}
+   *
+   * @see #PropertiesResourcesLoader(ClassLoader, String, ForkJoinPool)
+   */
+  public PropertiesResourcesLoader(final String name) {
+    this(Thread.currentThread().getContextClassLoader(), name, null);
+  }
+
+  /**
+   * Creates a new {@link PropertiesResourcesLoader}.
+   *
+   * @param resourceLoader the {@link ClassLoader} to find resources
+   * with; may be {@code null} in which case the {@linkplain
+   * Thread#getContextClassLoader() context classloader} will be used
+   *
+   * @param name the name of the resources to load; must not be
+   * {@code null}
+   *
+   * @param pool the {@link ForkJoinPool} to load resources on; may be
+   * {@code null} in which case the {@linkplain
+   * ForkJoinPool#commonPool() common pool} will be used
+   *
+   * @exception NullPointerException if {@code name} is {@code null}
+   */
+  public PropertiesResourcesLoader(final ClassLoader resourceLoader, final String name, final ForkJoinPool pool) {
+    super();
+    this.resourceLoader = resourceLoader;
+    this.name = Objects.requireNonNull(name);
+    this.pool = pool == null ? ForkJoinPool.commonPool() : pool;
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the resources {@linkplain
+   * Resource#isApplicableTo(Map) applicable to} the supplied
+   * configuration coordinates as a chain of {@link Resource}s, most
+   * specific first and then in classpath order, or {@code null} if
+   * there are none.
+   *
+   * <p>A {@link PropertiesConfiguration} using the return value will
+   * take each configuration property's value from the first resource
+   * in that order that has one.  Resources whose configuration
+   * coordinates are not all present in the supplied configuration
+   * coordinates are omitted, so that, for example, a resource for
+   * {@code {region=east}} cannot shadow a less specific value in a
+   * request for {@code {region=west}}.  If the supplied configuration
+   * coordinates are {@code null}, every resource is returned in
+   * classpath order.</p>
+   *
+   * @param requestedConfigurationCoordinates the configuration
+   * coordinates in effect; may be {@code null}
+   *
+   * @return a {@link Resource}, or {@code null}
+   *
+   * @exception ConfigurationException if a resource could not be
+   * read
+   *
+   * @see #load()
+   *
+   * @see Resource#getNext()
+   */
+  @Override
+  public Resource<? extends Properties> apply(final Map<? extends String, ? extends String> requestedConfigurationCoordinates) {
+    final List<Resource<Properties>> resources = this.getResources();
+    final List<Resource<Properties>> selectedResources;
+    if (requestedConfigurationCoordinates == null) {
+      selectedResources = resources;
+    } else {
+      selectedResources = new ArrayList<>(resources.size());
+      for (final Resource<Properties> resource : resources) {
+        if (resource.isApplicableTo(requestedConfigurationCoordinates)) {
+          selectedResources.add(resource);
+        }
+      }
+      // Most specific first; List#sort() is stable, so ties stay in
+      // classpath order.
+      selectedResources.sort((a, b) -> Integer.compare(size(b.getCoordinates()), size(a.getCoordinates())));
+    }
+    Resource<Properties> returnValue = null;
+    for (int i = selectedResources.size() - 1; i >= 0; i--) {
+      final Resource<Properties> resource = selectedResources.get(i);
+      returnValue = new Resource<>(resource.get(), resource.getCoordinates(), returnValue);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a new {@link List} containing one {@link
+   * PropertiesConfiguration} for each resource, in classpath order,
+   * suitable for supplying to the {@link
+   * Configurations#Configurations(java.util.Collection)} constructor
+   * alongside any other {@link Configuration}s.
+   *
+   * <p>Each {@link PropertiesConfiguration} is {@link Coordinated}
+   * with its resource's configuration coordinates, so a {@link
+   * Configurations} will not consult it for requests it cannot
+   * satisfy.</p>
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a new, non-{@code null} {@link List} of {@link
+   * PropertiesConfiguration}s
+   *
+   * @exception ConfigurationException if a resource could not be
+   * read
+   *
+   * @see #load()
+   */
+  public List<PropertiesConfiguration> getConfigurations() {
+    final List<Resource<Properties>> resources = this.getResources();
+    final List<PropertiesConfiguration> returnValue = new ArrayList<>(resources.size());
+    for (final Resource<Properties> resource : resources) {
+      returnValue.add(new ResourcePropertiesConfiguration(resource));
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the {@link Resource}s {@linkplain #load() loaded} by the
+   * first invocation of this method.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link List} of {@link Resource}s
+   *
+   * @exception ConfigurationException if the resources could not be
+   * found or read
+   *
+   * @see #load()
+   */
+  private final List<Resource<Properties>> getResources() {
+    List<Resource<Properties>> returnValue = this.resources;
+    if (returnValue == null) {
+      synchronized (this) {
+        returnValue = this.resources;
+        if (returnValue == null) {
+          returnValue = Collections.unmodifiableList(this.load());
+          this.resources = returnValue;
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Finds every resource with the {@linkplain #name name} supplied at
+   * construction time, loads each one in parallel on this {@link
+   * PropertiesResourcesLoader}'s {@link ForkJoinPool}, and returns
+   * the results in classpath order.
+   *
+   * <p>Each invocation of this method finds and loads the resources
+   * anew; the {@link #apply(Map)} and {@link #getConfigurations()}
+   * methods reuse the results of the first invocation.</p>
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link List} of {@link Resource}s
+   *
+   * @exception ConfigurationException if the resources could not be
+   * found or read
+   *
+   * @see ClassLoader#getResources(String)
+   */
+  public List<Resource<Properties>> load() {
+    ClassLoader resourceLoader = this.resourceLoader;
+    if (resourceLoader == null) {
+      resourceLoader = Thread.currentThread().getContextClassLoader();
+      if (resourceLoader == null) {
+        resourceLoader = this.getClass().getClassLoader();
+      }
+    }
+    assert resourceLoader != null;
+    final List<URL> urls;
+    try {
+      urls = Collections.list(resourceLoader.getResources(this.name));
+    } catch (final IOException ioException) {
+      throw new ConfigurationException(ioException.getMessage(), ioException);
+    }
+    final List<Resource<Properties>> returnValue;
+    final int size = urls.size();
+    if (size <= 0) {
+      returnValue = Collections.emptyList();
+    } else if (size == 1) {
+      returnValue = Collections.singletonList(load(urls.get(0)));
+    } else {
+      final List<ForkJoinTask<Resource<Properties>>> tasks = new ArrayList<>(size);
+      for (final URL url : urls) {
+        tasks.add(this.pool.submit(() -> load(url)));
+      }
+      returnValue = new ArrayList<>(size);
+      for (final ForkJoinTask<Resource<Properties>> task : tasks) {
+        // join() rethrows any ConfigurationException.
+        returnValue.add(task.join());
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link String} representation of this {@link
+   * PropertiesResourcesLoader}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link String} representation of this
+   * {@link PropertiesResourcesLoader}
+   */
+  @Override
+  public String toString() {
+    return this.name;
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Loads the {@link Properties} at the supplied {@link URL} into a
+   * new {@link Resource}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param url the {@link URL}; must not be {@code null}
+   *
+   * @return a new, non-{@code null} {@link Resource}
+   *
+   * @exception ConfigurationException if the {@link URL} could not be
+   * read
+   */
+  private static final Resource<Properties> load(final URL url) {
+    final Properties properties = new Properties();
+    try (final InputStream inputStream = new BufferedInputStream(url.openStream())) {
+      properties.load(inputStream);
+    } catch (final IOException ioException) {
+      throw new ConfigurationException(ioException.getMessage(), ioException);
+    }
+    return PropertiesLoader.createResource(properties);
+  }
+
+  /**
+   * Returns the size of the supplied {@link Map}, or {@code 0} if it
+   * is {@code null}.
+   *
+   * @param map the {@link Map}; may be {@code null}
+   *
+   * @return the size of the supplied {@link Map}
+   */
+  private static final int size(final Map<?, ?> map) {
+    return map == null ? 0 : map.size();
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * A {@link PropertiesConfiguration} that always uses the same
+   * {@link Resource} and is therefore {@link Coordinated}.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see PropertiesResourcesLoader#getConfigurations()
+   */
+  private static final class ResourcePropertiesConfiguration extends PropertiesConfiguration implements Coordinated {
+
+    /**
+     * The version of this class for {@linkplain
+     * java.io.Serializable serialization purposes}.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The configuration coordinates of the {@link Resource}; never
+     * {@code null}.
+     */
+    private final Map<String, String> coordinates;
+
+    /**
+     * Creates a new {@link ResourcePropertiesConfiguration}.
+     *
+     * @param resource the {@link Resource} to use; must not be
+     * {@code null}
+     */
+    private ResourcePropertiesConfiguration(final Resource<Properties> resource) {
+      super(ignored -> resource);
+      final Map<String, String> coordinates = resource.getCoordinates();
+      this.coordinates = coordinates == null ? Collections.emptyMap() : coordinates;
+    }
+
+    @Override
+    public final Map<String, String> getCoordinates() {
+      return this.coordinates;
+    }
+
+    /**
+     * Returns a {@link ConfigurationValue} for the named
+     * configuration property, or {@code null} if the {@link
+     * Resource}'s {@link Properties} do not contain it.
+     *
+     * <p>A value-less {@link ConfigurationValue} would otherwise
+     * compete with real values from sibling {@link
+     * ResourcePropertiesConfiguration}s.</p>
+     *
+     * @param propertiesResource the {@link Resource}; may be {@code
+     * null}
+     *
+     * @param requestedCoordinates the requested configuration
+     * coordinates; may be {@code null}
+     *
+     * @param name the name of the configuration property; must not
+     * be {@code null}
+     *
+     * @return a {@link ConfigurationValue}, or {@code null}
+     */
+    @Override
+    protected final ConfigurationValue getValue(final Resource<? extends Properties> propertiesResource, final Map<String, String> requestedCoordinates, final String name) {
+      final ConfigurationValue returnValue = super.getValue(propertiesResource, requestedCoordinates, name);
+      return returnValue == null || returnValue.getValue() == null ? null : returnValue;
+    }
+
+  }
+
+}
@@ -21,7 +21,9 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -87,6 +89,17 @@ public class RankedComparator<T> implements Comparator<T>, Serializable {
    */
   private final List<?> items;
 
+  /**
+   * An {@link IdentityHashMap} of the ranks of the {@link Object}s in
+   * the {@link #items} {@link List}, indexed by those very {@link
+   * Object}s.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #getRank(Object)
+   */
+  private final Map<Object, Integer> ranks;
+
 
   /*
    * Constructors.
@@ -115,10 +128,21 @@ public class RankedComparator<T> implements Comparator<T>, Serializable {
     super();
     if (items == null || items.isEmpty()) {
       this.items = Collections.emptyList();
+      this.ranks = Collections.emptyMap();
     } else {
       final List<?> copy = new ArrayList<>(items);
       Collections.reverse(copy);
       this.items = Collections.unmodifiableList(copy);
+      final Map<Object, Integer> ranks = new IdentityHashMap<>();
+      final int size = copy.size();
+      for (int i = 0; i < size; i++) {
+        final Object item = copy.get(i);
+        if (item != null) {
+          // First occurrence wins, mirroring List#indexOf(Object).
+          ranks.putIfAbsent(item, Integer.valueOf(i));
+        }
+      }
+      this.ranks = ranks;
     }
   }
 
@@ -141,9 +165,26 @@ public class RankedComparator<T> implements Comparator<T>, Serializable {
    */
   public final boolean ranks(final T object) {
     final Object comparisonObject = this.getComparisonObject(object);
-    return comparisonObject != null && (comparisonObject instanceof Ranked || this.items.contains(comparisonObject));
+    return
+      comparisonObject != null &&
+      (comparisonObject instanceof Ranked || this.ranks.containsKey(comparisonObject) || this.items.contains(comparisonObject));
   }
 
+  /**
+   * Returns the rank of the supplied {@link Object}, or a negative
+   * integer if it has none.
+   *
+   * <p>The ranks of objects that were {@linkplain
+   * #RankedComparator(List) supplied at construction time} are
+   * looked up by identity first, in constant time, and only then, for
+   * objects that are merely {@linkplain Object#equals(Object) equal}
+   * to one of them, by a linear search.</p>
+   *
+   * @param object the {@link Object} to rank; may be {@code null}
+   *
+   * @return the rank of the supplied {@link Object}, or a negative
+   * integer
+   */
   private final int getRank(final Object object) {
     final int rank;
     if (object == null) {
@@ -151,7 +192,8 @@ public class RankedComparator<T> implements Comparator<T>, Serializable {
     } else if (object instanceof Ranked) {
       rank = ((Ranked)object).getRank();
     } else {
-      rank = this.items.indexOf(object);
+      final Integer index = this.ranks.get(object);
+      rank = index == null ? this.items.indexOf(object) : index.intValue();
     }
     return rank;
   }
@@ -19,8 +19,9 @@ package org.microbean.configuration.spi;
 import java.io.Serializable;
 
 import java.util.Collections;
-import java.util.Map;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -49,6 +50,17 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
    */
   private static final long serialVersionUID = 1L;
 
+  /**
+   * The name of the {@linkplain System#getProperty(String) System
+   * property} that, if {@code true}, causes {@link
+   * SystemPropertiesConfiguration}s created with the {@linkplain
+   * #SystemPropertiesConfiguration() zero-argument constructor} to
+   * work from a snapshot of the System properties.
+   *
+   * @see #SystemPropertiesConfiguration(boolean)
+   */
+  public static final String SNAPSHOT = "org.microbean.configuration.spi.SystemPropertiesConfiguration.snapshot";
+
   /**
    * A {@link Set} of {@linkplain System#getProperties() System
    * properties} that the Java Language Specification guarantees will
@@ -93,16 +105,60 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
   }
 
 
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * An immutable copy of the System properties, or {@code null} if
+   * this {@link SystemPropertiesConfiguration} reads them directly.
+   *
+   * @see #SystemPropertiesConfiguration(boolean)
+   *
+   * @see #refresh()
+   */
+  private volatile Map<String, String> snapshot;
+
+
   /*
    * Constructors.
    */
-  
+
 
   /**
-   * Creates a new {@link SystemPropertiesConfiguration}.
+   * Creates a new {@link SystemPropertiesConfiguration} that works
+   * from a snapshot of the System properties if the {@value #SNAPSHOT}
+   * System property is {@code true}, and reads them directly
+   * otherwise.
+   *
+   * @see #SystemPropertiesConfiguration(boolean)
    */
   public SystemPropertiesConfiguration() {
+    this(Boolean.getBoolean(SNAPSHOT));
+  }
+
+  /**
+   * Creates a new {@link SystemPropertiesConfiguration}.
+   *
+   * <p>The {@link Properties} object returned by {@link
+   * System#getProperties()} is synchronized, so reading it directly
+   * from many threads at once can be a point of contention.  A
+   * {@link SystemPropertiesConfiguration} that works from a snapshot
+   * instead copies the System properties once into an immutable
+   * {@link Map} and reads only that until it is {@linkplain
+   * #refresh() refreshed}.</p>
+   *
+   * @param snapshot whether to work from a snapshot of the System
+   * properties
+   *
+   * @see #refresh()
+   */
+  public SystemPropertiesConfiguration(final boolean snapshot) {
     super();
+    if (snapshot) {
+      this.snapshot = copySystemProperties();
+    }
   }
 
 
@@ -116,6 +172,40 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
     return 400;
   }
 
+  /**
+   * Returns {@code true} if this {@link SystemPropertiesConfiguration}
+   * works from a snapshot of the System properties.
+   *
+   * @return {@code true} if this {@link SystemPropertiesConfiguration}
+   * works from a snapshot of the System properties
+   *
+   * @see #SystemPropertiesConfiguration(boolean)
+   */
+  public final boolean isSnapshot() {
+    return this.snapshot != null;
+  }
+
+  /**
+   * If this {@link SystemPropertiesConfiguration} {@linkplain
+   * #isSnapshot() works from a snapshot} of the System properties,
+   * replaces it with a new one and {@linkplain
+   * #fireConfigurationChanged(Set) reports} the names of any that
+   * changed; otherwise does nothing.
+   *
+   * @see #SystemPropertiesConfiguration(boolean)
+   */
+  public final void refresh() {
+    final Map<String, String> oldSnapshot = this.snapshot;
+    if (oldSnapshot != null) {
+      final Map<String, String> newSnapshot = copySystemProperties();
+      this.snapshot = newSnapshot;
+      final Set<String> changedNames = getChangedNames(oldSnapshot, newSnapshot);
+      if (!changedNames.isEmpty()) {
+        this.fireConfigurationChanged(changedNames);
+      }
+    }
+  }
+
   /**
    * Returns a {@link ConfigurationValue} representing the {@linkplain
    * System#getProperty(String, String) System property} identified by
@@ -139,7 +229,8 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
   public final ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
     ConfigurationValue returnValue = null;
     if (name != null) {
-      final String propertyValue = System.getProperty(name);
+      final Map<String, String> snapshot = this.snapshot;
+      final String propertyValue = snapshot == null ? System.getProperty(name) : snapshot.get(name);
       if (propertyValue != null) {
         returnValue = new ConfigurationValue(this, null /* deliberately null coordinates */, name, propertyValue, this.isAuthoritative(name));
       }
@@ -158,12 +249,18 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
    *
    * <p>This implementation returns an immutable representation of the
    * equivalent of {@link System#getProperties()
-   * System.getProperties().stringPropertyNames()}.</p>
+   * System.getProperties().stringPropertyNames()}, taken from the
+   * snapshot if this {@link SystemPropertiesConfiguration} {@linkplain
+   * #isSnapshot() works from one}.</p>
    *
    * @return a non-{@code null} {@link Set} of names
    */
   @Override
   public final Set<String> getNames() {
+    final Map<String, String> snapshot = this.snapshot;
+    if (snapshot != null) {
+      return snapshot.keySet();
+    }
     final Properties properties = System.getProperties();
     assert properties != null; // by contract
     assert !properties.isEmpty(); // by contract
@@ -190,9 +287,32 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
     return name != null && systemPropertiesGuaranteedToExist.contains(name);
   }
 
+  /**
+   * Returns {@code true} if this {@link SystemPropertiesConfiguration}
+   * {@linkplain #isSnapshot() works from a snapshot} of the System properties,
+   * since its names then change only when it is {@linkplain
+   * #refresh() refreshed}, which reports the change.
+   *
+   * @return {@code true} if this {@link SystemPropertiesConfiguration}
+   * works from a snapshot
+   */
+  @Override
+  public final boolean reportsNameChanges() {
+    return this.isSnapshot();
+  }
+
+  /**
+   * Returns a hash code for this {@link SystemPropertiesConfiguration}.
+   *
+   * <p>All {@link SystemPropertiesConfiguration}s are {@linkplain
+   * #equals(Object) equal}, so this implementation returns a constant
+   * rather than hashing the System properties.</p>
+   *
+   * @return a hash code
+   */
   @Override
   public final int hashCode() {
-    return System.getProperties().hashCode();
+    return SystemPropertiesConfiguration.class.getName().hashCode();
   }
 
   @Override
@@ -202,7 +322,36 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
 
   @Override
   public String toString() {
-    return System.getProperties().toString();
+    final Map<String, String> snapshot = this.snapshot;
+    return snapshot == null ? System.getProperties().toString() : snapshot.toString();
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns a new immutable {@link Map} containing a copy of the
+   * {@linkplain System#getProperties() System properties} whose keys
+   * and values are {@link String}s.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a new, immutable, non-{@code null} {@link Map}
+   */
+  private static final Map<String, String> copySystemProperties() {
+    final Properties properties = System.getProperties();
+    final Set<String> names = properties.stringPropertyNames();
+    final Map<String, String> returnValue = new HashMap<>(names.size() * 2);
+    for (final String name : names) {
+      final String value = properties.getProperty(name);
+      if (value != null) {
+        returnValue.put(name, value);
+      }
+    }
+    return Collections.unmodifiableMap(returnValue);
   }
   
 }
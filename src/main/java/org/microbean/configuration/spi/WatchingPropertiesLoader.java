@@ -0,0 +1,590 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.IOException;
+
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
+
+/**
+ * A {@link Function} that supplies a {@link Resource} wrapping the
+ * {@link Properties} stored in a particular file, and that reloads
+ * them whenever that file changes.
+ *
+ * <p>A {@link WatchingPropertiesLoader} watches the directory
+ * containing its file with a {@link WatchService} on a daemon {@link
+ * Thread}.  Bursts of changes are debounced: the file is examined
+ * only once no further changes have been seen for a {@linkplain
+ * #WatchingPropertiesLoader(Path, long) configurable} interval, and
+ * it is re-parsed only if its real location, last modified time or
+ * size actually differ from when it was last loaded.  Newly loaded
+ * {@link Properties} are published by replacing a reference, so
+ * callers of {@link #apply(Map)} never block and never see a
+ * partially loaded file.</p>
+ *
+ * <p>The file may be a symbolic link.  In particular, the Kubernetes
+ * {@code ConfigMap} volume layout, in which the file is a link into
+ * a {@code ..data} link that is atomically replaced on update, is
+ * supported.</p>
+ *
+ * <p>The {@link Resource}s supplied by a {@link
+ * WatchingPropertiesLoader} change over time, so it should not be
+ * wrapped in a {@link CachingResourceLoader}.</p>
+ *
+ * <p>This class is safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see PropertiesConfiguration#PropertiesConfiguration(Function)
+ */
+public class WatchingPropertiesLoader implements Function<Map<? extends String, ? extends String>, Resource<? extends Properties>>, Closeable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The default number of milliseconds during which no changes must
+   * be seen before a changed file is reloaded.
+   *
+   * @see #WatchingPropertiesLoader(Path, long)
+   */
+  public static final long DEFAULT_DEBOUNCE_MILLIS = 250L;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The {@link Logger} used by this {@link WatchingPropertiesLoader}.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  protected final Logger logger;
+
+  /**
+   * The absolute {@link Path} of the file being watched.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Path path;
+
+  /**
+   * The number of milliseconds during which no changes must be seen
+   * before a changed file is reloaded.
+   */
+  private final long debounceMillis;
+
+  /**
+   * The currently published {@link Resource}.
+   *
+   * <p>This field is never {@code null}, but the {@link
+   * AtomicReference} it holds may hold {@code null}, which means the
+   * file does not exist.</p>
+   */
+  private final AtomicReference<Resource<Properties>> resource;
+
+  /**
+   * The {@link FileState} of the file when it was last loaded, or
+   * {@code null} if it did not exist.
+   *
+   * <p>This field is written only during construction and by the
+   * {@link #watcher} {@link Thread}.</p>
+   */
+  private volatile FileState fileState;
+
+  /**
+   * The {@link WatchService} watching the directory containing the
+   * file.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final WatchService watchService;
+
+  /**
+   * The daemon {@link Thread} processing events from the {@link
+   * #watchService}.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Thread watcher;
+
+  /**
+   * The {@linkplain #addReloadListener(Consumer) registered} reload
+   * listeners.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Collection<Consumer<? super Set<String>>> reloadListeners;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link WatchingPropertiesLoader} that debounces
+   * changes for {@value #DEFAULT_DEBOUNCE_MILLIS} milliseconds.
+   *
+   * @param path the {@link Path} of the properties file to load and
+   * watch; must not be {@code null}; need not exist yet
+   *
+   * @exception NullPointerException if {@code path} is {@code null}
+   *
+   * @exception IOException if the file could not be loaded or its
+   * directory could not be watched
+   *
+   * @see #WatchingPropertiesLoader(Path, long)
+   */
+  public WatchingPropertiesLoader(final Path path) throws IOException {
+    this(path, DEFAULT_DEBOUNCE_MILLIS);
+  }
+
+  /**
+   * Creates a new {@link WatchingPropertiesLoader}.
+   *
+   * <p>The file is loaded, if it exists, before this constructor
+   * returns.</p>
+   *
+   * @param path the {@link Path} of the properties file to load and
+   * watch; must not be {@code null}; need not exist yet, but its
+   * parent directory must
+   *
+   * @param debounceMillis the number of milliseconds during which no
+   * changes must be seen before a changed file is reloaded; if
+   * negative, {@code 0} is used instead
+   *
+   * @exception NullPointerException if {@code path} is {@code null}
+   *
+   * @exception IllegalArgumentException if {@code path} has no parent
+   * directory
+   *
+   * @exception IOException if the file could not be loaded or its
+   * directory could not be watched
+   */
+  public WatchingPropertiesLoader(final Path path, final long debounceMillis) throws IOException {
+    super();
+    this.logger = this.createLogger();
+    if (this.logger == null) {
+      throw new IllegalStateException("createLogger() == null");
+    }
+    this.path = Objects.requireNonNull(path).toAbsolutePath();
+    final Path directory = this.path.getParent();
+    if (directory == null) {
+      throw new IllegalArgumentException("path.getParent() == null: " + path);
+    }
+    this.debounceMillis = Math.max(0L, debounceMillis);
+    this.reloadListeners = new CopyOnWriteArrayList<>();
+    final FileState fileState = FileState.of(this.path);
+    this.resource = new AtomicReference<>(fileState == null ? null : PropertiesLoader.createResource(load(fileState.realPath)));
+    this.fileState = fileState;
+    this.watchService = directory.getFileSystem().newWatchService();
+    try {
+      directory.register(this.watchService,
+                         StandardWatchEventKinds.ENTRY_CREATE,
+                         StandardWatchEventKinds.ENTRY_DELETE,
+                         StandardWatchEventKinds.ENTRY_MODIFY);
+    } catch (final IOException | RuntimeException exception) {
+      this.watchService.close();
+      throw exception;
+    }
+    this.watcher = new Thread(this::watch, this.getClass().getSimpleName() + " " + this.path);
+    this.watcher.setDaemon(true);
+    this.watcher.start();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the {@link Logger} to be used by this {@link
+   * WatchingPropertiesLoader}.
+   *
+   * <p>This method is called from within this class' constructor and
+   * so must not refer to any instance state.</p>
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>Overrides of this method must not return {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link Logger}
+   */
+  protected Logger createLogger() {
+    return Logger.getLogger(this.getClass().getName());
+  }
+
+  /**
+   * Returns the {@link Resource} wrapping the most recently loaded
+   * {@link Properties}, or {@code null} if the file does not exist.
+   *
+   * <p>This method never blocks.</p>
+   *
+   * @param requestedConfigurationCoordinates the configuration
+   * coordinates in effect for the request; ignored
+   *
+   * @return a {@link Resource}, or {@code null}
+   */
+  @Override
+  public Resource<? extends Properties> apply(final Map<? extends String, ? extends String> requestedConfigurationCoordinates) {
+    return this.resource.get();
+  }
+
+  /**
+   * Registers the supplied {@link Consumer} to be called, on the
+   * thread that watches the file, with the names of the properties
+   * whose values differ after the file is reloaded.
+   *
+   * <p>If the file's {@value Configurations#CONFIGURATION_COORDINATES}
+   * property changed, or the file appeared or disappeared, the names
+   * of all properties in either version of the file are
+   * supplied.</p>
+   *
+   * <p>{@link PropertiesConfiguration} registers such a listener
+   * automatically when it is {@linkplain
+   * PropertiesConfiguration#PropertiesConfiguration(Function) created}
+   * with a {@link WatchingPropertiesLoader}, and {@linkplain
+   * AbstractConfiguration#fireConfigurationChanged(Set) passes} the
+   * names on to its {@link Configurations}.</p>
+   *
+   * @param listener the {@link Consumer} to register; must not be
+   * {@code null}
+   *
+   * @exception NullPointerException if {@code listener} is {@code
+   * null}
+   *
+   * @see #removeReloadListener(Consumer)
+   */
+  public final void addReloadListener(final Consumer<? super Set<String>> listener) {
+    this.reloadListeners.add(Objects.requireNonNull(listener));
+  }
+
+  /**
+   * Unregisters the supplied {@link Consumer} if it was previously
+   * {@linkplain #addReloadListener(Consumer) registered}.
+   *
+   * @param listener the {@link Consumer} to unregister; may be {@code
+   * null}
+   *
+   * @return {@code true} if the supplied {@link Consumer} was
+   * registered
+   *
+   * @see #addReloadListener(Consumer)
+   */
+  public final boolean removeReloadListener(final Consumer<? super Set<String>> listener) {
+    return listener != null && this.reloadListeners.remove(listener);
+  }
+
+  /**
+   * Stops watching the file.
+   *
+   * <p>The most recently loaded {@link Properties} continue to be
+   * supplied by the {@link #apply(Map)} method.</p>
+   *
+   * @exception IOException if an error occurs
+   */
+  @Override
+  public void close() throws IOException {
+    this.watchService.close();
+  }
+
+  /**
+   * Processes events from the {@link #watchService} until it is
+   * {@linkplain #close() closed}.
+   *
+   * <p>This method is run by the {@link #watcher} {@link Thread}.</p>
+   */
+  private final void watch() {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        boolean relevant = this.isRelevant(this.watchService.take());
+        // Debounce: keep draining events until things have been
+        // quiet for a while.
+        WatchKey watchKey;
+        while ((watchKey = this.watchService.poll(this.debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+          relevant = this.isRelevant(watchKey) || relevant;
+        }
+        if (relevant) {
+          this.reload();
+        }
+      }
+    } catch (final ClosedWatchServiceException closedWatchServiceException) {
+      // We've been closed; we're done.
+    } catch (final InterruptedException interruptedException) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Consumes the events of the supplied {@link WatchKey}, {@linkplain
+   * WatchKey#reset() resets} it, and returns {@code true} if any of
+   * them could indicate that the file changed.
+   *
+   * <p>Events for the file itself, and for any directory entry whose
+   * name begins with {@code ..} (as Kubernetes' {@code ..data} link
+   * and the timestamped directories it points to do), are deemed
+   * relevant.</p>
+   *
+   * @param watchKey the {@link WatchKey}; must not be {@code null}
+   *
+   * @return {@code true} if any of the events could indicate that the
+   * file changed
+   */
+  private final boolean isRelevant(final WatchKey watchKey) {
+    boolean returnValue = false;
+    final Path fileName = this.path.getFileName();
+    for (final WatchEvent<?> event : watchKey.pollEvents()) {
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+        returnValue = true;
+      } else {
+        final Object context = event.context();
+        if (context instanceof Path &&
+            (context.equals(fileName) || context.toString().startsWith(".."))) {
+          returnValue = true;
+        }
+      }
+    }
+    if (!watchKey.reset() && this.logger.isLoggable(Level.WARNING)) {
+      this.logger.logp(Level.WARNING, this.getClass().getName(), "isRelevant", "No longer able to watch {0}", this.path);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Reloads the file if its {@link FileState} has changed since it
+   * was last loaded, and publishes the result.
+   *
+   * <p>If the file cannot be read, the previously loaded {@link
+   * Properties} remain published.</p>
+   */
+  private final void reload() {
+    final String cn = this.getClass().getName();
+    final String mn = "reload";
+    try {
+      final FileState fileState = FileState.of(this.path);
+      if (!Objects.equals(fileState, this.fileState)) {
+        final Resource<Properties> newResource;
+        if (fileState == null) {
+          newResource = null;
+        } else {
+          newResource = PropertiesLoader.createResource(load(fileState.realPath));
+        }
+        final Resource<Properties> oldResource = this.resource.getAndSet(newResource);
+        this.fileState = fileState;
+        if (this.logger.isLoggable(Level.FINE)) {
+          this.logger.logp(Level.FINE, cn, mn, "Reloaded {0}", this.path);
+        }
+        if (!this.reloadListeners.isEmpty()) {
+          final Properties oldProperties = oldResource == null ? null : oldResource.get();
+          final Properties newProperties = newResource == null ? null : newResource.get();
+          Set<String> changedNames = AbstractConfiguration.getChangedNames(oldProperties, newProperties);
+          if (oldProperties != null && newProperties != null &&
+              changedNames.contains(Configurations.CONFIGURATION_COORDINATES)) {
+            // The configuration coordinates that every value applies
+            // to have changed, so every value is deemed to differ.
+            final Set<String> allNames = new HashSet<>(oldProperties.stringPropertyNames());
+            allNames.addAll(newProperties.stringPropertyNames());
+            changedNames = Collections.unmodifiableSet(allNames);
+          }
+          if (!changedNames.isEmpty()) {
+            for (final Consumer<? super Set<String>> listener : this.reloadListeners) {
+              try {
+                listener.accept(changedNames);
+              } catch (final RuntimeException exception) {
+                if (this.logger.isLoggable(Level.WARNING)) {
+                  this.logger.logp(Level.WARNING, cn, mn, "Reload listener " + listener + " failed", exception);
+                }
+              }
+            }
+          }
+        }
+      }
+    } catch (final IOException | RuntimeException exception) {
+      if (this.logger.isLoggable(Level.WARNING)) {
+        this.logger.logp(Level.WARNING, cn, mn, "Unable to reload " + this.path, exception);
+      }
+    }
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Loads and returns the {@link Properties} stored in the file
+   * identified by the supplied {@link Path}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param path the {@link Path}; must not be {@code null}
+   *
+   * @return a new, non-{@code null} {@link Properties}
+   *
+   * @exception IOException if the file could not be read
+   */
+  private static final Properties load(final Path path) throws IOException {
+    final Properties returnValue = new Properties();
+    try (final InputStream inputStream = new BufferedInputStream(Files.newInputStream(path))) {
+      returnValue.load(inputStream);
+    }
+    return returnValue;
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * An immutable description of a file's identity and last
+   * modification, used to tell whether it needs to be reloaded.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   */
+  private static final class FileState {
+
+    /**
+     * The real {@link Path} of the file, with all symbolic links
+     * resolved.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Path realPath;
+
+    /**
+     * The file's {@linkplain BasicFileAttributes#fileKey() key}, if
+     * the file system supports them.
+     *
+     * <p>This field may be {@code null}.</p>
+     */
+    private final Object fileKey;
+
+    /**
+     * The time the file was last modified.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final FileTime lastModifiedTime;
+
+    /**
+     * The size of the file in bytes.
+     */
+    private final long size;
+
+    private FileState(final Path realPath, final BasicFileAttributes attributes) {
+      super();
+      this.realPath = realPath;
+      this.fileKey = attributes.fileKey();
+      this.lastModifiedTime = attributes.lastModifiedTime();
+      this.size = attributes.size();
+    }
+
+    /**
+     * Returns a new {@link FileState} describing the file identified
+     * by the supplied {@link Path}, or {@code null} if it does not
+     * exist.
+     *
+     * @param path the {@link Path}; must not be {@code null}
+     *
+     * @return a new {@link FileState}, or {@code null}
+     *
+     * @exception IOException if the file's attributes could not be
+     * read
+     */
+    private static final FileState of(final Path path) throws IOException {
+      FileState returnValue;
+      try {
+        final Path realPath = path.toRealPath();
+        returnValue = new FileState(realPath, Files.readAttributes(realPath, BasicFileAttributes.class));
+      } catch (final NoSuchFileException noSuchFileException) {
+        returnValue = null;
+      }
+      return returnValue;
+    }
+
+    @Override
+    public final int hashCode() {
+      return Objects.hash(this.realPath, this.fileKey, this.lastModifiedTime, Long.valueOf(this.size));
+    }
+
+    @Override
+    public final boolean equals(final Object other) {
+      if (other == this) {
+        return true;
+      } else if (other instanceof FileState) {
+        final FileState her = (FileState)other;
+        return
+          this.size == her.size &&
+          Objects.equals(this.realPath, her.realPath) &&
+          Objects.equals(this.fileKey, her.fileKey) &&
+          Objects.equals(this.lastModifiedTime, her.lastModifiedTime);
+      } else {
+        return false;
+      }
+    }
+
+  }
+
+}
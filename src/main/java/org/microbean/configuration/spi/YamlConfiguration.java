@@ -0,0 +1,82 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+/**
+ * A {@link FlattenedConfiguration} that reads configuration values
+ * from a YAML classpath resource, parsed in a single streaming pass
+ * by a {@link JacksonLoader} using a {@link YAMLFactory}.
+ *
+ * <p>This class requires YAML support from Jackson to be present at
+ * runtime.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see JacksonLoader
+ */
+public class YamlConfiguration extends FlattenedConfiguration {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link YamlConfiguration} that reads the {@code
+   * application.yaml} classpath resource.
+   *
+   * @see #YamlConfiguration(String)
+   */
+  public YamlConfiguration() {
+    this("application.yaml");
+  }
+
+  /**
+   * Creates a new {@link YamlConfiguration} that reads the
+   * classpath resource with the supplied name.
+   *
+   * <p>The resource is not read by this constructor.</p>
+   *
+   * @param resourceName the name of the resource; must not be {@code
+   * null}
+   *
+   * @exception NullPointerException if {@code resourceName} is {@code
+   * null}
+   */
+  public YamlConfiguration(final String resourceName) {
+    super(createResourceLoader(new JacksonLoader(new YAMLFactory(), resourceName)));
+  }
+
+}
@@ -16,9 +16,10 @@
  */
 package org.microbean.configuration.spi.converter;
 
+import org.microbean.configuration.spi.BooleanConverter;
 import org.microbean.configuration.spi.Converter;
 
-public final class StringToBooleanConverter extends Converter<Boolean> {
+public final class StringToBooleanConverter extends Converter<Boolean> implements BooleanConverter {
 
   private static final long serialVersionUID = 1L;
   
@@ -30,5 +31,10 @@ public final class StringToBooleanConverter extends Converter<Boolean> {
     }
     return returnValue;
   }
+
+  @Override
+  public final boolean convertToBoolean(final String value) {
+    return Boolean.parseBoolean(value);
+  }
   
 }
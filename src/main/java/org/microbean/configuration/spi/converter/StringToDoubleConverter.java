@@ -17,8 +17,9 @@
 package org.microbean.configuration.spi.converter;
 
 import org.microbean.configuration.spi.Converter;
+import org.microbean.configuration.spi.DoubleConverter;
 
-public final class StringToDoubleConverter extends Converter<Double> {
+public final class StringToDoubleConverter extends Converter<Double> implements DoubleConverter {
 
   private static final long serialVersionUID = 1L;
 
@@ -30,5 +31,10 @@ public final class StringToDoubleConverter extends Converter<Double> {
     }
     return returnValue;
   }
+
+  @Override
+  public final double convertToDouble(final String value) {
+    return Double.parseDouble(value);
+  }
   
 }
@@ -17,8 +17,9 @@
 package org.microbean.configuration.spi.converter;
 
 import org.microbean.configuration.spi.Converter;
+import org.microbean.configuration.spi.IntConverter;
 
-public final class StringToIntegerConverter extends Converter<Integer> {
+public final class StringToIntegerConverter extends Converter<Integer> implements IntConverter {
 
   private static final long serialVersionUID = 1L;
   
@@ -30,5 +31,10 @@ public final class StringToIntegerConverter extends Converter<Integer> {
     }
     return returnValue;
   }
+
+  @Override
+  public final int convertToInt(final String value) {
+    return Integer.parseInt(value);
+  }
   
 }
@@ -17,8 +17,9 @@
 package org.microbean.configuration.spi.converter;
 
 import org.microbean.configuration.spi.Converter;
+import org.microbean.configuration.spi.LongConverter;
 
-public final class StringToLongConverter extends Converter<Long> {
+public final class StringToLongConverter extends Converter<Long> implements LongConverter {
 
   private static final long serialVersionUID = 1L;
   
@@ -30,5 +31,10 @@ public final class StringToLongConverter extends Converter<Long> {
     }
     return returnValue;
   }
+
+  @Override
+  public final long convertToLong(final String value) {
+    return Long.parseLong(value);
+  }
   
 }
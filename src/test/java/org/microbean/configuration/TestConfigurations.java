@@ -18,28 +18,50 @@ package org.microbean.configuration;
 
 import java.io.Serializable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Before;
 import org.junit.Test;
 
 import org.microbean.configuration.api.AmbiguousConfigurationValuesException;
+import org.microbean.configuration.api.ConfigurationException;
 import org.microbean.configuration.api.ConfigurationValue;
 import org.microbean.configuration.api.TypeLiteral;
 
 import org.microbean.configuration.spi.AbstractConfiguration;
 import org.microbean.configuration.spi.Configuration;
 import org.microbean.configuration.spi.ConfigurationCoordinates;
+import org.microbean.configuration.spi.Converter;
+import org.microbean.configuration.spi.Coordinated;
+import org.microbean.configuration.spi.Ranked;
 import org.microbean.configuration.spi.SystemPropertiesConfiguration;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import static org.junit.Assume.assumeNotNull;
 
@@ -169,6 +191,50 @@ public class TestConfigurations {
     assertEquals("a " + System.getProperty("java.home") + " c", this.configurations.interpolate("a ${configurations[\"java.home\"]} c"));
   }
 
+  @Test
+  public void testInterpolation() throws InterruptedException, ExecutionException {
+    // Values without expressions are returned as they are.
+    final String plain = "no expressions here; not even $ or # or {}";
+    assertSame(plain, this.configurations.interpolate(plain));
+
+    // Parsed expressions are cached, but their results must not be.
+    final Map<String, String> values = new ConcurrentHashMap<>();
+    values.put("color", "red");
+    final Configurations configurations = new Configurations(Collections.singleton(new RankedConfiguration(0, values)));
+    final String expression = "a ${configurations[\"color\"]} thing";
+    assertEquals("a red thing", configurations.interpolate(expression));
+    values.put("color", "blue");
+    assertEquals("a blue thing", configurations.interpolate(expression));
+
+    // Concurrent evaluation of shared and distinct expressions.
+    final int threadCount = 8;
+    for (int i = 0; i < threadCount; i++) {
+      values.put("k" + i, "v" + i);
+    }
+    final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+    try {
+      final CountDownLatch start = new CountDownLatch(1);
+      final List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < threadCount; i++) {
+        final int t = i;
+        futures.add(executorService.submit(() -> {
+              start.await();
+              for (int j = 0; j < 1000; j++) {
+                final int k = (t + j) % threadCount;
+                assertEquals("v" + k + "/v" + t, configurations.interpolate("${configurations[\"k" + k + "\"]}/${configurations[\"k" + t + "\"]}"));
+              }
+              return null;
+            }));
+      }
+      start.countDown();
+      for (final Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
   @Test
   public void testArbitration() {
     assumeNotNull(System.getenv("PATH"));
@@ -180,12 +246,550 @@ public class TestConfigurations {
     assertEquals("me first", value);
   }
 
+  @Test
+  public void testValueCache() {
+    final Properties properties = new Properties();
+    properties.put("db.url", "jdbc:cached");
+    final PropertiesConfiguration propertiesConfiguration = new PropertiesConfiguration(null, properties);
+    final Set<Configuration> subConfigurations = new HashSet<>();
+    subConfigurations.add(propertiesConfiguration);
+    subConfigurations.add(new SystemPropertiesConfiguration());
+    System.setProperty(Configurations.VALUE_CACHE_MAXIMUM_SIZE, "16");
+    final Configurations configurations;
+    try {
+      configurations = new Configurations(subConfigurations, null, null);
+    } finally {
+      System.clearProperty(Configurations.VALUE_CACHE_MAXIMUM_SIZE);
+    }
+    assertEquals("jdbc:cached", configurations.getValue("db.url"));
+    properties.put("db.url", "jdbc:changed");
+    assertEquals("jdbc:cached", configurations.getValue("db.url"));
+    configurations.invalidateValueCache("db.url");
+    assertEquals("jdbc:changed", configurations.getValue("db.url"));
+    assertEquals("fallback", configurations.getValue("db.user", "fallback"));
+    assertEquals(Integer.valueOf(3), configurations.getValue("db.poolSize", Integer.class, "3"));
+    properties.put("db.user", "scott");
+    assertEquals("fallback", configurations.getValue("db.user", "fallback"));
+    configurations.invalidateValueCache();
+    assertEquals("scott", configurations.getValue("db.user", "fallback"));
+    properties.put("db.port", "5432");
+    assertEquals(5432, configurations.getInt("db.port", 0));
+    assertEquals(5432, configurations.getInt("db.port", 0));
+    assertEquals(7, configurations.getInt("db.absent", 7));
+
+    // Two Converters for the same Type must not share a cached
+    // conversion.
+    properties.put("db.timeout", "10");
+    final Converter<Integer> decimal = new Converter<Integer>() {
+        private static final long serialVersionUID = 1L;
+        @Override
+        public final Integer convert(final String value) {
+          return value == null ? null : Integer.valueOf(value, 10);
+        }
+      };
+    final Converter<Integer> hexadecimal = new Converter<Integer>() {
+        private static final long serialVersionUID = 1L;
+        @Override
+        public final Integer convert(final String value) {
+          return value == null ? null : Integer.valueOf(value, 16);
+        }
+      };
+    assertEquals(Integer.valueOf(10), configurations.getValue(null, "db.timeout", decimal, null));
+    assertEquals(Integer.valueOf(16), configurations.getValue(null, "db.timeout", hexadecimal, null));
+    assertEquals(Integer.valueOf(10), configurations.getValue(null, "db.timeout", decimal, null));
+    assertEquals(Integer.valueOf(10), configurations.getValue(null, "db.absent", decimal, "10"));
+    assertEquals(Integer.valueOf(16), configurations.getValue(null, "db.absent", hexadecimal, "10"));
+  }
+
+  @Test
+  public void testConfigurationKey() {
+    final Properties properties = new Properties();
+    properties.put("db.poolSize", "5");
+    final Set<Configuration> subConfigurations = new HashSet<>();
+    subConfigurations.add(new PropertiesConfiguration(null, properties));
+    subConfigurations.add(new SystemPropertiesConfiguration());
+    System.setProperty(Configurations.VALUE_CACHE_MAXIMUM_SIZE, "16");
+    final Configurations configurations;
+    try {
+      configurations = new Configurations(subConfigurations, null, null);
+    } finally {
+      System.clearProperty(Configurations.VALUE_CACHE_MAXIMUM_SIZE);
+    }
+    final ConfigurationKey<Integer> poolSize = configurations.key("db.poolSize", int.class, "3");
+    assertEquals(Integer.class, poolSize.getType());
+    assertEquals(Integer.valueOf(5), poolSize.get());
+    properties.put("db.poolSize", "7");
+    assertEquals(Integer.valueOf(5), poolSize.get());
+    configurations.invalidateValueCache("db.poolSize");
+    assertEquals(Integer.valueOf(7), poolSize.get());
+    properties.remove("db.poolSize");
+    configurations.invalidateValueCache();
+    assertEquals(Integer.valueOf(3), poolSize.get(Collections.singletonMap("environment", "test")));
+    final ConfigurationKey<Map<String, String>> coordinates =
+      configurations.key(Configurations.CONFIGURATION_COORDINATES, new TypeLiteral<Map<String, String>>() {
+          private static final long serialVersionUID = 1L;
+        }, "{ region=west }");
+    assertEquals(Collections.singletonMap("region", "west"), coordinates.get());
+  }
+
+  @Test
+  public void testPrimitiveGetters() {
+    final Properties properties = new Properties();
+    properties.put("timeoutInSeconds", "30");
+    properties.put("maximumBytes", "8589934592");
+    properties.put("ratio", "0.75");
+    properties.put("enabled", "true");
+    properties.put("port", "${configurations[\"basePort\"]}");
+    properties.put("basePort", "8080");
+    final Configurations configurations = new Configurations(Collections.singleton(new PropertiesConfiguration(null, properties)));
+    assertEquals(30, configurations.getInt("timeoutInSeconds", 10));
+    assertEquals(10, configurations.getInt("absent", 10));
+    assertEquals(8080, configurations.getInt("port", 0));
+    assertEquals(8589934592L, configurations.getLong("maximumBytes", 0L));
+    assertEquals(0.75, configurations.getDouble("ratio", 0.5), 0.0);
+    assertTrue(configurations.getBoolean("enabled", false));
+    assertFalse(configurations.getBoolean("absent", false));
+  }
+
+  @Test
+  public void testSnapshot() {
+    final Properties properties = new Properties();
+    properties.put("host", "example.com");
+    properties.put("url", "https://${configurations[\"host\"]}/");
+    final Configurations configurations = new Configurations(Collections.singleton(new PropertiesConfiguration(null, properties)));
+    final ConfigurationSnapshot snapshot = configurations.getSnapshot();
+    assertNotNull(snapshot);
+    assertSame(snapshot, configurations.getSnapshot());
+    assertEquals("https://example.com/", snapshot.getValue("url"));
+    assertNull(snapshot.getValue("absent"));
+    assertEquals("fallback", snapshot.getValue("absent", "fallback"));
+    assertTrue(snapshot.getNames().contains("host"));
+    properties.put("host", "example.org");
+    assertEquals("https://example.com/", configurations.getSnapshot().getValue("url"));
+    final ConfigurationSnapshot refreshedSnapshot = configurations.refreshSnapshot();
+    assertNotSame(snapshot, refreshedSnapshot);
+    assertSame(refreshedSnapshot, configurations.getSnapshot());
+    assertEquals("https://example.org/", refreshedSnapshot.getValue("url"));
+    assertEquals("https://example.com/", snapshot.getValue("url"));
+  }
+
+  @Test
+  public void testListener() {
+    final Properties properties = new Properties();
+    properties.put("host", "example.com");
+    properties.put("port", "80");
+    properties.put("url", "https://${configurations[\"host\"]}/");
+    final PropertiesConfiguration configuration = new PropertiesConfiguration(null, properties);
+    final Configurations configurations = new Configurations(Collections.singleton(configuration));
+    final List<ConfigurationChangeEvent> events = new ArrayList<>();
+    final ConfigurationListener listener = events::add;
+    configurations.addListener(new HashSet<>(Arrays.asList("host", "url", "absent")), null, listener);
+
+    properties.put("port", "8080");
+    configurations.configurationChanged(configuration, Collections.singleton("port"));
+    assertTrue(events.isEmpty());
+
+    properties.put("host", "example.org");
+    properties.put("absent", "present");
+    configurations.configurationChanged(configuration, null);
+    assertEquals(1, events.size());
+    final ConfigurationChangeEvent event = events.get(0);
+    assertSame(configurations, event.getSource());
+    assertEquals(new HashSet<>(Arrays.asList("host", "url", "absent")), event.getNames());
+    assertEquals("example.com", event.getOldValue("host"));
+    assertEquals("example.org", event.getNewValue("host"));
+    assertEquals("https://example.org/", event.getNewValue("url"));
+    assertNull(event.getOldValue("absent"));
+    assertEquals("present", event.getNewValue("absent"));
+
+    events.clear();
+    configurations.configurationChanged(configuration, null);
+    assertTrue(events.isEmpty());
+
+    properties.remove("absent");
+    configurations.configurationChanged(configuration, Collections.singleton("absent"));
+    assertEquals(1, events.size());
+    assertNull(events.get(0).getNewValue("absent"));
+
+    events.clear();
+    assertFalse(configurations.removeListener(e -> {}));
+    assertTrue(configurations.removeListener(listener));
+    properties.put("host", "example.net");
+    configurations.configurationChanged(configuration, null);
+    assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void testSystemPropertiesSnapshot() {
+    final String name = "org.microbean.configuration.TestConfigurations.snapshot";
+    System.setProperty(name, "a");
+    try {
+      final SystemPropertiesConfiguration configuration = new SystemPropertiesConfiguration(true);
+      assertTrue(configuration.isSnapshot());
+      final Configurations configurations = new Configurations(Collections.singleton(configuration));
+      final List<ConfigurationChangeEvent> events = new ArrayList<>();
+      configurations.addListener(Collections.singleton(name), null, events::add);
+      assertEquals("a", configurations.getValue(name));
+
+      System.setProperty(name, "b");
+      assertEquals("a", configurations.getValue(name));
+      assertTrue(events.isEmpty());
+
+      configuration.refresh();
+      assertEquals("b", configurations.getValue(name));
+      assertEquals(1, events.size());
+      assertEquals("b", events.get(0).getNewValue(name));
+    } finally {
+      System.clearProperty(name);
+    }
+  }
+
+  @Test
+  public void testCoordinatesIndex() {
+    final AtomicInteger calls = new AtomicInteger();
+    final List<Configuration> sources = new ArrayList<>();
+    final List<String> regions = Arrays.asList(null, "east", "west", "north");
+    final List<String> environments = Arrays.asList(null, "dev", "test", "prod");
+    for (final String region : regions) {
+      for (final String environment : environments) {
+        final Map<String, String> coordinates = new HashMap<>();
+        if (region != null) {
+          coordinates.put("region", region);
+        }
+        if (environment != null) {
+          coordinates.put("environment", environment);
+        }
+        final Properties properties = new Properties();
+        properties.setProperty("a", coordinates.toString());
+        sources.add(new CoordinatedPropertiesConfiguration(coordinates, properties, calls));
+      }
+    }
+    final Configurations configurations = new Configurations(sources);
+    final Map<String, String> coordinates = new HashMap<>();
+    coordinates.put("region", "west");
+    coordinates.put("environment", "test");
+    calls.set(0);
+    assertEquals(coordinates.toString(), configurations.getValue(coordinates, "a", (String)null));
+    // Only the four configurations whose coordinates are subsets of
+    // the requested ones were consulted.
+    assertEquals(4, calls.get());
+
+    calls.set(0);
+    assertEquals("{}", configurations.getValue(Collections.singletonMap("phase", "beta"), "a", (String)null));
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void testCoordinates() {
+    final Map<String, String> westTest = new HashMap<>();
+    westTest.put("region", "west");
+    westTest.put("environment", "test");
+    final Coordinates a = Coordinates.of(westTest);
+    final Coordinates b = Coordinates.of(new HashMap<>(westTest));
+    assertSame(a, b);
+    assertEquals(westTest, a);
+    assertEquals(a, westTest);
+    assertEquals(westTest.hashCode(), a.hashCode());
+    assertSame(Coordinates.EMPTY, Coordinates.of(null));
+    assertSame(Coordinates.EMPTY, Coordinates.of(Collections.emptyMap()));
+
+    final Coordinates west = Coordinates.of(Collections.singletonMap("region", "west"));
+    final Coordinates east = Coordinates.of(Collections.singletonMap("region", "east"));
+    assertTrue(west.isSubsetOf(a));
+    assertTrue(Coordinates.EMPTY.isSubsetOf(a));
+    assertFalse(a.isSubsetOf(west));
+    assertFalse(east.isSubsetOf(a));
+    assertTrue(a.isSubsetOf(a));
+    // What happens once the bits run out is tested in
+    // TestCoordinatesBitExhaustion, in a JVM of its own.
+  }
+
+  @Test
+  public void testCoordinatesBitsetFastPath() {
+    // Enough pairings to span more than one 64-bit word, but far
+    // fewer than Coordinates.MAXIMUM_BIT_COUNT.
+    final List<Coordinates> shards = new ArrayList<>();
+    for (int i = 0; i < 70; i++) {
+      shards.add(Coordinates.of(Collections.singletonMap("shard", String.valueOf(i))));
+    }
+    final Coordinates first = shards.get(0);
+    final Coordinates last = shards.get(shards.size() - 1);
+    final Map<String, String> lastWest = new HashMap<>();
+    lastWest.put("shard", String.valueOf(shards.size() - 1));
+    lastWest.put("region", "west");
+    final Coordinates c = Coordinates.of(lastWest);
+    final Coordinates west = Coordinates.of(Collections.singletonMap("region", "west"));
+
+    // Every one of these was assigned its bits, so the subset tests
+    // below are bitwise.
+    for (final Coordinates shard : shards) {
+      assertTrue(shard.isComplete());
+    }
+    assertTrue(c.isComplete());
+    assertTrue(west.isComplete());
+    assertTrue(Coordinates.EMPTY.isComplete());
+
+    assertTrue(last.isSubsetOf(c));
+    assertTrue(west.isSubsetOf(c));
+    assertTrue(Coordinates.EMPTY.isSubsetOf(c));
+    assertFalse(c.isSubsetOf(last));
+    assertFalse(c.isSubsetOf(west));
+    // Bits in a word the other Coordinates lack, and vice versa.
+    assertFalse(first.isSubsetOf(c));
+    assertFalse(last.isSubsetOf(first));
+    assertFalse(first.isSubsetOf(last));
+  }
+
+  @Test
+  public void testGetValues() {
+    final Map<String, String> coordinates = new HashMap<>();
+    coordinates.put("environment", "test");
+    coordinates.put("phase", "experimental");
+    final Set<String> names = new HashSet<>(Arrays.asList("db.url", "java.vendor", "bogus"));
+    final Map<String, String> values = this.configurations.getValues(coordinates, names);
+    assertEquals(2, values.size());
+    assertEquals("jdbc:experimental:test", values.get("db.url"));
+    assertEquals(this.configurations.getValue(coordinates, "db.url", (String)null), values.get("db.url"));
+    assertEquals(System.getProperty("java.vendor"), values.get("java.vendor"));
+    assertFalse(values.containsKey("bogus"));
+    assertTrue(this.configurations.getValues(null, Collections.emptySet()).isEmpty());
+  }
+
+  @Test
+  public void testGetNamesAndSubtree() {
+    final Set<String> javaNames = this.configurations.getNames("java.");
+    assertTrue(javaNames.contains("java.vendor"));
+    assertFalse(javaNames.contains("db.url"));
+    String previous = null;
+    for (final String name : javaNames) {
+      assertTrue(name.startsWith("java."));
+      assertTrue(previous == null || previous.compareTo(name) < 0);
+      previous = name;
+    }
+    assertEquals(Collections.singleton("db.url"), this.configurations.getNames("db."));
+    assertTrue(this.configurations.getNames("no.such.prefix.").isEmpty());
+    assertTrue(this.configurations.getNames().containsAll(javaNames));
+
+    final Map<String, String> coordinates = Collections.singletonMap("environment", "test");
+    assertEquals(Collections.singletonMap("url", "jdbc:test"), this.configurations.getSubtree(coordinates, "db."));
+  }
+
+  @Test
+  public void testGetNamesSeesUnreportedChanges() {
+    final String name = "org.microbean.configuration.TestConfigurations.testGetNamesSeesUnreportedChanges";
+    final SystemPropertiesConfiguration live = new SystemPropertiesConfiguration(false);
+    final SystemPropertiesConfiguration snapshot = new SystemPropertiesConfiguration(true);
+    final Configurations liveConfigurations = new Configurations(Collections.singleton(live));
+    final Configurations snapshotConfigurations = new Configurations(Collections.singleton(snapshot));
+    assertFalse(liveConfigurations.getNames().contains(name));
+    assertFalse(snapshotConfigurations.getNames().contains(name));
+    System.setProperty(name, "true");
+    try {
+      // A live SystemPropertiesConfiguration cannot report changes,
+      // so its names are never reused.
+      assertTrue(liveConfigurations.getNames().contains(name));
+      // A snapshot reports them when it is refreshed.
+      assertFalse(snapshotConfigurations.getNames().contains(name));
+      snapshot.refresh();
+      assertTrue(snapshotConfigurations.getNames().contains(name));
+    } finally {
+      System.clearProperty(name);
+    }
+  }
+
+  @Test
+  public void testEarlyExitResolutionMode() {
+    final Map<String, String> low = new HashMap<>();
+    low.put("a", "low");
+    low.put("b", "low");
+    final Map<String, String> middle = new HashMap<>();
+    middle.put("c", "middle");
+    final Map<String, String> high = new HashMap<>();
+    high.put("a", "high");
+
+    final Map<String, String> earlyExitHigh = new HashMap<>(high);
+    earlyExitHigh.put(Configurations.RESOLUTION_MODE, "early-exit");
+    final Configurations earlyExit =
+      new Configurations(Arrays.asList(new RankedConfiguration(1, low), new RankedConfiguration(5, middle), new RankedConfiguration(10, earlyExitHigh)));
+    assertEquals(Configurations.ResolutionMode.EARLY_EXIT, earlyExit.getResolutionMode());
+    assertEquals("high", earlyExit.getValue(Collections.emptyMap(), "a", (String)null));
+    assertEquals(1, earlyExit.getConsultedConfigurationCount());
+    assertEquals("low", earlyExit.getValue(Collections.emptyMap(), "b", (String)null));
+    assertEquals(3, earlyExit.getConsultedConfigurationCount());
+    final Map<String, String> values = earlyExit.getValues(Collections.emptyMap(), new HashSet<>(Arrays.asList("a", "b")));
+    assertEquals("high", values.get("a"));
+    assertEquals("low", values.get("b"));
+    assertEquals(3, earlyExit.getConsultedConfigurationCount());
+
+    final Configurations exhaustive =
+      new Configurations(Arrays.asList(new RankedConfiguration(1, low), new RankedConfiguration(5, middle), new RankedConfiguration(10, high)));
+    assertEquals(Configurations.ResolutionMode.EXHAUSTIVE, exhaustive.getResolutionMode());
+    try {
+      exhaustive.getValue(Collections.emptyMap(), "a", (String)null);
+      fail();
+    } catch (final AmbiguousConfigurationValuesException expected) {
+
+    }
+    assertEquals(3, exhaustive.getConsultedConfigurationCount());
+  }
+
+  @Test
+  public void testResolutionModeParsing() {
+    final Locale defaultLocale = Locale.getDefault();
+    Locale.setDefault(new Locale("tr", "TR"));
+    try {
+      final Configurations earlyExit =
+        new Configurations(Collections.singleton(new RankedConfiguration(1, Collections.singletonMap(Configurations.RESOLUTION_MODE, "early-exit"))));
+      assertEquals(Configurations.ResolutionMode.EARLY_EXIT, earlyExit.getResolutionMode());
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+    try {
+      new Configurations(Collections.singleton(new RankedConfiguration(1, Collections.singletonMap(Configurations.RESOLUTION_MODE, "bogus"))));
+      fail();
+    } catch (final ConfigurationException expected) {
+      assertTrue(expected.getMessage().contains(Configurations.RESOLUTION_MODE));
+    }
+  }
+
+  @Test
+  public void testReentrantLookupIsNotCached() {
+    final Map<String, String> values = new HashMap<>();
+    values.put("a", "x");
+    values.put(Configurations.VALUE_CACHE_MAXIMUM_SIZE, "16");
+    final Configurations configurations = new Configurations(Collections.singleton(new ReentrantConfiguration(values)));
+    assertTrue(configurations.getValueCacheGeneration() >= 0);
+    // Resolving "derived" looks up "a" reentrantly, while the only
+    // Configuration that has it is active and so cannot supply it.
+    assertEquals("derived from null", configurations.getValue("derived", (String)null));
+    // That partial result must not have been cached.
+    assertEquals("x", configurations.getValue("a", (String)null));
+  }
+
+  @Test
+  public void testRecursionGuardBeyondSixtyFourConfigurations() {
+    final List<Configuration> sources = new ArrayList<>();
+    for (int i = 0; i < 70; i++) {
+      if (i == 66) {
+        sources.add(new ReentrantConfiguration(Collections.emptyMap()));
+      } else if (i == 67) {
+        sources.add(new RankedConfiguration(0, Collections.singletonMap("a", "x")));
+      } else {
+        sources.add(new RankedConfiguration(0, Collections.singletonMap("n" + i, String.valueOf(i))));
+      }
+    }
+    final Configurations configurations = new Configurations(sources);
+    assertEquals("null null", configurations.getValue("recursive", (String)null));
+    assertEquals(70, configurations.getConsultedConfigurationCount());
+    assertEquals("derived from x", configurations.getValue("derived", (String)null));
+    // Nothing was left active, so the reentrant Configuration is
+    // consulted again.
+    assertEquals("derived from x", configurations.getValue("derived", (String)null));
+    assertEquals("65", configurations.getValue("n65", (String)null));
+    assertEquals("69", configurations.getValue("n69", (String)null));
+  }
+
 
   /*
    * Inner and nested classes.
    */
 
-  
+
+  private static final class RankedConfiguration extends AbstractConfiguration implements Ranked {
+
+    private final int rank;
+
+    private final Map<String, String> values;
+
+    private RankedConfiguration(final int rank, final Map<String, String> values) {
+      super();
+      this.rank = rank;
+      this.values = values;
+    }
+
+    @Override
+    public int getRank() {
+      return this.rank;
+    }
+
+    @Override
+    public ConfigurationValue getValue(final Map<String, String> applicationCoordinates, final String name) {
+      final String value = this.values.get(name);
+      return value == null ? null : new ConfigurationValue(this.rank, null, name, value, true);
+    }
+
+    @Override
+    public Set<String> getNames() {
+      return this.values.keySet();
+    }
+
+  }
+
+  private static final class ReentrantConfiguration extends AbstractConfiguration implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, String> values;
+
+    private ReentrantConfiguration(final Map<String, String> values) {
+      super();
+      this.values = values;
+    }
+
+    @Override
+    public ConfigurationValue getValue(final Map<String, String> applicationCoordinates, final String name) {
+      final String value;
+      if ("derived".equals(name)) {
+        value = "derived from " + this.getConfigurations().getValue(applicationCoordinates, "a", (String)null);
+      } else if ("recursive".equals(name)) {
+        // Each nested lookup must skip this Configuration, which is
+        // still active, rather than recurse.
+        final Configurations configurations = this.getConfigurations();
+        value = configurations.getValue(applicationCoordinates, "recursive", (String)null) + " " + configurations.getValue(applicationCoordinates, "recursive", (String)null);
+      } else {
+        value = this.values.get(name);
+      }
+      return value == null ? null : new ConfigurationValue(this, null, name, value, false);
+    }
+
+    @Override
+    public Set<String> getNames() {
+      return this.values.keySet();
+    }
+
+  }
+
+  private static final class CoordinatedPropertiesConfiguration extends AbstractConfiguration implements Coordinated {
+
+    private final PropertiesConfiguration delegate;
+
+    private final AtomicInteger calls;
+
+    private CoordinatedPropertiesConfiguration(final Map<String, String> coordinates, final Properties properties, final AtomicInteger calls) {
+      super();
+      this.delegate = new PropertiesConfiguration(coordinates, properties);
+      this.calls = calls;
+    }
+
+    @Override
+    public Map<String, String> getCoordinates() {
+      return this.delegate.coordinates;
+    }
+
+    @Override
+    public ConfigurationValue getValue(final Map<String, String> applicationCoordinates, final String name) {
+      this.calls.incrementAndGet();
+      final ConfigurationValue value = this.delegate.getValue(applicationCoordinates, name);
+      return value == null ? null : new ConfigurationValue(this.delegate, value.getCoordinates(), name, value.getValue(), false);
+    }
+
+    @Override
+    public Set<String> getNames() {
+      return this.delegate.getNames();
+    }
+
+  }
+
   public static final class PropertiesConfiguration extends AbstractConfiguration implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -0,0 +1,74 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Uses up every bit {@link Coordinates} can assign, which cannot be
+ * undone, and so is run by itself in a JVM of its own; see the
+ * {@code coordinates-bit-exhaustion} execution of the {@code
+ * maven-surefire-plugin}.
+ */
+public class TestCoordinatesBitExhaustion {
+
+  public TestCoordinatesBitExhaustion() {
+    super();
+  }
+
+  @Test
+  public void testSubsetTestsSurviveBitExhaustion() {
+    final Map<String, String> westTest = new HashMap<>();
+    westTest.put("region", "west");
+    westTest.put("environment", "test");
+    final Coordinates a = Coordinates.of(westTest);
+    final Coordinates west = Coordinates.of(Collections.singletonMap("region", "west"));
+    final Coordinates east = Coordinates.of(Collections.singletonMap("region", "east"));
+    assertTrue(a.isComplete());
+
+    for (int i = 0; i <= Coordinates.MAXIMUM_BIT_COUNT; i++) {
+      final Map<String, String> tenantWest = new HashMap<>();
+      tenantWest.put("tenant", String.valueOf(i));
+      tenantWest.put("region", "west");
+      final Coordinates tenant = Coordinates.of(Collections.singletonMap("tenant", String.valueOf(i)));
+      final Coordinates c = Coordinates.of(tenantWest);
+      assertSame(c, Coordinates.of(new HashMap<>(tenantWest)));
+      assertTrue(west.isSubsetOf(c));
+      assertTrue(tenant.isSubsetOf(c));
+      assertFalse(c.isSubsetOf(west));
+      assertFalse(c.isSubsetOf(a));
+      assertFalse(east.isSubsetOf(c));
+    }
+
+    // The bits have run out, so new pairings fall back to comparing
+    // mappings, while those assigned earlier keep their bits.
+    final Coordinates late = Coordinates.of(Collections.singletonMap("tenant", "late"));
+    assertFalse(late.isComplete());
+    assertTrue(a.isComplete());
+    assertTrue(west.isSubsetOf(a));
+    assertFalse(late.isSubsetOf(a));
+  }
+
+}
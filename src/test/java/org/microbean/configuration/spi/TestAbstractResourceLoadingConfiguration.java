@@ -0,0 +1,101 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestAbstractResourceLoadingConfiguration {
+
+  public TestAbstractResourceLoadingConfiguration() {
+    super();
+  }
+
+  @Test
+  public void testRankIsMemoizedPerResource() {
+    final AtomicInteger loads = new AtomicInteger();
+    final Function<Map<? extends String, ? extends String>, Resource<? extends String>> loader = coordinates -> {
+      loads.incrementAndGet();
+      return new Resource<>("42", null);
+    };
+
+    // A loader that does not cache returns a new Resource every
+    // time, so the rank is computed every time.
+    final CountingConfiguration uncached = new CountingConfiguration(loader);
+    assertEquals(42, uncached.getRank());
+    assertEquals(42, uncached.getRank());
+    assertEquals(2, loads.get());
+    assertEquals(2, uncached.rankComputations.get());
+
+    // A caching loader returns the same Resource, so the rank is
+    // computed once.
+    loads.set(0);
+    final CachingResourceLoader<String> cachingLoader = new CachingResourceLoader<>(loader);
+    final CountingConfiguration cached = new CountingConfiguration(cachingLoader);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(42, cached.getRank());
+    }
+    assertEquals(1, loads.get());
+    assertEquals(1, cached.rankComputations.get());
+
+    // Once the cache is cleared, the new Resource is ranked anew.
+    cachingLoader.clear();
+    assertEquals(42, cached.getRank());
+    assertEquals(2, cached.rankComputations.get());
+  }
+
+  private static final class CountingConfiguration extends AbstractResourceLoadingConfiguration<String> {
+
+    private final AtomicInteger rankComputations;
+
+    private CountingConfiguration(final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends String>> loader) {
+      super(loader);
+      this.rankComputations = new AtomicInteger();
+    }
+
+    @Override
+    protected final int getRank(final Resource<? extends String> resource) {
+      this.rankComputations.incrementAndGet();
+      return Integer.parseInt(resource.get());
+    }
+
+    @Override
+    protected final ConfigurationValue getValue(final Resource<? extends String> resource, final Map<String, String> coordinates, final String name) {
+      return null;
+    }
+
+    @Override
+    public final Set<String> getNames(final Resource<? extends String> resource) {
+      return Collections.emptySet();
+    }
+
+  }
+
+}
@@ -0,0 +1,141 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TestCachingResourceLoader {
+
+  public TestCachingResourceLoader() {
+    super();
+  }
+
+  @Test
+  public void testNullResultsAreCached() {
+    final RecordingLoader delegate = new RecordingLoader();
+    final CachingResourceLoader<String> loader = new CachingResourceLoader<>(delegate);
+    final Map<String, String> missing = Collections.singletonMap("region", "missing");
+    assertNull(loader.apply(missing));
+    assertNull(loader.apply(missing));
+    assertEquals(1, delegate.requests.size());
+    assertEquals(1L, loader.getMissCount());
+    assertEquals(1L, loader.getHitCount());
+    assertEquals(1, loader.size());
+  }
+
+  @Test
+  public void testNullCoordinatesAreTreatedAsEmpty() {
+    final RecordingLoader delegate = new RecordingLoader();
+    final CachingResourceLoader<String> loader = new CachingResourceLoader<>(delegate);
+    final Resource<? extends String> resource = loader.apply(null);
+    assertNotNull(resource);
+    assertSame(resource, loader.apply(Collections.emptyMap()));
+    assertSame(resource, loader.apply(new HashMap<>()));
+    // The delegate was asked once, with an empty Map rather than null.
+    assertEquals(Collections.singletonList(Collections.emptyMap()), delegate.requests);
+    assertEquals(1L, loader.getMissCount());
+    assertEquals(2L, loader.getHitCount());
+  }
+
+  @Test
+  public void testKeysAreCopied() {
+    final RecordingLoader delegate = new RecordingLoader();
+    final CachingResourceLoader<String> loader = new CachingResourceLoader<>(delegate);
+    final Map<String, String> coordinates = new HashMap<>();
+    coordinates.put("region", "west");
+    final Resource<? extends String> west = loader.apply(coordinates);
+    coordinates.put("region", "east");
+    assertSame(west, loader.apply(Collections.singletonMap("region", "west")));
+    assertEquals(1, delegate.requests.size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEviction() {
+    final RecordingLoader delegate = new RecordingLoader();
+    final CachingResourceLoader<String> loader = new CachingResourceLoader<>(delegate, 2);
+    final Map<String, String> a = Collections.singletonMap("region", "a");
+    final Map<String, String> b = Collections.singletonMap("region", "b");
+    final Map<String, String> c = Collections.singletonMap("region", "c");
+    final Resource<? extends String> resourceA = loader.apply(a);
+    loader.apply(b);
+    // Touch a so that b is now the least recently used.
+    assertSame(resourceA, loader.apply(a));
+    loader.apply(c);
+    assertEquals(2, loader.size());
+    assertEquals(1L, loader.getEvictionCount());
+
+    // a and c are still cached; b must be loaded again.
+    assertSame(resourceA, loader.apply(a));
+    loader.apply(c);
+    assertEquals(3, delegate.requests.size());
+    loader.apply(b);
+    assertEquals(4, delegate.requests.size());
+    assertEquals(b, delegate.requests.get(3));
+    assertEquals(2, loader.size());
+    assertEquals(2L, loader.getEvictionCount());
+    assertEquals(4L, loader.getMissCount());
+    assertEquals(3L, loader.getHitCount());
+  }
+
+  @Test
+  public void testNullDelegate() {
+    final CachingResourceLoader<String> loader = new CachingResourceLoader<>(null);
+    assertNull(loader.apply(Collections.emptyMap()));
+    assertEquals(0, loader.size());
+  }
+
+  private static final class RecordingLoader implements Function<Map<? extends String, ? extends String>, Resource<? extends String>> {
+
+    private final List<Map<? extends String, ? extends String>> requests;
+
+    private RecordingLoader() {
+      super();
+      this.requests = new ArrayList<>();
+    }
+
+    @Override
+    public final Resource<? extends String> apply(final Map<? extends String, ? extends String> coordinates) {
+      this.requests.add(coordinates);
+      final Resource<? extends String> returnValue;
+      if (coordinates == null) {
+        returnValue = new Resource<>("null", null);
+      } else if ("missing".equals(coordinates.get("region"))) {
+        returnValue = null;
+      } else {
+        returnValue = new Resource<>(coordinates.toString(), null);
+      }
+      return returnValue;
+    }
+
+  }
+
+}
@@ -0,0 +1,134 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestCompiledConfiguration {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  public TestCompiledConfiguration() {
+    super();
+  }
+
+  @Test
+  public void testCompileAndFallBack() throws IOException {
+    final Path directory = this.temporaryFolder.getRoot().toPath();
+    final Path source = directory.resolve("application.properties");
+    Files.write(source, "configurationCoordinates={ region=west }\norg.microbean.configuration.rank=150\nhost=example.com\nname=\\u00e9l\\u00e8ve\n".getBytes(StandardCharsets.ISO_8859_1));
+    final Path compiled = directory.resolve("application.compiled");
+    final Map<String, String> coordinates = Collections.singletonMap("region", "west");
+    final long fingerprint = CompiledConfiguration.fingerprint(Collections.singleton(source));
+
+    final MappedPropertiesConfiguration fallback = new MappedPropertiesConfiguration(source);
+    final CompiledConfiguration configuration = new CompiledConfiguration(compiled, coordinates, fingerprint, fallback);
+    assertFalse(configuration.isCurrent());
+    assertEquals("example.com", configuration.getValue(coordinates, "host").getValue());
+
+    configuration.compile();
+    assertTrue(configuration.isCurrent());
+    assertTrue(Files.exists(compiled));
+
+    final CompiledConfiguration reloaded = new CompiledConfiguration(compiled, coordinates, fingerprint, fallback);
+    assertTrue(reloaded.isCurrent());
+    assertEquals(150, reloaded.getRank());
+    assertEquals(fallback.getNames(), reloaded.getNames());
+    final ConfigurationValue value = reloaded.getValue(coordinates, "name");
+    assertNotNull(value);
+    assertSame(reloaded, value.getSource());
+    assertEquals("élève", value.getValue());
+    assertEquals(coordinates, value.getCoordinates());
+    assertNull(reloaded.getValue(coordinates, "absent"));
+
+    // Different coordinates are served by the fallback.
+    assertEquals("example.com", reloaded.getValue(null, "host").getValue());
+
+    // A different fingerprint means the compiled file is stale.
+    final CompiledConfiguration stale = new CompiledConfiguration(compiled, coordinates, fingerprint + 1L, fallback);
+    assertFalse(stale.isCurrent());
+    assertEquals("example.com", stale.getValue(coordinates, "host").getValue());
+
+    // So does a malformed one.
+    Files.write(compiled, new byte[] { 1, 2, 3 });
+    assertFalse(new CompiledConfiguration(compiled, coordinates, fingerprint, fallback).isCurrent());
+  }
+
+  @Test
+  public void testCorruptFilesFallBack() throws IOException {
+    final Path directory = this.temporaryFolder.getRoot().toPath();
+    final Path source = directory.resolve("application.properties");
+    Files.write(source, "a=b\nhost=example.com\n".getBytes(StandardCharsets.ISO_8859_1));
+    final Path compiled = directory.resolve("application.compiled");
+    final Map<String, String> coordinates = Collections.emptyMap();
+    final long fingerprint = CompiledConfiguration.fingerprint(Collections.singleton(source));
+    final MappedPropertiesConfiguration fallback = new MappedPropertiesConfiguration(source);
+    new CompiledConfiguration(compiled, coordinates, fingerprint, fallback).compile();
+    final byte[] bytes = Files.readAllBytes(compiled);
+
+    // Every truncation falls back.
+    for (int length = 0; length < bytes.length; length++) {
+      Files.write(compiled, Arrays.copyOf(bytes, length));
+      final CompiledConfiguration configuration = new CompiledConfiguration(compiled, coordinates, fingerprint, fallback);
+      assertFalse(configuration.isCurrent());
+      assertEquals("example.com", configuration.getValue(coordinates, "host").getValue());
+    }
+
+    // Corrupt counts, offsets and indices either fall back or are
+    // harmless; none may throw.
+    for (int position = 0; position + Integer.BYTES <= bytes.length; position++) {
+      for (final int corruption : new int[] { -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 1 << 20 }) {
+        final byte[] corrupt = bytes.clone();
+        ByteBuffer.wrap(corrupt).putInt(position, corruption);
+        Files.write(compiled, corrupt);
+        final CompiledConfiguration configuration = new CompiledConfiguration(compiled, coordinates, fingerprint, fallback);
+        configuration.getRank();
+        configuration.getNames();
+        configuration.getValue(coordinates, "a");
+        configuration.getValue(coordinates, "host");
+      }
+    }
+  }
+
+}
@@ -0,0 +1,101 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.Serializable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TestConfigurationValueSourceComparingArbiter {
+
+  private final SourceConfiguration first = new SourceConfiguration();
+
+  private final SourceConfiguration second = new SourceConfiguration();
+
+  private final SourceConfiguration third = new SourceConfiguration();
+
+  private final ConfigurationValueSourceComparingArbiter arbiter =
+    new ConfigurationValueSourceComparingArbiter(Arrays.asList(this.first, this.second, this.third));
+
+  public TestConfigurationValueSourceComparingArbiter() {
+    super();
+  }
+
+  @Test
+  public void testHighestRankedSourceWins() {
+    final ConfigurationValue one = value(this.first, "1");
+    final ConfigurationValue two = value(this.second, "2");
+    final ConfigurationValue three = value(this.third, "3");
+    assertSame(one, this.arbiter.arbitrate(null, "a", Arrays.asList(three, one, two)));
+    assertSame(one, this.arbiter.arbitrate(null, "a", Arrays.asList(one, two, three)));
+    assertSame(two, this.arbiter.arbitrate(null, "a", Arrays.asList(three, two)));
+    assertSame(three, this.arbiter.arbitrate(null, "a", Collections.singleton(three)));
+  }
+
+  @Test
+  public void testTiesGoToTheFirstValue() {
+    final ConfigurationValue early = value(this.second, "early");
+    final ConfigurationValue late = value(this.second, "late");
+    final ConfigurationValue three = value(this.third, "3");
+    assertSame(early, this.arbiter.arbitrate(null, "a", Arrays.asList(three, early, late)));
+    assertSame(late, this.arbiter.arbitrate(null, "a", Arrays.asList(late, three, early)));
+  }
+
+  @Test
+  public void testValuesFromUnknownSourcesCannotBeArbitrated() {
+    final ConfigurationValue one = value(this.first, "1");
+    final ConfigurationValue unknown = value(new SourceConfiguration(), "?");
+    assertNull(this.arbiter.arbitrate(null, "a", Arrays.asList(one, unknown)));
+    assertNull(this.arbiter.arbitrate(null, "a", Collections.emptyList()));
+    assertNull(this.arbiter.arbitrate(null, "a", null));
+  }
+
+  private static final ConfigurationValue value(final SourceConfiguration source, final String value) {
+    return new ConfigurationValue(source, null, "a", value, false);
+  }
+
+  private static final class SourceConfiguration extends AbstractConfiguration implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private SourceConfiguration() {
+      super();
+    }
+
+    @Override
+    public final ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+      return null;
+    }
+
+    @Override
+    public final Set<String> getNames() {
+      return Collections.emptySet();
+    }
+
+  }
+
+}
@@ -0,0 +1,100 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import org.microbean.configuration.Configurations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestDirectoryConfiguration {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  public TestDirectoryConfiguration() {
+    super();
+  }
+
+  @Test
+  public void testDirectoryConfiguration() throws IOException {
+    final Path directory = this.temporaryFolder.getRoot().toPath();
+    write(directory.resolve("username"), "admin\n");
+    write(directory.resolve("password"), "s3cret");
+    Files.createDirectory(directory.resolve("db"));
+    write(directory.resolve("db").resolve("url"), "jdbc:h2:mem:test\r\n");
+    Files.createDirectory(directory.resolve("..data"));
+    write(directory.resolve("..data").resolve("ignored"), "ignored");
+
+    final DirectoryConfiguration configuration = new DirectoryConfiguration(directory);
+    assertEquals(new HashSet<>(Arrays.asList("username", "password", "db.url")), configuration.getNames());
+    assertEquals("admin", configuration.getValue(null, "username").getValue());
+    assertEquals("s3cret", configuration.getValue(null, "password").getValue());
+    assertEquals("jdbc:h2:mem:test", configuration.getValue(null, "db.url").getValue());
+    assertNull(configuration.getValue(null, "..data.ignored"));
+    assertNull(configuration.getValue(null, "bogus"));
+
+    write(directory.resolve("password"), "much-longer-s3cret");
+    assertEquals("much-longer-s3cret", configuration.getValue(null, "password").getValue());
+
+    Files.delete(directory.resolve("username"));
+    assertNull(configuration.getValue(null, "username"));
+
+    final Configurations configurations = new Configurations(Collections.singleton(configuration));
+    assertEquals("much-longer-s3cret", configurations.getValue("password"));
+  }
+
+  @Test
+  public void testOnlyOneTrailingLineTerminatorIsStripped() throws IOException {
+    final Path directory = this.temporaryFolder.getRoot().toPath();
+    write(directory.resolve("newline"), "value\n\n");
+    write(directory.resolve("crlf"), "value\r\n\r\n");
+    write(directory.resolve("empty"), "\n");
+    final DirectoryConfiguration configuration = new DirectoryConfiguration(directory);
+    assertEquals("value\n", configuration.getValue(null, "newline").getValue());
+    assertEquals("value\r\n", configuration.getValue(null, "crlf").getValue());
+    assertEquals("", configuration.getValue(null, "empty").getValue());
+  }
+
+  @Test
+  public void testMissingDirectory() {
+    final DirectoryConfiguration configuration = new DirectoryConfiguration(this.temporaryFolder.getRoot().toPath().resolve("missing"));
+    assertEquals(Collections.emptySet(), configuration.getNames());
+    assertNull(configuration.getValue(null, "a"));
+  }
+
+  private static final void write(final Path file, final String contents) throws IOException {
+    Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+  }
+
+}
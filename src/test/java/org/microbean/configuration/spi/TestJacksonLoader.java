@@ -0,0 +1,124 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class TestJacksonLoader {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  public TestJacksonLoader() {
+    super();
+  }
+
+  @Test
+  public void testJson() throws IOException {
+    final Path directory = this.temporaryFolder.getRoot().toPath();
+    // Two root-level documents, the second one more specific.
+    Files.write(directory.resolve("application.json"),
+                ("{ \"a\": { \"b\": \"c\", \"d\": [ 1, { \"e\": true } ], \"f\": null, \"g\": {} }, \"h\": \"base\", \"org.microbean.configuration.rank\": 42 }\n" +
+                 "{ \"configurationCoordinates\": { \"region\": \"west\" }, \"h\": \"west\" }\n").getBytes(StandardCharsets.UTF_8));
+    try (final URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, null)) {
+      final FlattenedConfiguration configuration =
+        new FlattenedConfiguration(new JacksonLoader(new JsonFactory(), classLoader, "application.json"));
+      assertEquals(new HashSet<>(Arrays.asList("a.b", "a.d[0]", "a.d[1].e", "h", "org.microbean.configuration.rank")),
+                   configuration.getNames());
+      assertEquals(42, configuration.getRank());
+
+      final Map<String, String> west = Collections.singletonMap("region", "west");
+      assertEquals("c", configuration.getValue(west, "a.b").getValue());
+      assertEquals("1", configuration.getValue(west, "a.d[0]").getValue());
+      assertEquals("true", configuration.getValue(west, "a.d[1].e").getValue());
+      assertNull(configuration.getValue(west, "a.f"));
+
+      final ConfigurationValue h = configuration.getValue(west, "h");
+      assertEquals("west", h.getValue());
+      assertEquals(west, h.getCoordinates());
+
+      final ConfigurationValue baseH = configuration.getValue(Collections.singletonMap("region", "east"), "h");
+      assertEquals("base", baseH.getValue());
+      assertEquals(Collections.emptyMap(), baseH.getCoordinates());
+    }
+  }
+
+  @Test
+  public void testApplyWithoutCoordinates() throws IOException {
+    final Path directory = this.temporaryFolder.getRoot().toPath();
+    Files.write(directory.resolve("application.json"),
+                ("{ \"configurationCoordinates\": { \"region\": \"west\" }, \"h\": \"west\" }\n" +
+                 "{ \"h\": \"base\" }\n").getBytes(StandardCharsets.UTF_8));
+    try (final URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, null)) {
+      final JacksonLoader loader = new JacksonLoader(new JsonFactory(), classLoader, "application.json");
+
+      // null means every document, least specific first.
+      final Resource<? extends FlattenedIndex> base = loader.apply(null);
+      assertNotNull(base);
+      assertNull(base.getCoordinates());
+      assertEquals("base", base.get().get("h"));
+      final Resource<? extends FlattenedIndex> west = base.getNext();
+      assertNotNull(west);
+      assertEquals(Collections.singletonMap("region", "west"), west.getCoordinates());
+      assertEquals("west", west.get().get("h"));
+      assertNull(west.getNext());
+
+      // An empty Map, which is what a CachingResourceLoader supplies
+      // instead of null, means only documents without coordinates.
+      final Resource<? extends FlattenedIndex> empty = new CachingResourceLoader<>(loader).apply(null);
+      assertNotNull(empty);
+      assertEquals("base", empty.get().get("h"));
+      assertNull(empty.getNext());
+    }
+  }
+
+  @Test
+  public void testMissingResource() {
+    final JacksonLoader loader = new JacksonLoader(new JsonFactory(), "nonexistent.json");
+    assertNull(loader.apply(null));
+    assertEquals(Collections.emptySet(), new FlattenedConfiguration(loader).getNames());
+  }
+
+}
@@ -0,0 +1,142 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.microbean.configuration.ConfigurationChangeEvent;
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class TestJdbcConfiguration {
+
+  private JdbcDataSource dataSource;
+
+  private Connection connection;
+
+  public TestJdbcConfiguration() {
+    super();
+  }
+
+  @Before
+  public void createTable() throws SQLException {
+    this.dataSource = new JdbcDataSource();
+    this.dataSource.setURL("jdbc:h2:mem:" + this.getClass().getSimpleName() + ";DB_CLOSE_DELAY=-1");
+    // Hold a connection open so the in-memory database survives.
+    this.connection = this.dataSource.getConnection();
+    try (final Statement statement = this.connection.createStatement()) {
+      statement.execute("CREATE TABLE overrides (tenant VARCHAR(64), name VARCHAR(256), value VARCHAR(1024))");
+      statement.execute("INSERT INTO overrides VALUES ('acme', 'a', 'acme-a'), ('acme', 'b', 'acme-b'), ('globex', 'a', 'globex-a')");
+    }
+  }
+
+  @After
+  public void dropTable() throws SQLException {
+    try (final Statement statement = this.connection.createStatement()) {
+      statement.execute("DROP TABLE overrides");
+    } finally {
+      this.connection.close();
+    }
+  }
+
+  @Test
+  public void testPrefetchAndRefresh() throws InterruptedException, SQLException {
+    final JdbcConfiguration configuration =
+      new JdbcConfiguration(this.dataSource,
+                            "SELECT name, value FROM overrides WHERE tenant = ?",
+                            Collections.singletonList("tenant"),
+                            0L,
+                            Runnable::run);
+    final Map<String, String> acme = Collections.singletonMap("tenant", "acme");
+    final ConfigurationValue a = configuration.getValue(acme, "a");
+    assertNotNull(a);
+    assertEquals("acme-a", a.getValue());
+    assertEquals(acme, a.getCoordinates());
+    assertEquals("acme-b", configuration.getValue(acme, "b").getValue());
+    assertEquals("globex-a", configuration.getValue(Collections.singletonMap("tenant", "globex"), "a").getValue());
+    assertNull(configuration.getValue(Collections.singletonMap("tenant", "globex"), "b"));
+
+    final Configurations configurations = new Configurations(Collections.singleton(configuration));
+    final BlockingQueue<ConfigurationChangeEvent> events = new LinkedBlockingQueue<>();
+    configurations.addListener(Collections.singleton("a"), acme, events::add);
+
+    try (final Statement statement = this.connection.createStatement()) {
+      statement.execute("UPDATE overrides SET value = 'acme-a2' WHERE tenant = 'acme' AND name = 'a'");
+    }
+
+    // With a time to live of zero and a synchronous executor, this
+    // read returns the stale value and refreshes in passing.
+    assertEquals("acme-a", configuration.getValue(acme, "a").getValue());
+    assertEquals("acme-a2", configuration.getValue(acme, "a").getValue());
+    final ConfigurationChangeEvent event = events.poll(10L, TimeUnit.SECONDS);
+    assertNotNull(event);
+    assertEquals("acme-a2", event.getNewValue("a"));
+  }
+
+  @Test
+  public void testGetNames() {
+    final Map<String, String> globex = Collections.singletonMap("tenant", "globex");
+
+    // Without a names query, only names already selected are known.
+    final JdbcConfiguration withoutNamesQuery =
+      new JdbcConfiguration(this.dataSource,
+                            "SELECT name, value FROM overrides WHERE tenant = ?",
+                            Collections.singletonList("tenant"),
+                            60000L,
+                            Runnable::run);
+    assertEquals(Collections.emptySet(), withoutNamesQuery.getNames());
+    assertNotNull(withoutNamesQuery.getValue(globex, "a"));
+    assertEquals(Collections.singleton("a"), withoutNamesQuery.getNames());
+
+    // With one, every name is known before any value is selected.
+    final JdbcConfiguration withNamesQuery =
+      new JdbcConfiguration(this.dataSource,
+                            "SELECT name, value FROM overrides WHERE tenant = ?",
+                            Collections.singletonList("tenant"),
+                            "SELECT DISTINCT name FROM overrides",
+                            60000L,
+                            Runnable::run);
+    assertEquals(new HashSet<>(Arrays.asList("a", "b")), withNamesQuery.getNames());
+    final Configurations configurations = new Configurations(Collections.singleton(withNamesQuery));
+    assertEquals(new HashSet<>(Arrays.asList("a", "b")), configurations.getNames());
+    assertEquals(new HashSet<>(Arrays.asList("a", "b")),
+                 configurations.snapshot(Collections.singletonMap("tenant", "acme")).getNames());
+  }
+
+}
@@ -0,0 +1,102 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.InputStream;
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Collections;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestMappedPropertiesConfiguration {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  public TestMappedPropertiesConfiguration() {
+    super();
+  }
+
+  @Test
+  public void testAgreesWithProperties() throws IOException {
+    final StringBuilder sb = new StringBuilder()
+      .append("# comment\n")
+      .append("! another comment\n")
+      .append("   # indented comment\n")
+      .append("configurationCoordinates={ region=west }\n")
+      .append("org.microbean.configuration.rank=250\n")
+      .append("  a = b  \n")
+      .append("c:d\n")
+      .append("e f\\\n   g\\\r\n  h\n")
+      .append("\\u0041key=\\u00e9t\\t\\n\n")
+      .append("space\\ key=v\n")
+      .append("empty\n")
+      .append("dup=1\n")
+      .append("dup=2\n")
+      .append("k\\:x=y\n")
+      .append("\\#notAComment=1\n")
+      .append("continued=a\\\n# not a comment\n")
+      .append("last=\\\\");
+    for (int i = 0; i < 1000; i++) {
+      sb.append("\nkey").append(i).append("=value").append(i);
+    }
+    final Path file = this.temporaryFolder.getRoot().toPath().resolve("application.properties");
+    Files.write(file, sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+    final Properties properties = new Properties();
+    try (final InputStream inputStream = Files.newInputStream(file)) {
+      properties.load(inputStream);
+    }
+
+    final MappedPropertiesConfiguration configuration = new MappedPropertiesConfiguration(file);
+    assertEquals(properties.stringPropertyNames(), configuration.getNames());
+    for (final String name : properties.stringPropertyNames()) {
+      final ConfigurationValue value = configuration.getValue(null, name);
+      assertNotNull(name, value);
+      assertEquals(name, properties.getProperty(name), value.getValue());
+      assertEquals(Collections.singletonMap("region", "west"), value.getCoordinates());
+    }
+    assertNull(configuration.getValue(null, "absent"));
+    assertEquals(250, configuration.getRank());
+  }
+
+  @Test
+  public void testAbsentFile() {
+    final MappedPropertiesConfiguration configuration =
+      new MappedPropertiesConfiguration(this.temporaryFolder.getRoot().toPath().resolve("absent.properties"));
+    assertTrue(configuration.getNames().isEmpty());
+    assertNull(configuration.getValue(null, "a"));
+    assertEquals(100, configuration.getRank());
+  }
+
+}
@@ -0,0 +1,152 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TestPropertiesLoader {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  public TestPropertiesLoader() {
+    super();
+  }
+
+  @Test
+  public void testComputeResourceNames() {
+    final PropertiesLoader loader = new PropertiesLoader(null, "application.properties", Arrays.asList("region", "environment"));
+    final Map<String, String> coordinates = new HashMap<>();
+    coordinates.put("region", "west");
+    coordinates.put("environment", "test");
+    coordinates.put("phase", "ignored");
+    assertEquals(Arrays.asList("application-west-test.properties",
+                               "application-west.properties",
+                               "application-test.properties",
+                               "application.properties"),
+                 new ArrayList<>(loader.computeResourceNames(coordinates).keySet()));
+    assertEquals(Collections.singletonMap("environment", "test"),
+                 loader.computeResourceNames(coordinates).get("application-test.properties"));
+    assertEquals(Collections.singletonList("application.properties"),
+                 new ArrayList<>(loader.computeResourceNames(null).keySet()));
+  }
+
+  @Test
+  public void testCoordinateAwareLoading() throws IOException {
+    final Path directory = this.temporaryFolder.getRoot().toPath();
+    write(directory.resolve("application.properties"), "a=base\nb=base\nc=base\n");
+    write(directory.resolve("application-west.properties"), "a=west\nb=west\n");
+    write(directory.resolve("application-west-test.properties"), "a=west-test\n");
+    try (final URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, null)) {
+      final PropertiesLoader loader = new PropertiesLoader(classLoader, "application.properties", Arrays.asList("region", "environment"));
+      final Map<String, String> coordinates = new HashMap<>();
+      coordinates.put("region", "west");
+      coordinates.put("environment", "test");
+
+      final Resource<? extends Properties> resource = loader.apply(coordinates);
+      assertNotNull(resource);
+      assertEquals(coordinates, resource.getCoordinates());
+      assertEquals(Collections.singletonMap("region", "west"), resource.getNext().getCoordinates());
+      assertEquals(Collections.emptyMap(), resource.getNext().getNext().getCoordinates());
+      assertNull(resource.getNext().getNext().getNext());
+
+      final PropertiesConfiguration configuration = new PropertiesConfiguration(loader);
+      assertEquals("west-test", configuration.getValue(coordinates, "a").getValue());
+      assertEquals("west", configuration.getValue(coordinates, "b").getValue());
+      final ConfigurationValue c = configuration.getValue(coordinates, "c");
+      assertEquals("base", c.getValue());
+      assertEquals(Collections.emptyMap(), c.getCoordinates());
+
+      // Without coordinates only the base resource is consulted.
+      assertEquals("base", configuration.getValue(null, "a").getValue());
+    }
+  }
+
+  @Test
+  public void testEachCandidateIsProbedOnce() throws IOException {
+    final Path directory = this.temporaryFolder.getRoot().toPath();
+    write(directory.resolve("application.properties"), "a=base\n");
+    write(directory.resolve("application-west.properties"), "a=west\n");
+    final Thread currentThread = Thread.currentThread();
+    final Map<String, Integer> probes = new HashMap<>();
+    try (final URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, null) {
+        @Override
+        public final URL getResource(final String name) {
+          // Probes happen on the calling thread.
+          assertSame(currentThread, Thread.currentThread());
+          probes.merge(name, Integer.valueOf(1), (a, b) -> Integer.valueOf(a.intValue() + b.intValue()));
+          return super.getResource(name);
+        }
+      }) {
+      final PropertiesLoader loader = new PropertiesLoader(classLoader, "application.properties", Arrays.asList("region", "environment"));
+      final Map<String, String> westTest = new HashMap<>();
+      westTest.put("region", "west");
+      westTest.put("environment", "test");
+      final Map<String, String> westProduction = new HashMap<>();
+      westProduction.put("region", "west");
+      westProduction.put("environment", "production");
+
+      assertEquals("west", loader.apply(westTest).get().getProperty("a"));
+      assertEquals("west", loader.apply(westProduction).get().getProperty("a"));
+      assertEquals("west", loader.apply(westTest).get().getProperty("a"));
+      assertEquals("base", loader.apply(null).get().getProperty("a"));
+
+      // Shared and absent candidates alike were probed only once.
+      assertEquals(Integer.valueOf(1), probes.get("application.properties"));
+      assertEquals(Integer.valueOf(1), probes.get("application-west.properties"));
+      assertEquals(Integer.valueOf(1), probes.get("application-test.properties"));
+      assertEquals(Integer.valueOf(1), probes.get("application-west-test.properties"));
+      assertEquals(Integer.valueOf(1), probes.get("application-production.properties"));
+      assertEquals(6, probes.size());
+    }
+  }
+
+  private static final void write(final Path file, final String contents) throws IOException {
+    Files.write(file, contents.getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+}
@@ -0,0 +1,113 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestPropertiesResourcesLoader {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  public TestPropertiesResourcesLoader() {
+    super();
+  }
+
+  @Test
+  public void testMultipleResources() throws IOException {
+    final Path first = this.temporaryFolder.newFolder("first").toPath();
+    final Path second = this.temporaryFolder.newFolder("second").toPath();
+    final Path third = this.temporaryFolder.newFolder("third").toPath();
+    write(first.resolve("application.properties"), "a=first\n");
+    write(second.resolve("application.properties"), "a=second\nb=second\n");
+    write(third.resolve("application.properties"), "configurationCoordinates={ region=west }\nb=west\n");
+    try (final URLClassLoader classLoader = new URLClassLoader(new URL[] { first.toUri().toURL(), second.toUri().toURL(), third.toUri().toURL() }, null)) {
+      final PropertiesResourcesLoader loader = new PropertiesResourcesLoader(classLoader, "application.properties", null);
+
+      final List<Resource<Properties>> resources = loader.load();
+      assertEquals(3, resources.size());
+      assertEquals("first", resources.get(0).get().getProperty("a"));
+      assertEquals(Collections.singletonMap("region", "west"), resources.get(2).getCoordinates());
+
+      // Merged: the first resource on the classpath wins.
+      final PropertiesConfiguration merged = new PropertiesConfiguration(loader);
+      assertEquals("first", merged.getValue(null, "a").getValue());
+      assertEquals("second", merged.getValue(null, "b").getValue());
+      assertTrue(merged.getNames().contains("a"));
+      assertTrue(merged.getNames().contains("b"));
+
+      // Separate: a resource lacking a property offers no value for
+      // it, and the more specific resource wins.
+      final List<PropertiesConfiguration> separate = loader.getConfigurations();
+      assertNull(separate.get(0).getValue(null, "b"));
+      final Configurations configurations = new Configurations(separate);
+      final Map<String, String> west = Collections.singletonMap("region", "west");
+      assertEquals("west", configurations.getValue(west, "b", (String)null));
+      assertEquals("second", configurations.getValue(Collections.emptyMap(), "b", (String)null));
+    }
+  }
+
+  @Test
+  public void testInapplicableResourcesAreSkipped() throws IOException {
+    final Path first = this.temporaryFolder.newFolder("first").toPath();
+    final Path second = this.temporaryFolder.newFolder("second").toPath();
+    write(first.resolve("application.properties"), "configurationCoordinates={ region=east }\na=east\n");
+    write(second.resolve("application.properties"), "a=base\n");
+    try (final URLClassLoader classLoader = new URLClassLoader(new URL[] { first.toUri().toURL(), second.toUri().toURL() }, null)) {
+      final PropertiesResourcesLoader loader = new PropertiesResourcesLoader(classLoader, "application.properties", null);
+      final Configurations configurations = new Configurations(Collections.singleton(new PropertiesConfiguration(loader)));
+      assertEquals("east", configurations.getValue(Collections.singletonMap("region", "east"), "a", (String)null));
+      assertEquals("base", configurations.getValue(Collections.singletonMap("region", "west"), "a", (String)null));
+      assertEquals("base", configurations.getValue(Collections.emptyMap(), "a", (String)null));
+
+      // The resources are loaded once.
+      assertSame(loader.apply(null).get(), loader.apply(null).get());
+    }
+  }
+
+  private static final void write(final Path file, final String contents) throws IOException {
+    Files.write(file, contents.getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+}
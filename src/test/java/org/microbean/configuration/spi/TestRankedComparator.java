@@ -0,0 +1,81 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestRankedComparator {
+
+  public TestRankedComparator() {
+    super();
+  }
+
+  @Test
+  public void testEarlierItemsWin() {
+    final RankedComparator<String> comparator = new RankedComparator<>(Arrays.asList("a", "b", "c"));
+    assertTrue(comparator.compare("a", "b") < 0);
+    assertTrue(comparator.compare("b", "c") < 0);
+    assertTrue(comparator.compare("c", "a") > 0);
+    assertEquals(0, comparator.compare("b", "b"));
+  }
+
+  @Test
+  public void testEqualButNotIdenticalItemsAreRanked() {
+    final RankedComparator<String> comparator = new RankedComparator<>(Arrays.asList("a", "b"));
+    // Not found by identity, so found by equality instead.
+    final String a = new String("a");
+    assertTrue(comparator.ranks(a));
+    assertTrue(comparator.compare(a, "b") < 0);
+    assertEquals(0, comparator.compare(a, "a"));
+  }
+
+  @Test
+  public void testDuplicatesRankLikeIndexOf() {
+    final RankedComparator<String> comparator = new RankedComparator<>(Arrays.asList("a", "b", "a"));
+    // The reversed list is [a, b, a], whose indexOf("a") is 0, so
+    // "a" is ranked below "b".
+    assertTrue(comparator.compare("b", "a") < 0);
+    assertTrue(comparator.compare(new String("b"), new String("a")) < 0);
+  }
+
+  @Test
+  public void testUnknownRankedAndNullItems() {
+    final RankedComparator<Object> comparator = new RankedComparator<>(Arrays.asList("a", "b"));
+    assertFalse(comparator.ranks("unknown"));
+    assertFalse(comparator.ranks(null));
+    // Known items beat unknown ones; unknown ones tie.
+    assertTrue(comparator.compare("b", "unknown") < 0);
+    assertTrue(comparator.compare("unknown", "b") > 0);
+    assertEquals(0, comparator.compare("unknown", "other"));
+    // Non-nulls beat nulls.
+    assertTrue(comparator.compare("unknown", null) < 0);
+    assertTrue(comparator.compare(null, "unknown") > 0);
+    // Ranked objects use their own ranks.
+    final Ranked high = () -> 10;
+    final Ranked low = () -> 0;
+    assertTrue(comparator.ranks(high));
+    assertTrue(comparator.compare(high, low) < 0);
+    assertTrue(comparator.compare(high, "a") < 0);
+  }
+
+}
@@ -0,0 +1,167 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Properties;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import org.microbean.configuration.ConfigurationChangeEvent;
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import static org.junit.Assume.assumeNoException;
+
+public class TestWatchingPropertiesLoader {
+
+  private static final long TIMEOUT_MILLIS = 30000L;
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  public TestWatchingPropertiesLoader() {
+    super();
+  }
+
+  @Test
+  public void testPlainFile() throws IOException, InterruptedException {
+    final Path directory = this.temporaryFolder.getRoot().toPath();
+    final Path file = directory.resolve("application.properties");
+    write(file, "a=b\n");
+    try (final WatchingPropertiesLoader loader = new WatchingPropertiesLoader(file, 10L)) {
+      assertEquals("b", getProperty(loader, "a"));
+
+      write(file, "a=c\nconfigurationCoordinates={ region=west }\n");
+      awaitProperty(loader, "a", "c");
+      final Resource<? extends Properties> resource = loader.apply(null);
+      assertEquals(Collections.singletonMap("region", "west"), resource.getCoordinates());
+
+      Files.delete(file);
+      awaitProperty(loader, "a", null);
+      assertNull(loader.apply(null));
+
+      write(file, "a=d\n");
+      awaitProperty(loader, "a", "d");
+    }
+  }
+
+  @Test
+  public void testKubernetesConfigMapLayout() throws IOException, InterruptedException {
+    final Path directory = this.temporaryFolder.getRoot().toPath();
+
+    // Mimic the layout Kubernetes uses for ConfigMap volumes:
+    //   ..2019_01_01_00_00_00.000000001/application.properties
+    //   ..data -> ..2019_01_01_00_00_00.000000001
+    //   application.properties -> ..data/application.properties
+    final Path firstVersion = Files.createDirectory(directory.resolve("..2019_01_01_00_00_00.000000001"));
+    write(firstVersion.resolve("application.properties"), "a=b\n");
+    final Path data = directory.resolve("..data");
+    try {
+      Files.createSymbolicLink(data, firstVersion.getFileName());
+    } catch (final IOException | UnsupportedOperationException exception) {
+      assumeNoException(exception);
+    }
+    final Path file = directory.resolve("application.properties");
+    Files.createSymbolicLink(file, data.getFileName().resolve("application.properties"));
+
+    try (final WatchingPropertiesLoader loader = new WatchingPropertiesLoader(file, 10L)) {
+      assertEquals("b", getProperty(loader, "a"));
+
+      // Kubernetes updates a ConfigMap by writing a new timestamped
+      // directory and then atomically renaming a new link over ..data.
+      final Path secondVersion = Files.createDirectory(directory.resolve("..2019_01_01_00_01_00.000000001"));
+      write(secondVersion.resolve("application.properties"), "a=c\n");
+      final Path dataTemp = Files.createSymbolicLink(directory.resolve("..data_tmp"), secondVersion.getFileName());
+      Files.move(dataTemp, data, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      awaitProperty(loader, "a", "c");
+
+      // The old version's directory is then removed.
+      Files.delete(firstVersion.resolve("application.properties"));
+      Files.delete(firstVersion);
+      Thread.sleep(100L);
+      assertEquals("c", getProperty(loader, "a"));
+    }
+  }
+
+  @Test
+  public void testListenerNotifiedOfChangedNames() throws IOException, InterruptedException {
+    final Path directory = this.temporaryFolder.getRoot().toPath();
+    final Path file = directory.resolve("application.properties");
+    write(file, "a=b\nc=d\n");
+    try (final WatchingPropertiesLoader loader = new WatchingPropertiesLoader(file, 10L)) {
+      final Configurations configurations = new Configurations(Collections.singleton(new PropertiesConfiguration(loader)));
+      final BlockingQueue<ConfigurationChangeEvent> events = new LinkedBlockingQueue<>();
+      configurations.addListener(new HashSet<>(Arrays.asList("a", "c")), null, events::add);
+
+      write(file, "a=b\nc=e\n");
+      final ConfigurationChangeEvent event = events.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      assertNotNull(event);
+      assertEquals(Collections.singleton("c"), event.getNames());
+      assertEquals("d", event.getOldValue("c"));
+      assertEquals("e", event.getNewValue("c"));
+      assertEquals("e", configurations.getValue("c"));
+    }
+  }
+
+  private static final void write(final Path file, final String contents) throws IOException {
+    Files.write(file, contents.getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  private static final String getProperty(final WatchingPropertiesLoader loader, final String name) {
+    final Resource<? extends Properties> resource = loader.apply(null);
+    assertNotNull(resource);
+    return resource.get().getProperty(name);
+  }
+
+  private static final void awaitProperty(final WatchingPropertiesLoader loader, final String name, final String expected) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    String value = null;
+    while (System.currentTimeMillis() < deadline) {
+      final Resource<? extends Properties> resource = loader.apply(null);
+      value = resource == null ? null : resource.get().getProperty(name);
+      if (expected == null ? value == null : expected.equals(value)) {
+        return;
+      }
+      Thread.sleep(20L);
+    }
+    assertEquals(expected, value);
+  }
+
+}
@@ -0,0 +1,103 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestYamlConfiguration {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  public TestYamlConfiguration() {
+    super();
+  }
+
+  @Test
+  public void testYaml() throws IOException {
+    final Path directory = this.temporaryFolder.getRoot().toPath();
+    // Two YAML documents, the second one more specific.
+    Files.write(directory.resolve("test.yaml"),
+                ("a:\n" +
+                 "  b: c\n" +
+                 "  d:\n" +
+                 "    - 1\n" +
+                 "    - e: true\n" +
+                 "h: base\n" +
+                 "---\n" +
+                 "configurationCoordinates:\n" +
+                 "  region: west\n" +
+                 "h: west\n").getBytes(StandardCharsets.UTF_8));
+    final Thread currentThread = Thread.currentThread();
+    final ClassLoader old = currentThread.getContextClassLoader();
+    try (final URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, null)) {
+      // YamlConfiguration finds its resource with the context
+      // classloader in effect when it is created.
+      final YamlConfiguration configuration;
+      currentThread.setContextClassLoader(classLoader);
+      try {
+        configuration = new YamlConfiguration("test.yaml");
+      } finally {
+        currentThread.setContextClassLoader(old);
+      }
+      assertEquals(new HashSet<>(Arrays.asList("a.b", "a.d[0]", "a.d[1].e", "h")), configuration.getNames());
+
+      final Map<String, String> west = Collections.singletonMap("region", "west");
+      assertEquals("c", configuration.getValue(west, "a.b").getValue());
+      assertEquals("1", configuration.getValue(west, "a.d[0]").getValue());
+      assertEquals("true", configuration.getValue(west, "a.d[1].e").getValue());
+      assertNull(configuration.getValue(west, "a.f"));
+
+      final ConfigurationValue h = configuration.getValue(west, "h");
+      assertEquals("west", h.getValue());
+      assertEquals(west, h.getCoordinates());
+
+      final ConfigurationValue baseH = configuration.getValue(Collections.singletonMap("region", "east"), "h");
+      assertEquals("base", baseH.getValue());
+      assertEquals(Collections.emptyMap(), baseH.getCoordinates());
+    }
+  }
+
+  @Test
+  public void testMissingResource() {
+    assertEquals(Collections.emptySet(), new YamlConfiguration("nonexistent.yaml").getNames());
+  }
+
+}